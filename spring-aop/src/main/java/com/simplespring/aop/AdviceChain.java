@@ -0,0 +1,206 @@
+package com.simplespring.aop;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 通知链
+ * 某个目标方法匹配的全部通知（按通知类型预先分组为不可变数组）和方法拦截器，
+ * 代理在第一次调用该方法时计算一次，之后的调用不再遍历切面和匹配切点
+ *
+ * 执行时所有通知组装成一条拦截器链，依次为：
+ * 1. 环绕通知，位于最外层，不调用 proceed 直接返回时后续的通知和目标方法都不会执行
+ * 2. 前置、返回后、异常和后置通知，作为一个整体包围后续的链
+ * 3. 添加到代理工厂的方法拦截器
+ *
+ * @author SimpleSpring
+ */
+final class AdviceChain {
+
+  /**
+   * 没有任何匹配通知和拦截器的通知链
+   */
+  static final AdviceChain EMPTY = new AdviceChain(new AdviceDefinition[0], new AdviceDefinition[0],
+      new AdviceDefinition[0], new AdviceDefinition[0], new AdviceDefinition[0], new MethodInterceptor[0]);
+
+  final AdviceDefinition[] before;
+
+  final AdviceDefinition[] afterReturning;
+
+  final AdviceDefinition[] afterThrowing;
+
+  final AdviceDefinition[] after;
+
+  final AdviceDefinition[] around;
+
+  /**
+   * 完整的拦截器链，按执行顺序排列，由 {@link MethodInvocation#proceed()} 依次推进
+   */
+  final MethodInterceptor[] interceptors;
+
+  private AdviceChain(AdviceDefinition[] before, AdviceDefinition[] afterReturning,
+      AdviceDefinition[] afterThrowing, AdviceDefinition[] after, AdviceDefinition[] around,
+      MethodInterceptor[] interceptors) {
+    this.before = before;
+    this.afterReturning = afterReturning;
+    this.afterThrowing = afterThrowing;
+    this.after = after;
+    this.around = around;
+    this.interceptors = interceptors;
+  }
+
+  /**
+   * 计算目标方法的通知链
+   *
+   * @param aspectDefinitions 切面定义列表
+   * @param interceptors      方法拦截器列表
+   * @param method            目标方法
+   * @param targetClass       目标类
+   * @return 通知链，没有匹配的通知和拦截器时返回 {@link #EMPTY}
+   */
+  static AdviceChain build(List<AspectDefinition> aspectDefinitions, List<MethodInterceptor> interceptors,
+      Method method, Class<?> targetClass) {
+    List<AdviceDefinition> before = new ArrayList<AdviceDefinition>();
+    List<AdviceDefinition> afterReturning = new ArrayList<AdviceDefinition>();
+    List<AdviceDefinition> afterThrowing = new ArrayList<AdviceDefinition>();
+    List<AdviceDefinition> after = new ArrayList<AdviceDefinition>();
+    List<AdviceDefinition> around = new ArrayList<AdviceDefinition>();
+    boolean matched = false;
+
+    for (AspectDefinition aspectDef : aspectDefinitions) {
+      for (AdviceDefinition adviceDef : aspectDef.getAdvices()) {
+        if (adviceDef.getType() == null || !AdviceExecutor.matches(adviceDef, method, targetClass)) {
+          continue;
+        }
+        matched = true;
+        switch (adviceDef.getType()) {
+          case BEFORE:
+            before.add(adviceDef);
+            break;
+          case AFTER_RETURNING:
+            afterReturning.add(adviceDef);
+            break;
+          case AFTER_THROWING:
+            afterThrowing.add(adviceDef);
+            break;
+          case AFTER:
+            after.add(adviceDef);
+            break;
+          default:
+            around.add(adviceDef);
+            break;
+        }
+      }
+    }
+
+    if (!matched && interceptors.isEmpty()) {
+      return EMPTY;
+    }
+
+    AdviceChain chain = new AdviceChain(toArray(before), toArray(afterReturning), toArray(afterThrowing),
+        toArray(after), toArray(around), null);
+    List<MethodInterceptor> chainInterceptors = new ArrayList<MethodInterceptor>();
+    for (AdviceDefinition advice : around) {
+      chainInterceptors.add(new AroundAdviceInterceptor(advice));
+    }
+    if (!before.isEmpty() || !afterReturning.isEmpty() || !afterThrowing.isEmpty() || !after.isEmpty()) {
+      chainInterceptors.add(new AdviceInterceptor(chain));
+    }
+    chainInterceptors.addAll(interceptors);
+
+    return new AdviceChain(chain.before, chain.afterReturning, chain.afterThrowing, chain.after, chain.around,
+        chainInterceptors.toArray(new MethodInterceptor[chainInterceptors.size()]));
+  }
+
+  private static AdviceDefinition[] toArray(List<AdviceDefinition> advices) {
+    return advices.toArray(new AdviceDefinition[advices.size()]);
+  }
+
+  /**
+   * 判断通知链是否为空
+   *
+   * @return 如果没有任何匹配的通知和拦截器返回 true
+   */
+  boolean isEmpty() {
+    return this == EMPTY;
+  }
+
+  /**
+   * 执行环绕通知的拦截器，通知方法通过 ProceedingJoinPoint 继续执行后续的链
+   */
+  private static class AroundAdviceInterceptor implements MethodInterceptor {
+
+    private final AdviceDefinition advice;
+
+    AroundAdviceInterceptor(AdviceDefinition advice) {
+      this.advice = advice;
+    }
+
+    @Override
+    public Object intercept(MethodInvocation invocation) throws Throwable {
+      return AdviceExecutor.executeAround(advice, invocation);
+    }
+  }
+
+  /**
+   * 执行前置、返回后、异常和后置通知的拦截器
+   */
+  private static class AdviceInterceptor implements MethodInterceptor {
+
+    private final AdviceChain chain;
+
+    AdviceInterceptor(AdviceChain chain) {
+      this.chain = chain;
+    }
+
+    @Override
+    public Object intercept(MethodInvocation invocation) throws Throwable {
+      Object result;
+
+      try {
+        // 执行前置通知
+        for (AdviceDefinition advice : chain.before) {
+          AdviceExecutor.executeBefore(advice, invocation);
+        }
+
+        // 执行后续的拦截器链和目标方法
+        result = invocation.proceed();
+
+        invocation.setReturnValue(result);
+
+        // 执行返回后通知
+        for (AdviceDefinition advice : chain.afterReturning) {
+          AdviceExecutor.executeAfterReturning(advice, invocation, result);
+        }
+
+      } catch (Throwable t) {
+        invocation.setException(t);
+
+        // 执行异常通知
+        for (AdviceDefinition advice : chain.afterThrowing) {
+          try {
+            AdviceExecutor.executeAfterThrowing(advice, invocation, t);
+          } catch (Throwable adviceException) {
+            // 通知执行异常，记录但不影响原异常的抛出
+            System.err.println("执行异常通知时发生错误: " + adviceException.getMessage());
+          }
+        }
+
+        throw t;
+      } finally {
+        // 执行后置通知
+        for (AdviceDefinition advice : chain.after) {
+          try {
+            AdviceExecutor.executeAfter(advice, invocation);
+          } catch (Throwable adviceException) {
+            // 通知执行异常，记录但不影响主流程
+            System.err.println("执行后置通知时发生错误: " + adviceException.getMessage());
+          }
+        }
+      }
+
+      return result;
+    }
+  }
+}
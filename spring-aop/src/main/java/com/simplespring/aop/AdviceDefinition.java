@@ -25,6 +25,11 @@ public class AdviceDefinition {
    */
   private String pointcutExpression;
 
+  /**
+   * 解析后的切点匹配器，首次使用时从共享缓存中获取，修改切点表达式时清除
+   */
+  private volatile PointcutMatcher pointcutMatcher;
+
   /**
    * 返回值参数名（用于 @AfterReturning 注解）
    */
@@ -86,6 +91,27 @@ public class AdviceDefinition {
 
   public void setPointcutExpression(String pointcutExpression) {
     this.pointcutExpression = pointcutExpression;
+    this.pointcutMatcher = null;
+  }
+
+  /**
+   * 获取切点匹配器，未设置时解析切点表达式并缓存
+   * 
+   * @return 切点匹配器，没有切点表达式时返回 null
+   * @throws IllegalArgumentException 如果切点表达式格式不正确
+   */
+  public PointcutMatcher getPointcutMatcher() {
+    PointcutMatcher matcher = pointcutMatcher;
+    if (matcher == null && pointcutExpression != null && !pointcutExpression.trim().isEmpty()) {
+      ClassLoader classLoader = adviceMethod != null ? adviceMethod.getDeclaringClass().getClassLoader() : null;
+      matcher = PointcutExpressionParser.getMatcher(pointcutExpression, classLoader);
+      pointcutMatcher = matcher;
+    }
+    return matcher;
+  }
+
+  public void setPointcutMatcher(PointcutMatcher pointcutMatcher) {
+    this.pointcutMatcher = pointcutMatcher;
   }
 
   public String getReturningParameter() {
@@ -78,9 +78,10 @@ public class AdviceExecutor {
 
   /**
    * 执行环绕通知
+   * 通知方法的 ProceedingJoinPoint 参数接收传入的连接点，由通知方法决定是否继续执行目标方法
    * 
    * @param adviceDefinition 通知定义
-   * @param joinPoint        连接点
+   * @param joinPoint        连接点，代理调用时为 ProceedingJoinPoint
    * @return 方法返回值
    * @throws Throwable 执行异常
    */
@@ -197,17 +198,25 @@ public class AdviceExecutor {
    * @return 如果匹配返回 true，否则返回 false
    */
   public static boolean matches(AdviceDefinition adviceDefinition, JoinPoint joinPoint) {
-    try {
-      String pointcutExpression = adviceDefinition.getPointcutExpression();
-      if (pointcutExpression == null || pointcutExpression.trim().isEmpty()) {
-        return false;
-      }
+    return matches(adviceDefinition, joinPoint.getMethod(), joinPoint.getTargetClass());
+  }
 
-      PointcutMatcher matcher = PointcutExpressionParser.parse(pointcutExpression);
-      return matcher.matches(joinPoint.getMethod(), joinPoint.getTargetClass());
-    } catch (Exception e) {
-      // 如果解析切点表达式失败，返回 false
+  /**
+   * 检查通知方法是否匹配目标方法
+   * 
+   * @param adviceDefinition 通知定义
+   * @param method           目标方法
+   * @param targetClass      目标类
+   * @return 如果匹配返回 true，否则返回 false
+   * @throws IllegalArgumentException 如果切点表达式格式不正确
+   */
+  public static boolean matches(AdviceDefinition adviceDefinition, Method method, Class<?> targetClass) {
+    // 使用通知定义上预先解析的匹配器，不在每次调用时解析表达式
+    PointcutMatcher matcher = adviceDefinition.getPointcutMatcher();
+    if (matcher == null) {
       return false;
     }
+
+    return matcher.matches(method, targetClass);
   }
 }
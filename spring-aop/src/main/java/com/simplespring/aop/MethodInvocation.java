@@ -4,11 +4,19 @@ import java.lang.reflect.Method;
 
 /**
  * 方法调用类
- * 封装方法调用的上下文信息，实现 JoinPoint 接口
+ * 封装方法调用的上下文信息，实现 ProceedingJoinPoint 接口
+ * 
+ * 方法调用同时是拦截器链的游标：每次 {@link #proceed()} 推进到下一个拦截器，
+ * 所有拦截器都执行后才调用目标方法。整条链共享同一个方法调用对象，调用过程中不再分配其他对象。
+ * 拦截器返回后游标恢复原位，因此同一个拦截器可以多次调用 proceed() 重新执行后续的链（例如重试）。
  * 
  * @author SimpleSpring
  */
-public class MethodInvocation implements JoinPoint {
+public class MethodInvocation implements ProceedingJoinPoint {
+
+  private static final Object[] NO_ARGS = new Object[0];
+
+  private static final MethodInterceptor[] NO_INTERCEPTORS = new MethodInterceptor[0];
 
   /**
    * 目标对象
@@ -23,13 +31,23 @@ public class MethodInvocation implements JoinPoint {
   /**
    * 方法参数
    */
-  private final Object[] args;
+  private Object[] args;
 
   /**
    * 目标类
    */
   private final Class<?> targetClass;
 
+  /**
+   * 拦截器链
+   */
+  private final MethodInterceptor[] interceptors;
+
+  /**
+   * 下一个要执行的拦截器的索引
+   */
+  private int currentInterceptorIndex;
+
   /**
    * 方法返回值
    */
@@ -52,6 +70,7 @@ public class MethodInvocation implements JoinPoint {
     this.method = method;
     this.args = args != null ? args.clone() : new Object[0];
     this.targetClass = target != null ? target.getClass() : method.getDeclaringClass();
+    this.interceptors = NO_INTERCEPTORS;
   }
 
   /**
@@ -68,6 +87,25 @@ public class MethodInvocation implements JoinPoint {
     this.args = args != null ? args.clone() : new Object[0];
     this.targetClass = targetClass != null ? targetClass
         : (target != null ? target.getClass() : method.getDeclaringClass());
+    this.interceptors = NO_INTERCEPTORS;
+  }
+
+  /**
+   * 构造函数，供代理使用，参数数组由代理为本次调用创建，不再复制
+   * 
+   * @param target       目标对象
+   * @param method       目标方法
+   * @param args         方法参数
+   * @param targetClass  目标类
+   * @param interceptors 拦截器链，按执行顺序排列
+   */
+  MethodInvocation(Object target, Method method, Object[] args, Class<?> targetClass,
+      MethodInterceptor[] interceptors) {
+    this.target = target;
+    this.method = method;
+    this.args = args != null ? args : NO_ARGS;
+    this.targetClass = targetClass;
+    this.interceptors = interceptors;
   }
 
   @Override
@@ -151,24 +189,69 @@ public class MethodInvocation implements JoinPoint {
   }
 
   /**
-   * 执行目标方法
+   * 执行拦截器链中的下一个拦截器，所有拦截器都执行后调用目标方法
    * 
    * @return 方法返回值
    * @throws Throwable 方法执行异常
    */
+  @Override
   public Object proceed() throws Throwable {
+    int index = currentInterceptorIndex;
+    if (index == interceptors.length) {
+      try {
+        Object result = invokeTarget(target, method, args);
+        this.returnValue = result;
+        return result;
+      } catch (Throwable t) {
+        this.exception = t;
+        throw t;
+      }
+    }
+
+    currentInterceptorIndex = index + 1;
+    try {
+      return interceptors[index].intercept(this);
+    } finally {
+      currentInterceptorIndex = index;
+    }
+  }
+
+  /**
+   * 使用新的参数执行拦截器链中的下一个拦截器
+   * 
+   * @param args 新的方法参数
+   * @return 方法返回值
+   * @throws Throwable 方法执行异常
+   */
+  @Override
+  public Object proceed(Object[] args) throws Throwable {
+    Object[] newArgs = args != null ? args.clone() : NO_ARGS;
+    if (newArgs.length != method.getParameterTypes().length) {
+      throw new IllegalArgumentException("参数数量不匹配，期望 " + method.getParameterTypes().length
+          + "，实际 " + newArgs.length);
+    }
+    this.args = newArgs;
+    return proceed();
+  }
+
+  /**
+   * 调用目标方法，子类可以替换调用方式（例如 CGLIB 代理使用 MethodProxy 代替反射）
+   * 
+   * @param target 目标对象
+   * @param method 目标方法
+   * @param args   方法参数
+   * @return 方法返回值
+   * @throws Throwable 方法执行异常
+   */
+  Object invokeTarget(Object target, Method method, Object[] args) throws Throwable {
     try {
-      Object result = method.invoke(target, args);
-      this.returnValue = result;
-      return result;
+      return method.invoke(target, args);
     } catch (Exception e) {
       // 处理反射异常
       Throwable cause = e.getCause();
       if (cause != null) {
-        this.exception = cause;
         throw cause;
       } else {
-        this.exception = e;
         throw e;
       }
     }
@@ -1,6 +1,11 @@
 package com.simplespring.aop;
 
+import com.simplespring.core.util.ClassUtils;
+
+import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.regex.Pattern;
 
 /**
@@ -11,19 +16,98 @@ import java.util.regex.Pattern;
  * 1. execution(* com.example.service.*.*(..)) - 执行表达式
  * 2. within(com.example.service.*) - 类型匹配表达式
  * 3. @annotation(com.example.MyAnnotation) - 注解匹配表达式
+ * 4. com.example.service.UserService.find* - 方法名简写，等价于 execution(* com.example.service.UserService.find*(..))
+ * 
+ * 解析时会编译正则表达式、加载注解类，开销较大。运行时应通过 {@link #getMatcher(String, ClassLoader)}
+ * 获取匹配器，或在注册切面时解析一次并保存在 {@link AdviceDefinition} 上。
+ * 
+ * {@code @annotation} 表达式引用的注解类通过切面的类加载器加载，同名的注解在不同的类加载器中是不同的类型，
+ * 因此这类匹配器不放入全局缓存，由持有它的通知定义保存。
  * 
  * @author SimpleSpring
  */
 public class PointcutExpressionParser {
 
   /**
-   * 解析切点表达式并创建匹配器
+   * 方法名简写形式：至少包含类名和方法名，只允许标识符字符和通配符
+   */
+  private static final Pattern METHOD_NAME_PATTERN = Pattern.compile("[\\w$*?]+(\\.{1,2}[\\w$*?]+)+");
+
+  /**
+   * 已解析的匹配器，相同的表达式共享同一个匹配器
+   * 只缓存不引用任何类的匹配器（execution、within 和方法名简写），它们与类加载器无关，
+   * 不会使类加载器无法回收；表达式来自切面注解，数量有限，不需要淘汰
+   */
+  private static final ConcurrentMap<String, PointcutMatcher> matcherCache =
+      new ConcurrentHashMap<String, PointcutMatcher>();
+
+  /**
+   * 获取表达式对应的匹配器，注解类通过默认类加载器加载
+   * 
+   * @param expression 切点表达式
+   * @return 切点匹配器
+   * @throws IllegalArgumentException 如果表达式格式不正确
+   * @see #getMatcher(String, ClassLoader)
+   */
+  public static PointcutMatcher getMatcher(String expression) {
+    return getMatcher(expression, null);
+  }
+
+  /**
+   * 获取表达式对应的匹配器，与类加载器无关的匹配器首次获取时解析并缓存
+   * 匹配器是不可变的，可以在多个切面和线程之间共享
+   * 
+   * @param expression  切点表达式
+   * @param classLoader 加载表达式中引用的注解类的类加载器，通常是切面类的类加载器；为 null 时使用默认类加载器
+   * @return 切点匹配器
+   * @throws IllegalArgumentException 如果表达式格式不正确或找不到引用的注解类
+   */
+  public static PointcutMatcher getMatcher(String expression, ClassLoader classLoader) {
+    if (expression == null) {
+      throw new IllegalArgumentException("切点表达式不能为空");
+    }
+    PointcutMatcher matcher = matcherCache.get(expression);
+    if (matcher == null) {
+      matcher = parse(expression, classLoader);
+      if (matcher instanceof AnnotationPointcutMatcher) {
+        // 绑定了具体注解类的匹配器不共享
+        return matcher;
+      }
+      PointcutMatcher existing = matcherCache.putIfAbsent(expression, matcher);
+      if (existing != null) {
+        matcher = existing;
+      }
+    }
+    return matcher;
+  }
+
+  /**
+   * 清除匹配器缓存（主要用于测试）
+   */
+  public static void clearCache() {
+    matcherCache.clear();
+  }
+
+  /**
+   * 解析切点表达式并创建匹配器，注解类通过默认类加载器加载
    * 
    * @param expression 切点表达式
    * @return 切点匹配器
    * @throws IllegalArgumentException 如果表达式格式不正确
    */
   public static PointcutMatcher parse(String expression) {
+    return parse(expression, null);
+  }
+
+  /**
+   * 解析切点表达式并创建匹配器
+   * 
+   * @param expression  切点表达式
+   * @param classLoader 加载表达式中引用的注解类的类加载器，为 null 时使用默认类加载器
+   * @return 切点匹配器
+   * @throws IllegalArgumentException 如果表达式格式不正确或找不到引用的注解类
+   */
+  public static PointcutMatcher parse(String expression, ClassLoader classLoader) {
     if (expression == null || expression.trim().isEmpty()) {
       throw new IllegalArgumentException("切点表达式不能为空");
     }
@@ -45,7 +129,12 @@ public class PointcutExpressionParser {
     // 解析 @annotation 表达式
     if (trimmedExpression.startsWith("@annotation(") && trimmedExpression.endsWith(")")) {
       String annotationName = trimmedExpression.substring(12, trimmedExpression.length() - 1);
-      return new AnnotationPointcutMatcher(expression, annotationName);
+      return new AnnotationPointcutMatcher(expression, annotationName, classLoader);
+    }
+
+    // 解析方法名简写
+    if (METHOD_NAME_PATTERN.matcher(trimmedExpression).matches()) {
+      return new ExecutionPointcutMatcher(expression, "* " + trimmedExpression + "(..)");
     }
 
     throw new IllegalArgumentException("不支持的切点表达式格式: " + expression);
@@ -167,39 +256,35 @@ public class PointcutExpressionParser {
   private static class AnnotationPointcutMatcher implements PointcutMatcher {
     private final String expression;
     private final String annotationName;
-    private Class<?> annotationClass;
+    private final Class<? extends Annotation> annotationClass;
 
-    public AnnotationPointcutMatcher(String expression, String annotationName) {
+    public AnnotationPointcutMatcher(String expression, String annotationName, ClassLoader classLoader) {
       this.expression = expression;
       this.annotationName = annotationName.trim();
 
-      // 尝试加载注解类
+      // 加载注解类，找不到时在解析阶段报错，避免切面静默失效
+      Class<?> loadedClass;
       try {
-        this.annotationClass = Class.forName(this.annotationName);
+        loadedClass = ClassUtils.forName(this.annotationName, false, classLoader);
       } catch (ClassNotFoundException e) {
-        // 如果找不到注解类，在匹配时会返回 false
-        this.annotationClass = null;
+        throw new IllegalArgumentException("找不到注解类 '" + this.annotationName + "': " + expression, e);
+      }
+      if (!loadedClass.isAnnotation()) {
+        throw new IllegalArgumentException("'" + this.annotationName + "' 不是注解类型: " + expression);
       }
+      this.annotationClass = loadedClass.asSubclass(Annotation.class);
     }
 
     @Override
     public boolean matches(Method method, Class<?> targetClass) {
-      if (annotationClass == null) {
-        return false;
-      }
-
       // 检查方法上是否有指定的注解
-      return method.isAnnotationPresent(annotationClass.asSubclass(java.lang.annotation.Annotation.class));
+      return method.isAnnotationPresent(annotationClass);
     }
 
     @Override
     public boolean matches(Class<?> targetClass) {
-      if (annotationClass == null) {
-        return false;
-      }
-
       // 检查类上是否有指定的注解
-      return targetClass.isAnnotationPresent(annotationClass.asSubclass(java.lang.annotation.Annotation.class));
+      return targetClass.isAnnotationPresent(annotationClass);
     }
 
     @Override
@@ -0,0 +1,27 @@
+package com.simplespring.aop;
+
+/**
+ * 可继续执行的连接点接口
+ * 环绕通知通过它继续执行拦截器链和目标方法，不调用 proceed 时目标方法不会执行
+ *
+ * @author SimpleSpring
+ */
+public interface ProceedingJoinPoint extends JoinPoint {
+
+  /**
+   * 使用当前参数继续执行
+   *
+   * @return 方法返回值
+   * @throws Throwable 方法执行异常
+   */
+  Object proceed() throws Throwable;
+
+  /**
+   * 使用新的参数继续执行，后续的拦截器和目标方法都会看到新的参数
+   *
+   * @param args 新的方法参数，数量必须与目标方法的参数数量一致
+   * @return 方法返回值
+   * @throws Throwable 方法执行异常
+   */
+  Object proceed(Object[] args) throws Throwable;
+}
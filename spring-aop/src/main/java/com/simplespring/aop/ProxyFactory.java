@@ -1,10 +1,26 @@
 package com.simplespring.aop;
 
+import net.sf.cglib.core.CodeGenerationException;
+import net.sf.cglib.proxy.Callback;
+import net.sf.cglib.proxy.CallbackFilter;
+import net.sf.cglib.proxy.Dispatcher;
+import net.sf.cglib.proxy.Enhancer;
+import net.sf.cglib.proxy.Factory;
+import net.sf.cglib.proxy.MethodProxy;
+import net.sf.cglib.proxy.NoOp;
+
+import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.lang.reflect.Proxy;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * 代理工厂类
@@ -14,6 +30,16 @@ import java.util.List;
  */
 public class ProxyFactory {
 
+  /**
+   * CGLIB 代理类的不调用构造函数的实例化构造函数，随代理类一起回收；JVM 不支持时为 null
+   */
+  private static final ClassValue<Constructor<?>> SERIALIZATION_CONSTRUCTORS = new ClassValue<Constructor<?>>() {
+    @Override
+    protected Constructor<?> computeValue(Class<?> type) {
+      return newSerializationConstructor(type);
+    }
+  };
+
   /**
    * 目标对象
    */
@@ -115,8 +141,8 @@ public class ProxyFactory {
       throw new IllegalStateException("目标类没有实现接口，无法使用 JDK 动态代理");
     }
 
-    InvocationHandler handler = new JdkProxyInvocationHandler(target, targetClass,
-        interceptors, aspectDefinitions);
+    InvocationHandler handler = new JdkProxyInvocationHandler(
+        new AdvisedTarget(target, targetClass, interceptors, aspectDefinitions));
 
     return Proxy.newProxyInstance(
         targetClass.getClassLoader(),
@@ -126,16 +152,86 @@ public class ProxyFactory {
 
   /**
    * 创建 CGLIB 代理
-   * 注意：这里只是一个占位实现，实际项目中需要集成 CGLIB 库
+   * 生成目标类的子类，回调过滤器在生成代理类时为每个方法选择回调：
+   * 有通知的方法进入通知链，目标方法通过 MethodProxy 调用；没有通知的方法直接分派给目标对象。
+   * 生成的代理类由 CGLIB 按（目标类、有通知的方法集合）缓存，相同的组合只生成一次。
+   * 
+   * 代理实例不调用目标类的构造函数创建，目标类不需要无参构造函数，构造函数的副作用也不会重复执行；
+   * 代理实例自身的字段保持默认值，所有可以覆盖的方法都转发给目标对象。
    * 
    * @return 代理对象
    */
   private Object createCglibProxy() {
-    // 在简易实现中，我们暂时不集成 CGLIB
-    // 如果目标类没有实现接口，我们抛出异常提示
-    throw new UnsupportedOperationException(
-        "CGLIB 代理暂未实现。请确保目标类实现了接口以使用 JDK 动态代理，" +
-            "或者在实际项目中集成 CGLIB 库。目标类: " + targetClass.getName());
+    if (Modifier.isFinal(targetClass.getModifiers())) {
+      throw new IllegalStateException("final 类无法使用 CGLIB 代理: " + targetClass.getName());
+    }
+
+    AdvisedTarget advised = new AdvisedTarget(target, targetClass, interceptors, aspectDefinitions);
+    Class<?> proxyClass;
+    try {
+      Enhancer enhancer = new Enhancer();
+      enhancer.setSuperclass(targetClass);
+      enhancer.setClassLoader(targetClass.getClassLoader());
+      enhancer.setCallbackFilter(new CglibCallbackFilter(advised));
+      enhancer.setCallbackTypes(new Class<?>[] {
+          net.sf.cglib.proxy.MethodInterceptor.class, Dispatcher.class, NoOp.class });
+      proxyClass = enhancer.createClass();
+    } catch (CodeGenerationException e) {
+      throw new IllegalStateException(cglibFailureMessage(e.getCause() != null ? e.getCause() : e), e);
+    } catch (LinkageError e) {
+      // CGLIB 无法定义类时初始化失败，之后的使用抛出 NoClassDefFoundError
+      throw new IllegalStateException(cglibFailureMessage(e), e);
+    }
+
+    Factory proxy = (Factory) instantiateWithoutConstructor(proxyClass);
+    proxy.setCallbacks(new Callback[] {
+        new CglibMethodInterceptor(advised),
+        new TargetDispatcher(target),
+        NoOp.INSTANCE });
+    return proxy;
+  }
+
+  private String cglibFailureMessage(Throwable cause) {
+    return "无法为 " + targetClass.getName() + " 创建 CGLIB 代理: " + cause
+        + "。在 JDK 9 及以上版本运行时需要添加 JVM 参数 --add-opens java.base/java.lang=ALL-UNNAMED";
+  }
+
+  /**
+   * 不调用构造函数创建代理类的实例
+   * 使用 JDK 反序列化所用的构造函数（只执行 Object 的构造函数），不可用时退回到无参构造函数
+   * 
+   * @param proxyClass 代理类
+   * @return 代理实例
+   * @throws IllegalStateException 如果无法创建实例
+   */
+  private Object instantiateWithoutConstructor(Class<?> proxyClass) {
+    Constructor<?> constructor = SERIALIZATION_CONSTRUCTORS.get(proxyClass);
+    try {
+      if (constructor != null) {
+        return constructor.newInstance();
+      }
+      Constructor<?> noArgConstructor = proxyClass.getDeclaredConstructor();
+      noArgConstructor.setAccessible(true);
+      return noArgConstructor.newInstance();
+    } catch (NoSuchMethodException e) {
+      throw new IllegalStateException("当前 JVM 不支持不调用构造函数创建实例，且目标类没有无参构造函数，无法使用 CGLIB 代理: "
+          + targetClass.getName(), e);
+    } catch (Exception e) {
+      throw new IllegalStateException("无法创建 " + targetClass.getName() + " 的 CGLIB 代理实例: " + e, e);
+    }
+  }
+
+  private static Constructor<?> newSerializationConstructor(Class<?> type) {
+    try {
+      Class<?> factoryClass = Class.forName("sun.reflect.ReflectionFactory");
+      Object reflectionFactory = factoryClass.getMethod("getReflectionFactory").invoke(null);
+      Method method = factoryClass.getMethod("newConstructorForSerialization", Class.class, Constructor.class);
+      return (Constructor<?>) method.invoke(reflectionFactory, type, Object.class.getDeclaredConstructor());
+    } catch (Exception e) {
+      return null;
+    } catch (LinkageError e) {
+      return null;
+    }
   }
 
   /**
@@ -199,17 +295,22 @@ public class ProxyFactory {
   }
 
   /**
-   * JDK 动态代理的 InvocationHandler 实现
+   * 被代理的目标及其通知配置，两种代理方式共用
+   * 每个方法的通知链在第一次调用时计算并缓存，切面定义在代理创建后的变化不会反映到已缓存的方法上
    */
-  private static class JdkProxyInvocationHandler implements InvocationHandler {
+  private static class AdvisedTarget {
 
     private final Object target;
     private final Class<?> targetClass;
     private final List<MethodInterceptor> interceptors;
     private final List<AspectDefinition> aspectDefinitions;
 
-    public JdkProxyInvocationHandler(Object target, Class<?> targetClass,
-        List<MethodInterceptor> interceptors,
+    /**
+     * 方法 -> 通知链缓存
+     */
+    private final ConcurrentMap<Method, AdviceChain> adviceChainCache = new ConcurrentHashMap<Method, AdviceChain>();
+
+    AdvisedTarget(Object target, Class<?> targetClass, List<MethodInterceptor> interceptors,
         List<AspectDefinition> aspectDefinitions) {
       this.target = target;
       this.targetClass = targetClass;
@@ -217,132 +318,166 @@ public class ProxyFactory {
       this.aspectDefinitions = new ArrayList<AspectDefinition>(aspectDefinitions);
     }
 
-    @Override
-    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
-      // 创建方法调用对象
-      MethodInvocation invocation = new MethodInvocation(target, method, args, targetClass);
+    /**
+     * 获取方法的通知链，第一次调用时计算
+     * 
+     * @param method 目标方法
+     * @return 通知链
+     */
+    AdviceChain getAdviceChain(Method method) {
+      AdviceChain chain = adviceChainCache.get(method);
+      if (chain == null) {
+        chain = AdviceChain.build(aspectDefinitions, interceptors, method, targetClass);
+        AdviceChain existing = adviceChainCache.putIfAbsent(method, chain);
+        if (existing != null) {
+          chain = existing;
+        }
+      }
+      return chain;
+    }
+  }
 
-      // 收集匹配的通知
-      List<AdviceDefinition> matchingAdvices = collectMatchingAdvices(invocation);
+  /**
+   * JDK 动态代理的 InvocationHandler 实现
+   */
+  private static class JdkProxyInvocationHandler implements InvocationHandler {
 
-      if (matchingAdvices.isEmpty() && interceptors.isEmpty()) {
-        // 没有通知和拦截器，直接调用目标方法
-        return invocation.proceed();
-      }
+    private final AdvisedTarget advised;
 
-      // 执行通知和拦截器
-      return executeWithAdvices(invocation, matchingAdvices);
+    public JdkProxyInvocationHandler(AdvisedTarget advised) {
+      this.advised = advised;
     }
 
-    /**
-     * 收集匹配的通知定义
-     * 
-     * @param invocation 方法调用
-     * @return 匹配的通知定义列表
-     */
-    private List<AdviceDefinition> collectMatchingAdvices(MethodInvocation invocation) {
-      List<AdviceDefinition> matchingAdvices = new ArrayList<AdviceDefinition>();
-
-      for (AspectDefinition aspectDef : aspectDefinitions) {
-        for (AdviceDefinition adviceDef : aspectDef.getAdvices()) {
-          if (AdviceExecutor.matches(adviceDef, invocation)) {
-            matchingAdvices.add(adviceDef);
-          }
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+      AdviceChain chain = advised.getAdviceChain(method);
+
+      if (chain.isEmpty()) {
+        // 没有通知和拦截器，直接调用目标方法，不创建方法调用对象
+        try {
+          return method.invoke(advised.target, args);
+        } catch (InvocationTargetException e) {
+          throw e.getCause();
         }
       }
 
-      return matchingAdvices;
+      // 执行通知和拦截器，整条链共享同一个方法调用对象
+      return new MethodInvocation(advised.target, method, args, advised.targetClass, chain.interceptors).proceed();
     }
+  }
+
+  /**
+   * CGLIB 代理的回调过滤器
+   * 按回调数组的下标选择回调，相等的过滤器（有通知的方法集合相同）使 CGLIB 复用已生成的代理类。
+   * 过滤器随代理类一起缓存，因此只保存方法集合，不引用目标对象。
+   */
+  private static class CglibCallbackFilter implements CallbackFilter {
+
+    private static final int ADVISED = 0;
+    private static final int DISPATCH_TO_TARGET = 1;
+    private static final int NO_OVERRIDE = 2;
 
     /**
-     * 执行带通知的方法调用
-     * 
-     * @param invocation 方法调用
-     * @param advices    通知定义列表
-     * @return 方法返回值
-     * @throws Throwable 执行异常
+     * 有通知的方法集合
      */
-    private Object executeWithAdvices(MethodInvocation invocation,
-        List<AdviceDefinition> advices) throws Throwable {
-      Object result = null;
-      Throwable exception = null;
-
-      try {
-        // 执行前置通知
-        for (AdviceDefinition advice : advices) {
-          if (advice.getType() == AdviceType.BEFORE) {
-            AdviceExecutor.executeBefore(advice, invocation);
-          }
-        }
+    private final Set<Method> advisedMethods = new HashSet<Method>();
 
-        // 执行拦截器
-        if (!interceptors.isEmpty()) {
-          result = executeInterceptors(invocation);
-        } else {
-          result = invocation.proceed();
+    CglibCallbackFilter(AdvisedTarget advised) {
+      collectAdvisedMethods(advised, advised.targetClass, new HashSet<Class<?>>());
+    }
+
+    private void collectAdvisedMethods(AdvisedTarget advised, Class<?> type, Set<Class<?>> visited) {
+      if (type == null || !visited.add(type)) {
+        return;
+      }
+      for (Method method : type.getDeclaredMethods()) {
+        int modifiers = method.getModifiers();
+        if (!Modifier.isStatic(modifiers) && !Modifier.isPrivate(modifiers) && !Modifier.isFinal(modifiers)
+            && !advised.getAdviceChain(method).isEmpty()) {
+          advisedMethods.add(method);
         }
+      }
+      collectAdvisedMethods(advised, type.getSuperclass(), visited);
+      for (Class<?> interfaceType : type.getInterfaces()) {
+        collectAdvisedMethods(advised, interfaceType, visited);
+      }
+    }
 
-        invocation.setReturnValue(result);
+    @Override
+    public int accept(Method method) {
+      if ("finalize".equals(method.getName()) && method.getParameterTypes().length == 0) {
+        return NO_OVERRIDE;
+      }
+      return advisedMethods.contains(method) ? ADVISED : DISPATCH_TO_TARGET;
+    }
 
-        // 执行返回后通知
-        for (AdviceDefinition advice : advices) {
-          if (advice.getType() == AdviceType.AFTER_RETURNING) {
-            AdviceExecutor.executeAfterReturning(advice, invocation, result);
-          }
-        }
+    @Override
+    public boolean equals(Object other) {
+      return this == other || (other instanceof CglibCallbackFilter
+          && advisedMethods.equals(((CglibCallbackFilter) other).advisedMethods));
+    }
 
-      } catch (Throwable t) {
-        exception = t;
-        invocation.setException(t);
-
-        // 执行异常通知
-        for (AdviceDefinition advice : advices) {
-          if (advice.getType() == AdviceType.AFTER_THROWING) {
-            try {
-              AdviceExecutor.executeAfterThrowing(advice, invocation, t);
-            } catch (Throwable adviceException) {
-              // 通知执行异常，记录但不影响原异常的抛出
-              System.err.println("执行异常通知时发生错误: " + adviceException.getMessage());
-            }
-          }
-        }
+    @Override
+    public int hashCode() {
+      return advisedMethods.hashCode();
+    }
+  }
 
-        throw t;
-      } finally {
-        // 执行后置通知
-        for (AdviceDefinition advice : advices) {
-          if (advice.getType() == AdviceType.AFTER) {
-            try {
-              AdviceExecutor.executeAfter(advice, invocation);
-            } catch (Throwable adviceException) {
-              // 通知执行异常，记录但不影响主流程
-              System.err.println("执行后置通知时发生错误: " + adviceException.getMessage());
-            }
-          }
-        }
-      }
+  /**
+   * CGLIB 代理中有通知的方法的回调
+   */
+  private static class CglibMethodInterceptor implements net.sf.cglib.proxy.MethodInterceptor {
+
+    private final AdvisedTarget advised;
 
-      return result;
+    CglibMethodInterceptor(AdvisedTarget advised) {
+      this.advised = advised;
     }
 
-    /**
-     * 执行拦截器链
-     * 
-     * @param invocation 方法调用
-     * @return 方法返回值
-     * @throws Throwable 执行异常
-     */
-    private Object executeInterceptors(MethodInvocation invocation) throws Throwable {
-      if (interceptors.isEmpty()) {
-        return invocation.proceed();
+    @Override
+    public Object intercept(Object proxy, Method method, Object[] args, MethodProxy methodProxy) throws Throwable {
+      AdviceChain chain = advised.getAdviceChain(method);
+      if (chain.isEmpty()) {
+        return methodProxy.invoke(advised.target, args);
       }
+      return new CglibMethodInvocation(advised.target, method, args, advised.targetClass, chain.interceptors,
+          methodProxy).proceed();
+    }
+  }
 
-      // 简单实现：依次执行所有拦截器
-      Object result = null;
-      for (MethodInterceptor interceptor : interceptors) {
-        result = interceptor.intercept(invocation);
-      }
-      return result;
+  /**
+   * CGLIB 代理中没有通知的方法的回调，生成的代码直接在目标对象上调用方法
+   */
+  private static class TargetDispatcher implements Dispatcher {
+
+    private final Object target;
+
+    TargetDispatcher(Object target) {
+      this.target = target;
+    }
+
+    @Override
+    public Object loadObject() {
+      return target;
+    }
+  }
+
+  /**
+   * CGLIB 代理的方法调用，通过 MethodProxy（FastClass）调用目标方法而不是反射
+   */
+  private static class CglibMethodInvocation extends MethodInvocation {
+
+    private final MethodProxy methodProxy;
+
+    CglibMethodInvocation(Object target, Method method, Object[] args, Class<?> targetClass,
+        MethodInterceptor[] interceptors, MethodProxy methodProxy) {
+      super(target, method, args, targetClass, interceptors);
+      this.methodProxy = methodProxy;
+    }
+
+    @Override
+    Object invokeTarget(Object target, Method method, Object[] args) throws Throwable {
+      return methodProxy.invoke(target, args);
     }
   }
 }
@@ -123,13 +123,29 @@ public class AdviceExecutorTest {
   }
 
   @Test
+  public void testMatchesUsesPointcutMatcher() throws Exception {
+    // 匹配时使用通知定义上保存的匹配器，修改表达式后重新解析
+    Method beforeMethod = TestAspect.class.getMethod("beforeAdvice", JoinPoint.class);
+    AdviceDefinition advice = new AdviceDefinition(beforeMethod, AdviceType.BEFORE,
+        "execution(* *.test*(..))", testAspect);
+
+    PointcutMatcher matcher = advice.getPointcutMatcher();
+    assertSame("应该复用共享的匹配器", PointcutExpressionParser.getMatcher("execution(* *.test*(..))"), matcher);
+    assertSame("匹配器应该只解析一次", matcher, advice.getPointcutMatcher());
+
+    advice.setPointcutExpression("execution(* *.save*(..))");
+    assertNotSame("修改表达式后应该使用新的匹配器", matcher, advice.getPointcutMatcher());
+    assertFalse("不应该匹配 testMethod", AdviceExecutor.matches(advice, methodInvocation));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
   public void testMatchesWithInvalidExpression() throws Exception {
-    // 测试无效的切点表达式
+    // 无效的切点表达式应该报错，而不是静默地不匹配
     Method beforeMethod = TestAspect.class.getMethod("beforeAdvice", JoinPoint.class);
     AdviceDefinition advice = new AdviceDefinition(beforeMethod, AdviceType.BEFORE,
         "invalid expression", testAspect);
 
-    assertFalse("无效表达式应该返回 false", AdviceExecutor.matches(advice, methodInvocation));
+    AdviceExecutor.matches(advice, methodInvocation);
   }
 
   @Test
@@ -125,7 +125,7 @@ public class AopPerformanceTest {
 
     for (int i = 0; i < ITERATIONS; i++) {
       for (Method method : methods) {
-        boolean matches = matcher.matches(method);
+        boolean matches = matcher.matches(method, TestService.class);
         // 验证匹配结果的正确性
         if (method.getName().equals("doSomething")) {
           assertTrue("doSomething should match", matches);
@@ -145,12 +145,12 @@ public class AopPerformanceTest {
   }
 
   @Test
-  public void testAdviceExecutionPerformance() throws Exception {
+  public void testAdviceExecutionPerformance() throws Throwable {
     // 测试通知执行性能
 
     TestAspect testAspect = new TestAspect();
-    Method adviceMethod = TestAspect.class.getMethod("beforeAdvice");
-    AdviceExecutor executor = new AdviceExecutor();
+    AdviceDefinition advice = new AdviceDefinition(TestAspect.class.getMethod("beforeAdvice"), AdviceType.BEFORE,
+        "execution(* *.doSomething(..))", testAspect);
 
     TestService service = new TestService();
     Method targetMethod = TestService.class.getMethod("doSomething", String.class);
@@ -160,7 +160,7 @@ public class AopPerformanceTest {
     for (int i = 0; i < ITERATIONS; i++) {
       MethodInvocation invocation = new MethodInvocation(service, targetMethod,
           new Object[] { "test" + i });
-      executor.executeBefore(adviceMethod, testAspect, invocation);
+      AdviceExecutor.executeBefore(advice, invocation);
     }
 
     long endTime = System.currentTimeMillis();
@@ -209,6 +209,35 @@ public class AopPerformanceTest {
         duration < MAX_ACCEPTABLE_TIME_MS);
   }
 
+  @Test
+  public void testInterceptorChainDepthPerformance() {
+    // 测试不同深度拦截器链的调用开销
+
+    for (int depth : new int[] { 0, 1, 5, 20 }) {
+      ProxyFactory proxyFactory = new ProxyFactory(new TestServiceImpl());
+      for (int i = 0; i < depth; i++) {
+        proxyFactory.addInterceptor(new PassThroughInterceptor());
+      }
+      TestServiceInterface proxy = (TestServiceInterface) proxyFactory.createProxy();
+
+      // 预热
+      for (int i = 0; i < ITERATIONS; i++) {
+        proxy.doSomething("test");
+      }
+
+      long startTime = System.nanoTime();
+      for (int i = 0; i < ITERATIONS * 10; i++) {
+        assertEquals("TestServiceImpl: test", proxy.doSomething("test"));
+      }
+      long duration = (System.nanoTime() - startTime) / 1000000;
+
+      System.out.println("Interceptor chain depth " + depth + ": " + duration + "ms for " +
+          (ITERATIONS * 10) + " calls");
+      assertTrue("Interceptor chain of depth " + depth + " should complete within acceptable time",
+          duration < MAX_ACCEPTABLE_TIME_MS);
+    }
+  }
+
   @Test
   public void testConcurrentProxyAccess() throws InterruptedException {
     // 测试并发代理访问性能
@@ -348,6 +377,27 @@ public class AopPerformanceTest {
     }
   }
 
+  // 测试用的接口
+  public interface TestServiceInterface {
+    String doSomething(String input);
+  }
+
+  // 测试用的接口实现类
+  public static class TestServiceImpl implements TestServiceInterface {
+    @Override
+    public String doSomething(String input) {
+      return "TestServiceImpl: " + input;
+    }
+  }
+
+  // 测试用的直接放行的拦截器
+  private static class PassThroughInterceptor implements MethodInterceptor {
+    @Override
+    public Object intercept(MethodInvocation invocation) throws Throwable {
+      return invocation.proceed();
+    }
+  }
+
   // 测试用的切面
   public static class TestAspect {
     public int beforeCallCount = 0;
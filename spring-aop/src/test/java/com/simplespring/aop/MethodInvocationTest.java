@@ -129,6 +129,50 @@ public class MethodInvocationTest {
     }
   }
 
+  @Test
+  public void testProceedThroughInterceptorChain() throws Throwable {
+    // 测试拦截器链按顺序嵌套执行
+    MethodInvocation invocation = new MethodInvocation(testService, testMethod, testArgs, TestService.class,
+        new MethodInterceptor[] { new WrappingInterceptor("a"), new WrappingInterceptor("b") });
+
+    assertEquals("拦截器应该依次包装后续的调用", "a(b(test-123))", invocation.proceed());
+    assertEquals("应该记录目标方法的返回值", "test-123", invocation.getReturnValue());
+  }
+
+  @Test
+  public void testInterceptorCanProceedMoreThanOnce() throws Throwable {
+    // 测试拦截器多次调用 proceed 时重新执行后续的链
+    final WrappingInterceptor inner = new WrappingInterceptor("inner");
+    MethodInterceptor retrying = new MethodInterceptor() {
+      @Override
+      public Object intercept(MethodInvocation invocation) throws Throwable {
+        return invocation.proceed() + "|" + invocation.proceed();
+      }
+    };
+    MethodInvocation invocation = new MethodInvocation(testService, testMethod, testArgs, TestService.class,
+        new MethodInterceptor[] { retrying, inner });
+
+    assertEquals("inner(test-123)|inner(test-123)", invocation.proceed());
+    assertEquals("后续拦截器应该执行两次", 2, inner.count);
+  }
+
+  @Test
+  public void testProceedWithNewArgs() throws Throwable {
+    // 测试使用新的参数继续执行
+    MethodInvocation invocation = new MethodInvocation(testService, testMethod, testArgs, TestService.class,
+        new MethodInterceptor[] { new WrappingInterceptor("a") });
+
+    assertEquals("a(other-7)", invocation.proceed(new Object[] { "other", 7 }));
+    assertArrayEquals("后续的链应该看到新的参数", new Object[] { "other", 7 }, invocation.getArgs());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testProceedWithWrongArgumentCount() throws Throwable {
+    // 测试参数数量不匹配
+    MethodInvocation invocation = new MethodInvocation(testService, testMethod, testArgs);
+    invocation.proceed(new Object[] { "other" });
+  }
+
   @Test
   public void testToString() {
     // 测试 toString 方法
@@ -142,6 +186,22 @@ public class MethodInvocationTest {
     assertTrue("toString 应该包含参数数量", result.contains("argsCount=2"));
   }
 
+  // 测试用的包装拦截器
+  private static class WrappingInterceptor implements MethodInterceptor {
+    private final String name;
+    private int count;
+
+    WrappingInterceptor(String name) {
+      this.name = name;
+    }
+
+    @Override
+    public Object intercept(MethodInvocation invocation) throws Throwable {
+      count++;
+      return name + "(" + invocation.proceed() + ")";
+    }
+  }
+
   // 测试用的服务类
   public static class TestService {
     public String testMethod(String str, int num) {
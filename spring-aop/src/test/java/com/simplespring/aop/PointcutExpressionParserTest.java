@@ -3,7 +3,13 @@ package com.simplespring.aop;
 import org.junit.Test;
 import static org.junit.Assert.*;
 
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
 import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
 
 /**
  * PointcutExpressionParser 类测试
@@ -25,7 +31,7 @@ public class PointcutExpressionParserTest {
   @Test
   public void testParseAnnotationExpression() {
     // 测试解析 @annotation 表达式
-    String expression = "@annotation(com.example.MyAnnotation)";
+    String expression = "@annotation(java.lang.Deprecated)";
     PointcutMatcher matcher = PointcutExpressionParser.parse(expression);
 
     assertNotNull("解析结果不应该为 null", matcher);
@@ -76,15 +82,10 @@ public class PointcutExpressionParserTest {
     assertEquals("应该返回原始表达式", expression, matcher.getExpression());
   }
 
-  @Test
-  public void testAnnotationMatchingWithNonExistentAnnotation() {
-    // 测试不存在的注解
-    String expression = "@annotation(com.nonexistent.Annotation)";
-    PointcutMatcher matcher = PointcutExpressionParser.parse(expression);
-
-    // 不存在的注解应该不匹配任何方法
-    assertFalse("不存在的注解不应该匹配任何类",
-        matcher.matches(TestUserService.class));
+  @Test(expected = IllegalArgumentException.class)
+  public void testAnnotationExpressionWithNonExistentAnnotation() {
+    // 找不到的注解应该在解析时报错，而不是静默地不匹配
+    PointcutExpressionParser.parse("@annotation(com.nonexistent.Annotation)");
   }
 
   @Test
@@ -107,6 +108,100 @@ public class PointcutExpressionParserTest {
         matcher.matches(findMethod, TestUserService.class));
   }
 
+  @Test
+  public void testMethodNameShorthand() throws Exception {
+    // 测试方法名简写形式
+    String expression = "com.simplespring.aop.PointcutExpressionParserTest$TestUserService.save*";
+    PointcutMatcher matcher = PointcutExpressionParser.parse(expression);
+
+    assertEquals("应该返回原始表达式", expression, matcher.getExpression());
+    assertTrue("应该匹配 saveUser 方法",
+        matcher.matches(TestUserService.class.getMethod("saveUser"), TestUserService.class));
+    assertFalse("不应该匹配 findUser 方法",
+        matcher.matches(TestUserService.class.getMethod("findUser"), TestUserService.class));
+  }
+
+  @Test
+  public void testGetMatcherSharesInstance() {
+    // 相同的表达式应该共享同一个匹配器
+    PointcutExpressionParser.clearCache();
+    PointcutMatcher matcher = PointcutExpressionParser.getMatcher("execution(* *.save*(..))");
+
+    assertSame("相同表达式应该返回缓存的匹配器", matcher,
+        PointcutExpressionParser.getMatcher(new String("execution(* *.save*(..))")));
+    assertNotSame("不同表达式应该返回不同的匹配器", matcher,
+        PointcutExpressionParser.getMatcher("execution(* *.find*(..))"));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testGetMatcherWithInvalidExpression() {
+    // 无效表达式不应该被缓存为匹配器
+    PointcutExpressionParser.getMatcher("unsupported(expression)");
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testAnnotationExpressionWithNonAnnotationType() {
+    // @annotation 引用的类型必须是注解
+    PointcutExpressionParser.parse("@annotation(java.lang.String)");
+  }
+
+  @Test
+  public void testAnnotationMatcherUsesGivenClassLoader() throws Exception {
+    // 同名注解在两个类加载器中是不同的类型，匹配器应该绑定调用方指定的类加载器
+    String expression = "@annotation(com.simplespring.aop.PointcutExpressionParserTest$Audited)";
+    URL testClasses = PointcutExpressionParserTest.class.getProtectionDomain().getCodeSource().getLocation();
+    URLClassLoader isolatedLoader = new URLClassLoader(new URL[] { testClasses }, null);
+    try {
+      Class<?> isolatedService = isolatedLoader.loadClass(AuditedService.class.getName());
+      assertNotSame(AuditedService.class, isolatedService);
+      Method localSave = AuditedService.class.getMethod("save");
+      Method isolatedSave = isolatedService.getMethod("save");
+
+      PointcutMatcher localMatcher = PointcutExpressionParser.getMatcher(expression,
+          PointcutExpressionParserTest.class.getClassLoader());
+      PointcutMatcher isolatedMatcher = PointcutExpressionParser.getMatcher(expression, isolatedLoader);
+
+      assertNotSame("绑定不同类加载器的匹配器不应该共享", localMatcher, isolatedMatcher);
+      assertTrue(localMatcher.matches(localSave, AuditedService.class));
+      assertFalse(localMatcher.matches(isolatedSave, isolatedService));
+      assertTrue("应该使用指定类加载器中的注解类型", isolatedMatcher.matches(isolatedSave, isolatedService));
+      assertFalse(isolatedMatcher.matches(localSave, AuditedService.class));
+    } finally {
+      isolatedLoader.close();
+    }
+  }
+
+  @Test
+  public void testAdviceDefinitionUsesAspectClassLoader() throws Exception {
+    // 通知定义应该通过切面类的类加载器解析注解
+    URL testClasses = PointcutExpressionParserTest.class.getProtectionDomain().getCodeSource().getLocation();
+    URLClassLoader isolatedLoader = new URLClassLoader(new URL[] { testClasses }, null);
+    try {
+      Class<?> isolatedService = isolatedLoader.loadClass(AuditedService.class.getName());
+      Method isolatedSave = isolatedService.getMethod("save");
+      AdviceDefinition advice = new AdviceDefinition(isolatedSave, AdviceType.BEFORE,
+          "@annotation(com.simplespring.aop.PointcutExpressionParserTest$Audited)", null);
+
+      assertTrue(AdviceExecutor.matches(advice, isolatedSave, isolatedService));
+      assertFalse(AdviceExecutor.matches(advice, AuditedService.class.getMethod("save"), AuditedService.class));
+    } finally {
+      isolatedLoader.close();
+    }
+  }
+
+  // 测试用的方法注解
+  @Retention(RetentionPolicy.RUNTIME)
+  @Target(ElementType.METHOD)
+  public @interface Audited {
+  }
+
+  // 测试用的带注解方法的服务类，只依赖 JDK 的类，可以在独立的类加载器中加载
+  public static class AuditedService {
+    @Audited
+    public void save() {
+    }
+  }
+
   // 测试用的服务类
   public static class TestUserService {
     public void saveUser() {
@@ -5,6 +5,8 @@ import org.junit.Test;
 import static org.junit.Assert.*;
 
 import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * ProxyFactory 类测试
@@ -73,6 +75,18 @@ public class ProxyFactoryTest {
     assertEquals("代理应该正确执行方法", "intercepted: TestServiceImpl: test", result);
   }
 
+  @Test
+  public void testInterceptorsWrapEachOther() {
+    // 测试多个拦截器依次包装，而不是只保留最后一个的结果
+    ProxyFactory factory = new ProxyFactory(testServiceInterface);
+    factory.addInterceptor(new TestMethodInterceptor());
+    factory.addInterceptor(new TestMethodInterceptor());
+
+    TestServiceInterface proxyService = (TestServiceInterface) factory.createProxy();
+
+    assertEquals("intercepted: intercepted: TestServiceImpl: test", proxyService.doSomething("test"));
+  }
+
   @Test(expected = IllegalStateException.class)
   public void testCreateProxyWithNullTarget() {
     // 测试 null 目标对象
@@ -80,11 +94,19 @@ public class ProxyFactoryTest {
     factory.createProxy();
   }
 
-  @Test(expected = UnsupportedOperationException.class)
-  public void testCreateCglibProxyNotSupported() {
-    // 测试 CGLIB 代理（暂未实现）
+  @Test
+  public void testCreateCglibProxy() throws Exception {
+    // 测试为没有实现接口的类创建 CGLIB 代理
     ProxyFactory factory = new ProxyFactory(testService); // TestService 没有实现接口
-    factory.createProxy();
+    TestAspect aspect = new TestAspect();
+    factory.addAspectDefinition(beforeAspect(aspect, "execution(* *.doSomething(..))"));
+
+    Object proxy = factory.createProxy();
+
+    assertTrue("CGLIB 代理应该是目标类的子类", proxy instanceof TestService);
+    assertFalse("代理对象不应该是原始对象", proxy == testService);
+    assertEquals("TestService: test", ((TestService) proxy).doSomething("test"));
+    assertTrue("前置通知应该被执行", aspect.beforeCalled);
   }
 
   @Test
@@ -92,16 +114,73 @@ public class ProxyFactoryTest {
     // 测试强制使用 CGLIB 代理
     ProxyFactory factory = new ProxyFactory(testServiceInterface);
     factory.setForceCglib(true);
+    factory.addInterceptor(new TestMethodInterceptor());
+
+    Object proxy = factory.createProxy();
+
+    assertTrue("强制 CGLIB 代理应该是实现类的子类", proxy instanceof TestServiceImpl);
+    assertFalse("不应该是 JDK 动态代理", java.lang.reflect.Proxy.isProxyClass(proxy.getClass()));
+    assertEquals("intercepted: TestServiceImpl: test", ((TestServiceImpl) proxy).doSomething("test"));
+  }
+
+  @Test
+  public void testCglibUnadvisedMethodDispatchesToTarget() throws Exception {
+    // 测试没有通知的方法直接分派给目标对象，而不是代理自身的状态
+    StatefulService target = new StatefulService();
+    target.setName("target");
+    ProxyFactory factory = new ProxyFactory(target);
+    TestAspect aspect = new TestAspect();
+    factory.addAspectDefinition(beforeAspect(aspect, "execution(* *.greet(..))"));
+
+    StatefulService proxy = (StatefulService) factory.createProxy();
+
+    assertEquals("target", proxy.getName());
+    assertFalse("没有通知的方法不应该执行通知", aspect.beforeCalled);
+    assertEquals("hello target", proxy.greet());
+    assertTrue(aspect.beforeCalled);
 
     try {
-      factory.createProxy();
-      fail("应该抛出 UnsupportedOperationException");
-    } catch (UnsupportedOperationException e) {
-      assertTrue("异常信息应该包含 CGLIB 相关信息",
-          e.getMessage().contains("CGLIB"));
+      proxy.fail();
+      fail("应该抛出目标方法的原始异常");
+    } catch (IllegalStateException e) {
+      assertEquals("failed: target", e.getMessage());
     }
   }
 
+  @Test
+  public void testCglibProxyClassIsCached() throws Exception {
+    // 测试相同的目标类和通知组合复用同一个代理类
+    TestAspect aspect = new TestAspect();
+
+    ProxyFactory first = new ProxyFactory(new StatefulService());
+    first.addAspectDefinition(beforeAspect(aspect, "execution(* *.greet(..))"));
+    ProxyFactory second = new ProxyFactory(new StatefulService());
+    second.addAspectDefinition(beforeAspect(aspect, "execution(* *.greet(..))"));
+    ProxyFactory other = new ProxyFactory(new StatefulService());
+    other.addAspectDefinition(beforeAspect(aspect, "execution(* *.getName(..))"));
+
+    Class<?> proxyClass = first.createProxy().getClass();
+
+    assertSame("相同的通知组合应该复用代理类", proxyClass, second.createProxy().getClass());
+    assertNotSame("不同的通知组合应该生成不同的代理类", proxyClass, other.createProxy().getClass());
+  }
+
+  @Test
+  public void testCglibProxyDoesNotInvokeTargetConstructor() throws Exception {
+    // 测试没有无参构造函数的类也能使用 CGLIB 代理，创建代理时不调用目标类的构造函数
+    NoDefaultConstructorService target = new NoDefaultConstructorService("test");
+    int constructed = NoDefaultConstructorService.instances;
+    ProxyFactory factory = new ProxyFactory(target);
+    TestAspect aspect = new TestAspect();
+    factory.addAspectDefinition(beforeAspect(aspect, "execution(* *.getName(..))"));
+
+    NoDefaultConstructorService proxy = (NoDefaultConstructorService) factory.createProxy();
+
+    assertEquals("创建代理不应该调用目标类的构造函数", constructed, NoDefaultConstructorService.instances);
+    assertEquals("test", proxy.getName());
+    assertTrue(aspect.beforeCalled);
+  }
+
   @Test
   public void testAddInterceptor() {
     // 测试添加拦截器
@@ -166,6 +245,114 @@ public class ProxyFactoryTest {
     assertEquals("应该返回正确的结果", "TestServiceImpl: test", result);
   }
 
+  @Test
+  public void testAdviceChainComputedOncePerMethod() throws Exception {
+    // 测试每个方法只匹配一次切点
+    ProxyFactory factory = new ProxyFactory(testServiceInterface);
+
+    TestAspect aspect = new TestAspect();
+    AdviceDefinition advice = new AdviceDefinition(TestAspect.class.getMethod("beforeAdvice"), AdviceType.BEFORE,
+        "execution(* *.doSomething(..))", aspect);
+    final int[] matchCount = new int[1];
+    final PointcutMatcher delegate = advice.getPointcutMatcher();
+    advice.setPointcutMatcher(new PointcutMatcher() {
+      @Override
+      public boolean matches(Method method, Class<?> targetClass) {
+        matchCount[0]++;
+        return delegate.matches(method, targetClass);
+      }
+
+      @Override
+      public boolean matches(Class<?> targetClass) {
+        return delegate.matches(targetClass);
+      }
+
+      @Override
+      public String getExpression() {
+        return delegate.getExpression();
+      }
+    });
+    AspectDefinition aspectDef = new AspectDefinition(aspect, TestAspect.class);
+    aspectDef.addAdvice(advice);
+    factory.addAspectDefinition(aspectDef);
+
+    TestServiceInterface proxyService = (TestServiceInterface) factory.createProxy();
+    for (int i = 0; i < 3; i++) {
+      assertEquals("TestServiceImpl: " + i, proxyService.doSomething(String.valueOf(i)));
+    }
+
+    assertTrue("前置通知应该被执行", aspect.beforeCalled);
+    assertEquals("通知链应该只计算一次", 1, matchCount[0]);
+  }
+
+  @Test
+  public void testUnadvisedMethodThrowsOriginalException() throws Exception {
+    // 测试没有通知的方法直接调用目标方法，并抛出原始异常
+    ProxyFactory factory = new ProxyFactory(new FailingServiceImpl());
+
+    TestAspect aspect = new TestAspect();
+    AdviceDefinition advice = new AdviceDefinition(TestAspect.class.getMethod("beforeAdvice"), AdviceType.BEFORE,
+        "execution(* *.otherMethod(..))", aspect);
+    AspectDefinition aspectDef = new AspectDefinition(aspect, TestAspect.class);
+    aspectDef.addAdvice(advice);
+    factory.addAspectDefinition(aspectDef);
+
+    TestServiceInterface proxyService = (TestServiceInterface) factory.createProxy();
+    try {
+      proxyService.doSomething("test");
+      fail("应该抛出 IllegalStateException");
+    } catch (IllegalStateException e) {
+      assertEquals("failed: test", e.getMessage());
+    }
+    assertFalse("不匹配的通知不应该被执行", aspect.beforeCalled);
+  }
+
+  @Test
+  public void testAroundAdviceShortCircuitsTarget() throws Exception {
+    // 测试环绕通知缓存命中时不调用目标方法
+    CountingServiceImpl target = new CountingServiceImpl();
+    ProxyFactory factory = new ProxyFactory(target);
+
+    CachingAspect cachingAspect = new CachingAspect();
+    TestAspect beforeAspect = new TestAspect();
+    AspectDefinition aspectDef = new AspectDefinition(cachingAspect, CachingAspect.class);
+    aspectDef.addAdvice(new AdviceDefinition(CachingAspect.class.getMethod("cache", ProceedingJoinPoint.class),
+        AdviceType.AROUND, "execution(* *.doSomething(..))", cachingAspect));
+    aspectDef.addAdvice(new AdviceDefinition(TestAspect.class.getMethod("beforeAdvice"), AdviceType.BEFORE,
+        "execution(* *.doSomething(..))", beforeAspect));
+    factory.addAspectDefinition(aspectDef);
+
+    TestServiceInterface proxyService = (TestServiceInterface) factory.createProxy();
+
+    assertEquals("CountingServiceImpl: a", proxyService.doSomething("a"));
+    assertTrue("缓存未命中时应该继续执行前置通知", beforeAspect.beforeCalled);
+    beforeAspect.beforeCalled = false;
+
+    assertEquals("CountingServiceImpl: a", proxyService.doSomething("a"));
+    assertEquals("缓存命中时不应该调用目标方法", 1, target.count);
+    assertFalse("缓存命中时不应该执行内层的通知", beforeAspect.beforeCalled);
+
+    assertEquals("CountingServiceImpl: b", proxyService.doSomething("b"));
+    assertEquals(2, target.count);
+  }
+
+  @Test
+  public void testAroundAdviceReplacesArguments() throws Exception {
+    // 测试环绕通知使用新的参数继续执行
+    ProxyFactory factory = new ProxyFactory(testServiceInterface);
+
+    UpperCaseAspect aspect = new UpperCaseAspect();
+    AspectDefinition aspectDef = new AspectDefinition(aspect, UpperCaseAspect.class);
+    aspectDef.addAdvice(new AdviceDefinition(UpperCaseAspect.class.getMethod("upperCase", ProceedingJoinPoint.class),
+        AdviceType.AROUND, "execution(* *.doSomething(..))", aspect));
+    factory.addAspectDefinition(aspectDef);
+    factory.addInterceptor(new TestMethodInterceptor());
+
+    TestServiceInterface proxyService = (TestServiceInterface) factory.createProxy();
+
+    assertEquals("[intercepted: TestServiceImpl: TEST]", proxyService.doSomething("test"));
+  }
+
   @Test
   public void testSetTarget() {
     // 测试设置目标对象
@@ -177,6 +364,14 @@ public class ProxyFactoryTest {
     assertEquals("应该自动设置目标类", TestServiceImpl.class, factory.getTargetClass());
   }
 
+  private static AspectDefinition beforeAspect(TestAspect aspect, String expression) throws Exception {
+    AdviceDefinition advice = new AdviceDefinition(TestAspect.class.getMethod("beforeAdvice"), AdviceType.BEFORE,
+        expression, aspect);
+    AspectDefinition aspectDef = new AspectDefinition(aspect, TestAspect.class);
+    aspectDef.addAdvice(advice);
+    return aspectDef;
+  }
+
   // 测试用的接口
   public interface TestServiceInterface {
     String doSomething(String input);
@@ -190,6 +385,49 @@ public class ProxyFactoryTest {
     }
   }
 
+  // 测试用的记录调用次数的实现类
+  public static class CountingServiceImpl implements TestServiceInterface {
+    public int count;
+
+    @Override
+    public String doSomething(String input) {
+      count++;
+      return "CountingServiceImpl: " + input;
+    }
+  }
+
+  // 测试用的缓存切面
+  public static class CachingAspect {
+    private final Map<Object, Object> cache = new HashMap<Object, Object>();
+
+    public Object cache(ProceedingJoinPoint joinPoint) throws Throwable {
+      Object key = joinPoint.getArgs()[0];
+      Object cached = cache.get(key);
+      if (cached != null) {
+        return cached;
+      }
+      Object result = joinPoint.proceed();
+      cache.put(key, result);
+      return result;
+    }
+  }
+
+  // 测试用的转换参数和返回值的切面
+  public static class UpperCaseAspect {
+    public Object upperCase(ProceedingJoinPoint joinPoint) throws Throwable {
+      String input = (String) joinPoint.getArgs()[0];
+      return "[" + joinPoint.proceed(new Object[] { input.toUpperCase() }) + "]";
+    }
+  }
+
+  // 测试用的抛出异常的实现类
+  public static class FailingServiceImpl implements TestServiceInterface {
+    @Override
+    public String doSomething(String input) {
+      throw new IllegalStateException("failed: " + input);
+    }
+  }
+
   // 测试用的无接口类
   public static class TestService {
     public String doSomething(String input) {
@@ -197,6 +435,43 @@ public class ProxyFactoryTest {
     }
   }
 
+  // 测试用的有状态无接口类
+  public static class StatefulService {
+    private String name;
+
+    public String getName() {
+      return name;
+    }
+
+    public void setName(String name) {
+      this.name = name;
+    }
+
+    public String greet() {
+      return "hello " + name;
+    }
+
+    public void fail() {
+      throw new IllegalStateException("failed: " + name);
+    }
+  }
+
+  // 测试用的没有无参构造函数的类
+  public static class NoDefaultConstructorService {
+    static int instances;
+
+    private final String name;
+
+    public NoDefaultConstructorService(String name) {
+      this.name = name;
+      instances++;
+    }
+
+    public String getName() {
+      return name;
+    }
+  }
+
   // 测试用的方法拦截器
   private static class TestMethodInterceptor implements MethodInterceptor {
     @Override
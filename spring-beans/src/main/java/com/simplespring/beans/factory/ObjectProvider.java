@@ -0,0 +1,51 @@
+package com.simplespring.beans.factory;
+
+/**
+ * 依赖的延迟获取接口
+ * 注入点声明为 {@code ObjectProvider<T>} 时，容器注入一个提供者而不是 Bean 本身，
+ * 依赖在第一次调用时才解析和创建，适用于可选依赖、创建成本高或作用域更短的依赖
+ *
+ * 使用示例：
+ * <pre>
+ * {@code
+ * @Autowired
+ * private ObjectProvider<ReportService> reportService;
+ *
+ * public void export() {
+ *     ReportService service = reportService.getIfAvailable();
+ *     if (service != null) {
+ *         service.export();
+ *     }
+ * }
+ * }
+ * </pre>
+ *
+ * @param <T> 依赖类型
+ * @author SimpleSpring Framework
+ */
+public interface ObjectProvider<T> {
+
+  /**
+   * 获取唯一匹配的 Bean
+   *
+   * @return Bean 实例
+   * @throws NoSuchBeanDefinitionException   如果没有匹配的 Bean
+   * @throws NoUniqueBeanDefinitionException 如果有多个匹配的 Bean
+   */
+  T getObject();
+
+  /**
+   * 获取唯一匹配的 Bean，没有匹配时返回 null
+   *
+   * @return Bean 实例，如果没有匹配返回 null
+   * @throws NoUniqueBeanDefinitionException 如果有多个匹配的 Bean
+   */
+  T getIfAvailable();
+
+  /**
+   * 获取唯一匹配的 Bean，没有匹配或有多个匹配时返回 null
+   *
+   * @return Bean 实例，如果没有唯一匹配返回 null
+   */
+  T getIfUnique();
+}
@@ -0,0 +1,24 @@
+package com.simplespring.beans.factory;
+
+/**
+ * 池化 Bean 回调接口
+ * 作用域为 {@link com.simplespring.beans.factory.config.Scope#POOLED} 的 Bean 可以实现此接口，
+ * 在借出前校验实例是否仍然可用，在归还时清理上一次使用留下的状态
+ *
+ * @author SimpleSpring Framework
+ */
+public interface PooledBean {
+
+  /**
+   * 从对象池借出空闲实例前调用
+   *
+   * @return 实例仍然可用返回 true；返回 false 时实例会被销毁，对象池改为提供其他实例
+   */
+  boolean validate();
+
+  /**
+   * 实例归还到对象池时调用，用于重置内部状态
+   * 抛出异常时实例会被销毁而不是放回对象池
+   */
+  void reset();
+}
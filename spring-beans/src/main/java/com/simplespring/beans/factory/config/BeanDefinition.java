@@ -54,11 +54,42 @@ public class BeanDefinition {
      */
     private Class<?>[] constructorParameterTypes;
     
+    /**
+     * 注入元数据（自动装配字段、方法和构造函数）是否已经确定，
+     * 为 true 时注册 Bean 定义不再反射扫描，即使字段和方法列表为空
+     */
+    private boolean injectionMetadataResolved = false;
+    
     /**
      * 是否为懒加载，默认为 false
      */
     private boolean lazyInit = false;
     
+    /**
+     * 池化作用域下对象池的最大实例数（包括借出和空闲的实例），默认为 8
+     */
+    private int poolMaxSize = 8;
+    
+    /**
+     * 池化作用域下对象池耗尽时获取实例的最长等待时间（毫秒），默认为 1000
+     */
+    private long poolMaxWait = 1000;
+    
+    /**
+     * 池化作用域下空闲实例的最长保留时间（毫秒），超时的空闲实例会被销毁，0 表示不回收，默认为 60000
+     */
+    private long poolMaxIdleTime = 60000;
+    
+    /**
+     * 预先生成的实例提供者，设置后创建 Bean 时不再通过反射选择构造函数和注入依赖
+     */
+    private BeanInstanceSupplier instanceSupplier;
+    
+    /**
+     * 预先计算的注入点类型，设置后循环依赖检测不再通过反射分析注入点
+     */
+    private Class<?>[] dependencyTypes;
+    
     /**
      * 默认构造函数
      */
@@ -158,6 +189,14 @@ public class BeanDefinition {
         }
     }
     
+    public boolean isInjectionMetadataResolved() {
+        return injectionMetadataResolved;
+    }
+    
+    public void setInjectionMetadataResolved(boolean injectionMetadataResolved) {
+        this.injectionMetadataResolved = injectionMetadataResolved;
+    }
+    
     public Class<?>[] getConstructorParameterTypes() {
         return constructorParameterTypes;
     }
@@ -174,6 +213,49 @@ public class BeanDefinition {
         this.lazyInit = lazyInit;
     }
     
+    public int getPoolMaxSize() {
+        return poolMaxSize;
+    }
+    
+    public void setPoolMaxSize(int poolMaxSize) {
+        if (poolMaxSize < 1) {
+            throw new IllegalArgumentException("对象池的最大实例数必须大于 0");
+        }
+        this.poolMaxSize = poolMaxSize;
+    }
+    
+    public long getPoolMaxWait() {
+        return poolMaxWait;
+    }
+    
+    public void setPoolMaxWait(long poolMaxWait) {
+        this.poolMaxWait = poolMaxWait;
+    }
+    
+    public long getPoolMaxIdleTime() {
+        return poolMaxIdleTime;
+    }
+    
+    public void setPoolMaxIdleTime(long poolMaxIdleTime) {
+        this.poolMaxIdleTime = poolMaxIdleTime;
+    }
+    
+    public BeanInstanceSupplier getInstanceSupplier() {
+        return instanceSupplier;
+    }
+    
+    public void setInstanceSupplier(BeanInstanceSupplier instanceSupplier) {
+        this.instanceSupplier = instanceSupplier;
+    }
+    
+    public Class<?>[] getDependencyTypes() {
+        return dependencyTypes;
+    }
+    
+    public void setDependencyTypes(Class<?>[] dependencyTypes) {
+        this.dependencyTypes = dependencyTypes;
+    }
+    
     /**
      * 判断是否有构造函数参数
      * @return 如果有构造函数参数返回 true，否则返回 false
@@ -0,0 +1,25 @@
+package com.simplespring.beans.factory.config;
+
+import com.simplespring.beans.factory.BeanFactory;
+
+/**
+ * Bean 实例提供者
+ * 
+ * 通常由构建期生成的代码实现：直接调用构造函数创建实例，并通过字段赋值或 setter 调用完成依赖注入。
+ * Bean 定义设置了实例提供者时，Bean 工厂不再通过反射选择构造函数和扫描注入点，
+ * 初始化阶段（Bean 后处理器、生命周期方法）保持不变。
+ * 
+ * @author SimpleSpring Framework
+ * @see BeanDefinition#setInstanceSupplier(BeanInstanceSupplier)
+ */
+public interface BeanInstanceSupplier {
+
+  /**
+   * 创建 Bean 实例并完成依赖注入
+   * 
+   * @param beanFactory 用于获取依赖 Bean 的 Bean 工厂
+   * @return 已注入依赖的 Bean 实例
+   * @throws Exception 如果创建或注入失败
+   */
+  Object get(BeanFactory beanFactory) throws Exception;
+}
@@ -18,7 +18,14 @@ public enum Scope {
      * 原型模式 - 每次请求都创建新实例
      * 每次调用 getBean() 方法时都会创建一个新的 Bean 实例
      */
-    PROTOTYPE("prototype");
+    PROTOTYPE("prototype"),
+    
+    /**
+     * 池化模式 - 从有界对象池中借用实例
+     * 每次调用 getBean() 方法时从该 Bean 的对象池中取出一个空闲实例，没有空闲实例时创建新实例，
+     * 使用完毕后通过 DefaultBeanFactory.releaseBean() 归还，适合创建成本高且无状态可重置的 Bean
+     */
+    POOLED("pooled");
     
     private final String value;
     
@@ -68,4 +75,12 @@ public enum Scope {
     public boolean isPrototype() {
         return this == PROTOTYPE;
     }
+    
+    /**
+     * 判断是否为池化作用域
+     * @return 如果是池化作用域返回 true，否则返回 false
+     */
+    public boolean isPooled() {
+        return this == POOLED;
+    }
 }
@@ -0,0 +1,24 @@
+package com.simplespring.beans.factory.config;
+
+/**
+ * 可以声明适用范围的 Bean 后处理器
+ * 
+ * Bean 工厂为每个 Bean 类预先计算适用的后处理器链并缓存，{@link #supports(Class)}
+ * 返回 false 的后处理器不会在该类的 Bean 初始化时被调用。没有实现此接口的
+ * {@link BeanPostProcessor} 视为适用于所有类。
+ * 
+ * {@link #supports(Class)} 的结果会按类缓存，因此只能依赖类本身的信息（如注解、接口），
+ * 不能依赖某个 Bean 实例的状态。判断基于 Bean 实例的实际类，而不是前面的后处理器返回的包装对象的类。
+ * 
+ * @author SimpleSpring Framework
+ */
+public interface SelectiveBeanPostProcessor extends BeanPostProcessor {
+
+  /**
+   * 判断后处理器是否需要处理指定类的 Bean
+   * 
+   * @param beanClass Bean 实例的类
+   * @return 如果需要处理返回 true，返回 false 时跳过该类的所有 Bean
+   */
+  boolean supports(Class<?> beanClass);
+}
@@ -0,0 +1,90 @@
+package com.simplespring.beans.factory.support;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+
+/**
+ * Bean 成员访问策略
+ * 为构造函数、字段和方法创建可重复使用的访问器。访问器在构建注入计划或扫描生命周期方法时创建一次，
+ * 之后每次创建 Bean 都直接调用，不再重复进行反射查找和访问检查。
+ *
+ * 访问器抛出的异常与反射保持一致：目标成员自身抛出的异常包装为
+ * {@link java.lang.reflect.InvocationTargetException}
+ *
+ * @author SimpleSpring Framework
+ * @see MethodHandleAccessorStrategy
+ * @see ReflectionAccessorStrategy
+ */
+public interface BeanAccessorStrategy {
+
+  /**
+   * 创建构造函数的实例化器
+   *
+   * @param constructor 构造函数
+   * @return 实例化器
+   */
+  Instantiator createInstantiator(Constructor<?> constructor);
+
+  /**
+   * 创建字段的写入器
+   *
+   * @param field 字段
+   * @return 字段写入器
+   */
+  FieldWriter createFieldWriter(Field field);
+
+  /**
+   * 创建方法的调用器
+   *
+   * @param method 实例方法
+   * @return 方法调用器
+   */
+  MethodInvoker createMethodInvoker(Method method);
+
+  /**
+   * 实例化器
+   */
+  interface Instantiator {
+
+    /**
+     * 调用构造函数创建实例
+     *
+     * @param args 构造函数参数，参数个数必须与构造函数一致
+     * @return 新实例
+     * @throws Exception 如果实例化失败
+     */
+    Object newInstance(Object[] args) throws Exception;
+  }
+
+  /**
+   * 字段写入器
+   */
+  interface FieldWriter {
+
+    /**
+     * 设置字段值
+     *
+     * @param target 目标对象
+     * @param value  字段值
+     * @throws Exception 如果设置失败
+     */
+    void set(Object target, Object value) throws Exception;
+  }
+
+  /**
+   * 方法调用器
+   */
+  interface MethodInvoker {
+
+    /**
+     * 调用方法
+     *
+     * @param target 目标对象
+     * @param args   方法参数，参数个数必须与方法一致
+     * @return 方法返回值
+     * @throws Exception 如果调用失败
+     */
+    Object invoke(Object target, Object[] args) throws Exception;
+  }
+}
@@ -0,0 +1,307 @@
+package com.simplespring.beans.factory.support;
+
+import com.simplespring.beans.factory.BeanCreationException;
+import com.simplespring.beans.factory.PooledBean;
+import com.simplespring.beans.factory.config.BeanDefinition;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 池化作用域 Bean 的有界对象池
+ *
+ * 空闲实例保存在无锁的 {@link ConcurrentLinkedDeque} 中，后进先出，最近归还的实例优先被借出；
+ * 借出名额由 {@link Semaphore} 控制，名额充足时通过一次 CAS 取得，只有对象池耗尽时才会阻塞等待。
+ * 已借出和空闲的实例数都不超过最大实例数。
+ *
+ * 实现 {@link PooledBean} 的 Bean 在借出前校验、归还时重置；
+ * 空闲超过最长保留时间的实例在归还时顺带回收，也可以调用 {@link #evictIdle()} 主动回收
+ *
+ * @author SimpleSpring Framework
+ */
+public class BeanPool {
+
+  /**
+   * 对象池中实例的创建和销毁回调
+   */
+  interface PooledObjectFactory {
+
+    /**
+     * 创建新实例
+     *
+     * @return 新实例
+     */
+    Object create();
+
+    /**
+     * 销毁实例
+     *
+     * @param bean 实例
+     */
+    void destroy(Object bean);
+  }
+
+  private final String beanName;
+
+  private final int maxSize;
+
+  private final long maxWaitMillis;
+
+  private final long maxIdleNanos;
+
+  private final PooledObjectFactory objectFactory;
+
+  /**
+   * 借出名额，等于最大实例数减去已借出的实例数
+   */
+  private final Semaphore permits;
+
+  /**
+   * 空闲实例，队首为最近归还的实例
+   */
+  private final ConcurrentLinkedDeque<IdleEntry> idleEntries = new ConcurrentLinkedDeque<IdleEntry>();
+
+  /**
+   * 已借出的实例，用于拒绝重复归还和外部对象
+   */
+  private final ConcurrentMap<IdentityKey, Boolean> borrowed = new ConcurrentHashMap<IdentityKey, Boolean>();
+
+  private final AtomicInteger idleCount = new AtomicInteger();
+
+  private final AtomicLong nextEvictionTime;
+
+  private final AtomicLong hitCount = new AtomicLong();
+
+  private final AtomicLong missCount = new AtomicLong();
+
+  private final AtomicLong waitCount = new AtomicLong();
+
+  private final AtomicLong timeoutCount = new AtomicLong();
+
+  private final AtomicLong evictionCount = new AtomicLong();
+
+  private volatile boolean closed;
+
+  /**
+   * 构造函数
+   *
+   * @param beanName       Bean 名称
+   * @param beanDefinition Bean 定义，提供对象池的容量、等待时间和空闲时间配置
+   * @param objectFactory  实例的创建和销毁回调
+   */
+  BeanPool(String beanName, BeanDefinition beanDefinition, PooledObjectFactory objectFactory) {
+    this.beanName = beanName;
+    this.maxSize = beanDefinition.getPoolMaxSize();
+    this.maxWaitMillis = beanDefinition.getPoolMaxWait();
+    this.maxIdleNanos = TimeUnit.MILLISECONDS.toNanos(beanDefinition.getPoolMaxIdleTime());
+    this.objectFactory = objectFactory;
+    this.permits = new Semaphore(maxSize);
+    this.nextEvictionTime = new AtomicLong(System.nanoTime() + maxIdleNanos);
+  }
+
+  /**
+   * 从对象池借出一个实例
+   * 优先借出空闲实例，没有空闲实例时创建新实例；对象池耗尽时最多等待配置的时间
+   *
+   * @return Bean 实例
+   * @throws BeanCreationException 如果等待超时或创建实例失败
+   */
+  public Object acquire() {
+    if (closed) {
+      throw new IllegalStateException("Bean '" + beanName + "' 的对象池已关闭");
+    }
+    acquirePermit();
+
+    try {
+      IdleEntry entry;
+      while ((entry = idleEntries.pollFirst()) != null) {
+        idleCount.decrementAndGet();
+        if (isValid(entry.bean)) {
+          hitCount.incrementAndGet();
+          borrowed.put(new IdentityKey(entry.bean), Boolean.TRUE);
+          return entry.bean;
+        }
+        destroy(entry.bean);
+      }
+
+      missCount.incrementAndGet();
+      Object bean = objectFactory.create();
+      borrowed.put(new IdentityKey(bean), Boolean.TRUE);
+      return bean;
+    } catch (RuntimeException e) {
+      permits.release();
+      throw e;
+    }
+  }
+
+  private void acquirePermit() {
+    if (permits.tryAcquire()) {
+      return;
+    }
+
+    waitCount.incrementAndGet();
+    boolean acquired;
+    try {
+      acquired = permits.tryAcquire(maxWaitMillis, TimeUnit.MILLISECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new BeanCreationException(beanName, "等待对象池中的实例时被中断", e);
+    }
+    if (!acquired) {
+      timeoutCount.incrementAndGet();
+      throw new BeanCreationException(beanName,
+          "对象池已耗尽，" + maxWaitMillis + "ms 内没有可用实例（最大实例数: " + maxSize + "）");
+    }
+  }
+
+  /**
+   * 将借出的实例归还到对象池
+   *
+   * @param bean Bean 实例
+   * @throws IllegalArgumentException 如果实例不是从此对象池借出的或已经归还过
+   */
+  public void release(Object bean) {
+    if (bean == null || borrowed.remove(new IdentityKey(bean)) == null) {
+      throw new IllegalArgumentException("实例不是从 Bean '" + beanName + "' 的对象池借出的，或已经归还");
+    }
+
+    try {
+      if (closed || !reset(bean) || idleCount.get() >= maxSize) {
+        destroy(bean);
+      } else {
+        idleCount.incrementAndGet();
+        idleEntries.offerFirst(new IdleEntry(bean, System.nanoTime()));
+      }
+    } finally {
+      permits.release();
+    }
+
+    long now = System.nanoTime();
+    long evictionTime = nextEvictionTime.get();
+    if (maxIdleNanos > 0 && now - evictionTime >= 0 && nextEvictionTime.compareAndSet(evictionTime, now + maxIdleNanos)) {
+      evictIdle();
+    }
+  }
+
+  /**
+   * 销毁空闲时间超过最长保留时间的实例
+   *
+   * @return 销毁的实例数
+   */
+  public int evictIdle() {
+    if (maxIdleNanos <= 0) {
+      return 0;
+    }
+
+    long now = System.nanoTime();
+    int evicted = 0;
+    // 队尾是最早归还的实例，遇到第一个未超时的实例即可停止
+    Iterator<IdleEntry> iterator = idleEntries.descendingIterator();
+    while (iterator.hasNext()) {
+      IdleEntry entry = iterator.next();
+      if (now - entry.idleSince < maxIdleNanos) {
+        break;
+      }
+      // 与并发的借出竞争，只有成功移除的线程负责销毁
+      if (idleEntries.removeLastOccurrence(entry)) {
+        idleCount.decrementAndGet();
+        evictionCount.incrementAndGet();
+        destroy(entry.bean);
+        evicted++;
+      }
+    }
+    return evicted;
+  }
+
+  /**
+   * 关闭对象池，销毁所有空闲实例；之后归还的实例会被直接销毁
+   */
+  public void close() {
+    closed = true;
+    IdleEntry entry;
+    while ((entry = idleEntries.pollFirst()) != null) {
+      idleCount.decrementAndGet();
+      destroy(entry.bean);
+    }
+  }
+
+  /**
+   * 获取对象池的指标快照
+   *
+   * @return 指标快照
+   */
+  public BeanPoolMetrics getMetrics() {
+    return new BeanPoolMetrics(beanName, maxSize, borrowed.size(), idleCount.get(), hitCount.get(),
+        missCount.get(), waitCount.get(), timeoutCount.get(), evictionCount.get());
+  }
+
+  private boolean isValid(Object bean) {
+    if (!(bean instanceof PooledBean)) {
+      return true;
+    }
+    try {
+      return ((PooledBean) bean).validate();
+    } catch (RuntimeException e) {
+      return false;
+    }
+  }
+
+  private boolean reset(Object bean) {
+    if (!(bean instanceof PooledBean)) {
+      return true;
+    }
+    try {
+      ((PooledBean) bean).reset();
+      return true;
+    } catch (RuntimeException e) {
+      return false;
+    }
+  }
+
+  private void destroy(Object bean) {
+    objectFactory.destroy(bean);
+  }
+
+  /**
+   * 空闲实例及其归还时间
+   */
+  private static final class IdleEntry {
+
+    private final Object bean;
+
+    private final long idleSince;
+
+    IdleEntry(Object bean, long idleSince) {
+      this.bean = bean;
+      this.idleSince = idleSince;
+    }
+  }
+
+  /**
+   * 按对象标识比较的键，不依赖 Bean 自身的 equals 和 hashCode
+   */
+  private static final class IdentityKey {
+
+    private final Object bean;
+
+    IdentityKey(Object bean) {
+      this.bean = bean;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      return other instanceof IdentityKey && ((IdentityKey) other).bean == bean;
+    }
+
+    @Override
+    public int hashCode() {
+      return System.identityHashCode(bean);
+    }
+  }
+}
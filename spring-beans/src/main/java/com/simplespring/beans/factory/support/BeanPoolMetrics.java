@@ -0,0 +1,139 @@
+package com.simplespring.beans.factory.support;
+
+/**
+ * Bean 对象池指标快照
+ *
+ * @author SimpleSpring Framework
+ */
+public class BeanPoolMetrics {
+
+  private final String beanName;
+
+  private final int maxSize;
+
+  private final int activeCount;
+
+  private final int idleCount;
+
+  private final long hitCount;
+
+  private final long missCount;
+
+  private final long waitCount;
+
+  private final long timeoutCount;
+
+  private final long evictionCount;
+
+  BeanPoolMetrics(String beanName, int maxSize, int activeCount, int idleCount, long hitCount, long missCount,
+      long waitCount, long timeoutCount, long evictionCount) {
+    this.beanName = beanName;
+    this.maxSize = maxSize;
+    this.activeCount = activeCount;
+    this.idleCount = idleCount;
+    this.hitCount = hitCount;
+    this.missCount = missCount;
+    this.waitCount = waitCount;
+    this.timeoutCount = timeoutCount;
+    this.evictionCount = evictionCount;
+  }
+
+  /**
+   * 获取 Bean 名称
+   *
+   * @return Bean 名称
+   */
+  public String getBeanName() {
+    return beanName;
+  }
+
+  /**
+   * 获取对象池的最大实例数
+   *
+   * @return 最大实例数
+   */
+  public int getMaxSize() {
+    return maxSize;
+  }
+
+  /**
+   * 获取已借出的实例数
+   *
+   * @return 已借出的实例数
+   */
+  public int getActiveCount() {
+    return activeCount;
+  }
+
+  /**
+   * 获取空闲的实例数
+   *
+   * @return 空闲的实例数
+   */
+  public int getIdleCount() {
+    return idleCount;
+  }
+
+  /**
+   * 获取命中次数，即直接借出空闲实例的次数
+   *
+   * @return 命中次数
+   */
+  public long getHitCount() {
+    return hitCount;
+  }
+
+  /**
+   * 获取未命中次数，即没有空闲实例而创建新实例的次数
+   *
+   * @return 未命中次数
+   */
+  public long getMissCount() {
+    return missCount;
+  }
+
+  /**
+   * 获取等待次数，即对象池耗尽后等待其他线程归还实例的次数
+   *
+   * @return 等待次数
+   */
+  public long getWaitCount() {
+    return waitCount;
+  }
+
+  /**
+   * 获取等待超时次数
+   *
+   * @return 等待超时次数
+   */
+  public long getTimeoutCount() {
+    return timeoutCount;
+  }
+
+  /**
+   * 获取因空闲超时被回收的实例数
+   * 校验失败、重置失败以及对象池关闭时销毁的实例不计入
+   *
+   * @return 因空闲超时被回收的实例数
+   */
+  public long getEvictionCount() {
+    return evictionCount;
+  }
+
+  /**
+   * 获取命中率
+   *
+   * @return 命中次数占借出次数的比例，没有借出过时返回 0
+   */
+  public double getHitRatio() {
+    long total = hitCount + missCount;
+    return total == 0 ? 0 : (double) hitCount / total;
+  }
+
+  @Override
+  public String toString() {
+    return "BeanPoolMetrics{beanName='" + beanName + "', maxSize=" + maxSize + ", active=" + activeCount +
+        ", idle=" + idleCount + ", hits=" + hitCount + ", misses=" + missCount + ", waits=" + waitCount +
+        ", timeouts=" + timeoutCount + ", evictions=" + evictionCount + '}';
+  }
+}
@@ -1,19 +1,37 @@
 package com.simplespring.beans.factory.support;
 
+import com.simplespring.beans.factory.BeanCreationException;
+import com.simplespring.beans.factory.CircularDependencyException;
 import com.simplespring.beans.factory.config.BeanDefinition;
 import com.simplespring.core.util.StringUtils;
 
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Bean 注册表
  * 管理 Bean 定义和单例实例的缓存，提供 Bean 的注册、查找和管理功能
  * 
+ * 注册表的所有缓存都可以被多个线程并发访问；单例的创建按 Bean 名称加锁，
+ * 不同 Bean 的创建互不阻塞
+ * 
  * @author SimpleSpring Framework
  */
 public class BeanRegistry {
@@ -24,11 +42,17 @@ public class BeanRegistry {
      */
     private final Map<String, Object> singletonBeans = new ConcurrentHashMap<String, Object>();
 
+    /**
+     * 被后处理器包装的单例（如 AOP 代理）对应的原始实例，销毁回调在原始实例上执行
+     * Key: Bean 名称, Value: 原始 Bean 实例；未被包装的单例不记录
+     */
+    private final Map<String, Object> singletonTargets = new ConcurrentHashMap<String, Object>();
+
     /**
      * Bean 定义缓存
      * Key: Bean 名称, Value: Bean 定义
      */
-    private final Map<String, BeanDefinition> beanDefinitions = new ConcurrentHashMap<String, BeanDefinition>();
+    private final ConcurrentMap<String, BeanDefinition> beanDefinitions = new ConcurrentHashMap<String, BeanDefinition>();
 
     /**
      * Bean 名称到类型的映射
@@ -37,15 +61,42 @@ public class BeanRegistry {
     private final Map<String, Class<?>> beanNameToType = new ConcurrentHashMap<String, Class<?>>();
 
     /**
-     * 类型到 Bean 名称集合的映射
-     * Key: Bean 类型, Value: Bean 名称集合
+     * 类型到 Bean 名称的索引，读取时不加锁
      */
-    private final Map<Class<?>, Set<String>> typeToBeanNames = new ConcurrentHashMap<Class<?>, Set<String>>();
+    private final BeanTypeIndex typeIndex = new BeanTypeIndex();
 
     /**
-     * 正在创建中的 Bean 名称集合，用于检测循环依赖
+     * 正在创建中的 Bean 名称集合，用于检测循环依赖（可能被多个线程同时访问）
      */
-    private final Set<String> beansCurrentlyInCreation = new HashSet<String>();
+    private final Set<String> beansCurrentlyInCreation = Collections.newSetFromMap(
+            new ConcurrentHashMap<String, Boolean>());
+
+    /**
+     * Bean 定义版本号，每次注册或移除 Bean 定义、移除单例实例时递增
+     * 依赖按类型解析的结果（如注入计划、ObjectProvider 缓存的单例）据此判断是否失效
+     */
+    private final AtomicLong definitionVersion = new AtomicLong();
+
+    /**
+     * 单例创建锁
+     * Key: Bean 名称, Value: 该 Bean 的创建锁
+     */
+    private final ConcurrentMap<String, SingletonCreationLock> singletonCreationLocks =
+            new ConcurrentHashMap<String, SingletonCreationLock>();
+
+    /**
+     * 正在等待单例创建锁的线程
+     * Key: 线程, Value: 该线程等待的锁，用于检测跨线程的循环等待
+     */
+    private final ConcurrentMap<Thread, SingletonCreationLock> waitingThreads =
+            new ConcurrentHashMap<Thread, SingletonCreationLock>();
+
+    /**
+     * 尚未确认完成的异步初始化
+     * Key: Bean 名称, Value: 异步初始化任务；失败或超时的任务保留在这里，之后的获取都会失败
+     */
+    private final ConcurrentMap<String, AsyncInitialization> asyncInitializations =
+            new ConcurrentHashMap<String, AsyncInitialization>();
 
     /**
      * 注册 Bean 定义
@@ -62,68 +113,21 @@ public class BeanRegistry {
             throw new IllegalArgumentException("Bean 定义不能为空");
         }
 
-        // 检查是否已经存在同名的 Bean 定义
-        if (containsBeanDefinition(beanName)) {
+        // 注册 Bean 定义，同名的 Bean 定义已经存在时失败
+        if (beanDefinitions.putIfAbsent(beanName, beanDefinition) != null) {
             throw new IllegalStateException("已存在名为 '" + beanName + "' 的 Bean 定义");
         }
 
-        // 注册 Bean 定义
-        beanDefinitions.put(beanName, beanDefinition);
-
         // 更新类型映射
         Class<?> beanClass = beanDefinition.getBeanClass();
         if (beanClass != null) {
             beanNameToType.put(beanName, beanClass);
 
-            // 更新类型到名称的映射
-            Set<String> beanNames = typeToBeanNames.get(beanClass);
-            if (beanNames == null) {
-                beanNames = new HashSet<String>();
-                typeToBeanNames.put(beanClass, beanNames);
-            }
-            beanNames.add(beanName);
-
-            // 同时为所有父类和接口建立映射
-            registerTypeMapping(beanClass, beanName);
+            // 为类型及其所有父类和接口建立映射
+            typeIndex.add(beanName, beanClass);
         }
-    }
 
-    /**
-     * 为类型及其父类、接口建立映射关系
-     * 
-     * @param beanClass Bean 类型
-     * @param beanName  Bean 名称
-     */
-    private void registerTypeMapping(Class<?> beanClass, String beanName) {
-        // 为当前类建立映射
-        addTypeToBeanNameMapping(beanClass, beanName);
-
-        // 为父类建立映射
-        Class<?> superClass = beanClass.getSuperclass();
-        if (superClass != null && superClass != Object.class) {
-            registerTypeMapping(superClass, beanName);
-        }
-
-        // 为接口建立映射
-        Class<?>[] interfaces = beanClass.getInterfaces();
-        for (Class<?> interfaceClass : interfaces) {
-            registerTypeMapping(interfaceClass, beanName);
-        }
-    }
-
-    /**
-     * 添加类型到 Bean 名称的映射
-     * 
-     * @param type     类型
-     * @param beanName Bean 名称
-     */
-    private void addTypeToBeanNameMapping(Class<?> type, String beanName) {
-        Set<String> beanNames = typeToBeanNames.get(type);
-        if (beanNames == null) {
-            beanNames = new HashSet<String>();
-            typeToBeanNames.put(type, beanNames);
-        }
-        beanNames.add(beanName);
+        definitionVersion.incrementAndGet();
     }
 
     /**
@@ -171,6 +175,17 @@ public class BeanRegistry {
      * @param singletonObject 单例对象
      */
     public void registerSingleton(String beanName, Object singletonObject) {
+        registerSingleton(beanName, singletonObject, singletonObject);
+    }
+
+    /**
+     * 注册单例 Bean 实例及其原始实例
+     * 
+     * @param beanName        Bean 名称
+     * @param singletonObject 单例对象，可能是后处理器包装后的实例（如 AOP 代理）
+     * @param targetObject    后处理器包装前的原始实例
+     */
+    public void registerSingleton(String beanName, Object singletonObject, Object targetObject) {
         if (!StringUtils.hasText(beanName)) {
             throw new IllegalArgumentException("Bean 名称不能为空");
         }
@@ -183,17 +198,49 @@ public class BeanRegistry {
                 throw new IllegalStateException("已存在名为 '" + beanName + "' 的单例 Bean");
             }
             singletonBeans.put(beanName, singletonObject);
+            if (targetObject != null && targetObject != singletonObject) {
+                singletonTargets.put(beanName, targetObject);
+            }
         }
     }
 
     /**
      * 获取单例 Bean 实例
+     * 如果该 Bean 的异步初始化尚未完成，等待它完成
      * 
      * @param beanName Bean 名称
      * @return 单例对象，如果不存在返回 null
+     * @throws BeanCreationException 如果该 Bean 的异步初始化失败或超时
      */
     public Object getSingleton(String beanName) {
-        return singletonBeans.get(beanName);
+        return getSingleton(beanName, true);
+    }
+
+    /**
+     * 获取单例 Bean 实例
+     * 
+     * @param beanName            Bean 名称
+     * @param awaitInitialization 是否等待该 Bean 的异步初始化完成
+     * @return 单例对象，如果不存在返回 null
+     * @throws BeanCreationException 如果需要等待且该 Bean 的异步初始化失败或超时
+     */
+    public Object getSingleton(String beanName, boolean awaitInitialization) {
+        Object singleton = singletonBeans.get(beanName);
+        if (singleton != null && awaitInitialization && !asyncInitializations.isEmpty()) {
+            awaitInitialization(beanName);
+        }
+        return singleton;
+    }
+
+    /**
+     * 获取单例 Bean 的原始实例，不等待异步初始化
+     * 
+     * @param beanName Bean 名称
+     * @return 后处理器包装前的原始实例，未被包装时返回单例对象本身，不存在返回 null
+     */
+    public Object getSingletonTarget(String beanName) {
+        Object target = singletonTargets.get(beanName);
+        return target != null ? target : singletonBeans.get(beanName);
     }
 
     /**
@@ -219,20 +266,30 @@ public class BeanRegistry {
      * 根据类型查找 Bean 名称
      * 
      * @param type Bean 类型
-     * @return 匹配的 Bean 名称列表
+     * @return 匹配的 Bean 名称列表（按注册顺序，不可修改）
      */
     public List<String> getBeanNamesForType(Class<?> type) {
-        List<String> result = new ArrayList<String>();
-        if (type == null) {
-            return result;
-        }
+        return Collections.unmodifiableList(Arrays.asList(typeIndex.getBeanNames(type)));
+    }
 
-        Set<String> beanNames = typeToBeanNames.get(type);
-        if (beanNames != null) {
-            result.addAll(beanNames);
-        }
+    /**
+     * 根据类型查找 Bean 名称，不加锁也不分配对象
+     * 
+     * @param type Bean 类型
+     * @return 匹配的 Bean 名称快照（按注册顺序），调用方不能修改返回的数组
+     */
+    public String[] getBeanNameArrayForType(Class<?> type) {
+        return typeIndex.getBeanNames(type);
+    }
 
-        return result;
+    /**
+     * 根据类型查找唯一匹配的 Bean 名称
+     * 
+     * @param type Bean 类型
+     * @return Bean 名称，如果没有匹配或有多个匹配返回 null
+     */
+    public String getUniqueBeanNameForType(Class<?> type) {
+        return typeIndex.getUniqueBeanName(type);
     }
 
     /**
@@ -275,46 +332,195 @@ public class BeanRegistry {
         beansCurrentlyInCreation.remove(beanName);
     }
 
+    /**
+     * 提交单例 Bean 的异步初始化任务
+     * 需要在 Bean 注册为单例之前提交，之后通过 {@link #getSingleton(String)} 获取该 Bean 的线程会等待任务完成
+     * 
+     * @param beanName      Bean 名称
+     * @param task          初始化任务
+     * @param executor      执行任务的线程池
+     * @param timeoutMillis 超时时间（毫秒），从提交时开始计算，0 表示不限制
+     * @return 任务的 Future
+     * @throws BeanCreationException 如果线程池拒绝执行任务
+     */
+    public Future<?> submitAsyncInitialization(String beanName, Runnable task, Executor executor, long timeoutMillis) {
+        AsyncInitialization initialization = new AsyncInitialization(beanName, task, timeoutMillis);
+        asyncInitializations.put(beanName, initialization);
+        try {
+            executor.execute(initialization);
+        } catch (RejectedExecutionException e) {
+            asyncInitializations.remove(beanName, initialization);
+            throw new BeanCreationException(beanName, "无法提交异步初始化任务", e);
+        }
+        return initialization;
+    }
+
+    /**
+     * 等待指定 Bean 的异步初始化完成
+     * 在执行初始化任务的线程中调用时直接返回，避免任务等待自己
+     * 
+     * @param beanName Bean 名称
+     * @throws BeanCreationException 如果异步初始化失败、超时或等待时被中断
+     */
+    public void awaitInitialization(String beanName) {
+        AsyncInitialization initialization = asyncInitializations.get(beanName);
+        if (initialization == null || initialization.runner == Thread.currentThread()) {
+            return;
+        }
+        initialization.await();
+        asyncInitializations.remove(beanName, initialization);
+    }
+
+    /**
+     * 等待所有已提交的异步初始化完成
+     * 
+     * @throws BeanCreationException 如果任何一个异步初始化失败、超时或等待时被中断
+     */
+    public void awaitAllInitializations() {
+        for (String beanName : asyncInitializations.keySet().toArray(new String[0])) {
+            awaitInitialization(beanName);
+        }
+    }
+
+    /**
+     * 检查指定 Bean 的异步初始化是否仍在执行
+     * 
+     * @param beanName Bean 名称
+     * @return 如果已提交且尚未结束返回 true
+     */
+    public boolean isInitializing(String beanName) {
+        AsyncInitialization initialization = asyncInitializations.get(beanName);
+        return initialization != null && !initialization.isDone();
+    }
+
+    /**
+     * 获取 Bean 定义版本号
+     * 
+     * @return 版本号，Bean 定义每次注册或移除、单例实例每次移除后都会变化
+     */
+    public long getDefinitionVersion() {
+        return definitionVersion.get();
+    }
+
+    /**
+     * 获取单例 Bean 的创建锁并加锁
+     * 锁按 Bean 名称区分，同一线程可重入；如果等待该锁会与其他线程形成循环等待，
+     * 说明存在跨线程的循环依赖，直接抛出异常而不是死锁
+     * 
+     * @param beanName Bean 名称
+     * @return 已加锁的锁对象，调用方负责在创建结束后释放
+     * @throws CircularDependencyException 如果检测到跨线程的循环依赖
+     */
+    public Lock lockSingletonCreation(String beanName) {
+        while (true) {
+            SingletonCreationLock lock = acquireSingletonCreationLock(beanName);
+            // 加锁期间该锁可能已随 Bean 定义一起被移除，此时改用注册表中当前的锁
+            if (singletonCreationLocks.get(beanName) == lock) {
+                return lock;
+            }
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 获取并锁定 Bean 名称当前对应的创建锁
+     * 
+     * @param beanName Bean 名称
+     * @return 已加锁的锁对象
+     * @throws CircularDependencyException 如果检测到跨线程的循环依赖
+     */
+    private SingletonCreationLock acquireSingletonCreationLock(String beanName) {
+        SingletonCreationLock lock = singletonCreationLocks.get(beanName);
+        if (lock == null) {
+            SingletonCreationLock newLock = new SingletonCreationLock(beanName);
+            lock = singletonCreationLocks.putIfAbsent(beanName, newLock);
+            if (lock == null) {
+                lock = newLock;
+            }
+        }
+
+        if (lock.tryLock()) {
+            return lock;
+        }
+
+        // 先登记等待关系再检查，两个线程相互等待时至少有一方能看到完整的环路
+        Thread currentThread = Thread.currentThread();
+        waitingThreads.put(currentThread, lock);
+        try {
+            List<String> cycle = findWaitCycle(lock, currentThread);
+            if (cycle != null) {
+                throw new CircularDependencyException(beanName, "检测到跨线程的循环依赖", cycle);
+            }
+            lock.lock();
+            return lock;
+        } finally {
+            waitingThreads.remove(currentThread);
+        }
+    }
+
+    /**
+     * 沿“锁的持有线程 -> 该线程等待的锁”查找回到当前线程的等待环路
+     * 
+     * @param lock          当前线程将要等待的锁
+     * @param currentThread 当前线程
+     * @return 依赖路径（首尾为同一个 Bean），如果不存在环路返回 null
+     */
+    private List<String> findWaitCycle(SingletonCreationLock lock, Thread currentThread) {
+        List<String> path = new ArrayList<String>();
+        path.add(lock.beanName);
+
+        SingletonCreationLock next = lock;
+        for (int i = 0; i <= waitingThreads.size(); i++) {
+            Thread owner = next.getOwnerThread();
+            if (owner == null) {
+                return null;
+            }
+            if (owner == currentThread) {
+                path.add(lock.beanName);
+                return path;
+            }
+            next = waitingThreads.get(owner);
+            if (next == null) {
+                return null;
+            }
+            path.add(next.beanName);
+        }
+        return null;
+    }
+
     /**
      * 移除 Bean 定义
      * 
      * @param beanName Bean 名称
      */
     public void removeBeanDefinition(String beanName) {
+        removeSingletonCreationLock(beanName);
         BeanDefinition beanDefinition = beanDefinitions.remove(beanName);
         if (beanDefinition != null) {
             Class<?> beanClass = beanDefinition.getBeanClass();
             if (beanClass != null) {
                 beanNameToType.remove(beanName);
-                removeTypeToBeanNameMapping(beanClass, beanName);
+                typeIndex.remove(beanName);
             }
+            definitionVersion.incrementAndGet();
         }
     }
 
     /**
-     * 移除类型到 Bean 名称的映射
+     * 移除 Bean 名称对应的创建锁
+     * 锁正被其他线程持有时保留不动，否则重新注册的同名 Bean 会拿到新锁，与正在进行的创建并发执行
      * 
-     * @param beanClass Bean 类型
-     * @param beanName  Bean 名称
-     */
-    private void removeTypeToBeanNameMapping(Class<?> beanClass, String beanName) {
-        Set<String> beanNames = typeToBeanNames.get(beanClass);
-        if (beanNames != null) {
-            beanNames.remove(beanName);
-            if (beanNames.isEmpty()) {
-                typeToBeanNames.remove(beanClass);
-            }
-        }
-
-        // 同时移除父类和接口的映射
-        Class<?> superClass = beanClass.getSuperclass();
-        if (superClass != null && superClass != Object.class) {
-            removeTypeToBeanNameMapping(superClass, beanName);
+     * @param beanName Bean 名称
+     */
+    private void removeSingletonCreationLock(String beanName) {
+        SingletonCreationLock lock = singletonCreationLocks.get(beanName);
+        if (lock == null || lock.isHeldByCurrentThread() || !lock.tryLock()) {
+            return;
         }
-
-        Class<?>[] interfaces = beanClass.getInterfaces();
-        for (Class<?> interfaceClass : interfaces) {
-            removeTypeToBeanNameMapping(interfaceClass, beanName);
+        try {
+            singletonCreationLocks.remove(beanName, lock);
+        } finally {
+            lock.unlock();
         }
     }
 
@@ -325,8 +531,12 @@ public class BeanRegistry {
      */
     public void removeSingleton(String beanName) {
         synchronized (singletonBeans) {
-            singletonBeans.remove(beanName);
+            if (singletonBeans.remove(beanName) != null) {
+                definitionVersion.incrementAndGet();
+            }
+            singletonTargets.remove(beanName);
         }
+        asyncInitializations.remove(beanName);
     }
 
     /**
@@ -334,9 +544,92 @@ public class BeanRegistry {
      */
     public void clear() {
         singletonBeans.clear();
+        singletonTargets.clear();
         beanDefinitions.clear();
         beanNameToType.clear();
-        typeToBeanNames.clear();
+        typeIndex.clear();
         beansCurrentlyInCreation.clear();
+        singletonCreationLocks.clear();
+        asyncInitializations.clear();
+        definitionVersion.incrementAndGet();
+    }
+
+    /**
+     * 异步初始化任务，记录执行线程和截止时间
+     */
+    private static class AsyncInitialization extends FutureTask<Object> {
+
+        private final String beanName;
+
+        private final long timeoutMillis;
+
+        private final long deadlineNanos;
+
+        private volatile Thread runner;
+
+        private volatile boolean timedOut;
+
+        AsyncInitialization(String beanName, Runnable task, long timeoutMillis) {
+            super(task, null);
+            this.beanName = beanName;
+            this.timeoutMillis = timeoutMillis;
+            this.deadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        }
+
+        @Override
+        public void run() {
+            runner = Thread.currentThread();
+            try {
+                super.run();
+            } finally {
+                runner = null;
+            }
+        }
+
+        void await() {
+            try {
+                if (timeoutMillis > 0) {
+                    get(Math.max(0L, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+                } else {
+                    get();
+                }
+            } catch (TimeoutException e) {
+                timedOut = true;
+                cancel(true);
+                throw timeoutException();
+            } catch (CancellationException e) {
+                if (timedOut) {
+                    throw timeoutException();
+                }
+                throw new BeanCreationException(beanName, "异步初始化已取消");
+            } catch (ExecutionException e) {
+                throw new BeanCreationException(beanName, "异步初始化失败: " + e.getCause().getMessage(), e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new BeanCreationException(beanName, "等待异步初始化时被中断", e);
+            }
+        }
+
+        private BeanCreationException timeoutException() {
+            return new BeanCreationException(beanName, "异步初始化超时（" + timeoutMillis + " ms）");
+        }
+    }
+
+    /**
+     * 单例创建锁，记录所属的 Bean 名称并暴露持有线程以便检测循环等待
+     */
+    private static class SingletonCreationLock extends ReentrantLock {
+
+        private static final long serialVersionUID = 1L;
+
+        private final String beanName;
+
+        SingletonCreationLock(String beanName) {
+            this.beanName = beanName;
+        }
+
+        Thread getOwnerThread() {
+            return getOwner();
+        }
     }
 }
@@ -0,0 +1,251 @@
+package com.simplespring.beans.factory.support;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 类型到 Bean 名称的索引
+ *
+ * 每个类型对应一个不可变的 {@code String[]} 快照，按注册顺序排列。写操作（注册和移除）串行执行，
+ * 以写时复制的方式替换受影响类型的快照；读操作只是一次 {@link ConcurrentHashMap#get}，
+ * 不加锁也不分配对象，注册过程中并发读取的线程看到的总是某个完整的快照。
+ *
+ * Bean 类自身、父类和所有接口在注册时立即建立索引；其他类型（如 Object）在首次查询时
+ * 扫描所有 Bean 类型解析。有匹配的结果被缓存，并在之后的注册和移除中增量维护；
+ * 没有匹配的结果最多缓存 {@value #MAX_CACHED_MISSES} 个，任何一次注册都会丢弃它们，
+ * 下次查询时重新解析，因此按任意类型查询不会让索引无限增长，注册也不需要逐个检查它们
+ *
+ * @author SimpleSpring Framework
+ */
+class BeanTypeIndex {
+
+  static final String[] NO_BEAN_NAMES = new String[0];
+
+  /**
+   * 缓存的未命中类型的上限，超过后未命中的查询不再缓存
+   */
+  static final int MAX_CACHED_MISSES = 256;
+
+  /**
+   * 类型 -> Bean 名称快照
+   */
+  private final ConcurrentMap<Class<?>, String[]> beanNamesByType = new ConcurrentHashMap<Class<?>, String[]>();
+
+  /**
+   * Bean 名称 -> Bean 类型，按注册顺序排列，仅在持有写锁时访问
+   */
+  private final Map<String, Class<?>> beanTypes = new LinkedHashMap<String, Class<?>>();
+
+  /**
+   * 按需解析且有匹配的类型，仅在持有写锁时访问
+   */
+  private final Set<Class<?>> resolvedTypes = new LinkedHashSet<Class<?>>();
+
+  /**
+   * 按需解析且没有匹配的类型，仅在持有写锁时访问
+   */
+  private final Set<Class<?>> missedTypes = new LinkedHashSet<Class<?>>();
+
+  /**
+   * 获取类型匹配的 Bean 名称
+   *
+   * @param type 类型
+   * @return 不可变的 Bean 名称快照，调用方不能修改返回的数组
+   */
+  String[] getBeanNames(Class<?> type) {
+    if (type == null) {
+      return NO_BEAN_NAMES;
+    }
+    String[] beanNames = beanNamesByType.get(type);
+    return beanNames != null ? beanNames : resolve(type);
+  }
+
+  /**
+   * 获取类型唯一匹配的 Bean 名称
+   *
+   * @param type 类型
+   * @return Bean 名称，如果没有匹配或有多个匹配返回 null
+   */
+  String getUniqueBeanName(Class<?> type) {
+    String[] beanNames = getBeanNames(type);
+    return beanNames.length == 1 ? beanNames[0] : null;
+  }
+
+  /**
+   * 添加 Bean
+   *
+   * @param beanName  Bean 名称
+   * @param beanClass Bean 类型
+   */
+  synchronized void add(String beanName, Class<?> beanClass) {
+    beanTypes.put(beanName, beanClass);
+    discardMisses();
+
+    Set<Class<?>> declaredTypes = collectDeclaredTypes(beanClass);
+    for (Class<?> type : declaredTypes) {
+      append(type, beanName);
+    }
+    for (Class<?> type : resolvedTypes) {
+      if (!declaredTypes.contains(type) && type.isAssignableFrom(beanClass)) {
+        append(type, beanName);
+      }
+    }
+  }
+
+  /**
+   * 移除 Bean
+   *
+   * @param beanName Bean 名称
+   */
+  synchronized void remove(String beanName) {
+    Class<?> beanClass = beanTypes.remove(beanName);
+    if (beanClass == null) {
+      return;
+    }
+
+    for (Class<?> type : collectDeclaredTypes(beanClass)) {
+      if (resolvedTypes.contains(type)) {
+        continue; // 按需解析的类型在下面统一处理
+      }
+      String[] beanNames = removeName(beanNamesByType.get(type), beanName);
+      if (beanNames.length == 0) {
+        beanNamesByType.remove(type);
+      } else {
+        beanNamesByType.put(type, beanNames);
+      }
+    }
+    for (Iterator<Class<?>> it = resolvedTypes.iterator(); it.hasNext();) {
+      Class<?> type = it.next();
+      String[] beanNames = removeName(beanNamesByType.get(type), beanName);
+      if (beanNames.length == 0) {
+        // 不再有匹配的类型转为未命中，超过上限时直接丢弃，下次查询时重新解析
+        it.remove();
+        cacheMiss(type);
+      } else {
+        beanNamesByType.put(type, beanNames);
+      }
+    }
+  }
+
+  /**
+   * 清空索引
+   */
+  synchronized void clear() {
+    beanNamesByType.clear();
+    beanTypes.clear();
+    resolvedTypes.clear();
+    missedTypes.clear();
+  }
+
+  /**
+   * 获取当前缓存的未命中类型数量
+   *
+   * @return 未命中类型数量
+   */
+  synchronized int getCachedMissCount() {
+    return missedTypes.size();
+  }
+
+  /**
+   * 解析未建立索引的类型，在写锁内完成，保证不会遗漏并发注册的 Bean
+   */
+  private synchronized String[] resolve(Class<?> type) {
+    String[] beanNames = beanNamesByType.get(type);
+    if (beanNames != null) {
+      return beanNames;
+    }
+
+    List<String> matches = new ArrayList<String>();
+    for (Map.Entry<String, Class<?>> entry : beanTypes.entrySet()) {
+      if (type.isAssignableFrom(entry.getValue())) {
+        matches.add(entry.getKey());
+      }
+    }
+    if (matches.isEmpty()) {
+      cacheMiss(type);
+      return NO_BEAN_NAMES;
+    }
+    beanNames = matches.toArray(new String[matches.size()]);
+    resolvedTypes.add(type);
+    beanNamesByType.put(type, beanNames);
+    return beanNames;
+  }
+
+  /**
+   * 缓存未命中的类型，达到上限时不缓存
+   */
+  private void cacheMiss(Class<?> type) {
+    if (missedTypes.size() >= MAX_CACHED_MISSES) {
+      beanNamesByType.remove(type);
+      return;
+    }
+    missedTypes.add(type);
+    beanNamesByType.put(type, NO_BEAN_NAMES);
+  }
+
+  /**
+   * 丢弃所有缓存的未命中类型，新注册的 Bean 可能匹配它们
+   */
+  private void discardMisses() {
+    if (missedTypes.isEmpty()) {
+      return;
+    }
+    for (Class<?> type : missedTypes) {
+      beanNamesByType.remove(type);
+    }
+    missedTypes.clear();
+  }
+
+  private void append(Class<?> type, String beanName) {
+    String[] beanNames = beanNamesByType.get(type);
+    if (beanNames == null) {
+      beanNamesByType.put(type, new String[] { beanName });
+      return;
+    }
+    String[] newBeanNames = Arrays.copyOf(beanNames, beanNames.length + 1);
+    newBeanNames[beanNames.length] = beanName;
+    beanNamesByType.put(type, newBeanNames);
+  }
+
+  private static String[] removeName(String[] beanNames, String beanName) {
+    if (beanNames == null) {
+      return NO_BEAN_NAMES;
+    }
+    for (int i = 0; i < beanNames.length; i++) {
+      if (beanNames[i].equals(beanName)) {
+        String[] newBeanNames = new String[beanNames.length - 1];
+        System.arraycopy(beanNames, 0, newBeanNames, 0, i);
+        System.arraycopy(beanNames, i + 1, newBeanNames, i, beanNames.length - i - 1);
+        return newBeanNames;
+      }
+    }
+    return beanNames;
+  }
+
+  /**
+   * 收集 Bean 类自身、父类（不含 Object）和所有接口
+   */
+  private static Set<Class<?>> collectDeclaredTypes(Class<?> beanClass) {
+    Set<Class<?>> types = new LinkedHashSet<Class<?>>();
+    collectDeclaredTypes(beanClass, types);
+    return types;
+  }
+
+  private static void collectDeclaredTypes(Class<?> type, Set<Class<?>> types) {
+    if (type == null || type == Object.class || !types.add(type)) {
+      return;
+    }
+    collectDeclaredTypes(type.getSuperclass(), types);
+    for (Class<?> interfaceClass : type.getInterfaces()) {
+      collectDeclaredTypes(interfaceClass, types);
+    }
+  }
+}
@@ -1,5 +1,6 @@
 package com.simplespring.beans.factory.support;
 
+import com.simplespring.beans.factory.CircularDependencyException;
 import com.simplespring.beans.factory.config.BeanDefinition;
 import com.simplespring.core.annotation.Autowired;
 
@@ -7,17 +8,20 @@ import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.Stack;
 
 /**
  * 循环依赖检测器
  * 检测 Bean 之间的循环依赖关系，构建依赖图并检测环路
  * 
+ * Bean 创建期间通过每个线程独立的创建链路进行 O(1) 检测；
+ * 基于依赖图的全局分析仅在显式校验时使用
+ * 
  * @author SimpleSpring Framework
  */
 public class CircularDependencyDetector {
@@ -27,6 +31,38 @@ public class CircularDependencyDetector {
    */
   private final Map<String, Set<String>> dependencyGraph = new HashMap<String, Set<String>>();
 
+  /**
+   * 注入点类型：Bean 名称 -> 该 Bean 所有注入点（构造函数参数、字段、方法参数）的依赖类型
+   * 增量维护依赖图时据此重新解析依赖，无需再次反射扫描
+   */
+  private final Map<String, InjectionPointTypes> injectionPointTypes = new HashMap<String, InjectionPointTypes>();
+
+  /**
+   * 注入点类型的反向索引：类型 -> 声明了该类型注入点的 Bean 名称集合
+   */
+  private final Map<Class<?>, Set<String>> dependentsByType = new HashMap<Class<?>, Set<String>>();
+
+  /**
+   * 依赖图中每个节点对应的 Bean 类型，用于移除节点时确定受影响的类型
+   */
+  private final Map<String, Class<?>> nodeTypes = new HashMap<String, Class<?>>();
+
+  /**
+   * 类级别的注入点类型缓存，同一个类注册为多个 Bean 时只扫描一次
+   */
+  private final Map<Class<?>, InjectionPointTypes> classInjectionPointCache =
+      new HashMap<Class<?>, InjectionPointTypes>();
+
+  /**
+   * 依赖图的强连通分量分析结果，依赖图变化时失效
+   */
+  private StronglyConnectedComponents components;
+
+  /**
+   * 当前线程正在创建的 Bean 链路
+   */
+  private final ThreadLocal<CreationPath> creationPath = new ThreadLocal<CreationPath>();
+
   /**
    * Bean 注册表引用
    */
@@ -46,130 +82,305 @@ public class CircularDependencyDetector {
    * 分析所有 Bean 定义，构建完整的依赖关系图
    */
   public void buildDependencyGraph() {
-    dependencyGraph.clear();
+    clear();
 
     String[] beanNames = beanRegistry.getBeanDefinitionNames();
     for (String beanName : beanNames) {
       BeanDefinition beanDefinition = beanRegistry.getBeanDefinition(beanName);
       if (beanDefinition != null) {
-        Set<String> dependencies = analyzeBeanDependencies(beanDefinition);
-        dependencyGraph.put(beanName, dependencies);
+        addNode(beanName, beanDefinition);
       }
     }
+
+    for (String beanName : dependencyGraph.keySet()) {
+      resolveDependencies(beanName);
+    }
   }
 
   /**
-   * 分析单个 Bean 的依赖关系
+   * 增量注册 Bean 到依赖图
+   * 只分析新 Bean 自身的注入点，并重新解析那些按类型查找结果因新 Bean 而改变的依赖边。
+   * 必须在 Bean 定义注册到 BeanRegistry 之后调用
    * 
+   * @param beanName Bean 名称
+   */
+  public void registerBean(String beanName) {
+    BeanDefinition beanDefinition = beanRegistry.getBeanDefinition(beanName);
+    if (beanDefinition == null) {
+      return;
+    }
+
+    if (dependencyGraph.containsKey(beanName)) {
+      removeNode(beanName);
+    }
+
+    addNode(beanName, beanDefinition);
+    resolveDependencies(beanName);
+    resolveDependentsOf(beanDefinition.getBeanClass(), beanName);
+  }
+
+  /**
+   * 从依赖图中增量移除 Bean
+   * 必须在 Bean 定义从 BeanRegistry 移除之后调用，以便受影响的依赖边能重新解析
+   * 
+   * @param beanName Bean 名称
+   */
+  public void removeBean(String beanName) {
+    if (!dependencyGraph.containsKey(beanName)) {
+      return;
+    }
+
+    Class<?> beanClass = removeNode(beanName);
+    resolveDependentsOf(beanClass, null);
+  }
+
+  /**
+   * 添加依赖图节点并登记其注入点类型，不解析依赖边
+   * 
+   * @param beanName       Bean 名称
    * @param beanDefinition Bean 定义
-   * @return 依赖的 Bean 名称集合
    */
-  private Set<String> analyzeBeanDependencies(BeanDefinition beanDefinition) {
-    Set<String> dependencies = new HashSet<String>();
+  private void addNode(String beanName, BeanDefinition beanDefinition) {
     Class<?> beanClass = beanDefinition.getBeanClass();
+    // 预先计算了注入点类型的 Bean 定义（AOT 生成，只包含单个 Bean 依赖）不需要反射分析
+    Class<?>[] dependencyTypes = beanDefinition.getDependencyTypes();
+    InjectionPointTypes types;
+    if (dependencyTypes != null) {
+      types = new InjectionPointTypes();
+      Collections.addAll(types.singleTypes, dependencyTypes);
+    } else {
+      types = getInjectionPointTypes(beanClass);
+    }
+
+    dependencyGraph.put(beanName, new HashSet<String>());
+    components = null;
+    injectionPointTypes.put(beanName, types);
+    nodeTypes.put(beanName, beanClass);
+
+    for (Class<?> type : types.allTypes()) {
+      Set<String> dependents = dependentsByType.get(type);
+      if (dependents == null) {
+        dependents = new HashSet<String>();
+        dependentsByType.put(type, dependents);
+      }
+      dependents.add(beanName);
+    }
+  }
+
+  /**
+   * 移除依赖图节点及其注入点类型登记
+   * 
+   * @param beanName Bean 名称
+   * @return 节点对应的 Bean 类型
+   */
+  private Class<?> removeNode(String beanName) {
+    dependencyGraph.remove(beanName);
+    components = null;
+
+    InjectionPointTypes types = injectionPointTypes.remove(beanName);
+    if (types != null) {
+      for (Class<?> type : types.allTypes()) {
+        Set<String> dependents = dependentsByType.get(type);
+        if (dependents != null) {
+          dependents.remove(beanName);
+          if (dependents.isEmpty()) {
+            dependentsByType.remove(type);
+          }
+        }
+      }
+    }
 
+    return nodeTypes.remove(beanName);
+  }
+
+  /**
+   * 根据已登记的注入点类型重新解析指定 Bean 的依赖边
+   * 单个 Bean 注入点依赖唯一匹配的 Bean；集合、Map 和 ObjectProvider 注入点依赖元素类型的每个候选 Bean
+   * 
+   * @param beanName Bean 名称
+   */
+  private void resolveDependencies(String beanName) {
+    Set<String> dependencies = dependencyGraph.get(beanName);
+    if (dependencies == null) {
+      return;
+    }
+
+    dependencies.clear();
+    components = null;
+    InjectionPointTypes types = injectionPointTypes.get(beanName);
+    if (types != null) {
+      for (Class<?> type : types.singleTypes) {
+        String dependencyBeanName = findBeanNameByType(type);
+        if (dependencyBeanName != null) {
+          dependencies.add(dependencyBeanName);
+        }
+      }
+      for (Class<?> type : types.elementTypes) {
+        for (String candidate : beanRegistry.getBeanNameArrayForType(type)) {
+          // 集合注入点不包含 Bean 自身
+          if (!candidate.equals(beanName)) {
+            dependencies.add(candidate);
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * 重新解析所有注入点类型可由指定 Bean 类型满足的 Bean 的依赖边
+   * 这些类型的按类型查找结果会因该 Bean 的注册或移除而改变
+   * 
+   * @param beanClass   发生变化的 Bean 类型
+   * @param excludeName 无需重新解析的 Bean 名称（已单独解析），可以为 null
+   */
+  private void resolveDependentsOf(Class<?> beanClass, String excludeName) {
+    if (beanClass == null || dependentsByType.isEmpty()) {
+      return;
+    }
+
+    Set<String> affected = new HashSet<String>();
+    for (Class<?> type : getAssignableTypes(beanClass)) {
+      Set<String> dependents = dependentsByType.get(type);
+      if (dependents != null) {
+        affected.addAll(dependents);
+      }
+    }
+    affected.remove(excludeName);
+
+    for (String dependent : affected) {
+      resolveDependencies(dependent);
+    }
+  }
+
+  /**
+   * 获取类的注入点类型（带缓存）
+   * 
+   * @param beanClass Bean 类
+   * @return 注入点类型
+   */
+  private InjectionPointTypes getInjectionPointTypes(Class<?> beanClass) {
     if (beanClass == null) {
-      return dependencies;
+      return new InjectionPointTypes();
+    }
+
+    InjectionPointTypes types = classInjectionPointCache.get(beanClass);
+    if (types == null) {
+      types = new InjectionPointTypes();
+
+      // 分析构造函数依赖
+      analyzeConstructorDependencies(beanClass, types);
+
+      // 分析字段依赖
+      analyzeFieldDependencies(beanClass, types);
+
+      // 分析方法依赖
+      analyzeMethodDependencies(beanClass, types);
+
+      classInjectionPointCache.put(beanClass, types);
     }
+    return types;
+  }
 
-    // 分析构造函数依赖
-    analyzeConstructorDependencies(beanClass, dependencies);
+  /**
+   * 获取 Bean 类型在注册表中登记的所有类型（自身、父类和接口）
+   * 与 BeanRegistry 建立类型映射的规则保持一致
+   * 
+   * @param beanClass Bean 类型
+   * @return 类型集合
+   */
+  private Set<Class<?>> getAssignableTypes(Class<?> beanClass) {
+    Set<Class<?>> types = new HashSet<Class<?>>();
+    collectAssignableTypes(beanClass, types);
+    return types;
+  }
 
-    // 分析字段依赖
-    analyzeFieldDependencies(beanClass, dependencies);
+  /**
+   * 递归收集类型及其父类、接口
+   * 
+   * @param type  当前类型
+   * @param types 类型集合
+   */
+  private void collectAssignableTypes(Class<?> type, Set<Class<?>> types) {
+    if (!types.add(type)) {
+      return;
+    }
 
-    // 分析方法依赖
-    analyzeMethodDependencies(beanClass, dependencies);
+    Class<?> superClass = type.getSuperclass();
+    if (superClass != null && superClass != Object.class) {
+      collectAssignableTypes(superClass, types);
+    }
 
-    return dependencies;
+    for (Class<?> interfaceClass : type.getInterfaces()) {
+      collectAssignableTypes(interfaceClass, types);
+    }
   }
 
   /**
    * 分析构造函数依赖
    * 
-   * @param beanClass    Bean 类
-   * @param dependencies 依赖集合
+   * @param beanClass Bean 类
+   * @param types     注入点类型
    */
-  private void analyzeConstructorDependencies(Class<?> beanClass, Set<String> dependencies) {
+  private void analyzeConstructorDependencies(Class<?> beanClass, InjectionPointTypes types) {
     Constructor<?>[] constructors = beanClass.getDeclaredConstructors();
 
     for (Constructor<?> constructor : constructors) {
       // 优先分析带有 @Autowired 注解的构造函数
       if (constructor.isAnnotationPresent(Autowired.class)) {
-        analyzeConstructorParameters(constructor, dependencies);
+        addConstructorParameters(constructor, types);
         return; // 找到 @Autowired 构造函数后停止
       }
     }
 
-    // 如果没有 @Autowired 构造函数，分析默认构造函数
+    // 如果没有 @Autowired 构造函数，默认构造函数没有参数；否则分析第一个构造函数
     try {
-      Constructor<?> defaultConstructor = beanClass.getDeclaredConstructor();
-      analyzeConstructorParameters(defaultConstructor, dependencies);
+      beanClass.getDeclaredConstructor();
     } catch (NoSuchMethodException e) {
-      // 没有默认构造函数，分析第一个构造函数
       if (constructors.length > 0) {
-        analyzeConstructorParameters(constructors[0], dependencies);
+        addConstructorParameters(constructors[0], types);
       }
     }
   }
 
-  /**
-   * 分析构造函数参数
-   * 
-   * @param constructor  构造函数
-   * @param dependencies 依赖集合
-   */
-  private void analyzeConstructorParameters(Constructor<?> constructor, Set<String> dependencies) {
-    Class<?>[] parameterTypes = constructor.getParameterTypes();
-    for (Class<?> parameterType : parameterTypes) {
-      String dependencyBeanName = findBeanNameByType(parameterType);
-      if (dependencyBeanName != null) {
-        dependencies.add(dependencyBeanName);
-      }
+  private void addConstructorParameters(Constructor<?> constructor, InjectionPointTypes types) {
+    for (int i = 0; i < constructor.getParameterTypes().length; i++) {
+      types.add(DependencyDescriptor.forConstructorParameter(constructor, i, true));
     }
   }
 
   /**
    * 分析字段依赖
    * 
-   * @param beanClass    Bean 类
-   * @param dependencies 依赖集合
+   * @param beanClass Bean 类
+   * @param types     注入点类型
    */
-  private void analyzeFieldDependencies(Class<?> beanClass, Set<String> dependencies) {
+  private void analyzeFieldDependencies(Class<?> beanClass, InjectionPointTypes types) {
     Field[] fields = beanClass.getDeclaredFields();
     for (Field field : fields) {
       if (field.isAnnotationPresent(Autowired.class)) {
-        Class<?> fieldType = field.getType();
-        String dependencyBeanName = findBeanNameByType(fieldType);
-        if (dependencyBeanName != null) {
-          dependencies.add(dependencyBeanName);
-        }
+        types.add(DependencyDescriptor.forField(field, true));
       }
     }
 
     // 递归分析父类字段
     Class<?> superClass = beanClass.getSuperclass();
     if (superClass != null && superClass != Object.class) {
-      analyzeFieldDependencies(superClass, dependencies);
+      analyzeFieldDependencies(superClass, types);
     }
   }
 
   /**
    * 分析方法依赖
    * 
-   * @param beanClass    Bean 类
-   * @param dependencies 依赖集合
+   * @param beanClass Bean 类
+   * @param types     注入点类型
    */
-  private void analyzeMethodDependencies(Class<?> beanClass, Set<String> dependencies) {
+  private void analyzeMethodDependencies(Class<?> beanClass, InjectionPointTypes types) {
     Method[] methods = beanClass.getDeclaredMethods();
     for (Method method : methods) {
       if (method.isAnnotationPresent(Autowired.class)) {
-        Class<?>[] parameterTypes = method.getParameterTypes();
-        for (Class<?> parameterType : parameterTypes) {
-          String dependencyBeanName = findBeanNameByType(parameterType);
-          if (dependencyBeanName != null) {
-            dependencies.add(dependencyBeanName);
-          }
+        for (int i = 0; i < method.getParameterTypes().length; i++) {
+          types.add(DependencyDescriptor.forMethodParameter(method, i, true));
         }
       }
     }
@@ -177,7 +388,7 @@ public class CircularDependencyDetector {
     // 递归分析父类方法
     Class<?> superClass = beanClass.getSuperclass();
     if (superClass != null && superClass != Object.class) {
-      analyzeMethodDependencies(superClass, dependencies);
+      analyzeMethodDependencies(superClass, types);
     }
   }
 
@@ -188,138 +399,90 @@ public class CircularDependencyDetector {
    * @return Bean 名称，如果找不到或有多个匹配返回 null
    */
   private String findBeanNameByType(Class<?> type) {
-    List<String> beanNames = beanRegistry.getBeanNamesForType(type);
-    if (beanNames.size() == 1) {
-      return beanNames.get(0);
-    }
-    return null; // 找不到或有多个匹配，无法确定依赖关系
+    // 找不到或有多个匹配时返回 null，无法确定依赖关系
+    return beanRegistry.getUniqueBeanNameForType(type);
   }
 
   /**
-   * 检测循环依赖
-   * 使用深度优先搜索算法检测依赖图中的环路
+   * 标记 Bean 在当前线程中开始创建
+   * 如果该 Bean 已经处于当前线程的创建链路中，说明出现了循环依赖
    * 
-   * @return 循环依赖路径列表，如果没有循环依赖返回空列表
+   * @param beanName Bean 名称
+   * @throws CircularDependencyException 如果检测到循环依赖，异常中包含完整的依赖路径
    */
-  public List<List<String>> detectCircularDependencies() {
-    List<List<String>> cycles = new ArrayList<List<String>>();
-    Set<String> visited = new HashSet<String>();
-    Set<String> recursionStack = new HashSet<String>();
-    Stack<String> path = new Stack<String>();
-
-    for (String beanName : dependencyGraph.keySet()) {
-      if (!visited.contains(beanName)) {
-        detectCyclesFromNode(beanName, visited, recursionStack, path, cycles);
-      }
+  public void beforeBeanCreation(String beanName) {
+    CreationPath path = creationPath.get();
+    if (path == null) {
+      path = new CreationPath();
+      creationPath.set(path);
     }
 
-    return cycles;
+    List<String> cycle = path.push(beanName);
+    if (cycle != null) {
+      throw new CircularDependencyException(beanName, "检测到循环依赖", cycle);
+    }
   }
 
   /**
-   * 从指定节点开始检测循环依赖
+   * 标记 Bean 在当前线程中创建结束（无论成功与否）
    * 
-   * @param beanName       当前 Bean 名称
-   * @param visited        已访问的节点集合
-   * @param recursionStack 递归栈中的节点集合
-   * @param path           当前路径
-   * @param cycles         检测到的循环依赖列表
+   * @param beanName Bean 名称
    */
-  private void detectCyclesFromNode(String beanName, Set<String> visited, Set<String> recursionStack,
-      Stack<String> path, List<List<String>> cycles) {
-
-    visited.add(beanName);
-    recursionStack.add(beanName);
-    path.push(beanName);
-
-    Set<String> dependencies = dependencyGraph.get(beanName);
-    if (dependencies != null) {
-      for (String dependency : dependencies) {
-        if (!visited.contains(dependency)) {
-          // 递归访问未访问的依赖
-          detectCyclesFromNode(dependency, visited, recursionStack, path, cycles);
-        } else if (recursionStack.contains(dependency)) {
-          // 发现循环依赖
-          List<String> cycle = extractCycle(path, dependency);
-          if (!cycle.isEmpty()) {
-            cycles.add(cycle);
-          }
-        }
-      }
+  public void afterBeanCreation(String beanName) {
+    CreationPath path = creationPath.get();
+    if (path == null) {
+      return;
+    }
+    path.pop(beanName);
+    if (path.isEmpty()) {
+      creationPath.remove();
     }
-
-    recursionStack.remove(beanName);
-    path.pop();
   }
 
   /**
-   * 从路径中提取循环依赖
+   * 获取当前线程正在创建的 Bean 链路
    * 
-   * @param path       当前路径
-   * @param cycleStart 循环开始的节点
-   * @return 循环依赖路径
-   */
-  private List<String> extractCycle(Stack<String> path, String cycleStart) {
-    List<String> cycle = new ArrayList<String>();
-    boolean foundStart = false;
-
-    // 从栈底开始查找循环开始节点
-    for (String node : path) {
-      if (node.equals(cycleStart)) {
-        foundStart = true;
-      }
-      if (foundStart) {
-        cycle.add(node);
-      }
+   * @return 按创建顺序排列的 Bean 名称列表
+   */
+  public List<String> getCurrentCreationPath() {
+    CreationPath path = creationPath.get();
+    if (path == null) {
+      return Collections.emptyList();
     }
+    return new ArrayList<String>(path.beanNames);
+  }
 
-    // 添加循环结束节点（与开始节点相同）
-    if (foundStart) {
-      cycle.add(cycleStart);
+  /**
+   * 获取依赖图的强连通分量分析结果（带缓存）
+   * 分量按依赖在前的拓扑顺序排列，可直接用于确定 Bean 的创建顺序
+   * 
+   * @return 强连通分量分析结果
+   */
+  public StronglyConnectedComponents getStronglyConnectedComponents() {
+    if (components == null) {
+      components = StronglyConnectedComponents.analyze(dependencyGraph);
     }
-
-    return cycle;
+    return components;
   }
 
   /**
-   * 检测指定 Bean 是否存在循环依赖
+   * 检测循环依赖
+   * 基于强连通分量分析，每个构成环路的分量报告一条完整的环路
    * 
-   * @param beanName Bean 名称
-   * @return 如果存在循环依赖返回 true，否则返回 false
+   * @return 循环依赖路径列表，如果没有循环依赖返回空列表
    */
-  public boolean hasCircularDependency(String beanName) {
-    Set<String> visited = new HashSet<String>();
-    Set<String> recursionStack = new HashSet<String>();
-    return hasCircularDependencyFromNode(beanName, visited, recursionStack);
+  public List<List<String>> detectCircularDependencies() {
+    return getStronglyConnectedComponents().getCycles();
   }
 
   /**
-   * 从指定节点检测是否存在循环依赖
+   * 检测指定 Bean 是否存在循环依赖
    * 
-   * @param beanName       当前 Bean 名称
-   * @param visited        已访问的节点集合
-   * @param recursionStack 递归栈中的节点集合
-   * @return 如果存在循环依赖返回 true，否则返回 false
+   * @param beanName Bean 名称
+   * @return 如果该 Bean 处于环路中或依赖了环路中的 Bean 返回 true，否则返回 false
    */
-  private boolean hasCircularDependencyFromNode(String beanName, Set<String> visited, Set<String> recursionStack) {
-    visited.add(beanName);
-    recursionStack.add(beanName);
-
-    Set<String> dependencies = dependencyGraph.get(beanName);
-    if (dependencies != null) {
-      for (String dependency : dependencies) {
-        if (!visited.contains(dependency)) {
-          if (hasCircularDependencyFromNode(dependency, visited, recursionStack)) {
-            return true;
-          }
-        } else if (recursionStack.contains(dependency)) {
-          return true; // 发现循环依赖
-        }
-      }
-    }
-
-    recursionStack.remove(beanName);
-    return false;
+  public boolean hasCircularDependency(String beanName) {
+    return getStronglyConnectedComponents().reachesCycle(beanName);
   }
 
   /**
@@ -386,6 +549,10 @@ public class CircularDependencyDetector {
    */
   public void clear() {
     dependencyGraph.clear();
+    components = null;
+    injectionPointTypes.clear();
+    dependentsByType.clear();
+    nodeTypes.clear();
   }
 
   /**
@@ -405,4 +572,85 @@ public class CircularDependencyDetector {
   public boolean isEmpty() {
     return dependencyGraph.isEmpty();
   }
+
+  /**
+   * 一个 Bean 类的注入点依赖类型
+   * 集合、Map 和 ObjectProvider 注入点登记元素类型而不是声明的容器类型
+   */
+  private static class InjectionPointTypes {
+
+    /**
+     * 单个 Bean 注入点的类型
+     */
+    private final Set<Class<?>> singleTypes = new HashSet<Class<?>>();
+
+    /**
+     * 集合、Map 和 ObjectProvider 注入点的元素类型
+     */
+    private final Set<Class<?>> elementTypes = new HashSet<Class<?>>();
+
+    void add(DependencyDescriptor descriptor) {
+      if (descriptor.isSingle()) {
+        singleTypes.add(descriptor.getDependencyType());
+      } else if (descriptor.getDependencyType() != Object.class) {
+        // 没有泛型信息的 ObjectProvider 按 Object 解析，不能据此确定依赖关系
+        elementTypes.add(descriptor.getDependencyType());
+      }
+    }
+
+    Set<Class<?>> allTypes() {
+      Set<Class<?>> types = new HashSet<Class<?>>(singleTypes);
+      types.addAll(elementTypes);
+      return types;
+    }
+  }
+
+  /**
+   * Bean 创建链路
+   * 按顺序记录正在创建的 Bean，同时维护名称到位置的索引，使重复检测为 O(1)
+   */
+  private static class CreationPath {
+
+    private final List<String> beanNames = new ArrayList<String>();
+
+    private final Map<String, Integer> positions = new HashMap<String, Integer>();
+
+    /**
+     * 将 Bean 压入链路
+     * 
+     * @param beanName Bean 名称
+     * @return 如果 Bean 已在链路中，返回从该 Bean 开始并回到该 Bean 的环路；否则返回 null
+     */
+    List<String> push(String beanName) {
+      Integer position = positions.get(beanName);
+      if (position != null) {
+        List<String> cycle = new ArrayList<String>(beanNames.subList(position, beanNames.size()));
+        cycle.add(beanName);
+        return cycle;
+      }
+      positions.put(beanName, beanNames.size());
+      beanNames.add(beanName);
+      return null;
+    }
+
+    /**
+     * 将 Bean 从链路中弹出
+     * 
+     * @param beanName Bean 名称
+     */
+    void pop(String beanName) {
+      Integer position = positions.get(beanName);
+      if (position == null) {
+        return;
+      }
+      // 正常情况下总是弹出栈顶；位置之后的元素一并移除以保持链路一致
+      for (int i = beanNames.size() - 1; i >= position; i--) {
+        positions.remove(beanNames.remove(i));
+      }
+    }
+
+    boolean isEmpty() {
+      return beanNames.isEmpty();
+    }
+  }
 }
@@ -2,8 +2,12 @@ package com.simplespring.beans.factory.support;
 
 import com.simplespring.beans.factory.*;
 import com.simplespring.beans.factory.config.BeanDefinition;
+import com.simplespring.beans.factory.config.BeanInstanceSupplier;
 import com.simplespring.beans.factory.config.BeanPostProcessor;
 import com.simplespring.beans.factory.config.Scope;
+import com.simplespring.beans.factory.config.SelectiveBeanPostProcessor;
+import com.simplespring.core.metrics.ApplicationStartup;
+import com.simplespring.core.metrics.StartupStep;
 import com.simplespring.core.util.ClassUtils;
 import com.simplespring.core.util.StringUtils;
 
@@ -11,7 +15,15 @@ import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.Lock;
 
 /**
  * 默认 Bean 工厂实现
@@ -27,64 +39,113 @@ public class DefaultBeanFactory implements BeanFactory {
   private final BeanRegistry beanRegistry;
 
   /**
-   * 构造函数注入器
+   * Bean 后处理器列表，写时复制，修改时不影响正在创建 Bean 的线程
    */
-  private final ConstructorInjector constructorInjector;
+  private final CopyOnWriteArrayList<BeanPostProcessor> beanPostProcessors;
 
   /**
-   * 字段注入器
+   * 按 Bean 类缓存的后处理器链，后处理器列表变化时整体替换
    */
-  private final FieldInjector fieldInjector;
+  private volatile PostProcessorChainCache postProcessorChains;
 
   /**
-   * 方法注入器
+   * 生命周期处理器
    */
-  private final MethodInjector methodInjector;
+  private final LifecycleProcessor lifecycleProcessor;
 
   /**
-   * Bean 后处理器列表
+   * 循环依赖检测器
    */
-  private final List<BeanPostProcessor> beanPostProcessors;
+  private final CircularDependencyDetector circularDependencyDetector;
 
   /**
-   * 生命周期处理器
+   * 注入计划缓存：Bean 名称 -> 注入计划
    */
-  private final LifecycleProcessor lifecycleProcessor;
+  private final Map<String, InjectionPlan> injectionPlans = new ConcurrentHashMap<String, InjectionPlan>();
 
   /**
-   * 循环依赖检测器
+   * 池化作用域 Bean 的对象池：Bean 名称 -> 对象池
    */
-  private final CircularDependencyDetector circularDependencyDetector;
+  private final ConcurrentMap<String, BeanPool> beanPools = new ConcurrentHashMap<String, BeanPool>();
 
   /**
-   * 构造函数
+   * 构造函数、字段和方法的访问策略
+   */
+  private final BeanAccessorStrategy accessorStrategy;
+
+  /**
+   * 启动步骤记录器，默认不记录
+   */
+  private volatile ApplicationStartup applicationStartup = ApplicationStartup.DEFAULT;
+
+  /**
+   * 构造函数，使用基于 MethodHandle 的访问策略
    */
   public DefaultBeanFactory() {
+    this(new MethodHandleAccessorStrategy());
+  }
+
+  /**
+   * 构造函数
+   * 
+   * @param accessorStrategy 构造函数、字段和方法的访问策略
+   */
+  public DefaultBeanFactory(BeanAccessorStrategy accessorStrategy) {
+    if (accessorStrategy == null) {
+      throw new IllegalArgumentException("访问策略不能为空");
+    }
+    this.accessorStrategy = accessorStrategy;
     this.beanRegistry = new BeanRegistry();
-    this.constructorInjector = new ConstructorInjector(beanRegistry);
-    this.fieldInjector = new FieldInjector(beanRegistry);
-    this.methodInjector = new MethodInjector(beanRegistry);
-    this.beanPostProcessors = new ArrayList<BeanPostProcessor>();
-    this.lifecycleProcessor = new LifecycleProcessor();
+    this.beanPostProcessors = new CopyOnWriteArrayList<BeanPostProcessor>();
+    this.postProcessorChains = new PostProcessorChainCache(new BeanPostProcessor[0]);
+    this.lifecycleProcessor = new LifecycleProcessor(accessorStrategy);
     this.circularDependencyDetector = new CircularDependencyDetector(beanRegistry);
 
-    // 设置 BeanFactory 引用以支持依赖创建
-    this.constructorInjector.setBeanFactory(this);
-    this.fieldInjector.setBeanFactory(this);
-    this.methodInjector.setBeanFactory(this);
-
-    // 注册默认的生命周期处理器
+    // 注册默认的生命周期处理器，异步初始化由注册表跟踪
+    this.lifecycleProcessor.setBeanRegistry(beanRegistry);
     addBeanPostProcessor(this.lifecycleProcessor);
   }
 
   @Override
   public Object getBean(String name) {
+    return doGetBean(name, true);
+  }
+
+  /**
+   * 创建单例 Bean，但不等待它的异步初始化（{@code @PostConstruct(async = true)}）完成
+   * 用于容器启动时预实例化，使互不依赖的 Bean 的异步初始化并行进行；
+   * 预实例化结束后需要调用 {@link #awaitAsyncInitializations()}
+   * 
+   * @param name Bean 名称
+   * @return Bean 实例，可能尚未完成异步初始化
+   */
+  public Object preInstantiateSingleton(String name) {
+    return doGetBean(name, false);
+  }
+
+  /**
+   * 等待所有已提交的异步初始化完成
+   * 
+   * @throws BeanCreationException 如果任何一个异步初始化失败、超时或等待时被中断
+   */
+  public void awaitAsyncInitializations() {
+    beanRegistry.awaitAllInitializations();
+  }
+
+  /**
+   * 获取 Bean
+   * 
+   * @param name                Bean 名称
+   * @param awaitInitialization 是否等待单例的异步初始化完成
+   * @return Bean 实例
+   */
+  private Object doGetBean(String name, boolean awaitInitialization) {
     if (!StringUtils.hasText(name)) {
       throw new IllegalArgumentException("Bean 名称不能为空");
     }
 
     // 首先检查单例缓存
-    Object singleton = beanRegistry.getSingleton(name);
+    Object singleton = beanRegistry.getSingleton(name, awaitInitialization);
     if (singleton != null) {
       return singleton;
     }
@@ -95,8 +156,124 @@ public class DefaultBeanFactory implements BeanFactory {
       throw new NoSuchBeanDefinitionException(name);
     }
 
-    // 创建 Bean 实例
-    return createBean(name, beanDefinition);
+    if (beanDefinition.getScope() == Scope.POOLED) {
+      return getBeanPool(name, beanDefinition).acquire();
+    }
+
+    if (!beanDefinition.isSingleton()) {
+      return createBean(name, beanDefinition);
+    }
+
+    // 单例按名称加锁后再次检查缓存，并发获取同一个 Bean 时只创建一个实例
+    Lock creationLock = beanRegistry.lockSingletonCreation(name);
+    try {
+      singleton = beanRegistry.getSingleton(name, false);
+      if (singleton == null) {
+        singleton = createBean(name, beanDefinition);
+      }
+    } finally {
+      creationLock.unlock();
+    }
+
+    // 释放创建锁后再等待异步初始化，不阻塞其他线程获取已创建的实例
+    if (awaitInitialization) {
+      beanRegistry.awaitInitialization(name);
+    }
+    return singleton;
+  }
+
+  /**
+   * 获取池化作用域 Bean 的对象池，首次使用时创建
+   * 
+   * @param beanName       Bean 名称
+   * @param beanDefinition Bean 定义
+   * @return 对象池
+   */
+  private BeanPool getBeanPool(final String beanName, final BeanDefinition beanDefinition) {
+    BeanPool beanPool = beanPools.get(beanName);
+    if (beanPool != null) {
+      return beanPool;
+    }
+
+    // 被后处理器包装的实例（如 AOP 代理）对应的原始实例，按实例标识查找
+    final Map<Object, Object> targets = Collections.synchronizedMap(new IdentityHashMap<Object, Object>());
+    beanPool = new BeanPool(beanName, beanDefinition, new BeanPool.PooledObjectFactory() {
+      @Override
+      public Object create() {
+        CreatedBean createdBean = createBeanAndTarget(beanName, beanDefinition);
+        if (createdBean.target != createdBean.bean) {
+          targets.put(createdBean.bean, createdBean.target);
+        }
+        return createdBean.bean;
+      }
+
+      @Override
+      public void destroy(Object bean) {
+        Object target = targets.remove(bean);
+        invokeDestroyMethods(target != null ? target : bean, beanName, beanDefinition);
+      }
+    });
+    BeanPool existing = beanPools.putIfAbsent(beanName, beanPool);
+    return existing != null ? existing : beanPool;
+  }
+
+  /**
+   * 将通过 getBean 借出的池化作用域 Bean 归还到对象池
+   * 
+   * @param name Bean 名称
+   * @param bean Bean 实例
+   * @throws NoSuchBeanDefinitionException 如果找不到 Bean 定义
+   * @throws IllegalArgumentException      如果 Bean 不是池化作用域，或实例不是从对象池借出的
+   */
+  public void releaseBean(String name, Object bean) {
+    BeanPool beanPool = beanPools.get(name);
+    if (beanPool == null) {
+      BeanDefinition beanDefinition = beanRegistry.getBeanDefinition(name);
+      if (beanDefinition == null) {
+        throw new NoSuchBeanDefinitionException(name);
+      }
+      if (beanDefinition.getScope() != Scope.POOLED) {
+        throw new IllegalArgumentException("Bean '" + name + "' 的作用域不是 " + Scope.POOLED.getValue());
+      }
+      throw new IllegalArgumentException("实例不是从 Bean '" + name + "' 的对象池借出的");
+    }
+    beanPool.release(bean);
+  }
+
+  /**
+   * 获取池化作用域 Bean 的对象池指标
+   * 
+   * @param name Bean 名称
+   * @return 指标快照，如果对象池尚未创建返回 null
+   */
+  public BeanPoolMetrics getBeanPoolMetrics(String name) {
+    BeanPool beanPool = beanPools.get(name);
+    return beanPool != null ? beanPool.getMetrics() : null;
+  }
+
+  /**
+   * 回收所有对象池中空闲超时的实例
+   * 
+   * @return 销毁的实例数
+   */
+  public int evictIdleBeans() {
+    int evicted = 0;
+    for (BeanPool beanPool : beanPools.values()) {
+      evicted += beanPool.evictIdle();
+    }
+    return evicted;
+  }
+
+  /**
+   * 关闭所有对象池并销毁其中的空闲实例
+   */
+  public void destroyBeanPools() {
+    for (String beanName : beanPools.keySet()) {
+      BeanPool beanPool = beanPools.remove(beanName);
+      if (beanPool != null) {
+        beanPool.close();
+      }
+    }
   }
 
   @Override
@@ -116,18 +293,17 @@ public class DefaultBeanFactory implements BeanFactory {
       throw new IllegalArgumentException("Bean 类型不能为空");
     }
 
-    List<String> beanNames = beanRegistry.getBeanNamesForType(requiredType);
-
-    if (beanNames.isEmpty()) {
-      throw new NoSuchBeanDefinitionException(requiredType);
+    // 唯一候选的快速路径，不分配对象
+    String beanName = beanRegistry.getUniqueBeanNameForType(requiredType);
+    if (beanName != null) {
+      return getBean(beanName, requiredType);
     }
 
-    if (beanNames.size() > 1) {
-      throw new NoUniqueBeanDefinitionException(requiredType, beanNames);
+    String[] beanNames = beanRegistry.getBeanNameArrayForType(requiredType);
+    if (beanNames.length == 0) {
+      throw new NoSuchBeanDefinitionException(requiredType);
     }
-
-    String beanName = beanNames.get(0);
-    return getBean(beanName, requiredType);
+    throw new NoUniqueBeanDefinitionException(requiredType, Arrays.asList(beanNames));
   }
 
   @Override
@@ -180,44 +356,72 @@ public class DefaultBeanFactory implements BeanFactory {
    * @return Bean 实例
    */
   private Object createBean(String beanName, BeanDefinition beanDefinition) {
+    return createBeanAndTarget(beanName, beanDefinition).bean;
+  }
+
+  /**
+   * 创建 Bean 实例，同时返回后处理器包装前的原始实例
+   * 
+   * @param beanName       Bean 名称
+   * @param beanDefinition Bean 定义
+   * @return 新创建的 Bean
+   */
+  private CreatedBean createBeanAndTarget(String beanName, BeanDefinition beanDefinition) {
+    // 检查循环依赖：Bean 已在当前线程的创建链路中即构成环路
+    circularDependencyDetector.beforeBeanCreation(beanName);
     try {
-      // 检查循环依赖
       if (beanDefinition.isSingleton()) {
         beanRegistry.beforeSingletonCreation(beanName);
-
-        // 使用循环依赖检测器进行更详细的检测
-        if (circularDependencyDetector.hasCircularDependency(beanName)) {
-          java.util.List<java.util.List<String>> cycles = circularDependencyDetector.detectCircularDependencies();
-          for (java.util.List<String> cycle : cycles) {
-            if (cycle.contains(beanName)) {
-              throw new CircularDependencyException(beanName,
-                  "检测到循环依赖", cycle);
-            }
-          }
-        }
       }
 
       // 创建 Bean 实例
-      Object beanInstance = doCreateBean(beanName, beanDefinition);
+      CreatedBean createdBean = doCreateBean(beanName, beanDefinition);
 
-      // 如果是单例，缓存实例
+      // 如果是单例，缓存实例，同时记录原始实例供销毁时使用
       if (beanDefinition.isSingleton()) {
-        beanRegistry.registerSingleton(beanName, beanInstance);
+        beanRegistry.registerSingleton(beanName, createdBean.bean, createdBean.target);
         beanRegistry.afterSingletonCreation(beanName);
       }
 
-      return beanInstance;
+      return createdBean;
 
     } catch (Exception e) {
       if (beanDefinition.isSingleton()) {
         beanRegistry.afterSingletonCreation(beanName);
       }
 
+      // 依赖注入会逐层包装异常，循环依赖异常原样抛出以保留完整的依赖路径
+      CircularDependencyException circularException = findCircularDependencyException(e);
+      if (circularException != null) {
+        throw circularException;
+      }
       if (e instanceof BeanCreationException) {
         throw (BeanCreationException) e;
       }
       throw new BeanCreationException(beanName, e.getMessage(), e);
+    } finally {
+      circularDependencyDetector.afterBeanCreation(beanName);
+    }
+  }
+
+  /**
+   * 在异常链中查找循环依赖异常
+   * 
+   * @param e 异常
+   * @return 循环依赖异常，如果不存在返回 null
+   */
+  private CircularDependencyException findCircularDependencyException(Throwable e) {
+    Throwable current = e;
+    while (current != null) {
+      if (current instanceof CircularDependencyException) {
+        return (CircularDependencyException) current;
+      }
+      if (current.getCause() == current) {
+        break;
+      }
+      current = current.getCause();
     }
+    return null;
   }
 
   /**
@@ -225,43 +429,97 @@ public class DefaultBeanFactory implements BeanFactory {
    * 
    * @param beanName       Bean 名称
    * @param beanDefinition Bean 定义
-   * @return Bean 实例
+   * @return 新创建的 Bean
    */
-  private Object doCreateBean(String beanName, BeanDefinition beanDefinition) {
-    Class<?> beanClass = beanDefinition.getBeanClass();
-
-    // 1. 创建 Bean 实例（构造函数注入）
-    Object beanInstance = createBeanInstance(beanName, beanDefinition);
+  private CreatedBean doCreateBean(String beanName, BeanDefinition beanDefinition) {
+    ApplicationStartup startup = applicationStartup;
+    StartupStep createStep = startup.start("beans.create").tag("beanName", beanName);
+    try {
+      // 设置了实例提供者的 Bean 由提供者完成实例化和依赖注入，不需要注入计划
+      BeanInstanceSupplier instanceSupplier = beanDefinition.getInstanceSupplier();
+      InjectionPlan injectionPlan = instanceSupplier == null ? getInjectionPlan(beanName, beanDefinition) : null;
+
+      // 1. 创建 Bean 实例（构造函数注入）
+      StartupStep step = startup.start("beans.create.instantiate").tag("beanName", beanName);
+      Object beanInstance;
+      try {
+        beanInstance = injectionPlan != null ? createBeanInstance(beanName, injectionPlan)
+            : createBeanInstance(beanName, instanceSupplier);
+      } finally {
+        step.end();
+      }
 
-    // 2. 字段注入
-    populateBean(beanInstance, beanDefinition);
+      // 2. 字段注入和方法注入
+      if (injectionPlan != null) {
+        step = startup.start("beans.create.populate").tag("beanName", beanName);
+        try {
+          populateBean(beanInstance, injectionPlan);
+        } finally {
+          step.end();
+        }
+      }
 
-    // 3. 初始化 Bean
-    initializeBean(beanInstance, beanName, beanDefinition);
+      // 3. 初始化 Bean，后处理器可能返回包装后的实例（如 AOP 代理）
+      step = startup.start("beans.create.initialize").tag("beanName", beanName);
+      Object exposedInstance;
+      try {
+        exposedInstance = initializeBean(beanInstance, beanName, beanDefinition);
+      } finally {
+        step.end();
+      }
 
-    return beanInstance;
+      return new CreatedBean(exposedInstance, beanInstance);
+    } finally {
+      createStep.end();
+    }
   }
 
   /**
-   * 创建 Bean 实例
+   * 获取 Bean 定义的注入计划
+   * 已注册的 Bean 定义的计划会被缓存，直到注册表发生变化
    * 
    * @param beanName       Bean 名称
    * @param beanDefinition Bean 定义
-   * @return Bean 实例
+   * @return 注入计划
    */
-  private Object createBeanInstance(String beanName, BeanDefinition beanDefinition) {
-    Class<?> beanClass = beanDefinition.getBeanClass();
+  InjectionPlan getInjectionPlan(String beanName, BeanDefinition beanDefinition) {
+    InjectionPlan injectionPlan = injectionPlans.get(beanName);
+    if (injectionPlan != null && injectionPlan.isValidFor(beanDefinition, beanRegistry.getDefinitionVersion())) {
+      return injectionPlan;
+    }
 
-    try {
-      // 如果指定了构造函数，使用指定的构造函数
-      Constructor<?> constructor = beanDefinition.getConstructor();
-      if (constructor != null) {
-        return constructorInjector.createBeanInstance(beanClass);
-      }
+    injectionPlan = InjectionPlan.build(beanDefinition, beanRegistry, accessorStrategy);
+    if (beanRegistry.getBeanDefinition(beanName) == beanDefinition) {
+      injectionPlans.put(beanName, injectionPlan);
+    }
+    return injectionPlan;
+  }
 
-      // 否则使用构造函数注入器选择合适的构造函数
-      return constructorInjector.createBeanInstance(beanClass);
+  /**
+   * 创建 Bean 实例
+   * 
+   * @param beanName      Bean 名称
+   * @param injectionPlan 注入计划
+   * @return Bean 实例
+   */
+  private Object createBeanInstance(String beanName, InjectionPlan injectionPlan) {
+    try {
+      return injectionPlan.instantiate(beanRegistry, this);
+    } catch (Exception e) {
+      throw new BeanCreationException(beanName, "无法创建 Bean 实例", e);
+    }
+  }
 
+  /**
+   * 使用实例提供者创建 Bean 实例并注入依赖
+   * 
+   * @param beanName         Bean 名称
+   * @param instanceSupplier 实例提供者
+   * @return Bean 实例
+   */
+  private Object createBeanInstance(String beanName, BeanInstanceSupplier instanceSupplier) {
+    try {
+      return instanceSupplier.get(this);
     } catch (Exception e) {
       throw new BeanCreationException(beanName, "无法创建 Bean 实例", e);
     }
@@ -270,15 +528,11 @@ public class DefaultBeanFactory implements BeanFactory {
   /**
    * 填充 Bean 属性（字段注入和方法注入）
    * 
-   * @param beanInstance   Bean 实例
-   * @param beanDefinition Bean 定义
+   * @param beanInstance  Bean 实例
+   * @param injectionPlan 注入计划
    */
-  private void populateBean(Object beanInstance, BeanDefinition beanDefinition) {
-    // 字段注入
-    fieldInjector.injectFields(beanInstance, beanDefinition);
-
-    // 方法注入
-    methodInjector.injectMethods(beanInstance, beanDefinition);
+  private void populateBean(Object beanInstance, InjectionPlan injectionPlan) {
+    injectionPlan.populate(beanInstance, beanRegistry, this);
   }
 
   /**
@@ -292,11 +546,17 @@ public class DefaultBeanFactory implements BeanFactory {
   private Object initializeBean(Object beanInstance, String beanName, BeanDefinition beanDefinition) {
     Object wrappedBean = beanInstance;
 
+    // 只调用适用于该类的 BeanPostProcessor
+    BeanPostProcessor[] processors = postProcessorChains.getChain(beanInstance.getClass());
+    if (processors.length == 0) {
+      return wrappedBean;
+    }
+
     // 调用 BeanPostProcessor 的 postProcessBeforeInitialization 方法
-    wrappedBean = applyBeanPostProcessorsBeforeInitialization(wrappedBean, beanName);
+    wrappedBean = applyBeanPostProcessorsBeforeInitialization(wrappedBean, beanName, processors);
 
     // 调用 BeanPostProcessor 的 postProcessAfterInitialization 方法
-    wrappedBean = applyBeanPostProcessorsAfterInitialization(wrappedBean, beanName);
+    wrappedBean = applyBeanPostProcessorsAfterInitialization(wrappedBean, beanName, processors);
 
     return wrappedBean;
   }
@@ -321,8 +581,28 @@ public class DefaultBeanFactory implements BeanFactory {
     // 注册到注册表
     beanRegistry.registerBeanDefinition(beanName, beanDefinition);
 
-    // 重新构建依赖图
-    circularDependencyDetector.buildDependencyGraph();
+    // 增量更新依赖图
+    circularDependencyDetector.registerBean(beanName);
+  }
+
+  /**
+   * 移除 Bean 定义，同时移除单例缓存并增量更新依赖图
+   * 
+   * @param beanName Bean 名称
+   */
+  public void removeBeanDefinition(String beanName) {
+    if (!StringUtils.hasText(beanName)) {
+      throw new IllegalArgumentException("Bean 名称不能为空");
+    }
+
+    beanRegistry.removeSingleton(beanName);
+    beanRegistry.removeBeanDefinition(beanName);
+    injectionPlans.remove(beanName);
+    BeanPool beanPool = beanPools.remove(beanName);
+    if (beanPool != null) {
+      beanPool.close();
+    }
+    circularDependencyDetector.removeBean(beanName);
   }
 
   /**
@@ -332,7 +612,12 @@ public class DefaultBeanFactory implements BeanFactory {
    */
   private void setupAutowiredInfo(BeanDefinition beanDefinition) {
     Class<?> beanClass = beanDefinition.getBeanClass();
-    if (beanClass == null) {
+    if (beanClass == null || beanDefinition.getInstanceSupplier() != null) {
+      // 实例提供者自行完成注入，不需要扫描注入点
+      return;
+    }
+    if (beanDefinition.isInjectionMetadataResolved()) {
+      // 注入元数据已经确定（如来自扫描缓存），空的字段和方法列表表示没有对应的注入点
       return;
     }
 
@@ -353,6 +638,7 @@ public class DefaultBeanFactory implements BeanFactory {
       Constructor<?> preferredConstructor = ConstructorInjector.getPreferredConstructor(beanClass);
       beanDefinition.setConstructor(preferredConstructor);
     }
+    beanDefinition.setInjectionMetadataResolved(true);
   }
 
   @Override
@@ -390,11 +676,13 @@ public class DefaultBeanFactory implements BeanFactory {
    * 
    * @param existingBean 现有的 Bean 实例
    * @param beanName     Bean 名称
+   * @param processors   适用于该 Bean 类的后处理器
    * @return 处理后的 Bean 实例
    */
-  private Object applyBeanPostProcessorsBeforeInitialization(Object existingBean, String beanName) {
+  private Object applyBeanPostProcessorsBeforeInitialization(Object existingBean, String beanName,
+      BeanPostProcessor[] processors) {
     Object result = existingBean;
-    for (BeanPostProcessor processor : beanPostProcessors) {
+    for (BeanPostProcessor processor : processors) {
       Object current = processor.postProcessBeforeInitialization(result, beanName);
       if (current == null) {
         return result;
@@ -409,11 +697,13 @@ public class DefaultBeanFactory implements BeanFactory {
    * 
    * @param existingBean 现有的 Bean 实例
    * @param beanName     Bean 名称
+   * @param processors   适用于该 Bean 类的后处理器
    * @return 处理后的 Bean 实例
    */
-  private Object applyBeanPostProcessorsAfterInitialization(Object existingBean, String beanName) {
+  private Object applyBeanPostProcessorsAfterInitialization(Object existingBean, String beanName,
+      BeanPostProcessor[] processors) {
     Object result = existingBean;
-    for (BeanPostProcessor processor : beanPostProcessors) {
+    for (BeanPostProcessor processor : processors) {
       Object current = processor.postProcessAfterInitialization(result, beanName);
       if (current == null) {
         return result;
@@ -429,8 +719,13 @@ public class DefaultBeanFactory implements BeanFactory {
    * @param beanPostProcessor Bean 后处理器
    */
   public void addBeanPostProcessor(BeanPostProcessor beanPostProcessor) {
-    if (beanPostProcessor != null && !beanPostProcessors.contains(beanPostProcessor)) {
-      beanPostProcessors.add(beanPostProcessor);
+    if (beanPostProcessor == null) {
+      return;
+    }
+    synchronized (beanPostProcessors) {
+      if (beanPostProcessors.addIfAbsent(beanPostProcessor)) {
+        resetPostProcessorChains();
+      }
     }
   }
 
@@ -440,7 +735,19 @@ public class DefaultBeanFactory implements BeanFactory {
    * @param beanPostProcessor Bean 后处理器
    */
   public void removeBeanPostProcessor(BeanPostProcessor beanPostProcessor) {
-    beanPostProcessors.remove(beanPostProcessor);
+    synchronized (beanPostProcessors) {
+      if (beanPostProcessors.remove(beanPostProcessor)) {
+        resetPostProcessorChains();
+      }
+    }
+  }
+
+  /**
+   * 后处理器列表变化后丢弃按类缓存的处理器链，调用方需持有列表的锁
+   */
+  private void resetPostProcessorChains() {
+    postProcessorChains = new PostProcessorChainCache(
+        beanPostProcessors.toArray(new BeanPostProcessor[beanPostProcessors.size()]));
   }
 
   /**
@@ -458,9 +765,10 @@ public class DefaultBeanFactory implements BeanFactory {
    * @param beanName Bean 名称
    */
   public void destroyBean(String beanName) {
-    Object bean = beanRegistry.getSingleton(beanName);
-    if (bean != null) {
-      destroyBean(bean, beanName);
+    // 销毁回调在原始实例上执行，而不是后处理器包装后的实例（如 AOP 代理）
+    Object target = beanRegistry.getSingletonTarget(beanName);
+    if (target != null) {
+      invokeDestroyMethods(target, beanName, beanRegistry.getBeanDefinition(beanName));
       beanRegistry.removeSingleton(beanName);
     }
   }
@@ -477,12 +785,49 @@ public class DefaultBeanFactory implements BeanFactory {
     }
   }
 
+  /**
+   * 检查单例 Bean 是否有需要执行的销毁回调
+   * 按 Bean 定义的类判断，被包装的单例（如 AOP 代理）不会被漏掉
+   * 
+   * @param beanName Bean 名称
+   * @return 如果单例存在且有 @PreDestroy 方法返回 true
+   */
+  public boolean requiresDestruction(String beanName) {
+    Object target = beanRegistry.getSingletonTarget(beanName);
+    return target != null && lifecycleProcessor.hasPreDestroyMethods(
+        getDestructionClass(target, beanRegistry.getBeanDefinition(beanName)));
+  }
+
+  /**
+   * 在原始实例上调用 @PreDestroy 方法
+   * 
+   * @param target         后处理器包装前的原始实例
+   * @param beanName       Bean 名称
+   * @param beanDefinition Bean 定义，直接注册的单例可能没有
+   */
+  private void invokeDestroyMethods(Object target, String beanName, BeanDefinition beanDefinition) {
+    lifecycleProcessor.invokePreDestroyMethods(target, getDestructionClass(target, beanDefinition), beanName);
+  }
+
+  /**
+   * 确定查找 @PreDestroy 方法的类：优先使用 Bean 定义的类，没有 Bean 定义时使用实例的类
+   */
+  private static Class<?> getDestructionClass(Object target, BeanDefinition beanDefinition) {
+    Class<?> beanClass = beanDefinition != null ? beanDefinition.getBeanClass() : null;
+    return beanClass != null && beanClass.isInstance(target) ? beanClass : target.getClass();
+  }
+
   /**
    * 销毁所有单例 Bean
+   * 按依赖图拓扑顺序的逆序销毁，依赖方先于它的依赖被销毁；
+   * 不在依赖图中的单例（例如直接注册的实例）依赖关系未知，最后销毁
    */
   public void destroySingletons() {
-    String[] beanNames = beanRegistry.getSingletonNames();
-    for (String beanName : beanNames) {
+    List<String> order = circularDependencyDetector.getStronglyConnectedComponents().getTopologicalOrder();
+    for (int i = order.size() - 1; i >= 0; i--) {
+      destroyBean(order.get(i));
+    }
+    for (String beanName : beanRegistry.getSingletonNames()) {
       destroyBean(beanName);
     }
   }
@@ -496,6 +841,37 @@ public class DefaultBeanFactory implements BeanFactory {
     return lifecycleProcessor;
   }
 
+  /**
+   * 设置启动步骤记录器，同时应用到生命周期处理器
+   * 
+   * @param applicationStartup 启动步骤记录器
+   */
+  public void setApplicationStartup(ApplicationStartup applicationStartup) {
+    if (applicationStartup == null) {
+      throw new IllegalArgumentException("启动步骤记录器不能为空");
+    }
+    this.applicationStartup = applicationStartup;
+    this.lifecycleProcessor.setApplicationStartup(applicationStartup);
+  }
+
+  /**
+   * 获取启动步骤记录器
+   * 
+   * @return 启动步骤记录器
+   */
+  public ApplicationStartup getApplicationStartup() {
+    return applicationStartup;
+  }
+
+  /**
+   * 获取构造函数、字段和方法的访问策略
+   * 
+   * @return 访问策略
+   */
+  public BeanAccessorStrategy getAccessorStrategy() {
+    return accessorStrategy;
+  }
+
   /**
    * 获取 Bean 注册表（用于测试和内部访问）
    * 
@@ -516,7 +892,8 @@ public class DefaultBeanFactory implements BeanFactory {
 
   /**
    * 构建依赖图并检测循环依赖
-   * 通常在所有 Bean 定义注册完成后调用
+   * 通常在所有 Bean 定义注册完成后调用；Bean 创建时只检查创建链路，
+   * 需要对全部 Bean 定义做静态分析时显式调用此方法
    * 
    * @throws CircularDependencyException 如果检测到循环依赖
    */
@@ -539,7 +916,60 @@ public class DefaultBeanFactory implements BeanFactory {
    * @return 如果存在循环依赖返回 true，否则返回 false
    */
   public boolean hasCircularDependency(String beanName) {
-    circularDependencyDetector.buildDependencyGraph();
     return circularDependencyDetector.hasCircularDependency(beanName);
   }
+
+  /**
+   * 按 Bean 类缓存的后处理器链
+   * 每个实例对应后处理器列表的一个快照，列表变化时整体替换，避免新旧列表计算出的链混在一起
+   */
+  private static class PostProcessorChainCache {
+
+    private final BeanPostProcessor[] processors;
+
+    private final ConcurrentMap<Class<?>, BeanPostProcessor[]> chains =
+        new ConcurrentHashMap<Class<?>, BeanPostProcessor[]>();
+
+    PostProcessorChainCache(BeanPostProcessor[] processors) {
+      this.processors = processors;
+    }
+
+    /**
+     * 获取适用于指定类的后处理器链
+     * 
+     * @param beanClass Bean 类
+     * @return 按注册顺序排列的后处理器，调用方不能修改返回的数组
+     */
+    BeanPostProcessor[] getChain(Class<?> beanClass) {
+      BeanPostProcessor[] chain = chains.get(beanClass);
+      if (chain == null) {
+        List<BeanPostProcessor> applicable = new ArrayList<BeanPostProcessor>(processors.length);
+        for (BeanPostProcessor processor : processors) {
+          if (!(processor instanceof SelectiveBeanPostProcessor)
+              || ((SelectiveBeanPostProcessor) processor).supports(beanClass)) {
+            applicable.add(processor);
+          }
+        }
+        chain = applicable.size() == processors.length ? processors
+            : applicable.toArray(new BeanPostProcessor[applicable.size()]);
+        chains.put(beanClass, chain);
+      }
+      return chain;
+    }
+  }
+
+  /**
+   * 新创建的 Bean：对外暴露的实例和后处理器包装前的原始实例
+   */
+  private static final class CreatedBean {
+
+    private final Object bean;
+
+    private final Object target;
+
+    CreatedBean(Object bean, Object target) {
+      this.bean = bean;
+      this.target = target;
+    }
+  }
 }
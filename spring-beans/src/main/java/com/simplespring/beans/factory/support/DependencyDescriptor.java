@@ -0,0 +1,444 @@
+package com.simplespring.beans.factory.support;
+
+import com.simplespring.beans.factory.BeanCreationException;
+import com.simplespring.beans.factory.BeanFactory;
+import com.simplespring.beans.factory.NoSuchBeanDefinitionException;
+import com.simplespring.beans.factory.NoUniqueBeanDefinitionException;
+import com.simplespring.beans.factory.ObjectProvider;
+import com.simplespring.beans.factory.config.BeanDefinition;
+import com.simplespring.beans.factory.config.Scope;
+import com.simplespring.core.convert.TypeDescriptor;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 依赖描述符
+ * 描述一个注入点需要的依赖：单个 Bean、{@code List<T>}（以及 {@code Collection<T>}）、
+ * {@code Map<String, T>} 或延迟获取的 {@link ObjectProvider ObjectProvider<T>}。
+ * 元素类型从字段或参数的泛型信息中解析，没有泛型信息的集合类型按单个 Bean 处理。
+ *
+ * 按类型匹配的候选 Bean 名称被缓存，并与注册表版本绑定，注册表发生变化后才重新查询类型索引。
+ * 单个 Bean 的解析规则与错误信息与 {@link ConstructorInjector}、{@link FieldInjector}、
+ * {@link MethodInjector} 保持一致
+ *
+ * @author SimpleSpring Framework
+ */
+public class DependencyDescriptor {
+
+  /**
+   * 依赖的形式
+   */
+  enum Kind {
+    SINGLE, LIST, MAP, PROVIDER
+  }
+
+  /**
+   * 注入点声明的类型
+   */
+  private final Class<?> declaredType;
+
+  /**
+   * 按类型匹配的依赖类型：单个 Bean 为声明的类型，集合和提供者为元素类型
+   */
+  private final Class<?> dependencyType;
+
+  private final boolean required;
+
+  private final Kind kind;
+
+  /**
+   * 候选 Bean 名称缓存
+   */
+  private volatile Candidates candidates;
+
+  /**
+   * 提供者缓存，同一个注册表和 Bean 工厂复用同一个提供者
+   */
+  private volatile DependencyObjectProvider provider;
+
+  /**
+   * 构造函数
+   *
+   * @param typeDescriptor 注入点的类型描述符
+   * @param required       是否为必需的依赖
+   */
+  public DependencyDescriptor(TypeDescriptor typeDescriptor, boolean required) {
+    if (typeDescriptor == null) {
+      throw new IllegalArgumentException("类型描述符不能为空");
+    }
+    this.declaredType = typeDescriptor.getType();
+    this.required = required;
+
+    Class<?> elementType = null;
+    Kind resolvedKind = Kind.SINGLE;
+    if (declaredType == ObjectProvider.class) {
+      elementType = getGenericArgument(typeDescriptor, 0);
+      resolvedKind = Kind.PROVIDER;
+      if (elementType == null) {
+        elementType = Object.class;
+      }
+    } else if (declaredType == List.class || declaredType == Collection.class) {
+      elementType = getGenericArgument(typeDescriptor, 0);
+      if (elementType != null) {
+        resolvedKind = Kind.LIST;
+      }
+    } else if (declaredType == Map.class && getGenericArgument(typeDescriptor, 0) == String.class) {
+      elementType = getGenericArgument(typeDescriptor, 1);
+      if (elementType != null) {
+        resolvedKind = Kind.MAP;
+      }
+    }
+    this.kind = resolvedKind;
+    this.dependencyType = resolvedKind == Kind.SINGLE ? declaredType : elementType;
+  }
+
+  /**
+   * 为字段创建依赖描述符
+   *
+   * @param field    字段
+   * @param required 是否为必需的依赖
+   * @return 依赖描述符
+   */
+  public static DependencyDescriptor forField(Field field, boolean required) {
+    return new DependencyDescriptor(TypeDescriptor.forField(field), required);
+  }
+
+  /**
+   * 为方法参数创建依赖描述符
+   *
+   * @param method         方法
+   * @param parameterIndex 参数索引
+   * @param required       是否为必需的依赖
+   * @return 依赖描述符
+   */
+  public static DependencyDescriptor forMethodParameter(Method method, int parameterIndex, boolean required) {
+    return new DependencyDescriptor(TypeDescriptor.forMethodParameter(method, parameterIndex), required);
+  }
+
+  /**
+   * 为构造函数参数创建依赖描述符
+   *
+   * @param constructor    构造函数
+   * @param parameterIndex 参数索引
+   * @param required       是否为必需的依赖
+   * @return 依赖描述符
+   */
+  public static DependencyDescriptor forConstructorParameter(Constructor<?> constructor, int parameterIndex,
+      boolean required) {
+    return new DependencyDescriptor(TypeDescriptor.forConstructorParameter(constructor, parameterIndex), required);
+  }
+
+  private static Class<?> getGenericArgument(TypeDescriptor typeDescriptor, int index) {
+    TypeDescriptor argument = typeDescriptor.getGenericArgumentTypeDescriptor(index);
+    return argument != null ? argument.getType() : null;
+  }
+
+  /**
+   * 获取注入点声明的类型
+   *
+   * @return 声明的类型
+   */
+  public Class<?> getDeclaredType() {
+    return declaredType;
+  }
+
+  /**
+   * 获取按类型匹配的依赖类型
+   *
+   * @return 单个 Bean 为声明的类型，集合和提供者为元素类型
+   */
+  public Class<?> getDependencyType() {
+    return dependencyType;
+  }
+
+  /**
+   * 是否为必需的依赖
+   *
+   * @return 如果是必需的返回 true
+   */
+  public boolean isRequired() {
+    return required;
+  }
+
+  /**
+   * 是否为单个 Bean 依赖
+   *
+   * @return 如果注入点不是集合或提供者返回 true
+   */
+  public boolean isSingle() {
+    return kind == Kind.SINGLE;
+  }
+
+  Kind getKind() {
+    return kind;
+  }
+
+  /**
+   * 获取匹配依赖类型的候选 Bean 名称
+   * 注册表版本未变化时直接返回缓存的结果
+   *
+   * @param beanRegistry Bean 注册表
+   * @return 候选 Bean 名称（按注册顺序），调用方不能修改返回的数组
+   */
+  public String[] getCandidateNames(BeanRegistry beanRegistry) {
+    // 先读取版本再查询，查询期间注册表若发生变化，缓存会在下次调用时刷新
+    long version = beanRegistry.getDefinitionVersion();
+    Candidates cached = candidates;
+    if (cached != null && cached.version == version && cached.beanRegistry == beanRegistry) {
+      return cached.beanNames;
+    }
+    String[] beanNames = beanRegistry.getBeanNameArrayForType(dependencyType);
+    candidates = new Candidates(beanRegistry, version, beanNames);
+    return beanNames;
+  }
+
+  /**
+   * 解析依赖
+   *
+   * @param beanRegistry Bean 注册表
+   * @param beanFactory  Bean 工厂，用于创建依赖的 Bean
+   * @return 单个 Bean、新的 {@code List} 或 {@code Map}（按注册顺序）或 {@link ObjectProvider}；
+   *         找不到且不是必需的依赖返回 null
+   * @throws DependencyInjectionException 如果找不到必需的依赖或单个 Bean 依赖有多个匹配
+   */
+  public Object resolve(BeanRegistry beanRegistry, BeanFactory beanFactory) {
+    switch (kind) {
+      case PROVIDER:
+        return getProvider(beanRegistry, beanFactory);
+      case LIST:
+        return resolveList(beanRegistry, beanFactory);
+      case MAP:
+        return resolveMap(beanRegistry, beanFactory);
+      default:
+        return resolveSingle(beanRegistry, beanFactory);
+    }
+  }
+
+  private Object resolveSingle(BeanRegistry beanRegistry, BeanFactory beanFactory) {
+    String[] beanNames = getCandidateNames(beanRegistry);
+    if (beanNames.length > 1) {
+      throw new DependencyInjectionException(
+          "找到多个类型为 '" + dependencyType.getName() + "' 的 Bean: " + Arrays.toString(beanNames) +
+              "，无法确定使用哪一个。请使用 @Qualifier 注解指定具体的 Bean 名称");
+    }
+    if (beanNames.length == 0) {
+      if (required) {
+        throw new DependencyInjectionException(
+            "找不到类型为 '" + dependencyType.getName() + "' 的 Bean");
+      }
+      return null;
+    }
+    return getBean(beanNames[0], beanRegistry, beanFactory);
+  }
+
+  private List<Object> resolveList(BeanRegistry beanRegistry, BeanFactory beanFactory) {
+    String[] beanNames = getCandidateNames(beanRegistry);
+    if (beanNames.length == 0) {
+      return resolveEmpty();
+    }
+    List<Object> beans = new ArrayList<Object>(beanNames.length);
+    for (String beanName : beanNames) {
+      Object bean = getBean(beanName, beanRegistry, beanFactory);
+      if (bean != null) {
+        beans.add(bean);
+      }
+    }
+    return beans;
+  }
+
+  private Map<String, Object> resolveMap(BeanRegistry beanRegistry, BeanFactory beanFactory) {
+    String[] beanNames = getCandidateNames(beanRegistry);
+    if (beanNames.length == 0) {
+      return resolveEmpty();
+    }
+    Map<String, Object> beans = new LinkedHashMap<String, Object>(beanNames.length * 2);
+    for (String beanName : beanNames) {
+      Object bean = getBean(beanName, beanRegistry, beanFactory);
+      if (bean != null) {
+        beans.put(beanName, bean);
+      }
+    }
+    return beans;
+  }
+
+  private <T> T resolveEmpty() {
+    if (required) {
+      throw new DependencyInjectionException(
+          "找不到类型为 '" + dependencyType.getName() + "' 的 Bean");
+    }
+    return null;
+  }
+
+  private Object getBean(String beanName, BeanRegistry beanRegistry, BeanFactory beanFactory) {
+    // 首先尝试从单例缓存中获取
+    Object bean = beanRegistry.getSingleton(beanName);
+    if (bean != null) {
+      return bean;
+    }
+
+    // 如果单例缓存中没有，通过 BeanFactory 创建 Bean
+    if (beanFactory != null) {
+      checkInjectable(beanName, beanRegistry);
+      try {
+        return beanFactory.getBean(beanName);
+      } catch (Exception e) {
+        if (required) {
+          throw new DependencyInjectionException(
+              "无法创建类型为 '" + dependencyType.getName() + "' 的依赖 Bean: " + e.getMessage(), e);
+        }
+        return null;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * 检查 Bean 是否可以作为依赖注入
+   * 池化作用域的实例借出后必须由调用方归还，注入后没有归还的时机，每次注入都会永久占用对象池的一个名额
+   *
+   * @param beanName     依赖的 Bean 名称
+   * @param beanRegistry Bean 注册表
+   * @throws BeanCreationException 如果依赖的 Bean 是池化作用域
+   */
+  static void checkInjectable(String beanName, BeanRegistry beanRegistry) {
+    BeanDefinition beanDefinition = beanRegistry.getBeanDefinition(beanName);
+    if (beanDefinition != null && beanDefinition.getScope() == Scope.POOLED) {
+      throw new BeanCreationException(beanName,
+          "池化作用域的 Bean 不能作为依赖注入，请通过 DefaultBeanFactory.getBean() 借出并调用 releaseBean() 归还");
+    }
+  }
+
+  private ObjectProvider<Object> getProvider(BeanRegistry beanRegistry, BeanFactory beanFactory) {
+    DependencyObjectProvider cached = provider;
+    if (cached != null && cached.beanRegistry == beanRegistry && cached.beanFactory == beanFactory) {
+      return cached;
+    }
+    cached = new DependencyObjectProvider(beanRegistry, beanFactory);
+    provider = cached;
+    return cached;
+  }
+
+  @Override
+  public String toString() {
+    return "DependencyDescriptor{kind=" + kind + ", type=" + dependencyType.getName() + ", required=" + required + "}";
+  }
+
+  /**
+   * 某个注册表版本下的候选 Bean 名称
+   */
+  private static class Candidates {
+
+    private final BeanRegistry beanRegistry;
+
+    private final long version;
+
+    private final String[] beanNames;
+
+    Candidates(BeanRegistry beanRegistry, long version, String[] beanNames) {
+      this.beanRegistry = beanRegistry;
+      this.version = version;
+      this.beanNames = beanNames;
+    }
+  }
+
+  /**
+   * 已解析的单例，与解析时的注册表版本绑定
+   */
+  private static class ResolvedSingleton {
+
+    private final long version;
+
+    private final Object bean;
+
+    ResolvedSingleton(long version, Object bean) {
+      this.version = version;
+      this.bean = bean;
+    }
+  }
+
+  /**
+   * {@link ObjectProvider} 的实现
+   * 解析出的单例被缓存，之后的调用只读取缓存并比较注册表版本，不再查询类型索引和单例缓存
+   */
+  private class DependencyObjectProvider implements ObjectProvider<Object> {
+
+    private final BeanRegistry beanRegistry;
+
+    private final BeanFactory beanFactory;
+
+    private volatile ResolvedSingleton resolved;
+
+    DependencyObjectProvider(BeanRegistry beanRegistry, BeanFactory beanFactory) {
+      this.beanRegistry = beanRegistry;
+      this.beanFactory = beanFactory;
+    }
+
+    @Override
+    public Object getObject() {
+      Object bean = resolve(true, true);
+      if (bean == null) {
+        throw new NoSuchBeanDefinitionException(dependencyType);
+      }
+      return bean;
+    }
+
+    @Override
+    public Object getIfAvailable() {
+      return resolve(true, false);
+    }
+
+    @Override
+    public Object getIfUnique() {
+      return resolve(false, false);
+    }
+
+    private Object resolve(boolean failOnMultiple, boolean failOnMissing) {
+      ResolvedSingleton cached = resolved;
+      if (cached != null && cached.version == beanRegistry.getDefinitionVersion()) {
+        return cached.bean;
+      }
+
+      long version = beanRegistry.getDefinitionVersion();
+      String[] beanNames = getCandidateNames(beanRegistry);
+      if (beanNames.length > 1) {
+        if (failOnMultiple) {
+          throw new NoUniqueBeanDefinitionException(dependencyType, Arrays.asList(beanNames));
+        }
+        return null;
+      }
+      if (beanNames.length == 0) {
+        if (failOnMissing) {
+          throw new NoSuchBeanDefinitionException(dependencyType);
+        }
+        return null;
+      }
+
+      String beanName = beanNames[0];
+      Object bean = beanRegistry.getSingleton(beanName);
+      if (bean == null && beanFactory != null) {
+        checkInjectable(beanName, beanRegistry);
+        bean = beanFactory.getBean(beanName);
+      }
+
+      // 只缓存单例，其他作用域每次调用都交给 Bean 工厂
+      BeanDefinition beanDefinition = beanRegistry.getBeanDefinition(beanName);
+      if (bean != null && beanDefinition != null && beanDefinition.isSingleton()) {
+        resolved = new ResolvedSingleton(version, bean);
+      }
+      return bean;
+    }
+
+    @Override
+    public String toString() {
+      return "ObjectProvider<" + dependencyType.getName() + ">";
+    }
+  }
+}
@@ -7,6 +7,8 @@ import com.simplespring.core.util.ReflectionUtils;
 
 import java.lang.reflect.Field;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * 字段注入器
@@ -26,6 +28,12 @@ public class FieldInjector {
      */
     private BeanFactory beanFactory;
 
+    /**
+     * 字段的依赖描述符缓存，按类型匹配的候选 Bean 名称随描述符一起缓存
+     */
+    private final ConcurrentMap<Field, DependencyDescriptor> dependencyDescriptors =
+            new ConcurrentHashMap<Field, DependencyDescriptor>();
+
     /**
      * 构造函数
      * 
@@ -90,8 +98,9 @@ public class FieldInjector {
             // 获取字段类型
             Class<?> fieldType = field.getType();
 
-            // 查找匹配的 Bean
-            Object dependencyBean = findDependencyBean(fieldType, autowired.required());
+            // 查找匹配的 Bean（支持 List、Map 和 ObjectProvider）
+            Object dependencyBean = getDependencyDescriptor(field, autowired.required())
+                    .resolve(beanRegistry, beanFactory);
 
             if (dependencyBean != null) {
                 // 设置字段可访问
@@ -115,55 +124,22 @@ public class FieldInjector {
     }
 
     /**
-     * 根据类型查找依赖的 Bean
+     * 获取字段的依赖描述符
      * 
-     * @param requiredType 需要的类型
-     * @param required     是否为必需的依赖
-     * @return 匹配的 Bean 实例，如果找不到且不是必需的则返回 null
-     * @throws DependencyInjectionException 如果找到多个匹配的 Bean
+     * @param field    字段
+     * @param required 是否为必需的依赖
+     * @return 依赖描述符
      */
-    private Object findDependencyBean(Class<?> requiredType, boolean required) {
-        // 根据类型查找 Bean 名称
-        List<String> beanNames = beanRegistry.getBeanNamesForType(requiredType);
-
-        if (beanNames.isEmpty()) {
-            if (required) {
-                throw new DependencyInjectionException(
-                        "找不到类型为 '" + requiredType.getName() + "' 的 Bean");
-            }
-            return null;
-        }
-
-        if (beanNames.size() > 1) {
-            throw new DependencyInjectionException(
-                    "找到多个类型为 '" + requiredType.getName() + "' 的 Bean: " + beanNames +
-                            "，无法确定使用哪一个。请使用 @Qualifier 注解指定具体的 Bean 名称");
-        }
-
-        // 获取唯一匹配的 Bean 名称
-        String beanName = beanNames.get(0);
-
-        // 首先尝试从单例缓存中获取
-        Object bean = beanRegistry.getSingleton(beanName);
-        if (bean != null) {
-            return bean;
-        }
-
-        // 如果单例缓存中没有，通过 BeanFactory 创建 Bean
-        if (beanFactory != null) {
-            try {
-                return beanFactory.getBean(beanName);
-            } catch (Exception e) {
-                if (required) {
-                    throw new DependencyInjectionException(
-                            "无法创建类型为 '" + requiredType.getName() + "' 的依赖 Bean: " + e.getMessage(), e);
-                }
-                return null;
+    private DependencyDescriptor getDependencyDescriptor(Field field, boolean required) {
+        DependencyDescriptor descriptor = dependencyDescriptors.get(field);
+        if (descriptor == null) {
+            descriptor = DependencyDescriptor.forField(field, required);
+            DependencyDescriptor existing = dependencyDescriptors.putIfAbsent(field, descriptor);
+            if (existing != null) {
+                descriptor = existing;
             }
         }
-
-        // 如果没有 BeanFactory，返回 null
-        return null;
+        return descriptor;
     }
 
     /**
@@ -0,0 +1,481 @@
+package com.simplespring.beans.factory.support;
+
+import com.simplespring.beans.factory.BeanFactory;
+import com.simplespring.beans.factory.config.BeanDefinition;
+import com.simplespring.beans.factory.support.BeanAccessorStrategy.FieldWriter;
+import com.simplespring.beans.factory.support.BeanAccessorStrategy.Instantiator;
+import com.simplespring.beans.factory.support.BeanAccessorStrategy.MethodInvoker;
+import com.simplespring.core.annotation.Autowired;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 注入计划
+ * 针对一个 Bean 定义预先完成所有反射元数据的查找：选定的构造函数、可访问的字段和方法、
+ * 每个注入点的 required 标记，以及按类型解析出的依赖 Bean 名称。
+ * {@code List<T>}、{@code Map<String, T>} 和 {@code ObjectProvider<T>} 注入点由 {@link DependencyDescriptor} 解析。
+ *
+ * 创建 Bean 时只需按计划取出依赖并赋值，不再扫描注解或查询类型索引。
+ * 构造函数、字段和方法通过 {@link BeanAccessorStrategy} 创建的访问器调用。
+ * 依赖名称的解析结果与注册表版本绑定，注册表发生变化后计划失效并重新构建。
+ *
+ * 注入行为与错误信息与 {@link ConstructorInjector}、{@link FieldInjector}、{@link MethodInjector} 保持一致
+ *
+ * @author SimpleSpring Framework
+ */
+public class InjectionPlan {
+
+  private static final InjectionPoint[] NO_INJECTION_POINTS = new InjectionPoint[0];
+
+  private static final Object[] NO_ARGS = new Object[0];
+
+  private static final BeanAccessorStrategy DEFAULT_ACCESSOR_STRATEGY = new MethodHandleAccessorStrategy();
+
+  /**
+   * 计划对应的 Bean 定义
+   */
+  private final BeanDefinition beanDefinition;
+
+  /**
+   * 构建计划时的注册表版本
+   */
+  private final long registryVersion;
+
+  /**
+   * 选定的构造函数（已设置为可访问）
+   */
+  private final Constructor<?> constructor;
+
+  /**
+   * 选定构造函数的实例化器
+   */
+  private final Instantiator instantiator;
+
+  /**
+   * 构造函数参数的注入点
+   */
+  private final InjectionPoint[] constructorArguments;
+
+  /**
+   * 构造函数选择失败时的异常，延迟到创建实例时抛出
+   */
+  private final RuntimeException constructorFailure;
+
+  /**
+   * 字段注入点
+   */
+  private final FieldInjection[] fieldInjections;
+
+  /**
+   * 方法注入点
+   */
+  private final MethodInjection[] methodInjections;
+
+  private InjectionPlan(BeanDefinition beanDefinition, long registryVersion, Constructor<?> constructor,
+      Instantiator instantiator, InjectionPoint[] constructorArguments, RuntimeException constructorFailure,
+      FieldInjection[] fieldInjections, MethodInjection[] methodInjections) {
+    this.beanDefinition = beanDefinition;
+    this.registryVersion = registryVersion;
+    this.constructor = constructor;
+    this.instantiator = instantiator;
+    this.constructorArguments = constructorArguments;
+    this.constructorFailure = constructorFailure;
+    this.fieldInjections = fieldInjections;
+    this.methodInjections = methodInjections;
+  }
+
+  /**
+   * 使用默认的 {@link MethodHandleAccessorStrategy} 为 Bean 定义构建注入计划
+   *
+   * @param beanDefinition Bean 定义
+   * @param beanRegistry   Bean 注册表，用于解析依赖名称
+   * @return 注入计划
+   */
+  public static InjectionPlan build(BeanDefinition beanDefinition, BeanRegistry beanRegistry) {
+    return build(beanDefinition, beanRegistry, DEFAULT_ACCESSOR_STRATEGY);
+  }
+
+  /**
+   * 为 Bean 定义构建注入计划
+   *
+   * @param beanDefinition   Bean 定义
+   * @param beanRegistry     Bean 注册表，用于解析依赖名称
+   * @param accessorStrategy 成员访问策略
+   * @return 注入计划
+   */
+  public static InjectionPlan build(BeanDefinition beanDefinition, BeanRegistry beanRegistry,
+      BeanAccessorStrategy accessorStrategy) {
+    // 先读取版本，构建期间注册表若发生变化，计划会在下次使用时重建
+    long registryVersion = beanRegistry.getDefinitionVersion();
+    Class<?> beanClass = beanDefinition.getBeanClass();
+
+    Constructor<?> constructor = null;
+    Instantiator instantiator = null;
+    InjectionPoint[] constructorArguments = NO_INJECTION_POINTS;
+    RuntimeException constructorFailure = null;
+    try {
+      if (beanClass == null) {
+        throw new IllegalArgumentException("Bean 类不能为空");
+      }
+      constructor = ConstructorInjector.selectConstructor(beanClass);
+      constructorArguments = buildConstructorArguments(constructor, beanRegistry);
+      instantiator = accessorStrategy.createInstantiator(constructor);
+    } catch (RuntimeException e) {
+      constructorFailure = e;
+    }
+
+    return new InjectionPlan(beanDefinition, registryVersion, constructor, instantiator, constructorArguments,
+        constructorFailure, buildFieldInjections(beanDefinition, beanRegistry, accessorStrategy),
+        buildMethodInjections(beanDefinition, beanRegistry, accessorStrategy));
+  }
+
+  private static InjectionPoint[] buildConstructorArguments(Constructor<?> constructor, BeanRegistry beanRegistry) {
+    Class<?>[] parameterTypes = constructor.getParameterTypes();
+    if (parameterTypes.length == 0) {
+      return NO_INJECTION_POINTS;
+    }
+
+    Autowired autowired = constructor.getAnnotation(Autowired.class);
+    boolean required = autowired == null || autowired.required();
+
+    InjectionPoint[] arguments = new InjectionPoint[parameterTypes.length];
+    for (int i = 0; i < parameterTypes.length; i++) {
+      arguments[i] = new InjectionPoint(
+          DependencyDescriptor.forConstructorParameter(constructor, i, required), beanRegistry);
+    }
+    return arguments;
+  }
+
+  private static FieldInjection[] buildFieldInjections(BeanDefinition beanDefinition, BeanRegistry beanRegistry,
+      BeanAccessorStrategy accessorStrategy) {
+    List<Field> fields = beanDefinition.getAutowiredFields();
+    List<FieldInjection> injections = new ArrayList<FieldInjection>();
+    if (fields != null) {
+      for (Field field : fields) {
+        Autowired autowired = field.getAnnotation(Autowired.class);
+        if (autowired == null) {
+          continue; // 字段没有 @Autowired 注解，跳过
+        }
+        injections.add(new FieldInjection(field, accessorStrategy.createFieldWriter(field),
+            new InjectionPoint(DependencyDescriptor.forField(field, autowired.required()), beanRegistry)));
+      }
+    }
+    return injections.toArray(new FieldInjection[injections.size()]);
+  }
+
+  private static MethodInjection[] buildMethodInjections(BeanDefinition beanDefinition, BeanRegistry beanRegistry,
+      BeanAccessorStrategy accessorStrategy) {
+    List<Method> methods = beanDefinition.getAutowiredMethods();
+    List<MethodInjection> injections = new ArrayList<MethodInjection>();
+    if (methods != null) {
+      for (Method method : methods) {
+        Autowired autowired = method.getAnnotation(Autowired.class);
+        if (autowired == null) {
+          continue; // 方法没有 @Autowired 注解，跳过
+        }
+        Class<?>[] parameterTypes = method.getParameterTypes();
+        InjectionPoint[] parameters = new InjectionPoint[parameterTypes.length];
+        for (int i = 0; i < parameterTypes.length; i++) {
+          parameters[i] = new InjectionPoint(
+              DependencyDescriptor.forMethodParameter(method, i, autowired.required()), beanRegistry);
+        }
+        injections.add(new MethodInjection(method, accessorStrategy.createMethodInvoker(method), parameters,
+            autowired.required()));
+      }
+    }
+    return injections.toArray(new MethodInjection[injections.size()]);
+  }
+
+  /**
+   * 检查计划是否仍然适用于指定的 Bean 定义
+   *
+   * @param beanDefinition  Bean 定义
+   * @param currentVersion  当前的注册表版本
+   * @return 如果 Bean 定义相同且注册表未发生变化返回 true
+   */
+  public boolean isValidFor(BeanDefinition beanDefinition, long currentVersion) {
+    return this.beanDefinition == beanDefinition && this.registryVersion == currentVersion;
+  }
+
+  /**
+   * 按计划创建 Bean 实例（构造函数注入）
+   *
+   * @param beanRegistry Bean 注册表
+   * @param beanFactory  Bean 工厂，用于创建依赖的 Bean
+   * @return Bean 实例
+   * @throws DependencyInjectionException 如果构造函数注入失败
+   */
+  public Object instantiate(BeanRegistry beanRegistry, BeanFactory beanFactory) {
+    if (constructorFailure != null) {
+      if (constructorFailure instanceof DependencyInjectionException
+          || constructorFailure instanceof IllegalArgumentException) {
+        throw constructorFailure;
+      }
+      throw new DependencyInjectionException(
+          "无法创建类 '" + beanDefinition.getBeanClass().getName() + "' 的实例: " + constructorFailure.getMessage(),
+          constructorFailure);
+    }
+
+    try {
+      if (constructorArguments.length == 0) {
+        return instantiator.newInstance(NO_ARGS);
+      }
+
+      Object[] args = new Object[constructorArguments.length];
+      for (int i = 0; i < constructorArguments.length; i++) {
+        InjectionPoint argument = constructorArguments[i];
+        Object dependencyBean = argument.resolve(beanRegistry, beanFactory);
+        if (dependencyBean == null && argument.required) {
+          throw new DependencyInjectionException(
+              "无法为构造函数的第 " + (i + 1) + " 个参数找到类型为 '" +
+                  argument.type.getName() + "' 的依赖 Bean");
+        }
+        args[i] = dependencyBean;
+      }
+      return instantiator.newInstance(args);
+
+    } catch (Exception e) {
+      if (e instanceof DependencyInjectionException) {
+        throw (DependencyInjectionException) e;
+      }
+      throw new DependencyInjectionException(
+          "无法创建类 '" + beanDefinition.getBeanClass().getName() + "' 的实例: " + e.getMessage(), e);
+    }
+  }
+
+  /**
+   * 按计划进行字段注入和方法注入
+   *
+   * @param beanInstance Bean 实例
+   * @param beanRegistry Bean 注册表
+   * @param beanFactory  Bean 工厂，用于创建依赖的 Bean
+   * @throws DependencyInjectionException 如果依赖注入失败
+   */
+  public void populate(Object beanInstance, BeanRegistry beanRegistry, BeanFactory beanFactory) {
+    for (FieldInjection injection : fieldInjections) {
+      injection.inject(beanInstance, beanRegistry, beanFactory);
+    }
+    for (MethodInjection injection : methodInjections) {
+      injection.inject(beanInstance, beanRegistry, beanFactory);
+    }
+  }
+
+  /**
+   * 获取选定的构造函数
+   *
+   * @return 构造函数，如果选择失败返回 null
+   */
+  public Constructor<?> getConstructor() {
+    return constructor;
+  }
+
+  /**
+   * 获取注入点总数（构造函数参数、字段和方法参数）
+   *
+   * @return 注入点数量
+   */
+  public int getInjectionPointCount() {
+    int count = constructorArguments.length + fieldInjections.length;
+    for (MethodInjection injection : methodInjections) {
+      count += injection.parameters.length;
+    }
+    return count;
+  }
+
+  /**
+   * 注入点：依赖类型、是否必需，以及按类型解析出的依赖 Bean 名称
+   */
+  static class InjectionPoint {
+
+    private final Class<?> type;
+
+    private final boolean required;
+
+    /**
+     * 依赖描述符，集合和提供者注入点委托给它解析
+     */
+    private final DependencyDescriptor dependency;
+
+    /**
+     * 唯一匹配的依赖 Bean 名称，没有匹配或有多个匹配时为 null
+     */
+    private final String beanName;
+
+    /**
+     * 构建计划时匹配的候选 Bean 名称（仅在有多个匹配时保留，用于错误信息）
+     */
+    private final String[] candidates;
+
+    /**
+     * 依赖是否为尚未创建时注入延迟解析代理的懒加载单例
+     */
+    private final boolean lazy;
+
+    /**
+     * 延迟解析代理，首次需要时创建
+     */
+    private volatile Object lazyProxy;
+
+    InjectionPoint(DependencyDescriptor dependency, BeanRegistry beanRegistry) {
+      this.type = dependency.getDeclaredType();
+      this.required = dependency.isRequired();
+      this.dependency = dependency;
+      if (!dependency.isSingle()) {
+        this.beanName = null;
+        this.candidates = null;
+        this.lazy = false;
+        return;
+      }
+
+      this.beanName = beanRegistry.getUniqueBeanNameForType(type);
+      String[] beanNames = beanName == null ? beanRegistry.getBeanNameArrayForType(type) : null;
+      this.candidates = beanNames != null && beanNames.length > 1 ? beanNames : null;
+
+      // 只有接口类型的注入点可以使用 JDK 动态代理
+      BeanDefinition dependencyDefinition = beanName != null ? beanRegistry.getBeanDefinition(beanName) : null;
+      this.lazy = type.isInterface() && dependencyDefinition != null && dependencyDefinition.isLazyInit()
+          && dependencyDefinition.isSingleton();
+    }
+
+    /**
+     * 解析依赖的 Bean 实例
+     *
+     * @param beanRegistry Bean 注册表
+     * @param beanFactory  Bean 工厂
+     * @return 依赖的 Bean 实例，如果找不到且不是必需的则返回 null
+     * @throws DependencyInjectionException 如果找不到必需的依赖或有多个匹配
+     */
+    Object resolve(BeanRegistry beanRegistry, BeanFactory beanFactory) {
+      if (!dependency.isSingle()) {
+        return dependency.resolve(beanRegistry, beanFactory);
+      }
+      if (candidates != null) {
+        throw new DependencyInjectionException(
+            "找到多个类型为 '" + type.getName() + "' 的 Bean: " + Arrays.toString(candidates) +
+                "，无法确定使用哪一个。请使用 @Qualifier 注解指定具体的 Bean 名称");
+      }
+      if (beanName == null) {
+        if (required) {
+          throw new DependencyInjectionException(
+              "找不到类型为 '" + type.getName() + "' 的 Bean");
+        }
+        return null;
+      }
+
+      // 首先尝试从单例缓存中获取
+      Object bean = beanRegistry.getSingleton(beanName);
+      if (bean != null) {
+        return bean;
+      }
+
+      if (lazy && beanFactory != null) {
+        Object proxy = lazyProxy;
+        if (proxy == null) {
+          proxy = LazyResolutionProxy.create(beanFactory, beanName, type);
+          lazyProxy = proxy;
+        }
+        return proxy;
+      }
+
+      if (beanFactory != null) {
+        DependencyDescriptor.checkInjectable(beanName, beanRegistry);
+        try {
+          return beanFactory.getBean(beanName);
+        } catch (Exception e) {
+          if (required) {
+            throw new DependencyInjectionException(
+                "无法创建类型为 '" + type.getName() + "' 的依赖 Bean: " + e.getMessage(), e);
+          }
+          return null;
+        }
+      }
+      return null;
+    }
+  }
+
+  /**
+   * 字段注入
+   */
+  static class FieldInjection {
+
+    private final Field field;
+
+    private final FieldWriter writer;
+
+    private final InjectionPoint dependency;
+
+    FieldInjection(Field field, FieldWriter writer, InjectionPoint dependency) {
+      this.field = field;
+      this.writer = writer;
+      this.dependency = dependency;
+    }
+
+    void inject(Object beanInstance, BeanRegistry beanRegistry, BeanFactory beanFactory) {
+      try {
+        Object dependencyBean = dependency.resolve(beanRegistry, beanFactory);
+        if (dependencyBean != null) {
+          writer.set(beanInstance, dependencyBean);
+        } else if (dependency.required) {
+          throw new DependencyInjectionException(
+              "无法为字段 '" + field.getName() + "' 找到类型为 '" +
+                  dependency.type.getName() + "' 的依赖 Bean");
+        }
+      } catch (IllegalAccessException e) {
+        throw new DependencyInjectionException(
+            "无法访问字段 '" + field.getName() + "': " + e.getMessage(), e);
+      } catch (Exception e) {
+        throw new DependencyInjectionException(
+            "字段注入失败 '" + field.getName() + "': " + e.getMessage(), e);
+      }
+    }
+  }
+
+  /**
+   * 方法注入
+   */
+  static class MethodInjection {
+
+    private final Method method;
+
+    private final MethodInvoker invoker;
+
+    private final InjectionPoint[] parameters;
+
+    private final boolean required;
+
+    MethodInjection(Method method, MethodInvoker invoker, InjectionPoint[] parameters, boolean required) {
+      this.method = method;
+      this.invoker = invoker;
+      this.parameters = parameters;
+      this.required = required;
+    }
+
+    void inject(Object beanInstance, BeanRegistry beanRegistry, BeanFactory beanFactory) {
+      try {
+        Object[] args = new Object[parameters.length];
+        for (int i = 0; i < parameters.length; i++) {
+          Object dependencyBean = parameters[i].resolve(beanRegistry, beanFactory);
+          if (dependencyBean == null && required) {
+            throw new DependencyInjectionException(
+                "无法为方法 '" + method.getName() + "' 的第 " + (i + 1) +
+                    " 个参数找到类型为 '" + parameters[i].type.getName() + "' 的依赖 Bean");
+          }
+          args[i] = dependencyBean;
+        }
+        invoker.invoke(beanInstance, args);
+
+      } catch (Exception e) {
+        if (e instanceof DependencyInjectionException) {
+          throw (DependencyInjectionException) e;
+        }
+        throw new DependencyInjectionException(
+            "方法注入失败 '" + method.getName() + "': " + e.getMessage(), e);
+      }
+    }
+  }
+}
@@ -0,0 +1,90 @@
+package com.simplespring.beans.factory.support;
+
+import com.simplespring.beans.factory.BeanFactory;
+import com.simplespring.core.util.ReflectionUtils;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+
+/**
+ * 懒加载 Bean 的延迟解析代理
+ * 注入到依赖懒加载 Bean 的位置，第一次调用方法时才通过 Bean 工厂获取真正的 Bean，之后直接委托给它
+ *
+ * @author SimpleSpring Framework
+ */
+public class LazyResolutionProxy implements InvocationHandler {
+
+  private final BeanFactory beanFactory;
+
+  private final String beanName;
+
+  private volatile Object target;
+
+  private LazyResolutionProxy(BeanFactory beanFactory, String beanName) {
+    this.beanFactory = beanFactory;
+    this.beanName = beanName;
+  }
+
+  /**
+   * 创建延迟解析代理
+   *
+   * @param beanFactory   Bean 工厂
+   * @param beanName      懒加载 Bean 的名称
+   * @param interfaceType 注入点声明的接口类型
+   * @return 实现该接口的代理
+   */
+  public static Object create(BeanFactory beanFactory, String beanName, Class<?> interfaceType) {
+    if (!interfaceType.isInterface()) {
+      throw new IllegalArgumentException("只能为接口类型创建延迟解析代理: " + interfaceType.getName());
+    }
+    ClassLoader classLoader = interfaceType.getClassLoader();
+    if (classLoader == null) {
+      classLoader = LazyResolutionProxy.class.getClassLoader();
+    }
+    return Proxy.newProxyInstance(classLoader, new Class<?>[] { interfaceType },
+        new LazyResolutionProxy(beanFactory, beanName));
+  }
+
+  /**
+   * 判断对象是否为尚未解析的延迟解析代理
+   *
+   * @param object 对象
+   * @return 如果是延迟解析代理且尚未创建目标 Bean 返回 true
+   */
+  public static boolean isUnresolved(Object object) {
+    if (object == null || !Proxy.isProxyClass(object.getClass())) {
+      return false;
+    }
+    InvocationHandler handler = Proxy.getInvocationHandler(object);
+    return handler instanceof LazyResolutionProxy && ((LazyResolutionProxy) handler).target == null;
+  }
+
+  @Override
+  public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+    if ("equals".equals(method.getName()) && method.getParameterTypes().length == 1 && args[0] == proxy) {
+      return Boolean.TRUE;
+    }
+
+    if (!Modifier.isPublic(method.getDeclaringClass().getModifiers())) {
+      ReflectionUtils.makeAccessible(method);
+    }
+    try {
+      return method.invoke(getTarget(), args);
+    } catch (InvocationTargetException e) {
+      throw e.getTargetException();
+    }
+  }
+
+  private Object getTarget() {
+    Object result = target;
+    if (result == null) {
+      // Bean 工厂保证单例只创建一次，并发时重复获取得到的是同一个实例
+      result = beanFactory.getBean(beanName);
+      target = result;
+    }
+    return result;
+  }
+}
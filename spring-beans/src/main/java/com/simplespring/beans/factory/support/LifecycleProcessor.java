@@ -1,10 +1,13 @@
 package com.simplespring.beans.factory.support;
 
 import com.simplespring.beans.factory.BeanCreationException;
-import com.simplespring.beans.factory.config.BeanPostProcessor;
+import com.simplespring.beans.factory.config.BeanDefinition;
+import com.simplespring.beans.factory.config.SelectiveBeanPostProcessor;
+import com.simplespring.beans.factory.support.BeanAccessorStrategy.MethodInvoker;
 import com.simplespring.core.annotation.PostConstruct;
 import com.simplespring.core.annotation.PreDestroy;
-import com.simplespring.core.util.ReflectionUtils;
+import com.simplespring.core.metrics.ApplicationStartup;
+import com.simplespring.core.metrics.StartupStep;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
@@ -12,35 +15,86 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * 生命周期处理器
  * 
  * 负责处理 Bean 的生命周期注解，包括 @PostConstruct 和 @PreDestroy。
- * 实现了 BeanPostProcessor 接口，在 Bean 初始化前后执行相应的生命周期方法。
+ * 实现了 BeanPostProcessor 接口，在 Bean 初始化前后执行相应的生命周期方法；
+ * 没有 @PostConstruct 方法的类不需要经过此处理器。
  * 
  * 功能特性：
- * - 扫描并缓存带有生命周期注解的方法
+ * - 扫描并缓存带有生命周期注解的方法及其调用器
  * - 在 Bean 初始化后自动调用 @PostConstruct 方法
+ * - 单例 Bean 的 {@code @PostConstruct(async = true)} 方法在线程池中异步执行，
+ *   通过 {@link BeanRegistry} 跟踪，获取该 Bean 的线程会等待初始化完成
  * - 提供销毁前调用 @PreDestroy 方法的能力
  * - 支持方法访问权限处理
  * - 提供详细的错误信息和异常处理
  * 
  * @author SimpleSpring Framework
  */
-public class LifecycleProcessor implements BeanPostProcessor {
+public class LifecycleProcessor implements SelectiveBeanPostProcessor {
+
+  private static final Object[] NO_ARGS = new Object[0];
 
   /**
    * 缓存每个类的 @PostConstruct 方法
    * Key: 类对象，Value: @PostConstruct 方法列表
    */
-  private final Map<Class<?>, List<Method>> postConstructMethodsCache = new ConcurrentHashMap<Class<?>, List<Method>>();
+  private final Map<Class<?>, List<LifecycleMethod>> postConstructMethodsCache = new ConcurrentHashMap<Class<?>, List<LifecycleMethod>>();
 
   /**
    * 缓存每个类的 @PreDestroy 方法
    * Key: 类对象，Value: @PreDestroy 方法列表
    */
-  private final Map<Class<?>, List<Method>> preDestroyMethodsCache = new ConcurrentHashMap<Class<?>, List<Method>>();
+  private final Map<Class<?>, List<LifecycleMethod>> preDestroyMethodsCache = new ConcurrentHashMap<Class<?>, List<LifecycleMethod>>();
+
+  /**
+   * 生命周期方法的访问策略
+   */
+  private final BeanAccessorStrategy accessorStrategy;
+
+  /**
+   * 启动步骤记录器，默认不记录
+   */
+  private volatile ApplicationStartup applicationStartup = ApplicationStartup.DEFAULT;
+
+  /**
+   * 跟踪异步初始化的 Bean 注册表，未设置时异步方法同步执行
+   */
+  private volatile BeanRegistry beanRegistry;
+
+  /**
+   * 执行异步初始化的线程池，未设置时首次使用时创建
+   */
+  private volatile Executor asyncInitializationExecutor;
+
+  /**
+   * 使用默认的 {@link MethodHandleAccessorStrategy} 创建生命周期处理器
+   */
+  public LifecycleProcessor() {
+    this(new MethodHandleAccessorStrategy());
+  }
+
+  /**
+   * 使用指定的访问策略创建生命周期处理器
+   * 
+   * @param accessorStrategy 生命周期方法的访问策略
+   */
+  public LifecycleProcessor(BeanAccessorStrategy accessorStrategy) {
+    this.accessorStrategy = accessorStrategy;
+  }
+
+  @Override
+  public boolean supports(Class<?> beanClass) {
+    return hasPostConstructMethods(beanClass);
+  }
 
   @Override
   public Object postProcessBeforeInitialization(Object bean, String beanName) {
@@ -63,19 +117,111 @@ public class LifecycleProcessor implements BeanPostProcessor {
    */
   public void invokePostConstructMethods(Object bean, String beanName) {
     Class<?> beanClass = bean.getClass();
-    List<Method> postConstructMethods = getPostConstructMethods(beanClass);
+    List<LifecycleMethod> postConstructMethods = getPostConstructMethods(beanClass);
+    if (postConstructMethods.isEmpty()) {
+      return;
+    }
 
-    for (Method method : postConstructMethods) {
-      try {
-        ReflectionUtils.makeAccessible(method);
-        method.invoke(bean);
-      } catch (Exception e) {
-        throw new BeanCreationException(beanName,
-            "调用 @PostConstruct 方法 '" + method.getName() + "' 失败", e);
+    StartupStep step = applicationStartup.start("beans.lifecycle.post-construct").tag("beanName", beanName);
+    try {
+      // 同步方法立即执行，异步方法按声明顺序在同一个任务中执行
+      List<LifecycleMethod> asyncMethods = null;
+      for (LifecycleMethod lifecycleMethod : postConstructMethods) {
+        if (lifecycleMethod.async && supportsAsyncInitialization(beanName)) {
+          if (asyncMethods == null) {
+            asyncMethods = new ArrayList<LifecycleMethod>();
+          }
+          asyncMethods.add(lifecycleMethod);
+        } else {
+          invokePostConstructMethod(bean, beanName, lifecycleMethod);
+        }
+      }
+      if (asyncMethods != null) {
+        submitAsyncInitialization(bean, beanName, asyncMethods);
       }
+    } finally {
+      step.end();
+    }
+  }
+
+  private void invokePostConstructMethod(Object bean, String beanName, LifecycleMethod lifecycleMethod) {
+    try {
+      lifecycleMethod.invoker.invoke(bean, NO_ARGS);
+    } catch (Exception e) {
+      throw new BeanCreationException(beanName,
+          "调用 @PostConstruct 方法 '" + lifecycleMethod.name + "' 失败", e);
     }
   }
 
+  /**
+   * 只有单例 Bean 可以异步初始化，其他作用域的实例在返回给调用方之前必须完成初始化
+   */
+  private boolean supportsAsyncInitialization(String beanName) {
+    BeanRegistry registry = beanRegistry;
+    if (registry == null) {
+      return false;
+    }
+    BeanDefinition beanDefinition = registry.getBeanDefinition(beanName);
+    return beanDefinition != null && beanDefinition.isSingleton();
+  }
+
+  private void submitAsyncInitialization(final Object bean, final String beanName,
+      final List<LifecycleMethod> asyncMethods) {
+    // 任意一个方法不限制时间则整个任务不限制，否则取最长的超时时间
+    long timeoutMillis = 0;
+    for (LifecycleMethod lifecycleMethod : asyncMethods) {
+      if (lifecycleMethod.timeoutMillis <= 0) {
+        timeoutMillis = 0;
+        break;
+      }
+      timeoutMillis = Math.max(timeoutMillis, lifecycleMethod.timeoutMillis);
+    }
+
+    final ApplicationStartup startup = applicationStartup;
+    beanRegistry.submitAsyncInitialization(beanName, new Runnable() {
+      @Override
+      public void run() {
+        StartupStep step = startup.start("beans.lifecycle.post-construct.async").tag("beanName", beanName);
+        try {
+          for (LifecycleMethod lifecycleMethod : asyncMethods) {
+            invokePostConstructMethod(bean, beanName, lifecycleMethod);
+          }
+        } finally {
+          step.end();
+        }
+      }
+    }, getAsyncInitializationExecutor(), timeoutMillis);
+  }
+
+  private Executor getAsyncInitializationExecutor() {
+    Executor executor = asyncInitializationExecutor;
+    if (executor == null) {
+      synchronized (this) {
+        executor = asyncInitializationExecutor;
+        if (executor == null) {
+          executor = createDefaultExecutor();
+          asyncInitializationExecutor = executor;
+        }
+      }
+    }
+    return executor;
+  }
+
+  /**
+   * 默认线程池：按需创建守护线程，空闲 60 秒后回收，不会阻止 JVM 退出
+   */
+  private static ExecutorService createDefaultExecutor() {
+    final AtomicInteger threadNumber = new AtomicInteger();
+    return Executors.newCachedThreadPool(new ThreadFactory() {
+      @Override
+      public Thread newThread(Runnable runnable) {
+        Thread thread = new Thread(runnable, "simplespring-async-init-" + threadNumber.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+      }
+    });
+  }
+
   /**
    * 调用 Bean 的 @PreDestroy 方法
    * 
@@ -83,30 +229,75 @@ public class LifecycleProcessor implements BeanPostProcessor {
    * @param beanName Bean 名称
    */
   public void invokePreDestroyMethods(Object bean, String beanName) {
-    Class<?> beanClass = bean.getClass();
-    List<Method> preDestroyMethods = getPreDestroyMethods(beanClass);
+    invokePreDestroyMethods(bean, bean.getClass(), beanName);
+  }
+
+  /**
+   * 调用 Bean 的 @PreDestroy 方法
+   * 被包装的 Bean（如 AOP 代理）应传入原始实例及其 Bean 类，代理类上找不到目标类的方法，
+   * 在代理实例上调用也看不到目标实例的状态
+   * 
+   * @param bean      原始 Bean 实例
+   * @param beanClass 查找 @PreDestroy 方法的类
+   * @param beanName  Bean 名称
+   */
+  public void invokePreDestroyMethods(Object bean, Class<?> beanClass, String beanName) {
+    List<LifecycleMethod> preDestroyMethods = getPreDestroyMethods(beanClass);
 
-    for (Method method : preDestroyMethods) {
+    for (LifecycleMethod lifecycleMethod : preDestroyMethods) {
       try {
-        ReflectionUtils.makeAccessible(method);
-        method.invoke(bean);
+        lifecycleMethod.invoker.invoke(bean, NO_ARGS);
       } catch (Exception e) {
         // PreDestroy 方法执行失败不应该阻止应用程序关闭
         // 这里可以记录日志，但不抛出异常
-        System.err.println("调用 @PreDestroy 方法 '" + method.getName() +
+        System.err.println("调用 @PreDestroy 方法 '" + lifecycleMethod.name +
             "' 失败 (Bean: " + beanName + "): " + e.getMessage());
       }
     }
   }
 
+  /**
+   * 设置启动步骤记录器
+   * 
+   * @param applicationStartup 启动步骤记录器
+   */
+  public void setApplicationStartup(ApplicationStartup applicationStartup) {
+    if (applicationStartup == null) {
+      throw new IllegalArgumentException("启动步骤记录器不能为空");
+    }
+    this.applicationStartup = applicationStartup;
+  }
+
+  /**
+   * 设置跟踪异步初始化的 Bean 注册表
+   * 未设置时 {@code @PostConstruct(async = true)} 方法同步执行
+   * 
+   * @param beanRegistry Bean 注册表
+   */
+  public void setBeanRegistry(BeanRegistry beanRegistry) {
+    this.beanRegistry = beanRegistry;
+  }
+
+  /**
+   * 设置执行异步初始化的线程池
+   * 
+   * @param asyncInitializationExecutor 线程池
+   */
+  public void setAsyncInitializationExecutor(Executor asyncInitializationExecutor) {
+    if (asyncInitializationExecutor == null) {
+      throw new IllegalArgumentException("线程池不能为空");
+    }
+    this.asyncInitializationExecutor = asyncInitializationExecutor;
+  }
+
   /**
    * 获取类的 @PostConstruct 方法
    * 
    * @param beanClass Bean 类
    * @return @PostConstruct 方法列表
    */
-  private List<Method> getPostConstructMethods(Class<?> beanClass) {
-    List<Method> methods = postConstructMethodsCache.get(beanClass);
+  private List<LifecycleMethod> getPostConstructMethods(Class<?> beanClass) {
+    List<LifecycleMethod> methods = postConstructMethodsCache.get(beanClass);
     if (methods == null) {
       methods = scanLifecycleMethods(beanClass, PostConstruct.class);
       postConstructMethodsCache.put(beanClass, methods);
@@ -120,8 +311,8 @@ public class LifecycleProcessor implements BeanPostProcessor {
    * @param beanClass Bean 类
    * @return @PreDestroy 方法列表
    */
-  private List<Method> getPreDestroyMethods(Class<?> beanClass) {
-    List<Method> methods = preDestroyMethodsCache.get(beanClass);
+  private List<LifecycleMethod> getPreDestroyMethods(Class<?> beanClass) {
+    List<LifecycleMethod> methods = preDestroyMethodsCache.get(beanClass);
     if (methods == null) {
       methods = scanLifecycleMethods(beanClass, PreDestroy.class);
       preDestroyMethodsCache.put(beanClass, methods);
@@ -136,8 +327,8 @@ public class LifecycleProcessor implements BeanPostProcessor {
    * @param annotationClass 注解类
    * @return 带有指定注解的方法列表
    */
-  private List<Method> scanLifecycleMethods(Class<?> beanClass, Class<? extends Annotation> annotationClass) {
-    List<Method> methods = new ArrayList<Method>();
+  private List<LifecycleMethod> scanLifecycleMethods(Class<?> beanClass, Class<? extends Annotation> annotationClass) {
+    List<LifecycleMethod> methods = new ArrayList<LifecycleMethod>();
     Class<?> currentClass = beanClass;
 
     // 遍历类层次结构，包括父类
@@ -148,7 +339,7 @@ public class LifecycleProcessor implements BeanPostProcessor {
         if (method.isAnnotationPresent(annotationClass)) {
           // 验证方法签名
           validateLifecycleMethod(method, annotationClass);
-          methods.add(method);
+          methods.add(new LifecycleMethod(method, accessorStrategy.createMethodInvoker(method)));
         }
       }
 
@@ -180,6 +371,23 @@ public class LifecycleProcessor implements BeanPostProcessor {
     }
   }
 
+  /**
+   * 注册预先生成的生命周期方法（通常由构建期生成的代码调用）
+   * 注册过的类不再通过反射扫描生命周期注解
+   * 
+   * @param beanClass            Bean 类
+   * @param postConstructMethods @PostConstruct 方法，按调用顺序排列
+   * @param preDestroyMethods    @PreDestroy 方法，按调用顺序排列
+   */
+  public void registerLifecycleMethods(Class<?> beanClass, List<LifecycleMethod> postConstructMethods,
+      List<LifecycleMethod> preDestroyMethods) {
+    if (beanClass == null) {
+      throw new IllegalArgumentException("Bean 类不能为空");
+    }
+    postConstructMethodsCache.put(beanClass, new ArrayList<LifecycleMethod>(postConstructMethods));
+    preDestroyMethodsCache.put(beanClass, new ArrayList<LifecycleMethod>(preDestroyMethods));
+  }
+
   /**
    * 检查类是否有 @PostConstruct 方法
    * 
@@ -207,4 +415,47 @@ public class LifecycleProcessor implements BeanPostProcessor {
     postConstructMethodsCache.clear();
     preDestroyMethodsCache.clear();
   }
+
+  /**
+   * 生命周期方法及其调用器
+   */
+  public static class LifecycleMethod {
+
+    private final String name;
+
+    private final MethodInvoker invoker;
+
+    /**
+     * 是否异步执行（仅 @PostConstruct）
+     */
+    private final boolean async;
+
+    /**
+     * 异步执行的超时时间（毫秒）
+     */
+    private final long timeoutMillis;
+
+    LifecycleMethod(Method method, MethodInvoker invoker) {
+      this.name = method.getName();
+      this.invoker = invoker;
+      PostConstruct postConstruct = method.getAnnotation(PostConstruct.class);
+      this.async = postConstruct != null && postConstruct.async();
+      this.timeoutMillis = postConstruct != null ? postConstruct.timeout() : 0;
+    }
+
+    /**
+     * 使用预先生成的调用器创建生命周期方法
+     * 
+     * @param name          方法名称，用于错误信息
+     * @param invoker       方法调用器
+     * @param async         是否异步执行（仅 @PostConstruct）
+     * @param timeoutMillis 异步执行的超时时间（毫秒）
+     */
+    public LifecycleMethod(String name, MethodInvoker invoker, boolean async, long timeoutMillis) {
+      this.name = name;
+      this.invoker = invoker;
+      this.async = async;
+      this.timeoutMillis = timeoutMillis;
+    }
+  }
 }
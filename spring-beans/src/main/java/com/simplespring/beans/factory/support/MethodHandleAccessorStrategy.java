@@ -0,0 +1,222 @@
+package com.simplespring.beans.factory.support;
+
+import com.simplespring.core.util.ReflectionUtils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+/**
+ * 基于 MethodHandle 的访问策略
+ *
+ * 为每个成员绑定一个 {@link MethodHandle}，并预先转换为统一的 Object 签名后通过 invokeExact 调用。
+ * 与 {@link Method#invoke} 相比省去了每次调用的访问检查和参数数组复制，
+ * 无参和单参数的成员（最常见的构造函数、setter 和生命周期方法）也不需要展开参数数组，
+ * JIT 可以将调用内联到原型 Bean 的创建路径中。
+ *
+ * 无法绑定 MethodHandle 的成员回退到 {@link ReflectionAccessorStrategy}
+ *
+ * @author SimpleSpring Framework
+ */
+public class MethodHandleAccessorStrategy implements BeanAccessorStrategy {
+
+  private static final MethodType FIELD_SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+  private final MethodHandles.Lookup lookup = MethodHandles.lookup();
+
+  private final BeanAccessorStrategy fallback = new ReflectionAccessorStrategy();
+
+  @Override
+  public Instantiator createInstantiator(Constructor<?> constructor) {
+    MethodHandle handle;
+    try {
+      ReflectionUtils.makeAccessible(constructor);
+      handle = lookup.unreflectConstructor(constructor);
+    } catch (Exception e) {
+      return fallback.createInstantiator(constructor);
+    }
+
+    int parameterCount = constructor.getParameterTypes().length;
+    handle = handle.asType(MethodType.genericMethodType(parameterCount));
+    switch (parameterCount) {
+      case 0:
+        return new NoArgInstantiator(handle);
+      case 1:
+        return new SingleArgInstantiator(handle);
+      default:
+        return new SpreadInstantiator(handle.asSpreader(Object[].class, parameterCount));
+    }
+  }
+
+  @Override
+  public FieldWriter createFieldWriter(Field field) {
+    MethodHandle handle;
+    try {
+      ReflectionUtils.makeAccessible(field);
+      handle = lookup.unreflectSetter(field);
+    } catch (Exception e) {
+      return fallback.createFieldWriter(field);
+    }
+    return new HandleFieldWriter(handle.asType(FIELD_SETTER_TYPE));
+  }
+
+  @Override
+  public MethodInvoker createMethodInvoker(Method method) {
+    MethodHandle handle;
+    try {
+      ReflectionUtils.makeAccessible(method);
+      handle = lookup.unreflect(method);
+    } catch (Exception e) {
+      return fallback.createMethodInvoker(method);
+    }
+
+    int parameterCount = method.getParameterTypes().length;
+    // 目标对象作为第一个参数，void 返回值转换为 null
+    handle = handle.asType(MethodType.genericMethodType(parameterCount + 1));
+    switch (parameterCount) {
+      case 0:
+        return new NoArgMethodInvoker(handle);
+      case 1:
+        return new SingleArgMethodInvoker(handle);
+      default:
+        return new SpreadMethodInvoker(handle.asSpreader(Object[].class, parameterCount));
+    }
+  }
+
+  /**
+   * 将目标成员抛出的异常包装为 InvocationTargetException，与反射调用保持一致
+   */
+  private static InvocationTargetException wrap(Throwable e) {
+    return new InvocationTargetException(e);
+  }
+
+  private static final class NoArgInstantiator implements Instantiator {
+
+    private final MethodHandle handle;
+
+    NoArgInstantiator(MethodHandle handle) {
+      this.handle = handle;
+    }
+
+    @Override
+    public Object newInstance(Object[] args) throws Exception {
+      try {
+        return (Object) handle.invokeExact();
+      } catch (Throwable e) {
+        throw wrap(e);
+      }
+    }
+  }
+
+  private static final class SingleArgInstantiator implements Instantiator {
+
+    private final MethodHandle handle;
+
+    SingleArgInstantiator(MethodHandle handle) {
+      this.handle = handle;
+    }
+
+    @Override
+    public Object newInstance(Object[] args) throws Exception {
+      try {
+        return (Object) handle.invokeExact(args[0]);
+      } catch (Throwable e) {
+        throw wrap(e);
+      }
+    }
+  }
+
+  private static final class SpreadInstantiator implements Instantiator {
+
+    private final MethodHandle handle;
+
+    SpreadInstantiator(MethodHandle handle) {
+      this.handle = handle;
+    }
+
+    @Override
+    public Object newInstance(Object[] args) throws Exception {
+      try {
+        return (Object) handle.invokeExact(args);
+      } catch (Throwable e) {
+        throw wrap(e);
+      }
+    }
+  }
+
+  private static final class HandleFieldWriter implements FieldWriter {
+
+    private final MethodHandle handle;
+
+    HandleFieldWriter(MethodHandle handle) {
+      this.handle = handle;
+    }
+
+    @Override
+    public void set(Object target, Object value) throws Exception {
+      try {
+        handle.invokeExact(target, value);
+      } catch (Throwable e) {
+        throw wrap(e);
+      }
+    }
+  }
+
+  private static final class NoArgMethodInvoker implements MethodInvoker {
+
+    private final MethodHandle handle;
+
+    NoArgMethodInvoker(MethodHandle handle) {
+      this.handle = handle;
+    }
+
+    @Override
+    public Object invoke(Object target, Object[] args) throws Exception {
+      try {
+        return (Object) handle.invokeExact(target);
+      } catch (Throwable e) {
+        throw wrap(e);
+      }
+    }
+  }
+
+  private static final class SingleArgMethodInvoker implements MethodInvoker {
+
+    private final MethodHandle handle;
+
+    SingleArgMethodInvoker(MethodHandle handle) {
+      this.handle = handle;
+    }
+
+    @Override
+    public Object invoke(Object target, Object[] args) throws Exception {
+      try {
+        return (Object) handle.invokeExact(target, args[0]);
+      } catch (Throwable e) {
+        throw wrap(e);
+      }
+    }
+  }
+
+  private static final class SpreadMethodInvoker implements MethodInvoker {
+
+    private final MethodHandle handle;
+
+    SpreadMethodInvoker(MethodHandle handle) {
+      this.handle = handle;
+    }
+
+    @Override
+    public Object invoke(Object target, Object[] args) throws Exception {
+      try {
+        return (Object) handle.invokeExact(target, args);
+      } catch (Throwable e) {
+        throw wrap(e);
+      }
+    }
+  }
+}
@@ -7,6 +7,8 @@ import com.simplespring.core.util.ReflectionUtils;
 
 import java.lang.reflect.Method;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * 方法注入器
@@ -26,6 +28,12 @@ public class MethodInjector {
      */
     private BeanFactory beanFactory;
 
+    /**
+     * 方法参数的依赖描述符缓存，按类型匹配的候选 Bean 名称随描述符一起缓存
+     */
+    private final ConcurrentMap<Method, DependencyDescriptor[]> dependencyDescriptors =
+            new ConcurrentHashMap<Method, DependencyDescriptor[]>();
+
     /**
      * 构造函数
      * 
@@ -130,10 +138,11 @@ public class MethodInjector {
      */
     private Object[] resolveMethodParameters(Class<?>[] parameterTypes, Method method, boolean required) {
         Object[] args = new Object[parameterTypes.length];
+        DependencyDescriptor[] descriptors = getDependencyDescriptors(method, required);
 
         for (int i = 0; i < parameterTypes.length; i++) {
             Class<?> parameterType = parameterTypes[i];
-            Object dependencyBean = findDependencyBean(parameterType, required);
+            Object dependencyBean = descriptors[i].resolve(beanRegistry, beanFactory);
 
             if (dependencyBean == null && required) {
                 throw new DependencyInjectionException(
@@ -157,55 +166,25 @@ public class MethodInjector {
     }
 
     /**
-     * 根据类型查找依赖的 Bean
+     * 获取方法参数的依赖描述符
      * 
-     * @param requiredType 需要的类型
-     * @param required     是否为必需的依赖
-     * @return 匹配的 Bean 实例，如果找不到且不是必需的则返回 null
-     * @throws DependencyInjectionException 如果找到多个匹配的 Bean
+     * @param method   方法
+     * @param required 是否为必需的依赖
+     * @return 每个参数的依赖描述符
      */
-    private Object findDependencyBean(Class<?> requiredType, boolean required) {
-        // 根据类型查找 Bean 名称
-        List<String> beanNames = beanRegistry.getBeanNamesForType(requiredType);
-
-        if (beanNames.isEmpty()) {
-            if (required) {
-                throw new DependencyInjectionException(
-                        "找不到类型为 '" + requiredType.getName() + "' 的 Bean");
+    private DependencyDescriptor[] getDependencyDescriptors(Method method, boolean required) {
+        DependencyDescriptor[] descriptors = dependencyDescriptors.get(method);
+        if (descriptors == null) {
+            descriptors = new DependencyDescriptor[method.getParameterTypes().length];
+            for (int i = 0; i < descriptors.length; i++) {
+                descriptors[i] = DependencyDescriptor.forMethodParameter(method, i, required);
             }
-            return null;
-        }
-
-        if (beanNames.size() > 1) {
-            throw new DependencyInjectionException(
-                    "找到多个类型为 '" + requiredType.getName() + "' 的 Bean: " + beanNames +
-                            "，无法确定使用哪一个。请使用 @Qualifier 注解指定具体的 Bean 名称");
-        }
-
-        // 获取唯一匹配的 Bean 名称
-        String beanName = beanNames.get(0);
-
-        // 首先尝试从单例缓存中获取
-        Object bean = beanRegistry.getSingleton(beanName);
-        if (bean != null) {
-            return bean;
-        }
-
-        // 如果单例缓存中没有，通过 BeanFactory 创建 Bean
-        if (beanFactory != null) {
-            try {
-                return beanFactory.getBean(beanName);
-            } catch (Exception e) {
-                if (required) {
-                    throw new DependencyInjectionException(
-                            "无法创建类型为 '" + requiredType.getName() + "' 的依赖 Bean: " + e.getMessage(), e);
-                }
-                return null;
+            DependencyDescriptor[] existing = dependencyDescriptors.putIfAbsent(method, descriptors);
+            if (existing != null) {
+                descriptors = existing;
             }
         }
-
-        // 如果没有 BeanFactory，返回 null
-        return null;
+        return descriptors;
     }
 
     /**
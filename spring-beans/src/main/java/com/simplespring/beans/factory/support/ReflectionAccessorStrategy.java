@@ -0,0 +1,50 @@
+package com.simplespring.beans.factory.support;
+
+import com.simplespring.core.util.ReflectionUtils;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+
+/**
+ * 基于反射的访问策略
+ * 直接使用 {@link Constructor#newInstance}、{@link Field#set} 和 {@link Method#invoke}，
+ * 作为 {@link MethodHandleAccessorStrategy} 无法绑定成员时的回退实现
+ *
+ * @author SimpleSpring Framework
+ */
+public class ReflectionAccessorStrategy implements BeanAccessorStrategy {
+
+  @Override
+  public Instantiator createInstantiator(final Constructor<?> constructor) {
+    ReflectionUtils.makeAccessible(constructor);
+    return new Instantiator() {
+      @Override
+      public Object newInstance(Object[] args) throws Exception {
+        return constructor.newInstance(args);
+      }
+    };
+  }
+
+  @Override
+  public FieldWriter createFieldWriter(final Field field) {
+    ReflectionUtils.makeAccessible(field);
+    return new FieldWriter() {
+      @Override
+      public void set(Object target, Object value) throws Exception {
+        field.set(target, value);
+      }
+    };
+  }
+
+  @Override
+  public MethodInvoker createMethodInvoker(final Method method) {
+    ReflectionUtils.makeAccessible(method);
+    return new MethodInvoker() {
+      @Override
+      public Object invoke(Object target, Object[] args) throws Exception {
+        return method.invoke(target, args);
+      }
+    };
+  }
+}
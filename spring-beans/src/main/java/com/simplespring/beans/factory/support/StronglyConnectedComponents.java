@@ -0,0 +1,460 @@
+package com.simplespring.beans.factory.support;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 依赖图的强连通分量分析结果
+ * 使用迭代版 Tarjan 算法，在一次线性遍历中求出所有强连通分量，
+ * 同时得到缩点后无环图的拓扑顺序
+ * 
+ * 内部使用整数下标的邻接数组（CSR 格式）表示依赖图，避免递归和逐边的集合操作，
+ * 适合在构建期校验数万个 Bean 的依赖图
+ * 
+ * 依赖边的方向为 Bean -> 其依赖的 Bean，因此分量按“依赖在前”的顺序排列，
+ * 即可直接作为 Bean 的创建顺序
+ * 
+ * @author SimpleSpring Framework
+ */
+public final class StronglyConnectedComponents {
+
+  /**
+   * 节点下标 -> Bean 名称
+   */
+  private final String[] names;
+
+  /**
+   * Bean 名称 -> 节点下标
+   */
+  private final Map<String, Integer> indexByName;
+
+  /**
+   * 邻接数组：节点 v 的依赖为 targets[offsets[v] .. offsets[v + 1])
+   */
+  private final int[] offsets;
+
+  private final int[] targets;
+
+  /**
+   * 节点下标 -> 所属分量下标
+   */
+  private final int[] componentOf;
+
+  /**
+   * 分量成员：分量 c 的节点为 members[memberOffsets[c] .. memberOffsets[c + 1])
+   */
+  private final int[] memberOffsets;
+
+  private final int[] members;
+
+  /**
+   * 缩点后的依赖边：分量 c 依赖的分量为 componentTargets[componentOffsets[c] .. componentOffsets[c + 1])
+   */
+  private final int[] componentOffsets;
+
+  private final int[] componentTargets;
+
+  /**
+   * 分量是否构成环路（多于一个节点或存在自环）
+   */
+  private final boolean[] cyclic;
+
+  /**
+   * 分量是否能到达（或本身就是）环路
+   */
+  private final boolean[] reachesCycle;
+
+  private StronglyConnectedComponents(String[] names, Map<String, Integer> indexByName, int[] offsets,
+      int[] targets) {
+    this.names = names;
+    this.indexByName = indexByName;
+    this.offsets = offsets;
+    this.targets = targets;
+
+    int nodeCount = names.length;
+    this.componentOf = new int[nodeCount];
+    this.members = new int[nodeCount];
+    int[] componentStarts = new int[nodeCount + 1];
+    int componentCount = computeComponents(componentStarts);
+
+    this.memberOffsets = new int[componentCount + 1];
+    System.arraycopy(componentStarts, 0, memberOffsets, 0, componentCount + 1);
+
+    this.cyclic = new boolean[componentCount];
+    int[] condensedOffsets = new int[componentCount + 1];
+    this.componentTargets = condense(condensedOffsets);
+    this.componentOffsets = condensedOffsets;
+
+    // 分量按依赖在前排列，依赖的可达性在处理当前分量前已经确定
+    this.reachesCycle = new boolean[componentCount];
+    for (int c = 0; c < componentCount; c++) {
+      boolean reaches = cyclic[c];
+      for (int e = componentOffsets[c]; !reaches && e < componentOffsets[c + 1]; e++) {
+        reaches = reachesCycle[componentTargets[e]];
+      }
+      reachesCycle[c] = reaches;
+    }
+  }
+
+  /**
+   * 分析依赖图
+   * 
+   * @param dependencyGraph 依赖图：Bean 名称 -> 依赖的 Bean 名称集合
+   * @return 分析结果
+   */
+  public static StronglyConnectedComponents analyze(Map<String, ? extends Collection<String>> dependencyGraph) {
+    Map<String, Integer> indexByName = new HashMap<String, Integer>(dependencyGraph.size() * 2);
+    List<String> nameList = new ArrayList<String>(dependencyGraph.size());
+    int edgeCount = 0;
+
+    for (String name : dependencyGraph.keySet()) {
+      indexByName.put(name, nameList.size());
+      nameList.add(name);
+    }
+    // 仅作为依赖出现的节点同样需要分配下标
+    for (Collection<String> dependencies : dependencyGraph.values()) {
+      if (dependencies == null) {
+        continue;
+      }
+      for (String dependency : dependencies) {
+        if (!indexByName.containsKey(dependency)) {
+          indexByName.put(dependency, nameList.size());
+          nameList.add(dependency);
+        }
+        edgeCount++;
+      }
+    }
+
+    String[] names = nameList.toArray(new String[nameList.size()]);
+    int[] offsets = new int[names.length + 1];
+    int[] targets = new int[edgeCount];
+    int edge = 0;
+    for (int v = 0; v < names.length; v++) {
+      offsets[v] = edge;
+      Collection<String> dependencies = dependencyGraph.get(names[v]);
+      if (dependencies != null) {
+        for (String dependency : dependencies) {
+          targets[edge++] = indexByName.get(dependency);
+        }
+      }
+    }
+    offsets[names.length] = edge;
+
+    return new StronglyConnectedComponents(names, indexByName, offsets, targets);
+  }
+
+  /**
+   * 迭代版 Tarjan 算法
+   * 
+   * @param componentStarts 输出：每个分量在 members 中的起始位置
+   * @return 分量数量
+   */
+  private int computeComponents(int[] componentStarts) {
+    int nodeCount = names.length;
+    int[] index = new int[nodeCount];
+    int[] low = new int[nodeCount];
+    boolean[] onStack = new boolean[nodeCount];
+    int[] stack = new int[nodeCount];
+    int[] callNodes = new int[nodeCount];
+    int[] callEdges = new int[nodeCount];
+    Arrays.fill(index, -1);
+
+    int counter = 0;
+    int stackSize = 0;
+    int componentCount = 0;
+    int memberCount = 0;
+
+    for (int root = 0; root < nodeCount; root++) {
+      if (index[root] != -1) {
+        continue;
+      }
+
+      int depth = 0;
+      callNodes[0] = root;
+      callEdges[0] = offsets[root];
+      index[root] = low[root] = counter++;
+      stack[stackSize++] = root;
+      onStack[root] = true;
+
+      while (depth >= 0) {
+        int v = callNodes[depth];
+        if (callEdges[depth] < offsets[v + 1]) {
+          int w = targets[callEdges[depth]++];
+          if (index[w] == -1) {
+            // 下探到未访问的依赖
+            depth++;
+            callNodes[depth] = w;
+            callEdges[depth] = offsets[w];
+            index[w] = low[w] = counter++;
+            stack[stackSize++] = w;
+            onStack[w] = true;
+          } else if (onStack[w] && index[w] < low[v]) {
+            low[v] = index[w];
+          }
+          continue;
+        }
+
+        // v 的所有依赖处理完毕
+        if (low[v] == index[v]) {
+          componentStarts[componentCount] = memberCount;
+          int w;
+          do {
+            w = stack[--stackSize];
+            onStack[w] = false;
+            componentOf[w] = componentCount;
+            members[memberCount++] = w;
+          } while (w != v);
+          componentCount++;
+        }
+
+        depth--;
+        if (depth >= 0) {
+          int parent = callNodes[depth];
+          if (low[v] < low[parent]) {
+            low[parent] = low[v];
+          }
+        }
+      }
+    }
+
+    componentStarts[componentCount] = memberCount;
+    return componentCount;
+  }
+
+  /**
+   * 构建缩点后的依赖边（去重），并标记构成环路的分量
+   * 
+   * @param condensedOffsets 输出：每个分量的依赖边起始位置
+   * @return 缩点后的依赖边数组
+   */
+  private int[] condense(int[] condensedOffsets) {
+    int componentCount = cyclic.length;
+    int[] lastSeen = new int[componentCount];
+    Arrays.fill(lastSeen, -1);
+    int[] buffer = new int[Math.max(targets.length, 1)];
+    int size = 0;
+
+    for (int c = 0; c < componentCount; c++) {
+      condensedOffsets[c] = size;
+      cyclic[c] = memberOffsets[c + 1] - memberOffsets[c] > 1;
+
+      for (int m = memberOffsets[c]; m < memberOffsets[c + 1]; m++) {
+        int v = members[m];
+        for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+          int target = componentOf[targets[e]];
+          if (target == c) {
+            if (targets[e] == v) {
+              cyclic[c] = true;
+            }
+          } else if (lastSeen[target] != c) {
+            lastSeen[target] = c;
+            buffer[size++] = target;
+          }
+        }
+      }
+    }
+    condensedOffsets[componentCount] = size;
+
+    int[] result = new int[size];
+    System.arraycopy(buffer, 0, result, 0, size);
+    return result;
+  }
+
+  /**
+   * 获取节点数量
+   * 
+   * @return 节点数量
+   */
+  public int getNodeCount() {
+    return names.length;
+  }
+
+  /**
+   * 获取强连通分量数量
+   * 
+   * @return 分量数量
+   */
+  public int getComponentCount() {
+    return cyclic.length;
+  }
+
+  /**
+   * 获取所有强连通分量，依赖在前
+   * 
+   * @return 分量列表，每个分量为 Bean 名称列表
+   */
+  public List<List<String>> getComponents() {
+    List<List<String>> components = new ArrayList<List<String>>(getComponentCount());
+    for (int c = 0; c < getComponentCount(); c++) {
+      components.add(getComponent(c));
+    }
+    return components;
+  }
+
+  /**
+   * 获取指定分量的成员
+   * 
+   * @param component 分量下标
+   * @return Bean 名称列表
+   */
+  public List<String> getComponent(int component) {
+    List<String> result = new ArrayList<String>(memberOffsets[component + 1] - memberOffsets[component]);
+    for (int m = memberOffsets[component]; m < memberOffsets[component + 1]; m++) {
+      result.add(names[members[m]]);
+    }
+    return result;
+  }
+
+  /**
+   * 获取 Bean 所属分量的下标
+   * 
+   * @param beanName Bean 名称
+   * @return 分量下标，如果 Bean 不在图中返回 -1
+   */
+  public int getComponentIndex(String beanName) {
+    Integer index = indexByName.get(beanName);
+    return index != null ? componentOf[index] : -1;
+  }
+
+  /**
+   * 获取指定分量在缩点图中直接依赖的分量
+   * 
+   * @param component 分量下标
+   * @return 依赖的分量下标数组
+   */
+  public int[] getComponentDependencies(int component) {
+    int from = componentOffsets[component];
+    int[] result = new int[componentOffsets[component + 1] - from];
+    System.arraycopy(componentTargets, from, result, 0, result.length);
+    return result;
+  }
+
+  /**
+   * 指定分量是否构成环路
+   * 
+   * @param component 分量下标
+   * @return 分量多于一个 Bean 或存在自依赖时返回 true
+   */
+  public boolean isCyclic(int component) {
+    return cyclic[component];
+  }
+
+  /**
+   * 获取缩点图的拓扑顺序展开后的 Bean 名称，依赖在前
+   * 同一分量内的 Bean 相邻排列
+   * 
+   * @return Bean 名称列表
+   */
+  public List<String> getTopologicalOrder() {
+    List<String> order = new ArrayList<String>(names.length);
+    for (int m = 0; m < members.length; m++) {
+      order.add(names[members[m]]);
+    }
+    return order;
+  }
+
+  /**
+   * 获取所有构成环路的分量
+   * 
+   * @return 分量列表
+   */
+  public List<List<String>> getCyclicComponents() {
+    List<List<String>> result = new ArrayList<List<String>>();
+    for (int c = 0; c < getComponentCount(); c++) {
+      if (cyclic[c]) {
+        result.add(getComponent(c));
+      }
+    }
+    return result;
+  }
+
+  /**
+   * 为每个构成环路的分量给出一条具体的环路路径
+   * 
+   * @return 环路路径列表，每条路径首尾为同一个 Bean
+   */
+  public List<List<String>> getCycles() {
+    List<List<String>> cycles = new ArrayList<List<String>>();
+    int[] parent = new int[names.length];
+    Arrays.fill(parent, -1);
+    int[] queue = new int[names.length];
+
+    for (int c = 0; c < getComponentCount(); c++) {
+      if (cyclic[c]) {
+        cycles.add(findCycle(c, parent, queue));
+      }
+    }
+    return cycles;
+  }
+
+  /**
+   * 在分量内部广度优先搜索，找到经过分量首个成员的最短环路
+   * 
+   * @param component 分量下标
+   * @param parent    共享的前驱数组，调用结束后恢复为 -1
+   * @param queue     共享的队列数组
+   * @return 环路路径
+   */
+  private List<String> findCycle(int component, int[] parent, int[] queue) {
+    int start = members[memberOffsets[component]];
+    int head = 0;
+    int tail = 0;
+    int last = -1;
+    queue[tail++] = start;
+
+    while (head < tail && last == -1) {
+      int v = queue[head++];
+      for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+        int w = targets[e];
+        if (w == start) {
+          last = v;
+          break;
+        }
+        if (componentOf[w] == component && parent[w] == -1) {
+          parent[w] = v;
+          queue[tail++] = w;
+        }
+      }
+    }
+
+    List<String> cycle = new ArrayList<String>();
+    for (int v = last; v != start; v = parent[v]) {
+      cycle.add(names[v]);
+    }
+    cycle.add(names[start]);
+    Collections.reverse(cycle);
+    cycle.add(names[start]);
+
+    for (int i = 0; i < tail; i++) {
+      parent[queue[i]] = -1;
+    }
+    return cycle;
+  }
+
+  /**
+   * Bean 是否处于环路中
+   * 
+   * @param beanName Bean 名称
+   * @return 如果 Bean 所在分量构成环路返回 true
+   */
+  public boolean isInCycle(String beanName) {
+    int component = getComponentIndex(beanName);
+    return component >= 0 && cyclic[component];
+  }
+
+  /**
+   * Bean 是否处于环路中或能沿依赖到达环路
+   * 
+   * @param beanName Bean 名称
+   * @return 如果从该 Bean 出发能到达环路返回 true
+   */
+  public boolean reachesCycle(String beanName) {
+    int component = getComponentIndex(beanName);
+    return component >= 0 && reachesCycle[component];
+  }
+}
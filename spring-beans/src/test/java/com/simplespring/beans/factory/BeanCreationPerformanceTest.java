@@ -2,12 +2,19 @@ package com.simplespring.beans.factory;
 
 import com.simplespring.beans.factory.config.BeanDefinition;
 import com.simplespring.beans.factory.config.Scope;
+import com.simplespring.beans.factory.support.BeanAccessorStrategy;
 import com.simplespring.beans.factory.support.DefaultBeanFactory;
+import com.simplespring.beans.factory.support.MethodHandleAccessorStrategy;
+import com.simplespring.beans.factory.support.ReflectionAccessorStrategy;
 import com.simplespring.core.annotation.Autowired;
 import com.simplespring.core.annotation.Component;
 
 import org.junit.Before;
 import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static org.junit.Assert.*;
 
 /**
@@ -209,6 +216,85 @@ public class BeanCreationPerformanceTest {
         totalTime < MAX_ACCEPTABLE_TIME_MS);
   }
 
+  @Test
+  public void testConcurrentGetBeanThroughput() throws InterruptedException {
+    // 测试多线程访问单例和原型 Bean 的吞吐量
+
+    registerSyntheticBeans(beanFactory, 64);
+
+    final int threadCount = 8;
+    final int operationsPerThread = ITERATIONS * 50;
+    final String[] beanNames = beanFactory.getBeanDefinitionNames();
+    final CountDownLatch startSignal = new CountDownLatch(1);
+    final AtomicInteger failures = new AtomicInteger();
+    Thread[] threads = new Thread[threadCount];
+
+    for (int i = 0; i < threadCount; i++) {
+      final int offset = i;
+      threads[i] = new Thread(new Runnable() {
+        @Override
+        public void run() {
+          try {
+            startSignal.await();
+            for (int j = 0; j < operationsPerThread; j++) {
+              if (beanFactory.getBean(beanNames[(j + offset) % beanNames.length]) == null) {
+                failures.incrementAndGet();
+              }
+            }
+          } catch (Exception e) {
+            failures.incrementAndGet();
+            e.printStackTrace();
+          }
+        }
+      });
+      threads[i].start();
+    }
+
+    long startTime = System.nanoTime();
+    startSignal.countDown();
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    long duration = (System.nanoTime() - startTime) / 1000000;
+
+    long totalOperations = (long) threadCount * operationsPerThread;
+    System.out.println("Concurrent getBean throughput: " + totalOperations + " operations in " + duration +
+        "ms (" + (totalOperations * 1000 / Math.max(duration, 1)) + " ops/s, " + threadCount + " threads)");
+    assertEquals("All getBean calls should succeed", 0, failures.get());
+    assertTrue("Concurrent getBean should complete within acceptable time", duration < MAX_ACCEPTABLE_TIME_MS * 5);
+  }
+
+  @Test
+  public void testPrototypeThroughputByAccessorStrategy() {
+    // 对比反射和 MethodHandle 两种访问策略下原型 Bean 的创建吞吐量
+
+    BeanAccessorStrategy[] strategies = { new ReflectionAccessorStrategy(), new MethodHandleAccessorStrategy() };
+    int operations = ITERATIONS * 200;
+
+    for (BeanAccessorStrategy strategy : strategies) {
+      DefaultBeanFactory factory = new DefaultBeanFactory(strategy);
+      registerSyntheticBeans(factory, 2);
+
+      // 预热
+      for (int i = 0; i < operations; i++) {
+        factory.getBean("syntheticBean" + (i & 1));
+      }
+
+      long startTime = System.nanoTime();
+      for (int i = 0; i < operations; i++) {
+        Object bean = factory.getBean("syntheticBean" + (i & 1));
+        if (bean instanceof BeanWithDependency) {
+          assertNotNull("Dependency should be injected", ((BeanWithDependency) bean).getDependencyBean());
+        }
+      }
+      long duration = (System.nanoTime() - startTime) / 1000000;
+
+      System.out.println("Prototype getBean throughput (" + strategy.getClass().getSimpleName() + "): " +
+          (operations * 1000L / Math.max(duration, 1)) + " ops/s");
+      assertTrue("Prototype creation should complete within acceptable time", duration < MAX_ACCEPTABLE_TIME_MS * 5);
+    }
+  }
+
   @Test
   public void testMemoryUsageDuringBeanCreation() {
     // 测试 Bean 创建过程中的内存使用
@@ -258,6 +344,52 @@ public class BeanCreationPerformanceTest {
         totalMemoryIncrease < 100 * 1024 * 1024); // 100MB
   }
 
+  @Test
+  public void testBeanDefinitionRegistrationScaling() {
+    // 测试 Bean 定义注册（含依赖图维护）的耗时随 Bean 数量近似线性增长
+
+    // 预热
+    registerSyntheticBeans(new DefaultBeanFactory(), 1000);
+
+    int[] beanCounts = { 1000, 5000, 10000 };
+    long[] durations = new long[beanCounts.length];
+
+    for (int i = 0; i < beanCounts.length; i++) {
+      DefaultBeanFactory factory = new DefaultBeanFactory();
+
+      long startTime = System.nanoTime();
+      registerSyntheticBeans(factory, beanCounts[i]);
+      durations[i] = (System.nanoTime() - startTime) / 1000000;
+
+      assertEquals(beanCounts[i] + 1, factory.getBeanDefinitionCount());
+      assertTrue("依赖边应在被依赖方注册后补齐",
+          factory.getCircularDependencyDetector().getDirectDependencies("syntheticBean0").contains("sharedDependency"));
+
+      System.out.println("Bean definition registration: " + durations[i] + "ms for " +
+          beanCounts[i] + " beans");
+    }
+
+    // 10 倍的 Bean 数量耗时应远小于平方级增长（100 倍）
+    assertTrue("Bean definition registration should scale roughly linearly",
+        durations[2] < durations[0] * 40 + 200);
+  }
+
+  private void registerSyntheticBeans(DefaultBeanFactory factory, int count) {
+    // 依赖方先注册，被依赖方最后注册，覆盖依赖边的增量重新解析
+    for (int i = 0; i < count; i++) {
+      BeanDefinition beanDefinition = new BeanDefinition();
+      beanDefinition.setBeanClass(i % 2 == 0 ? BeanWithDependency.class : SimpleTestBean.class);
+      beanDefinition.setBeanName("syntheticBean" + i);
+      beanDefinition.setScope(Scope.PROTOTYPE);
+      factory.registerBeanDefinition("syntheticBean" + i, beanDefinition);
+    }
+
+    BeanDefinition dependencyDef = new BeanDefinition();
+    dependencyDef.setBeanClass(DependencyBean.class);
+    dependencyDef.setBeanName("sharedDependency");
+    factory.registerBeanDefinition("sharedDependency", dependencyDef);
+  }
+
   private void registerComplexBeans() {
     // 注册 ComplexBeanC
     BeanDefinition beanCDef = new BeanDefinition();
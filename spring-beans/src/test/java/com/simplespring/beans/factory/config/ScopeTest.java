@@ -15,6 +15,7 @@ public class ScopeTest {
         // 测试枚举值
         assertEquals("singleton", Scope.SINGLETON.getValue());
         assertEquals("prototype", Scope.PROTOTYPE.getValue());
+        assertEquals("pooled", Scope.POOLED.getValue());
     }
     
     @Test
@@ -22,6 +23,7 @@ public class ScopeTest {
         // 测试根据字符串值获取枚举
         assertEquals(Scope.SINGLETON, Scope.fromValue("singleton"));
         assertEquals(Scope.PROTOTYPE, Scope.fromValue("prototype"));
+        assertEquals(Scope.POOLED, Scope.fromValue("pooled"));
     }
     
     @Test(expected = IllegalArgumentException.class)
@@ -43,4 +45,13 @@ public class ScopeTest {
         assertFalse(Scope.SINGLETON.isPrototype());
         assertTrue(Scope.PROTOTYPE.isPrototype());
     }
+    
+    @Test
+    public void testIsPooled() {
+        // 测试池化判断
+        assertTrue(Scope.POOLED.isPooled());
+        assertFalse(Scope.POOLED.isSingleton());
+        assertFalse(Scope.POOLED.isPrototype());
+        assertFalse(Scope.PROTOTYPE.isPooled());
+    }
 }
@@ -0,0 +1,219 @@
+package com.simplespring.beans.factory.support;
+
+import com.simplespring.beans.factory.BeanCreationException;
+import com.simplespring.beans.factory.PooledBean;
+import com.simplespring.beans.factory.config.BeanDefinition;
+import com.simplespring.beans.factory.config.Scope;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * BeanPool 测试类
+ *
+ * @author SimpleSpring Framework
+ */
+public class BeanPoolTest {
+
+  private BeanDefinition beanDefinition;
+
+  private List<Object> created;
+
+  private List<Object> destroyed;
+
+  @Before
+  public void setUp() {
+    beanDefinition = new BeanDefinition(Buffer.class, "buffer");
+    beanDefinition.setScope(Scope.POOLED);
+    beanDefinition.setPoolMaxSize(2);
+    beanDefinition.setPoolMaxWait(50);
+    created = new CopyOnWriteArrayList<Object>();
+    destroyed = new CopyOnWriteArrayList<Object>();
+  }
+
+  @Test
+  public void testReleasedInstanceIsReused() {
+    // 测试归还的实例被再次借出，并记录命中和未命中
+    BeanPool pool = createPool();
+
+    Buffer first = (Buffer) pool.acquire();
+    first.content.append("data");
+    pool.release(first);
+    Buffer second = (Buffer) pool.acquire();
+
+    assertSame(first, second);
+    assertEquals("归还时应该重置状态", 0, second.content.length());
+    assertEquals(1, created.size());
+
+    BeanPoolMetrics metrics = pool.getMetrics();
+    assertEquals(1, metrics.getHitCount());
+    assertEquals(1, metrics.getMissCount());
+    assertEquals(1, metrics.getActiveCount());
+    assertEquals(0, metrics.getIdleCount());
+    assertEquals(0.5, metrics.getHitRatio(), 0.0001);
+  }
+
+  @Test
+  public void testInvalidInstanceIsDestroyed() {
+    // 测试校验失败的空闲实例被销毁，改为创建新实例
+    BeanPool pool = createPool();
+
+    Buffer first = (Buffer) pool.acquire();
+    pool.release(first);
+    first.valid = false;
+    Buffer second = (Buffer) pool.acquire();
+
+    assertNotSame(first, second);
+    assertEquals(1, destroyed.size());
+    assertSame(first, destroyed.get(0));
+    assertEquals("校验失败不计入空闲回收", 0, pool.getMetrics().getEvictionCount());
+  }
+
+  @Test
+  public void testExhaustedPoolWaitsForRelease() throws Exception {
+    // 测试对象池耗尽时等待其他线程归还实例
+    beanDefinition.setPoolMaxWait(5000);
+    final BeanPool pool = createPool();
+    final Object first = pool.acquire();
+    pool.acquire();
+
+    final CountDownLatch waiting = new CountDownLatch(1);
+    Thread releaser = new Thread(new Runnable() {
+      @Override
+      public void run() {
+        try {
+          waiting.await();
+          Thread.sleep(50);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+        pool.release(first);
+      }
+    });
+    releaser.start();
+
+    waiting.countDown();
+    Object third = pool.acquire();
+    releaser.join();
+
+    assertSame(first, third);
+    assertEquals(1, pool.getMetrics().getWaitCount());
+    assertEquals(2, created.size());
+  }
+
+  @Test
+  public void testExhaustedPoolTimesOut() {
+    // 测试等待超时抛出异常
+    BeanPool pool = createPool();
+    pool.acquire();
+    pool.acquire();
+
+    try {
+      pool.acquire();
+      fail("应该抛出 BeanCreationException");
+    } catch (BeanCreationException e) {
+      assertEquals("buffer", e.getBeanName());
+    }
+
+    BeanPoolMetrics metrics = pool.getMetrics();
+    assertEquals(1, metrics.getWaitCount());
+    assertEquals(1, metrics.getTimeoutCount());
+    assertEquals(2, metrics.getActiveCount());
+  }
+
+  @Test
+  public void testRejectsUnknownAndDuplicateRelease() {
+    // 测试拒绝归还外部对象和重复归还
+    BeanPool pool = createPool();
+    Object bean = pool.acquire();
+    pool.release(bean);
+
+    try {
+      pool.release(bean);
+      fail("重复归还应该抛出 IllegalArgumentException");
+    } catch (IllegalArgumentException e) {
+      // 预期异常
+    }
+
+    try {
+      pool.release(new Buffer());
+      fail("归还外部对象应该抛出 IllegalArgumentException");
+    } catch (IllegalArgumentException e) {
+      // 预期异常
+    }
+    assertEquals(1, pool.getMetrics().getIdleCount());
+  }
+
+  @Test
+  public void testIdleEviction() throws Exception {
+    // 测试空闲超时的实例被回收
+    beanDefinition.setPoolMaxIdleTime(20);
+    BeanPool pool = createPool();
+    Object first = pool.acquire();
+    Object second = pool.acquire();
+    pool.release(first);
+    pool.release(second);
+
+    TimeUnit.MILLISECONDS.sleep(40);
+
+    assertEquals(2, pool.evictIdle());
+    assertEquals(0, pool.getMetrics().getIdleCount());
+    assertEquals(2, pool.getMetrics().getEvictionCount());
+    assertEquals(2, destroyed.size());
+  }
+
+  @Test
+  public void testCloseDestroysIdleInstances() {
+    // 测试关闭对象池后销毁空闲实例，之后归还的实例直接销毁
+    BeanPool pool = createPool();
+    Object idle = pool.acquire();
+    Object active = pool.acquire();
+    pool.release(idle);
+
+    pool.close();
+    assertEquals(1, destroyed.size());
+
+    pool.release(active);
+    assertEquals(2, destroyed.size());
+    assertEquals(0, pool.getMetrics().getIdleCount());
+    assertEquals("关闭时销毁的实例不计入空闲回收", 0, pool.getMetrics().getEvictionCount());
+  }
+
+  private BeanPool createPool() {
+    return new BeanPool("buffer", beanDefinition, new BeanPool.PooledObjectFactory() {
+      @Override
+      public Object create() {
+        Buffer buffer = new Buffer();
+        created.add(buffer);
+        return buffer;
+      }
+
+      @Override
+      public void destroy(Object bean) {
+        destroyed.add(bean);
+      }
+    });
+  }
+
+  // 测试用的类
+  public static class Buffer implements PooledBean {
+    private final StringBuilder content = new StringBuilder();
+    private volatile boolean valid = true;
+
+    @Override
+    public boolean validate() {
+      return valid;
+    }
+
+    @Override
+    public void reset() {
+      content.setLength(0);
+    }
+  }
+}
@@ -1,12 +1,18 @@
 package com.simplespring.beans.factory.support;
 
+import com.simplespring.beans.factory.CircularDependencyException;
 import com.simplespring.beans.factory.config.BeanDefinition;
 import com.simplespring.beans.factory.config.Scope;
 import org.junit.Before;
 import org.junit.Test;
 import static org.junit.Assert.*;
 
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * BeanRegistry 测试类
@@ -79,6 +85,22 @@ public class BeanRegistryTest {
         assertEquals(singletonBean, beanRegistry.getSingleton("testSingleton"));
     }
     
+    @Test
+    public void testRegisterWrappedSingleton() {
+        // 测试注册被包装的单例 Bean，销毁时使用原始实例
+        String target = "raw singleton";
+        StringBuilder wrapper = new StringBuilder(target);
+        beanRegistry.registerSingleton("wrappedSingleton", wrapper, target);
+        beanRegistry.registerSingleton("plainSingleton", target);
+        
+        assertSame(wrapper, beanRegistry.getSingleton("wrappedSingleton"));
+        assertSame(target, beanRegistry.getSingletonTarget("wrappedSingleton"));
+        assertSame(target, beanRegistry.getSingletonTarget("plainSingleton"));
+        
+        beanRegistry.removeSingleton("wrappedSingleton");
+        assertNull(beanRegistry.getSingletonTarget("wrappedSingleton"));
+    }
+    
     @Test(expected = IllegalArgumentException.class)
     public void testRegisterSingletonWithEmptyName() {
         // 测试注册空名称的单例 Bean
@@ -211,6 +233,212 @@ public class BeanRegistryTest {
         assertEquals(0, beanRegistry.getBeanDefinitionCount());
     }
     
+    @Test
+    public void testSingletonCreationLockIsPerBean() throws InterruptedException {
+        // 测试不同 Bean 的创建锁互不阻塞，同一 Bean 的锁可重入
+        Lock lockA = beanRegistry.lockSingletonCreation("beanA");
+        Lock reentrant = beanRegistry.lockSingletonCreation("beanA");
+        assertSame(lockA, reentrant);
+        reentrant.unlock();
+
+        final boolean[] acquired = new boolean[1];
+        Thread other = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                Lock lockB = beanRegistry.lockSingletonCreation("beanB");
+                acquired[0] = true;
+                lockB.unlock();
+            }
+        });
+        other.start();
+        other.join(5000);
+
+        assertTrue("其他 Bean 的创建锁不应该被阻塞", acquired[0]);
+        lockA.unlock();
+    }
+    
+    @Test
+    public void testRemoveBeanDefinitionKeepsHeldCreationLock() throws Exception {
+        // 测试创建锁被其他线程持有时移除 Bean 定义不会丢弃该锁，重新注册的同名 Bean 仍然互斥
+        beanRegistry.registerBeanDefinition("testBean", new BeanDefinition(String.class, "testBean"));
+        final CountDownLatch locked = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final Lock[] held = new Lock[1];
+
+        Thread creator = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                held[0] = beanRegistry.lockSingletonCreation("testBean");
+                locked.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    held[0].unlock();
+                }
+            }
+        });
+        creator.start();
+        assertTrue(locked.await(5, TimeUnit.SECONDS));
+
+        beanRegistry.removeBeanDefinition("testBean");
+        beanRegistry.registerBeanDefinition("testBean", new BeanDefinition(String.class, "testBean"));
+
+        final boolean[] acquiredWhileHeld = new boolean[1];
+        Thread contender = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                Lock lock = beanRegistry.lockSingletonCreation("testBean");
+                acquiredWhileHeld[0] = creatorHoldsLock(held[0]);
+                lock.unlock();
+            }
+        });
+        contender.start();
+        Thread.sleep(50);
+        release.countDown();
+        contender.join(5000);
+        creator.join(5000);
+
+        assertFalse(contender.isAlive());
+        assertFalse("创建锁被持有期间不应该有其他线程拿到同名 Bean 的锁", acquiredWhileHeld[0]);
+
+        // 未被持有的锁随 Bean 定义一起移除
+        Lock free = beanRegistry.lockSingletonCreation("testBean");
+        free.unlock();
+        beanRegistry.removeBeanDefinition("testBean");
+        Lock recreated = beanRegistry.lockSingletonCreation("testBean");
+        assertNotSame(free, recreated);
+        recreated.unlock();
+    }
+
+    private static boolean creatorHoldsLock(Lock lock) {
+        return ((ReentrantLock) lock).isLocked() && !((ReentrantLock) lock).isHeldByCurrentThread();
+    }
+
+    @Test
+    public void testCrossThreadCircularWaitDetected() throws Exception {
+        // 测试两个线程相互等待对方正在创建的 Bean 时抛出循环依赖异常而不是死锁
+        final Lock lockA = beanRegistry.lockSingletonCreation("beanA");
+        final CountDownLatch lockedB = new CountDownLatch(1);
+        final Throwable[] otherFailure = new Throwable[1];
+
+        Thread other = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                Lock lockB = beanRegistry.lockSingletonCreation("beanB");
+                lockedB.countDown();
+                try {
+                    // 等待当前线程持有的 beanA
+                    beanRegistry.lockSingletonCreation("beanA").unlock();
+                } catch (Throwable e) {
+                    otherFailure[0] = e;
+                } finally {
+                    lockB.unlock();
+                }
+            }
+        });
+        other.start();
+        assertTrue(lockedB.await(5, TimeUnit.SECONDS));
+
+        // 等待另一个线程阻塞在 beanA 的锁上
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!((ReentrantLock) lockA).hasQueuedThreads() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(1);
+        }
+        assertTrue(((ReentrantLock) lockA).hasQueuedThreads());
+
+        try {
+            beanRegistry.lockSingletonCreation("beanB");
+            fail("应该检测到跨线程的循环依赖");
+        } catch (CircularDependencyException e) {
+            assertEquals(Arrays.asList("beanB", "beanA", "beanB"), e.getDependencyPath());
+        } finally {
+            lockA.unlock();
+        }
+
+        other.join(5000);
+        assertFalse("另一个线程应该在锁释放后继续执行", other.isAlive());
+        assertNull(otherFailure[0]);
+    }
+    
+    @Test
+    public void testTypeIndexResolvesUndeclaredTypesOnDemand() {
+        // 测试未建立索引的类型按需解析，命中和未命中的结果都随注册和移除更新
+        assertEquals(0, beanRegistry.getBeanNameArrayForType(Object.class).length);
+        assertEquals(0, beanRegistry.getBeanNameArrayForType(Runnable.class).length);
+
+        beanRegistry.registerBeanDefinition("first", new BeanDefinition(TestSubClass.class, "first"));
+        beanRegistry.registerBeanDefinition("second", new BeanDefinition(String.class, "second"));
+
+        assertEquals(Arrays.asList("first", "second"), beanRegistry.getBeanNamesForType(Object.class));
+        assertEquals(0, beanRegistry.getBeanNameArrayForType(Runnable.class).length);
+
+        beanRegistry.removeBeanDefinition("first");
+        assertEquals(Arrays.asList("second"), beanRegistry.getBeanNamesForType(Object.class));
+        assertEquals(0, beanRegistry.getBeanNameArrayForType(TestInterface.class).length);
+    }
+    
+    @Test
+    public void testUniqueBeanNameForType() {
+        // 测试唯一候选的快速路径
+        assertNull(beanRegistry.getUniqueBeanNameForType(TestInterface.class));
+        
+        beanRegistry.registerBeanDefinition("first", new BeanDefinition(TestSubClass.class, "first"));
+        assertEquals("first", beanRegistry.getUniqueBeanNameForType(TestInterface.class));
+        assertEquals("first", beanRegistry.getUniqueBeanNameForType(TestSuperClass.class));
+        
+        beanRegistry.registerBeanDefinition("second", new BeanDefinition(TestSubClass.class, "second"));
+        assertNull("多个候选时不应该返回名称", beanRegistry.getUniqueBeanNameForType(TestInterface.class));
+        assertArrayEquals(new String[] { "first", "second" }, beanRegistry.getBeanNameArrayForType(TestInterface.class));
+        assertNull(beanRegistry.getUniqueBeanNameForType(null));
+    }
+    
+    @Test
+    public void testTypeIndexSnapshotsAreImmutable() throws Exception {
+        // 测试注册过程中并发读取看到的快照不会被修改
+        beanRegistry.registerBeanDefinition("bean0", new BeanDefinition(TestSubClass.class, "bean0"));
+        final String[] snapshot = beanRegistry.getBeanNameArrayForType(TestInterface.class);
+        
+        final int count = 1000;
+        final CountDownLatch started = new CountDownLatch(1);
+        final boolean[] failed = new boolean[1];
+        Thread reader = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                started.countDown();
+                int lastLength = 0;
+                while (lastLength < count) {
+                    String[] beanNames = beanRegistry.getBeanNameArrayForType(TestInterface.class);
+                    // 快照只会变长，且其中每个元素都已经写入
+                    if (beanNames.length < lastLength || beanNames[beanNames.length - 1] == null) {
+                        failed[0] = true;
+                        return;
+                    }
+                    lastLength = beanNames.length;
+                }
+            }
+        });
+        reader.start();
+        started.await();
+        
+        for (int i = 1; i < count; i++) {
+            beanRegistry.registerBeanDefinition("bean" + i, new BeanDefinition(TestSubClass.class, "bean" + i));
+        }
+        reader.join(TimeUnit.SECONDS.toMillis(10));
+        
+        assertFalse("并发读取不应该看到不完整的快照", failed[0]);
+        assertEquals(1, snapshot.length);
+        assertEquals(count, beanRegistry.getBeanNameArrayForType(TestInterface.class).length);
+    }
+    
+    @Test(expected = UnsupportedOperationException.class)
+    public void testBeanNamesForTypeListIsUnmodifiable() {
+        // 测试返回的列表不可修改，避免破坏共享快照
+        beanRegistry.registerBeanDefinition("first", new BeanDefinition(TestSubClass.class, "first"));
+        beanRegistry.getBeanNamesForType(TestSubClass.class).set(0, "other");
+    }
+    
     // 辅助方法
     private boolean contains(String[] array, String value) {
         for (String item : array) {
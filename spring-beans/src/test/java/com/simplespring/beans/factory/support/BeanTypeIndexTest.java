@@ -0,0 +1,86 @@
+package com.simplespring.beans.factory.support;
+
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * BeanTypeIndex 测试类
+ *
+ * @author SimpleSpring Framework
+ */
+public class BeanTypeIndexTest {
+
+  private BeanTypeIndex typeIndex;
+
+  @Before
+  public void setUp() {
+    typeIndex = new BeanTypeIndex();
+    typeIndex.add("stringBean", String.class);
+  }
+
+  @Test
+  public void testDeclaredAndResolvedTypes() {
+    assertArrayEquals(new String[] { "stringBean" }, typeIndex.getBeanNames(CharSequence.class));
+    assertArrayEquals(new String[] { "stringBean" }, typeIndex.getBeanNames(Object.class));
+
+    typeIndex.add("integerBean", Integer.class);
+    assertArrayEquals("按需解析的类型应该增量维护",
+        new String[] { "stringBean", "integerBean" }, typeIndex.getBeanNames(Object.class));
+
+    typeIndex.remove("stringBean");
+    assertArrayEquals(new String[] { "integerBean" }, typeIndex.getBeanNames(Object.class));
+    assertEquals(0, typeIndex.getBeanNames(CharSequence.class).length);
+  }
+
+  @Test
+  public void testMissIsDroppedOnAdd() {
+    assertNull(typeIndex.getUniqueBeanName(Runnable.class));
+    assertEquals(1, typeIndex.getCachedMissCount());
+
+    typeIndex.add("threadBean", Thread.class);
+    assertEquals("注册后应该丢弃未命中的缓存", 0, typeIndex.getCachedMissCount());
+    assertEquals("threadBean", typeIndex.getUniqueBeanName(Runnable.class));
+  }
+
+  @Test
+  public void testResolvedTypeBecomesMissOnRemove() {
+    assertEquals(1, typeIndex.getBeanNames(Object.class).length);
+    assertEquals(0, typeIndex.getCachedMissCount());
+
+    typeIndex.remove("stringBean");
+    assertEquals(0, typeIndex.getBeanNames(Object.class).length);
+    assertEquals("不再有匹配的类型应该转为未命中", 1, typeIndex.getCachedMissCount());
+
+    typeIndex.add("integerBean", Integer.class);
+    assertArrayEquals(new String[] { "integerBean" }, typeIndex.getBeanNames(Object.class));
+  }
+
+  @Test
+  public void testCachedMissesAreBounded() {
+    List<Class<?>> unknownTypes = new ArrayList<Class<?>>();
+    for (Class<?> componentType : new Class<?>[] { Integer.class, Long.class, Double.class }) {
+      Class<?> type = componentType;
+      for (int i = 0; i < 100; i++) {
+        type = Array.newInstance(type, 0).getClass();
+        unknownTypes.add(type);
+      }
+    }
+
+    for (Class<?> type : unknownTypes) {
+      assertEquals(0, typeIndex.getBeanNames(type).length);
+    }
+    assertEquals("未命中的缓存应该有上限", BeanTypeIndex.MAX_CACHED_MISSES, typeIndex.getCachedMissCount());
+
+    // 超过上限的查询仍然返回正确结果
+    Class<?> lastType = unknownTypes.get(unknownTypes.size() - 1);
+    assertEquals(0, typeIndex.getBeanNames(lastType).length);
+    typeIndex.add("arrayBean", lastType);
+    assertArrayEquals(new String[] { "arrayBean" }, typeIndex.getBeanNames(lastType));
+    assertEquals(0, typeIndex.getCachedMissCount());
+  }
+}
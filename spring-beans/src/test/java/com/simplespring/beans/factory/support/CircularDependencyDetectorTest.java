@@ -1,5 +1,6 @@
 package com.simplespring.beans.factory.support;
 
+import com.simplespring.beans.factory.ObjectProvider;
 import com.simplespring.beans.factory.config.BeanDefinition;
 import com.simplespring.beans.factory.config.Scope;
 import com.simplespring.core.annotation.Autowired;
@@ -221,6 +222,95 @@ public class CircularDependencyDetectorTest {
     }
   }
 
+  /**
+   * 测试增量注册与全量构建得到相同的依赖图
+   */
+  @Test
+  public void testIncrementalRegistrationMatchesFullBuild() {
+    // 依赖方先于被依赖方注册，被依赖方注册时应补齐依赖边
+    registerBean("serviceL", ServiceL.class);
+    detector.registerBean("serviceL");
+    assertTrue("serviceM 未注册时 serviceL 不应有依赖", detector.getDirectDependencies("serviceL").isEmpty());
+
+    registerBean("serviceM", ServiceM.class);
+    detector.registerBean("serviceM");
+    registerBean("serviceN", ServiceN.class);
+    detector.registerBean("serviceN");
+
+    Map<String, Set<String>> incrementalGraph = detector.getDependencyGraph();
+
+    detector.buildDependencyGraph();
+    assertEquals("增量维护的依赖图应与全量构建一致", detector.getDependencyGraph(), incrementalGraph);
+    assertTrue("serviceL 应该间接依赖 serviceN", detector.getAllDependencies("serviceL").contains("serviceN"));
+  }
+
+  /**
+   * 测试新增同类型 Bean 后按类型查找不再唯一，依赖边应被移除
+   */
+  @Test
+  public void testIncrementalRegistrationWithAmbiguousCandidate() {
+    registerBean("serviceH", ServiceH.class);
+    detector.registerBean("serviceH");
+    registerBean("serviceI", ServiceI.class);
+    detector.registerBean("serviceI");
+    assertTrue("serviceH 应该依赖 serviceI", detector.getDirectDependencies("serviceH").contains("serviceI"));
+
+    registerBean("anotherServiceI", ServiceI.class);
+    detector.registerBean("anotherServiceI");
+    assertTrue("存在多个候选时 serviceH 不应有确定的依赖", detector.getDirectDependencies("serviceH").isEmpty());
+  }
+
+  /**
+   * 测试增量移除 Bean 后依赖边被重新解析
+   */
+  @Test
+  public void testIncrementalRemoval() {
+    registerBean("serviceA", ServiceA.class);
+    detector.registerBean("serviceA");
+    registerBean("serviceB", ServiceB.class);
+    detector.registerBean("serviceB");
+    assertTrue("serviceA 应该有循环依赖", detector.hasCircularDependency("serviceA"));
+
+    beanRegistry.removeBeanDefinition("serviceB");
+    detector.removeBean("serviceB");
+
+    assertFalse("依赖图不应再包含 serviceB", detector.getAllBeanNames().contains("serviceB"));
+    assertTrue("serviceA 不应再有依赖", detector.getDirectDependencies("serviceA").isEmpty());
+    assertFalse("serviceA 不应再有循环依赖", detector.hasCircularDependency("serviceA"));
+  }
+
+  /**
+   * 测试集合、Map 和 ObjectProvider 注入点依赖元素类型的每个候选 Bean
+   */
+  @Test
+  public void testGenericInjectionPointsDependOnEveryCandidate() {
+    registerBean("pluginHost", PluginHost.class);
+    detector.registerBean("pluginHost");
+    registerBean("pluginA", PluginA.class);
+    detector.registerBean("pluginA");
+    registerBean("codec", Codec.class);
+    detector.registerBean("codec");
+
+    // 依赖方先注册，候选 Bean 注册时应增量补齐依赖边
+    registerBean("pluginB", PluginB.class);
+    detector.registerBean("pluginB");
+
+    Set<String> dependencies = detector.getDirectDependencies("pluginHost");
+    assertEquals(3, dependencies.size());
+    assertTrue(dependencies.contains("pluginA"));
+    assertTrue(dependencies.contains("pluginB"));
+    assertTrue("ObjectProvider 注入点应该依赖元素类型的 Bean", dependencies.contains("codec"));
+
+    Map<String, Set<String>> incrementalGraph = detector.getDependencyGraph();
+    detector.buildDependencyGraph();
+    assertEquals("增量维护的依赖图应与全量构建一致", detector.getDependencyGraph(), incrementalGraph);
+
+    beanRegistry.removeBeanDefinition("pluginA");
+    detector.removeBean("pluginA");
+    assertFalse(detector.getDirectDependencies("pluginHost").contains("pluginA"));
+    assertTrue(detector.getDirectDependencies("pluginHost").contains("pluginB"));
+  }
+
   /**
    * 辅助方法：注册 Bean 定义
    */
@@ -385,4 +475,30 @@ public class CircularDependencyDetectorTest {
     @Autowired
     private ServiceO serviceO;
   }
+
+  public interface Plugin {
+  }
+
+  public static class PluginA implements Plugin {
+  }
+
+  public static class PluginB implements Plugin {
+  }
+
+  public static class Codec {
+  }
+
+  /**
+   * 插件宿主 - 通过 List、Map 注入所有插件，通过 ObjectProvider 延迟获取编解码器
+   */
+  public static class PluginHost implements Plugin {
+    @Autowired
+    private List<Plugin> plugins;
+
+    @Autowired
+    private Map<String, Plugin> pluginsByName;
+
+    @Autowired
+    private ObjectProvider<Codec> codecProvider;
+  }
 }
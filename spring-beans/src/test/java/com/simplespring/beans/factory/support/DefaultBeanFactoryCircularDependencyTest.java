@@ -8,6 +8,7 @@ import com.simplespring.core.annotation.Autowired;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.Arrays;
 import java.util.List;
 
 import static org.junit.Assert.*;
@@ -72,6 +73,49 @@ public class DefaultBeanFactoryCircularDependencyTest {
     }
   }
 
+  /**
+   * 测试 Bean 创建时报告的依赖路径
+   */
+  @Test
+  public void testCircularDependencyPathDuringBeanCreation() {
+    registerBean("circularA", CircularServiceA.class);
+    registerBean("circularB", CircularServiceB.class);
+
+    try {
+      beanFactory.getBean("circularA");
+      fail("应该抛出循环依赖异常");
+    } catch (CircularDependencyException e) {
+      assertEquals("依赖路径应该从 circularA 出发并回到 circularA",
+          Arrays.asList("circularA", "circularB", "circularA"), e.getDependencyPath());
+      assertEquals("circularA -> circularB -> circularA", e.getFormattedDependencyPath());
+    }
+
+    // 创建失败后创建链路应该被清理，正常的 Bean 仍可创建
+    assertTrue("创建链路应该为空",
+        beanFactory.getCircularDependencyDetector().getCurrentCreationPath().isEmpty());
+    registerBean("normalA", NormalServiceA.class);
+    registerBean("normalB", NormalServiceB.class);
+    assertNotNull(beanFactory.getBean("normalA"));
+  }
+
+  /**
+   * 测试原型 Bean 在创建时的循环依赖检测
+   */
+  @Test
+  public void testPrototypeCircularDependencyDuringBeanCreation() {
+    registerBean("circularX", CircularServiceX.class, Scope.PROTOTYPE);
+    registerBean("circularY", CircularServiceY.class, Scope.PROTOTYPE);
+    registerBean("circularZ", CircularServiceZ.class, Scope.PROTOTYPE);
+
+    try {
+      beanFactory.getBean("circularY");
+      fail("应该抛出循环依赖异常");
+    } catch (CircularDependencyException e) {
+      assertEquals(Arrays.asList("circularY", "circularZ", "circularX", "circularY"),
+          e.getDependencyPath());
+    }
+  }
+
   /**
    * 测试三个 Bean 的循环依赖
    */
@@ -198,10 +242,17 @@ public class DefaultBeanFactoryCircularDependencyTest {
    * 辅助方法：注册 Bean 定义
    */
   private void registerBean(String beanName, Class<?> beanClass) {
+    registerBean(beanName, beanClass, Scope.SINGLETON);
+  }
+
+  /**
+   * 辅助方法：注册指定作用域的 Bean 定义
+   */
+  private void registerBean(String beanName, Class<?> beanClass, Scope scope) {
     BeanDefinition beanDefinition = new BeanDefinition();
     beanDefinition.setBeanName(beanName);
     beanDefinition.setBeanClass(beanClass);
-    beanDefinition.setScope(Scope.SINGLETON);
+    beanDefinition.setScope(scope);
     beanFactory.registerBeanDefinition(beanName, beanDefinition);
   }
 
@@ -1,13 +1,24 @@
 package com.simplespring.beans.factory.support;
 
+import com.simplespring.beans.factory.BeanCreationException;
 import com.simplespring.beans.factory.config.BeanDefinition;
 import com.simplespring.beans.factory.config.BeanPostProcessor;
 import com.simplespring.beans.factory.config.Scope;
+import com.simplespring.beans.factory.config.SelectiveBeanPostProcessor;
+import com.simplespring.core.annotation.Autowired;
 import com.simplespring.core.annotation.PostConstruct;
 import com.simplespring.core.annotation.PreDestroy;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
 import static org.junit.Assert.*;
 
 /**
@@ -183,6 +194,178 @@ public class DefaultBeanFactoryLifecycleTest {
         2, beanFactory.getBeanPostProcessors().size());
   }
 
+  @Test
+  public void testSelectiveBeanPostProcessorOnlyAppliedToSupportedClasses() {
+    // 测试后处理器链按类计算，不适用的后处理器被跳过
+    SelectiveProcessor selectiveProcessor = new SelectiveProcessor(LifecycleTestBean.class);
+    beanFactory.addBeanPostProcessor(selectiveProcessor);
+    registerPrototype("lifecycleBean", LifecycleTestBean.class);
+    registerPrototype("plainBean", PlainBean.class);
+
+    beanFactory.getBean("lifecycleBean");
+    beanFactory.getBean("lifecycleBean");
+    beanFactory.getBean("plainBean");
+    assertEquals(2, selectiveProcessor.processedCount.get());
+    assertEquals("supports 的结果应该按类缓存", 2, selectiveProcessor.supportsCount.get());
+
+    // 添加后处理器后重新计算处理器链
+    CustomBeanPostProcessor customProcessor = new CustomBeanPostProcessor();
+    beanFactory.addBeanPostProcessor(customProcessor);
+    beanFactory.getBean("plainBean");
+    assertTrue(customProcessor.isAfterInitializationCalled());
+    assertEquals(2, selectiveProcessor.processedCount.get());
+    assertEquals(3, selectiveProcessor.supportsCount.get());
+
+    // 没有 @PostConstruct 方法的类不经过生命周期处理器
+    assertFalse(beanFactory.getLifecycleProcessor().supports(PlainBean.class));
+    assertTrue(beanFactory.getLifecycleProcessor().supports(LifecycleTestBean.class));
+  }
+
+  @Test
+  public void testConcurrentBeanPostProcessorModification() throws Exception {
+    // 测试创建 Bean 的同时增删后处理器不会抛出 ConcurrentModificationException
+    registerPrototype("lifecycleBean", LifecycleTestBean.class);
+    final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+    final CountDownLatch done = new CountDownLatch(1);
+
+    Thread creator = new Thread(new Runnable() {
+      @Override
+      public void run() {
+        try {
+          for (int i = 0; i < 2000; i++) {
+            assertTrue(beanFactory.getBean("lifecycleBean", LifecycleTestBean.class).isPostConstructCalled());
+          }
+        } catch (Throwable e) {
+          failure.set(e);
+        } finally {
+          done.countDown();
+        }
+      }
+    });
+    creator.start();
+    while (done.getCount() > 0) {
+      CustomBeanPostProcessor processor = new CustomBeanPostProcessor();
+      beanFactory.addBeanPostProcessor(processor);
+      beanFactory.removeBeanPostProcessor(processor);
+    }
+    creator.join();
+
+    assertNull("并发修改后处理器列表时创建 Bean 失败: " + failure.get(), failure.get());
+    assertEquals(1, beanFactory.getBeanPostProcessors().size());
+  }
+
+  private void registerPrototype(String beanName, Class<?> beanClass) {
+    BeanDefinition beanDefinition = new BeanDefinition(beanClass, beanName);
+    beanDefinition.setScope(Scope.PROTOTYPE);
+    beanFactory.registerBeanDefinition(beanName, beanDefinition);
+  }
+
+  @Test
+  public void testAsyncPostConstructRunsInBackgroundAndGetBeanWaits() {
+    registerSingleton("asyncBean", AsyncInitBean.class);
+
+    // 预实例化不等待异步初始化
+    AsyncInitBean bean = (AsyncInitBean) beanFactory.preInstantiateSingleton("asyncBean");
+    assertNotNull(bean);
+
+    // 获取 Bean 时等待异步初始化完成
+    assertSame(bean, beanFactory.getBean("asyncBean"));
+    assertTrue("异步 @PostConstruct 方法应该已经完成", bean.isInitialized());
+    assertTrue("异步 @PostConstruct 方法应该在后台线程执行",
+        bean.getInitThreadName().startsWith("simplespring-async-init-"));
+    assertFalse(beanFactory.getBeanRegistry().isInitializing("asyncBean"));
+  }
+
+  @Test
+  public void testDependentBeanSeesInitializedAsyncDependency() {
+    registerSingleton("asyncBean", AsyncInitBean.class);
+    registerSingleton("dependentBean", AsyncDependentBean.class);
+
+    beanFactory.preInstantiateSingleton("asyncBean");
+    AsyncDependentBean dependent = beanFactory.getBean("dependentBean", AsyncDependentBean.class);
+
+    assertTrue("依赖方注入时应该等待异步初始化完成", dependent.isDependencyInitializedAtInit());
+  }
+
+  @Test
+  public void testAsyncPostConstructFailure() {
+    registerSingleton("failingBean", FailingAsyncBean.class);
+    beanFactory.preInstantiateSingleton("failingBean");
+
+    try {
+      beanFactory.awaitAsyncInitializations();
+      fail("应该抛出 BeanCreationException");
+    } catch (BeanCreationException e) {
+      assertEquals("failingBean", e.getBeanName());
+      assertNotNull("应该保留原始异常", e.getCause());
+    }
+
+    try {
+      beanFactory.getBean("failingBean");
+      fail("初始化失败的 Bean 不应该可用");
+    } catch (BeanCreationException e) {
+      assertEquals("failingBean", e.getBeanName());
+    }
+  }
+
+  @Test
+  public void testAsyncPostConstructTimeout() {
+    registerSingleton("slowBean", SlowAsyncBean.class);
+
+    try {
+      beanFactory.getBean("slowBean");
+      fail("应该抛出 BeanCreationException");
+    } catch (BeanCreationException e) {
+      assertTrue(e.getMessage().contains("超时"));
+    }
+  }
+
+  @Test
+  public void testAsyncPostConstructRunsSynchronouslyForPrototype() {
+    registerPrototype("asyncPrototype", AsyncInitBean.class);
+
+    AsyncInitBean bean = beanFactory.getBean("asyncPrototype", AsyncInitBean.class);
+    assertTrue(bean.isInitialized());
+    assertEquals("原型 Bean 的异步 @PostConstruct 应该在当前线程执行",
+        Thread.currentThread().getName(), bean.getInitThreadName());
+  }
+
+  @Test
+  public void testAsyncPostConstructUsesCustomExecutor() {
+    final AtomicInteger submitted = new AtomicInteger();
+    beanFactory.getLifecycleProcessor().setAsyncInitializationExecutor(new Executor() {
+      @Override
+      public void execute(Runnable command) {
+        submitted.incrementAndGet();
+        command.run();
+      }
+    });
+    registerSingleton("asyncBean", AsyncInitBean.class);
+
+    AsyncInitBean bean = beanFactory.getBean("asyncBean", AsyncInitBean.class);
+    assertEquals(1, submitted.get());
+    assertTrue(bean.isInitialized());
+  }
+
+  private void registerSingleton(String beanName, Class<?> beanClass) {
+    beanFactory.registerBeanDefinition(beanName, new BeanDefinition(beanClass, beanName));
+  }
+
+  @Test
+  public void testDestroySingletonsInReverseDependencyOrder() {
+    DESTRUCTION_ORDER.clear();
+    registerSingleton("repository", OrderedRepository.class);
+    registerSingleton("service", OrderedService.class);
+    beanFactory.getBeanRegistry().registerSingleton("external", new LifecycleTestBean());
+
+    beanFactory.getBean("repository");
+    beanFactory.getBean("service");
+    beanFactory.destroySingletons();
+
+    assertEquals("依赖方应该先于依赖被销毁", Arrays.asList("service", "repository"), DESTRUCTION_ORDER);
+    assertEquals(0, beanFactory.getBeanRegistry().getSingletonNames().length);
+  }
+
   @Test
   public void testLifecycleProcessorAccess() {
     LifecycleProcessor lifecycleProcessor = beanFactory.getLifecycleProcessor();
@@ -220,6 +403,104 @@ public class DefaultBeanFactoryLifecycleTest {
     }
   }
 
+  public static class PlainBean {
+  }
+
+  private static final List<String> DESTRUCTION_ORDER = new CopyOnWriteArrayList<String>();
+
+  public static class OrderedRepository {
+    @PreDestroy
+    public void close() {
+      DESTRUCTION_ORDER.add("repository");
+    }
+  }
+
+  public static class OrderedService {
+    @Autowired
+    private OrderedRepository repository;
+
+    @PreDestroy
+    public void close() {
+      DESTRUCTION_ORDER.add("service");
+    }
+  }
+
+  public static class AsyncInitBean {
+    private volatile boolean initialized;
+    private volatile String initThreadName;
+
+    @PostConstruct(async = true)
+    public void init() throws InterruptedException {
+      Thread.sleep(50);
+      initThreadName = Thread.currentThread().getName();
+      initialized = true;
+    }
+
+    public boolean isInitialized() {
+      return initialized;
+    }
+
+    public String getInitThreadName() {
+      return initThreadName;
+    }
+  }
+
+  public static class AsyncDependentBean {
+    @Autowired
+    private AsyncInitBean dependency;
+    private boolean dependencyInitializedAtInit;
+
+    @PostConstruct
+    public void init() {
+      dependencyInitializedAtInit = dependency.isInitialized();
+    }
+
+    public boolean isDependencyInitializedAtInit() {
+      return dependencyInitializedAtInit;
+    }
+  }
+
+  public static class FailingAsyncBean {
+    @PostConstruct(async = true)
+    public void init() {
+      throw new IllegalStateException("连接失败");
+    }
+  }
+
+  public static class SlowAsyncBean {
+    @PostConstruct(async = true, timeout = 20)
+    public void init() throws InterruptedException {
+      Thread.sleep(5000);
+    }
+  }
+
+  public static class SelectiveProcessor implements SelectiveBeanPostProcessor {
+    private final Class<?> supportedClass;
+    private final AtomicInteger supportsCount = new AtomicInteger();
+    private final AtomicInteger processedCount = new AtomicInteger();
+
+    public SelectiveProcessor(Class<?> supportedClass) {
+      this.supportedClass = supportedClass;
+    }
+
+    @Override
+    public boolean supports(Class<?> beanClass) {
+      supportsCount.incrementAndGet();
+      return beanClass == supportedClass;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+      return bean;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+      processedCount.incrementAndGet();
+      return bean;
+    }
+  }
+
   public static class CustomBeanPostProcessor implements BeanPostProcessor {
     private boolean beforeInitializationCalled = false;
     private boolean afterInitializationCalled = false;
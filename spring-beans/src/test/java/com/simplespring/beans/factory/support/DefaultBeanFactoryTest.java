@@ -4,8 +4,16 @@ import com.simplespring.beans.factory.*;
 import com.simplespring.beans.factory.config.BeanDefinition;
 import com.simplespring.beans.factory.config.Scope;
 import com.simplespring.core.annotation.Autowired;
+import com.simplespring.core.metrics.RecordingApplicationStartup;
 import org.junit.Before;
 import org.junit.Test;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static org.junit.Assert.*;
 
 /**
@@ -290,6 +298,225 @@ public class DefaultBeanFactoryTest {
     beanFactory.getBean((Class<?>) null);
   }
 
+  @Test
+  public void testConcurrentGetBeanCreatesSingleInstance() throws Exception {
+    // 测试 64 个线程同时获取尚未创建的单例 Bean 时只创建一个实例
+    beanFactory.registerBeanDefinition("slowService", new BeanDefinition(SlowService.class, "slowService"));
+    SlowService.instanceCount.set(0);
+
+    final int threadCount = 64;
+    final CountDownLatch startSignal = new CountDownLatch(1);
+    final Object[] results = new Object[threadCount];
+    final Throwable[] failures = new Throwable[threadCount];
+    Thread[] threads = new Thread[threadCount];
+
+    for (int i = 0; i < threadCount; i++) {
+      final int index = i;
+      threads[i] = new Thread(new Runnable() {
+        @Override
+        public void run() {
+          try {
+            startSignal.await();
+            results[index] = beanFactory.getBean("slowService");
+          } catch (Throwable e) {
+            failures[index] = e;
+          }
+        }
+      });
+      threads[i].start();
+    }
+
+    startSignal.countDown();
+    for (Thread thread : threads) {
+      thread.join(10000);
+    }
+
+    assertEquals("只应该创建一个实例", 1, SlowService.instanceCount.get());
+    for (int i = 0; i < threadCount; i++) {
+      assertNull("线程 " + i + " 不应该失败: " + failures[i], failures[i]);
+      assertSame("所有线程应该得到同一个实例", results[0], results[i]);
+    }
+  }
+
+  @Test
+  public void testInjectionPlanReusedUntilRegistryChanges() {
+    // 测试注入计划在注册表不变时复用，注册新的 Bean 定义后重建
+    BeanDefinition serviceDefinition = new BeanDefinition(TestServiceWithFieldInjection.class, "fieldService");
+    serviceDefinition.setScope(Scope.PROTOTYPE);
+    beanFactory.registerBeanDefinition("fieldService", serviceDefinition);
+    beanFactory.registerBeanDefinition("testRepository", new BeanDefinition(TestRepository.class, "testRepository"));
+
+    beanFactory.getBean("fieldService");
+    InjectionPlan plan = beanFactory.getInjectionPlan("fieldService", serviceDefinition);
+    TestServiceWithFieldInjection service = (TestServiceWithFieldInjection) beanFactory.getBean("fieldService");
+    assertSame("注册表未变化时应该复用注入计划", plan, beanFactory.getInjectionPlan("fieldService", serviceDefinition));
+    assertNotNull(service.getRepository());
+
+    beanFactory.registerBeanDefinition("testUtil", new BeanDefinition(TestUtil.class, "testUtil"));
+    assertNotSame("注册表变化后应该重建注入计划", plan, beanFactory.getInjectionPlan("fieldService", serviceDefinition));
+  }
+
+  @Test
+  public void testOptionalDependencyResolvedAfterRegistration() {
+    // 测试可选依赖在对应 Bean 注册后能被注入
+    BeanDefinition serviceDefinition = new BeanDefinition(TestServiceWithOptionalDependency.class, "optionalService");
+    serviceDefinition.setScope(Scope.PROTOTYPE);
+    beanFactory.registerBeanDefinition("optionalService", serviceDefinition);
+
+    TestServiceWithOptionalDependency before = (TestServiceWithOptionalDependency) beanFactory.getBean("optionalService");
+    assertNull("可选依赖不存在时应该为 null", before.getRepository());
+
+    beanFactory.registerBeanDefinition("testRepository", new BeanDefinition(TestRepository.class, "testRepository"));
+    TestServiceWithOptionalDependency after = (TestServiceWithOptionalDependency) beanFactory.getBean("optionalService");
+    assertNotNull("注册依赖后应该注入", after.getRepository());
+  }
+
+  @Test
+  public void testPooledBeanReleasedAndReused() {
+    // 测试池化作用域的 Bean 归还后被再次借出，依赖照常注入
+    beanFactory.registerBeanDefinition("testRepository", new BeanDefinition(TestRepository.class, "testRepository"));
+    BeanDefinition serviceDefinition = new BeanDefinition(TestServiceWithFieldInjection.class, "pooledService");
+    serviceDefinition.setScope(Scope.POOLED);
+    beanFactory.registerBeanDefinition("pooledService", serviceDefinition);
+
+    assertNull("首次借出前不应该创建对象池", beanFactory.getBeanPoolMetrics("pooledService"));
+    Object first = beanFactory.getBean("pooledService");
+    Object second = beanFactory.getBean("pooledService");
+    assertNotSame("借出中的实例不应该被重复借出", first, second);
+    assertNotNull(((TestServiceWithFieldInjection) first).getRepository());
+    assertFalse(beanFactory.isSingleton("pooledService"));
+    assertFalse(beanFactory.isPrototype("pooledService"));
+
+    beanFactory.releaseBean("pooledService", first);
+    assertSame("归还的实例应该被复用", first, beanFactory.getBean("pooledService"));
+
+    BeanPoolMetrics metrics = beanFactory.getBeanPoolMetrics("pooledService");
+    assertEquals(1, metrics.getHitCount());
+    assertEquals(2, metrics.getMissCount());
+    assertEquals(2, metrics.getActiveCount());
+  }
+
+  @Test
+  public void testPooledBeanRejectedAsInjectionTarget() {
+    // 测试池化作用域的 Bean 不能被注入，注入失败不会占用对象池的名额
+    BeanDefinition repositoryDefinition = new BeanDefinition(TestRepository.class, "testRepository");
+    repositoryDefinition.setScope(Scope.POOLED);
+    repositoryDefinition.setPoolMaxSize(2);
+    repositoryDefinition.setPoolMaxWait(50);
+    beanFactory.registerBeanDefinition("testRepository", repositoryDefinition);
+    BeanDefinition serviceDefinition = new BeanDefinition(TestServiceWithFieldInjection.class, "prototypeService");
+    serviceDefinition.setScope(Scope.PROTOTYPE);
+    beanFactory.registerBeanDefinition("prototypeService", serviceDefinition);
+
+    for (int i = 0; i < 3; i++) {
+      try {
+        beanFactory.getBean("prototypeService");
+        fail("注入池化作用域的 Bean 应该失败");
+      } catch (BeanCreationException e) {
+        assertTrue(causeMessages(e).contains("池化作用域的 Bean 不能作为依赖注入"));
+      }
+    }
+
+    assertNull("拒绝注入时不应该借出实例", beanFactory.getBeanPoolMetrics("testRepository"));
+    Object first = beanFactory.getBean("testRepository");
+    Object second = beanFactory.getBean("testRepository");
+    assertNotSame(first, second);
+    assertEquals(2, beanFactory.getBeanPoolMetrics("testRepository").getActiveCount());
+  }
+
+  private static String causeMessages(Throwable throwable) {
+    StringBuilder messages = new StringBuilder();
+    for (Throwable t = throwable; t != null; t = t.getCause()) {
+      messages.append(t.getMessage()).append('\n');
+    }
+    return messages.toString();
+  }
+
+  @Test
+  public void testLazyDependencyInjectedAsProxy() {
+    // 测试依赖懒加载单例时注入延迟解析代理，首次调用时才创建
+    BeanDefinition greeterDefinition = new BeanDefinition(TestGreeterImpl.class, "greeter");
+    greeterDefinition.setLazyInit(true);
+    beanFactory.registerBeanDefinition("greeter", greeterDefinition);
+    beanFactory.registerBeanDefinition("greeterClient", new BeanDefinition(TestGreeterClient.class, "greeterClient"));
+
+    TestGreeterClient client = (TestGreeterClient) beanFactory.getBean("greeterClient");
+    assertTrue(LazyResolutionProxy.isUnresolved(client.greeter));
+    assertFalse("懒加载 Bean 不应该在注入时创建", beanFactory.getBeanRegistry().containsSingleton("greeter"));
+
+    assertEquals("hello lazy", client.greeter.greet("lazy"));
+    assertSame(beanFactory.getBean("greeter"), beanFactory.getBeanRegistry().getSingleton("greeter"));
+    assertFalse(LazyResolutionProxy.isUnresolved(client.greeter));
+  }
+
+  @Test
+  public void testLazyDependencyWithClassTypeCreatedOnInjection() {
+    // 测试依赖声明为具体类时无法代理，懒加载 Bean 在注入时创建
+    BeanDefinition repositoryDefinition = new BeanDefinition(TestRepository.class, "testRepository");
+    repositoryDefinition.setLazyInit(true);
+    beanFactory.registerBeanDefinition("testRepository", repositoryDefinition);
+    beanFactory.registerBeanDefinition("fieldService",
+        new BeanDefinition(TestServiceWithFieldInjection.class, "fieldService"));
+
+    TestServiceWithFieldInjection service = (TestServiceWithFieldInjection) beanFactory.getBean("fieldService");
+    assertSame(beanFactory.getBean("testRepository"), service.getRepository());
+  }
+
+  @Test
+  public void testCollectionAndProviderInjection() {
+    // 测试注入 List、Map 和 ObjectProvider，以及构造函数的集合参数
+    beanFactory.registerBeanDefinition("greeterAggregator",
+        new BeanDefinition(TestGreeterAggregator.class, "greeterAggregator"));
+    beanFactory.registerBeanDefinition("greeter", new BeanDefinition(TestGreeterImpl.class, "greeter"));
+    beanFactory.registerBeanDefinition("politeGreeter", new BeanDefinition(TestPoliteGreeter.class, "politeGreeter"));
+
+    TestGreeterAggregator aggregator = (TestGreeterAggregator) beanFactory.getBean("greeterAggregator");
+    assertEquals(2, aggregator.greeters.size());
+    assertSame(beanFactory.getBean("greeter"), aggregator.greeters.get(0));
+    assertSame(beanFactory.getBean("politeGreeter"), aggregator.greetersByName.get("politeGreeter"));
+    assertSame(beanFactory.getBean("politeGreeter"), aggregator.politeGreeter.getObject());
+    assertEquals(2, aggregator.constructorGreeters.size());
+  }
+
+  @Test
+  public void testApplicationStartupRecordsCreationPhases() {
+    // 测试记录 Bean 创建各阶段的耗时和嵌套关系，依赖的创建嵌套在填充阶段内
+    RecordingApplicationStartup startup = new RecordingApplicationStartup();
+    beanFactory.setApplicationStartup(startup);
+    beanFactory.registerBeanDefinition("testRepository", new BeanDefinition(TestRepository.class, "testRepository"));
+    beanFactory.registerBeanDefinition("fieldService",
+        new BeanDefinition(TestServiceWithFieldInjection.class, "fieldService"));
+
+    beanFactory.getBean("fieldService");
+
+    RecordingApplicationStartup.RecordedStep create = null;
+    RecordingApplicationStartup.RecordedStep populate = null;
+    RecordingApplicationStartup.RecordedStep dependency = null;
+    for (RecordingApplicationStartup.RecordedStep step : startup.getSteps()) {
+      if ("beans.create".equals(step.getName())) {
+        if ("fieldService".equals(step.getTag("beanName"))) {
+          create = step;
+        } else {
+          dependency = step;
+        }
+      } else if ("beans.create.populate".equals(step.getName()) && "fieldService".equals(step.getTag("beanName"))) {
+        populate = step;
+      }
+    }
+    assertNotNull(create);
+    assertEquals(Long.valueOf(create.getId()), populate.getParentId());
+    assertEquals("testRepository", dependency.getTag("beanName"));
+    assertEquals(Long.valueOf(populate.getId()), dependency.getParentId());
+    assertEquals(8, startup.getSteps().size());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testReleaseNonPooledBean() {
+    // 测试归还非池化作用域的 Bean 抛出异常
+    beanFactory.registerBeanDefinition("testRepository", new BeanDefinition(TestRepository.class, "testRepository"));
+    beanFactory.releaseBean("testRepository", beanFactory.getBean("testRepository"));
+  }
+
   // 辅助方法
   private boolean contains(String[] array, String value) {
     for (String item : array) {
@@ -301,6 +528,56 @@ public class DefaultBeanFactoryTest {
   }
 
   // 测试用的类
+  public interface TestGreeter {
+    String greet(String name);
+  }
+
+  public static class TestGreeterImpl implements TestGreeter {
+    @Override
+    public String greet(String name) {
+      return "hello " + name;
+    }
+  }
+
+  public static class TestGreeterClient {
+    @Autowired
+    private TestGreeter greeter;
+  }
+
+  public static class TestPoliteGreeter implements TestGreeter {
+    @Override
+    public String greet(String name) {
+      return "good day " + name;
+    }
+  }
+
+  public static class TestGreeterAggregator {
+    @Autowired
+    private List<TestGreeter> greeters;
+
+    @Autowired
+    private Map<String, TestGreeter> greetersByName;
+
+    @Autowired
+    private ObjectProvider<TestPoliteGreeter> politeGreeter;
+
+    private final Collection<TestGreeter> constructorGreeters;
+
+    @Autowired
+    public TestGreeterAggregator(Collection<TestGreeter> constructorGreeters) {
+      this.constructorGreeters = constructorGreeters;
+    }
+  }
+
+  public static class SlowService {
+    static final AtomicInteger instanceCount = new AtomicInteger();
+
+    public SlowService() throws InterruptedException {
+      instanceCount.incrementAndGet();
+      // 放大并发创建的时间窗口
+      Thread.sleep(50);
+    }
+  }
 
   public static class TestService {
   }
@@ -320,6 +597,15 @@ public class DefaultBeanFactoryTest {
     }
   }
 
+  public static class TestServiceWithOptionalDependency {
+    @Autowired(required = false)
+    private TestRepository repository;
+
+    public TestRepository getRepository() {
+      return repository;
+    }
+  }
+
   public static class TestServiceWithMethodInjection {
     private TestRepository repository;
 
@@ -0,0 +1,173 @@
+package com.simplespring.beans.factory.support;
+
+import com.simplespring.beans.factory.NoSuchBeanDefinitionException;
+import com.simplespring.beans.factory.NoUniqueBeanDefinitionException;
+import com.simplespring.beans.factory.ObjectProvider;
+import com.simplespring.beans.factory.config.BeanDefinition;
+import com.simplespring.beans.factory.config.Scope;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * DependencyDescriptor 测试类
+ *
+ * @author SimpleSpring Framework
+ */
+public class DependencyDescriptorTest {
+
+  private DefaultBeanFactory beanFactory;
+
+  private BeanRegistry beanRegistry;
+
+  @Before
+  public void setUp() {
+    beanFactory = new DefaultBeanFactory();
+    beanRegistry = beanFactory.getBeanRegistry();
+  }
+
+  @Test
+  public void testResolvesKindFromGenericType() throws Exception {
+    // 测试从泛型信息解析依赖形式和元素类型
+    DependencyDescriptor list = descriptor("handlers", true);
+    assertEquals(DependencyDescriptor.Kind.LIST, list.getKind());
+    assertEquals(Handler.class, list.getDependencyType());
+
+    DependencyDescriptor map = descriptor("handlersByName", true);
+    assertEquals(DependencyDescriptor.Kind.MAP, map.getKind());
+    assertEquals(Handler.class, map.getDependencyType());
+
+    DependencyDescriptor provider = descriptor("handlerProvider", true);
+    assertEquals(DependencyDescriptor.Kind.PROVIDER, provider.getKind());
+    assertEquals(Handler.class, provider.getDependencyType());
+
+    DependencyDescriptor rawList = descriptor("rawList", true);
+    assertTrue("没有泛型信息的集合按单个 Bean 处理", rawList.isSingle());
+    assertEquals(List.class, rawList.getDependencyType());
+
+    DependencyDescriptor integerKeyMap = descriptor("handlersById", true);
+    assertTrue("键不是 String 的 Map 按单个 Bean 处理", integerKeyMap.isSingle());
+  }
+
+  @Test
+  public void testResolvesListAndMapInRegistrationOrder() throws Exception {
+    // 测试集合依赖按注册顺序包含所有匹配的 Bean
+    registerHandlers();
+
+    @SuppressWarnings("unchecked")
+    List<Object> handlers = (List<Object>) descriptor("handlers", true).resolve(beanRegistry, beanFactory);
+    assertEquals(2, handlers.size());
+    assertSame(beanFactory.getBean("firstHandler"), handlers.get(0));
+    assertSame(beanFactory.getBean("secondHandler"), handlers.get(1));
+
+    @SuppressWarnings("unchecked")
+    Map<String, Object> handlersByName =
+        (Map<String, Object>) descriptor("handlersByName", true).resolve(beanRegistry, beanFactory);
+    assertEquals(Arrays.asList("firstHandler", "secondHandler"),
+        Arrays.asList(handlersByName.keySet().toArray()));
+    assertSame(handlers.get(1), handlersByName.get("secondHandler"));
+  }
+
+  @Test
+  public void testEmptyCollection() throws Exception {
+    // 测试没有匹配时必需的依赖抛出异常，可选的依赖返回 null
+    assertNull(descriptor("handlers", false).resolve(beanRegistry, beanFactory));
+    try {
+      descriptor("handlers", true).resolve(beanRegistry, beanFactory);
+      fail("应该抛出 DependencyInjectionException");
+    } catch (DependencyInjectionException e) {
+      assertTrue(e.getMessage().contains(Handler.class.getName()));
+    }
+  }
+
+  @Test
+  public void testCandidateNamesRefreshedOnlyWhenRegistryChanges() throws Exception {
+    // 测试候选名称在注册表未变化时复用，新注册 Bean 后刷新
+    DependencyDescriptor descriptor = descriptor("handlers", true);
+    beanFactory.registerBeanDefinition("firstHandler", new BeanDefinition(FirstHandler.class, "firstHandler"));
+
+    String[] first = descriptor.getCandidateNames(beanRegistry);
+    assertSame(first, descriptor.getCandidateNames(beanRegistry));
+    assertEquals(1, first.length);
+
+    beanFactory.registerBeanDefinition("secondHandler", new BeanDefinition(SecondHandler.class, "secondHandler"));
+    assertEquals(2, descriptor.getCandidateNames(beanRegistry).length);
+  }
+
+  @Test
+  public void testObjectProvider() throws Exception {
+    // 测试提供者延迟解析，缓存单例并在注册表变化后重新解析
+    @SuppressWarnings("unchecked")
+    ObjectProvider<Object> provider =
+        (ObjectProvider<Object>) descriptor("handlerProvider", true).resolve(beanRegistry, beanFactory);
+    assertNull(provider.getIfAvailable());
+    assertNull(provider.getIfUnique());
+    try {
+      provider.getObject();
+      fail("应该抛出 NoSuchBeanDefinitionException");
+    } catch (NoSuchBeanDefinitionException e) {
+      // 预期异常
+    }
+
+    beanFactory.registerBeanDefinition("firstHandler", new BeanDefinition(FirstHandler.class, "firstHandler"));
+    assertFalse("提供者不应该在注入时创建 Bean", beanRegistry.containsSingleton("firstHandler"));
+    Object handler = provider.getObject();
+    assertSame(beanFactory.getBean("firstHandler"), handler);
+    assertSame(handler, provider.getIfAvailable());
+
+    beanFactory.registerBeanDefinition("secondHandler", new BeanDefinition(SecondHandler.class, "secondHandler"));
+    assertNull(provider.getIfUnique());
+    try {
+      provider.getObject();
+      fail("应该抛出 NoUniqueBeanDefinitionException");
+    } catch (NoUniqueBeanDefinitionException e) {
+      assertEquals(2, e.getNumberOfBeansFound());
+    }
+  }
+
+  @Test
+  public void testObjectProviderDoesNotCachePrototype() throws Exception {
+    // 测试原型作用域的依赖每次都创建新实例
+    BeanDefinition definition = new BeanDefinition(FirstHandler.class, "firstHandler");
+    definition.setScope(Scope.PROTOTYPE);
+    beanFactory.registerBeanDefinition("firstHandler", definition);
+
+    @SuppressWarnings("unchecked")
+    ObjectProvider<Object> provider =
+        (ObjectProvider<Object>) descriptor("handlerProvider", true).resolve(beanRegistry, beanFactory);
+    assertNotSame(provider.getObject(), provider.getObject());
+  }
+
+  private DependencyDescriptor descriptor(String fieldName, boolean required) throws Exception {
+    return DependencyDescriptor.forField(Injected.class.getDeclaredField(fieldName), required);
+  }
+
+  private void registerHandlers() {
+    beanFactory.registerBeanDefinition("firstHandler", new BeanDefinition(FirstHandler.class, "firstHandler"));
+    beanFactory.registerBeanDefinition("secondHandler", new BeanDefinition(SecondHandler.class, "secondHandler"));
+  }
+
+  // 测试用的类
+  public interface Handler {
+  }
+
+  public static class FirstHandler implements Handler {
+  }
+
+  public static class SecondHandler implements Handler {
+  }
+
+  @SuppressWarnings({ "unused", "rawtypes" })
+  private static class Injected {
+    private List<Handler> handlers;
+    private Map<String, Handler> handlersByName;
+    private Map<Integer, Handler> handlersById;
+    private ObjectProvider<Handler> handlerProvider;
+    private List rawList;
+  }
+}
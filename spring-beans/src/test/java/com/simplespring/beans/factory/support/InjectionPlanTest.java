@@ -0,0 +1,123 @@
+package com.simplespring.beans.factory.support;
+
+import com.simplespring.beans.factory.config.BeanDefinition;
+import com.simplespring.core.annotation.Autowired;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * InjectionPlan 测试类
+ *
+ * @author SimpleSpring Framework
+ */
+public class InjectionPlanTest {
+
+  private BeanRegistry beanRegistry;
+
+  @Before
+  public void setUp() {
+    beanRegistry = new BeanRegistry();
+  }
+
+  @Test
+  public void testBuildPlan() {
+    // 测试计划包含构造函数参数、字段和方法参数的所有注入点
+    beanRegistry.registerBeanDefinition("repository", new BeanDefinition(Repository.class, "repository"));
+    BeanDefinition definition = createDefinition(Service.class);
+
+    InjectionPlan plan = InjectionPlan.build(definition, beanRegistry);
+
+    assertNotNull(plan.getConstructor());
+    assertEquals(1, plan.getConstructor().getParameterTypes().length);
+    assertEquals(3, plan.getInjectionPointCount());
+    assertTrue(plan.isValidFor(definition, beanRegistry.getDefinitionVersion()));
+  }
+
+  @Test
+  public void testInstantiateAndPopulate() {
+    // 测试按计划创建实例并注入依赖
+    Repository repository = new Repository();
+    beanRegistry.registerBeanDefinition("repository", new BeanDefinition(Repository.class, "repository"));
+    beanRegistry.registerSingleton("repository", repository);
+
+    InjectionPlan plan = InjectionPlan.build(createDefinition(Service.class), beanRegistry);
+    Service service = (Service) plan.instantiate(beanRegistry, null);
+    plan.populate(service, beanRegistry, null);
+
+    assertSame(repository, service.constructorRepository);
+    assertSame(repository, service.fieldRepository);
+    assertSame(repository, service.methodRepository);
+  }
+
+  @Test
+  public void testPlanInvalidatedByRegistryChange() {
+    // 测试注册表变化后计划失效
+    BeanDefinition definition = createDefinition(Repository.class);
+    InjectionPlan plan = InjectionPlan.build(definition, beanRegistry);
+
+    beanRegistry.registerBeanDefinition("repository", new BeanDefinition(Repository.class, "repository"));
+
+    assertFalse(plan.isValidFor(definition, beanRegistry.getDefinitionVersion()));
+    assertFalse(plan.isValidFor(createDefinition(Repository.class), beanRegistry.getDefinitionVersion()));
+  }
+
+  @Test(expected = DependencyInjectionException.class)
+  public void testAmbiguousDependency() {
+    // 测试有多个候选 Bean 时创建失败
+    beanRegistry.registerBeanDefinition("repository1", new BeanDefinition(Repository.class, "repository1"));
+    beanRegistry.registerBeanDefinition("repository2", new BeanDefinition(Repository.class, "repository2"));
+
+    InjectionPlan plan = InjectionPlan.build(createDefinition(Service.class), beanRegistry);
+    plan.instantiate(beanRegistry, null);
+  }
+
+  @Test(expected = DependencyInjectionException.class)
+  public void testConstructorSelectionFailureDeferredToInstantiation() {
+    // 测试构造函数选择失败时，异常在创建实例时抛出
+    InjectionPlan plan = InjectionPlan.build(createDefinition(MultipleAutowiredConstructors.class), beanRegistry);
+    assertNull(plan.getConstructor());
+    plan.instantiate(beanRegistry, null);
+  }
+
+  private BeanDefinition createDefinition(Class<?> beanClass) {
+    BeanDefinition definition = new BeanDefinition(beanClass);
+    definition.setAutowiredFields(FieldInjector.scanAutowiredFields(beanClass));
+    definition.setAutowiredMethods(MethodInjector.scanAutowiredMethods(beanClass));
+    return definition;
+  }
+
+  // 测试用的类
+  public static class Repository {
+  }
+
+  public static class Service {
+    private final Repository constructorRepository;
+
+    @Autowired
+    private Repository fieldRepository;
+
+    private Repository methodRepository;
+
+    @Autowired
+    public Service(Repository repository) {
+      this.constructorRepository = repository;
+    }
+
+    @Autowired
+    public void setMethodRepository(Repository methodRepository) {
+      this.methodRepository = methodRepository;
+    }
+  }
+
+  public static class MultipleAutowiredConstructors {
+    @Autowired
+    public MultipleAutowiredConstructors() {
+    }
+
+    @Autowired
+    public MultipleAutowiredConstructors(Repository repository) {
+    }
+  }
+}
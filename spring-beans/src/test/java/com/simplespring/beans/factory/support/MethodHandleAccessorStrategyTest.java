@@ -0,0 +1,152 @@
+package com.simplespring.beans.factory.support;
+
+import org.junit.Test;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+import static org.junit.Assert.*;
+
+/**
+ * MethodHandleAccessorStrategy 测试类
+ *
+ * @author SimpleSpring Framework
+ */
+public class MethodHandleAccessorStrategyTest {
+
+  private final BeanAccessorStrategy strategy = new MethodHandleAccessorStrategy();
+
+  @Test
+  public void testInstantiatorWithDifferentArities() throws Exception {
+    // 测试无参、单参数和多参数的构造函数
+    Target noArg = (Target) strategy.createInstantiator(Target.class.getDeclaredConstructor())
+        .newInstance(new Object[0]);
+    Target singleArg = (Target) strategy.createInstantiator(Target.class.getDeclaredConstructor(String.class))
+        .newInstance(new Object[] { "single" });
+    Target multiArg = (Target) strategy.createInstantiator(
+        Target.class.getDeclaredConstructor(String.class, int.class, Long.class))
+        .newInstance(new Object[] { "multi", 3, 4L });
+
+    assertNull(noArg.name);
+    assertEquals("single", singleArg.name);
+    assertEquals("multi", multiArg.name);
+    assertEquals(3, multiArg.count);
+    assertEquals(Long.valueOf(4L), multiArg.total);
+  }
+
+  @Test
+  public void testPrivateMembers() throws Exception {
+    // 测试私有构造函数、私有字段和私有方法
+    Target target = (Target) strategy.createInstantiator(Target.class.getDeclaredConstructor(int.class))
+        .newInstance(new Object[] { 7 });
+    assertEquals(7, target.count);
+
+    strategy.createFieldWriter(Target.class.getDeclaredField("name")).set(target, "field");
+    strategy.createFieldWriter(Target.class.getDeclaredField("count")).set(target, 8);
+    assertEquals("field", target.name);
+    assertEquals(8, target.count);
+
+    Object result = strategy.createMethodInvoker(Target.class.getDeclaredMethod("describe"))
+        .invoke(target, new Object[0]);
+    assertEquals("field:8", result);
+  }
+
+  @Test
+  public void testMethodInvokerWithDifferentArities() throws Exception {
+    // 测试 void 方法返回 null，多参数方法正确展开参数
+    Target target = new Target();
+
+    Object result = strategy.createMethodInvoker(Target.class.getDeclaredMethod("setName", String.class))
+        .invoke(target, new Object[] { "setter" });
+    assertNull(result);
+    assertEquals("setter", target.name);
+
+    strategy.createMethodInvoker(Target.class.getDeclaredMethod("configure", String.class, int.class))
+        .invoke(target, new Object[] { "configured", 5 });
+    assertEquals("configured", target.name);
+    assertEquals(5, target.count);
+  }
+
+  @Test
+  public void testTargetExceptionWrapped() throws Exception {
+    // 测试目标方法和构造函数抛出的异常与反射一样包装为 InvocationTargetException
+    Constructor<?> constructor = Failing.class.getDeclaredConstructor();
+    Method method = Target.class.getDeclaredMethod("fail");
+
+    try {
+      strategy.createInstantiator(constructor).newInstance(new Object[0]);
+      fail("应该抛出 InvocationTargetException");
+    } catch (InvocationTargetException e) {
+      assertTrue(e.getCause() instanceof IllegalStateException);
+    }
+
+    try {
+      strategy.createMethodInvoker(method).invoke(new Target(), new Object[0]);
+      fail("应该抛出 InvocationTargetException");
+    } catch (InvocationTargetException e) {
+      assertEquals("失败", e.getCause().getMessage());
+    }
+  }
+
+  @Test
+  public void testConsistentWithReflectionStrategy() throws Exception {
+    // 测试两种策略的行为一致
+    BeanAccessorStrategy reflection = new ReflectionAccessorStrategy();
+    Method describe = Target.class.getDeclaredMethod("describe");
+
+    for (BeanAccessorStrategy accessorStrategy : new BeanAccessorStrategy[] { strategy, reflection }) {
+      Target target = (Target) accessorStrategy.createInstantiator(
+          Target.class.getDeclaredConstructor(String.class, int.class, Long.class))
+          .newInstance(new Object[] { "same", 1, null });
+      assertEquals("same:1", accessorStrategy.createMethodInvoker(describe).invoke(target, new Object[0]));
+    }
+  }
+
+  // 测试用的类
+  public static class Target {
+    private String name;
+    private int count;
+    private Long total;
+
+    public Target() {
+    }
+
+    public Target(String name) {
+      this.name = name;
+    }
+
+    private Target(int count) {
+      this.count = count;
+    }
+
+    public Target(String name, int count, Long total) {
+      this.name = name;
+      this.count = count;
+      this.total = total;
+    }
+
+    public void setName(String name) {
+      this.name = name;
+    }
+
+    public void configure(String name, int count) {
+      this.name = name;
+      this.count = count;
+    }
+
+    private String describe() {
+      return name + ":" + count;
+    }
+
+    public void fail() {
+      throw new IllegalStateException("失败");
+    }
+  }
+
+  public static class Failing {
+    public Failing() {
+      throw new IllegalStateException("构造失败");
+    }
+  }
+}
@@ -0,0 +1,160 @@
+package com.simplespring.beans.factory.support;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+/**
+ * StronglyConnectedComponents 测试类
+ * 
+ * @author SimpleSpring Framework
+ */
+public class StronglyConnectedComponentsTest {
+
+  /**
+   * 测试无环依赖图的拓扑顺序
+   */
+  @Test
+  public void testTopologicalOrderOfAcyclicGraph() {
+    Map<String, Set<String>> graph = new LinkedHashMap<String, Set<String>>();
+    addEdges(graph, "a", "b", "c");
+    addEdges(graph, "b", "c");
+    addEdges(graph, "c");
+
+    StronglyConnectedComponents components = StronglyConnectedComponents.analyze(graph);
+
+    assertEquals(3, components.getComponentCount());
+    assertEquals("依赖应该排在前面", Arrays.asList("c", "b", "a"), components.getTopologicalOrder());
+    assertTrue(components.getCycles().isEmpty());
+    assertFalse(components.reachesCycle("a"));
+  }
+
+  /**
+   * 测试每个环路只报告一次且路径完整
+   */
+  @Test
+  public void testCyclesReportedOncePerComponent() {
+    Map<String, Set<String>> graph = new LinkedHashMap<String, Set<String>>();
+    // x -> y -> z -> x，同时 x -> z 形成额外的回边
+    addEdges(graph, "x", "y", "z");
+    addEdges(graph, "y", "z");
+    addEdges(graph, "z", "x");
+    addEdges(graph, "p", "q");
+    addEdges(graph, "q", "p");
+    addEdges(graph, "client", "x");
+
+    StronglyConnectedComponents components = StronglyConnectedComponents.analyze(graph);
+
+    List<List<String>> cycles = components.getCycles();
+    assertEquals("每个强连通分量只应该报告一条环路", 2, cycles.size());
+    for (List<String> cycle : cycles) {
+      assertEquals("环路首尾应该相同", cycle.get(0), cycle.get(cycle.size() - 1));
+      for (int i = 0; i < cycle.size() - 1; i++) {
+        assertTrue("环路中的每条边都应该存在", graph.get(cycle.get(i)).contains(cycle.get(i + 1)));
+      }
+    }
+
+    assertEquals(new HashSet<String>(Arrays.asList("x", "y", "z")),
+        new HashSet<String>(components.getComponent(components.getComponentIndex("x"))));
+    assertTrue(components.isInCycle("p"));
+    assertFalse(components.isInCycle("client"));
+    assertTrue("client 依赖了环路中的 Bean", components.reachesCycle("client"));
+  }
+
+  /**
+   * 测试自依赖
+   */
+  @Test
+  public void testSelfDependency() {
+    Map<String, Set<String>> graph = new LinkedHashMap<String, Set<String>>();
+    addEdges(graph, "self", "self");
+
+    StronglyConnectedComponents components = StronglyConnectedComponents.analyze(graph);
+
+    assertTrue(components.isInCycle("self"));
+    assertEquals(Arrays.asList(Arrays.asList("self", "self")), components.getCycles());
+  }
+
+  /**
+   * 测试缩点后的依赖关系
+   */
+  @Test
+  public void testComponentDependencies() {
+    Map<String, Set<String>> graph = new LinkedHashMap<String, Set<String>>();
+    addEdges(graph, "a", "b1", "b2");
+    addEdges(graph, "b1", "b2", "c");
+    addEdges(graph, "b2", "b1", "c");
+    addEdges(graph, "c");
+
+    StronglyConnectedComponents components = StronglyConnectedComponents.analyze(graph);
+
+    int a = components.getComponentIndex("a");
+    int b = components.getComponentIndex("b1");
+    int c = components.getComponentIndex("c");
+    assertEquals(b, components.getComponentIndex("b2"));
+    assertTrue(Arrays.equals(new int[] { b }, components.getComponentDependencies(a)));
+    assertTrue(Arrays.equals(new int[] { c }, components.getComponentDependencies(b)));
+    assertEquals(0, components.getComponentDependencies(c).length);
+    assertTrue("分量应该按依赖在前排列", c < b && b < a);
+  }
+
+  /**
+   * 测试深依赖链不会导致栈溢出
+   */
+  @Test
+  public void testDeepDependencyChain() {
+    int count = 50000;
+    Map<String, Set<String>> graph = new LinkedHashMap<String, Set<String>>();
+    for (int i = 0; i < count - 1; i++) {
+      addEdges(graph, "bean" + i, "bean" + (i + 1));
+    }
+    addEdges(graph, "bean" + (count - 1), "bean0");
+
+    StronglyConnectedComponents components = StronglyConnectedComponents.analyze(graph);
+
+    assertEquals(1, components.getComponentCount());
+    List<List<String>> cycles = components.getCycles();
+    assertEquals(1, cycles.size());
+    assertEquals(count + 1, cycles.get(0).size());
+  }
+
+  /**
+   * 测试大规模依赖图的分析性能
+   */
+  @Test
+  public void testLargeGraphPerformance() {
+    int count = 50000;
+    Random random = new Random(42);
+    Map<String, Set<String>> graph = new LinkedHashMap<String, Set<String>>();
+    for (int i = 0; i < count; i++) {
+      Set<String> dependencies = new HashSet<String>();
+      // 只依赖编号更大的 Bean，保证无环
+      for (int j = 0; j < 4 && i + 1 < count; j++) {
+        dependencies.add("bean" + (i + 1 + random.nextInt(count - i - 1)));
+      }
+      graph.put("bean" + i, dependencies);
+    }
+
+    long start = System.currentTimeMillis();
+    StronglyConnectedComponents components = StronglyConnectedComponents.analyze(graph);
+    List<List<String>> cycles = components.getCycles();
+    long duration = System.currentTimeMillis() - start;
+
+    System.out.println("分析 " + count + " 个 Bean 的依赖图耗时: " + duration + "ms");
+    assertTrue(cycles.isEmpty());
+    assertEquals(count, components.getComponentCount());
+    assertTrue("分析耗时过长: " + duration + "ms", duration < 2000);
+  }
+
+  private void addEdges(Map<String, Set<String>> graph, String from, String... to) {
+    graph.put(from, new HashSet<String>(Arrays.asList(to)));
+  }
+}
@@ -0,0 +1,220 @@
+package com.simplespring.context.index.processor;
+
+import java.io.Closeable;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.file.NoSuchFileException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+/**
+ * 组件索引注解处理器
+ *
+ * 在编译期收集带有 @Component、@Controller、@Configuration 注解的类，
+ * 写入 {@code META-INF/simplespring.components}。运行时类路径扫描器发现索引后直接按索引加载组件类，
+ * 不再遍历包目录、加载并初始化每一个类。
+ *
+ * 索引为 properties 格式，每行一个组件类：{@code 类的二进制名称=注解的全限定名[,注解的全限定名]}，
+ * 按类名排序，相同的源码总是生成相同的索引。
+ *
+ * 增量编译时只有部分源文件参与编译，处理器会先读取已有的索引，
+ * 替换本次编译的类对应的条目，保留其余条目。
+ *
+ * 使用时将本模块加入编译期依赖（或 maven-compiler-plugin 的 annotationProcessorPaths）即可，
+ * 处理器通过 {@code META-INF/services/javax.annotation.processing.Processor} 自动注册。
+ *
+ * @author Simple Spring Framework
+ * @since 1.0.0
+ */
+@SupportedAnnotationTypes("*")
+public class ComponentIndexer extends AbstractProcessor {
+
+  /** 索引文件位置 */
+  public static final String COMPONENTS_RESOURCE_LOCATION = "META-INF/simplespring.components";
+
+  /**
+   * 组件注解的全限定名，按名称匹配，处理器不依赖 spring-core
+   */
+  private static final Set<String> COMPONENT_ANNOTATIONS = new HashSet<String>(Arrays.asList(
+      "com.simplespring.core.annotation.Component",
+      "com.simplespring.core.annotation.Controller",
+      "com.simplespring.core.annotation.Configuration"));
+
+  /** 组件类的二进制名称 -> 注解的全限定名，按类名排序 */
+  private final Map<String, Set<String>> components = new TreeMap<String, Set<String>>();
+
+  /** 是否已经合并已有的索引 */
+  private boolean existingIndexMerged;
+
+  /** 输出目录中是否已有索引 */
+  private boolean existingIndexFound;
+
+  @Override
+  public SourceVersion getSupportedSourceVersion() {
+    return SourceVersion.latestSupported();
+  }
+
+  @Override
+  public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+    if (!existingIndexMerged) {
+      existingIndexMerged = true;
+      mergeExistingIndex();
+    }
+
+    // 本次编译的类以本轮的注解为准，先移除它们在已有索引中的条目
+    for (Element element : roundEnv.getRootElements()) {
+      if (element instanceof TypeElement) {
+        removeComponents((TypeElement) element);
+      }
+    }
+
+    // 支持所有注解类型，使不再带有组件注解的类在增量编译时也能移除条目；处理器不声明占有任何注解
+    for (TypeElement annotation : annotations) {
+      String annotationName = annotation.getQualifiedName().toString();
+      if (!COMPONENT_ANNOTATIONS.contains(annotationName)) {
+        continue;
+      }
+      for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+        // 与运行时扫描一致，接口、枚举和注解类型不是组件
+        if (element.getKind() == ElementKind.CLASS) {
+          addComponent(getBinaryName((TypeElement) element), annotationName);
+        }
+      }
+    }
+
+    if (roundEnv.processingOver()) {
+      writeIndex();
+    }
+    return false;
+  }
+
+  private void addComponent(String className, String annotationName) {
+    Set<String> stereotypes = components.get(className);
+    if (stereotypes == null) {
+      stereotypes = new LinkedHashSet<String>();
+      components.put(className, stereotypes);
+    }
+    stereotypes.add(annotationName);
+  }
+
+  /**
+   * 移除类及其嵌套类的条目
+   *
+   * @param type 类型
+   */
+  private void removeComponents(TypeElement type) {
+    String className = getBinaryName(type);
+    components.remove(className);
+    // 嵌套类的二进制名称以 "外部类$" 开头
+    Iterator<String> iterator = components.keySet().iterator();
+    while (iterator.hasNext()) {
+      if (iterator.next().startsWith(className + "$")) {
+        iterator.remove();
+      }
+    }
+  }
+
+  private String getBinaryName(TypeElement type) {
+    return processingEnv.getElementUtils().getBinaryName(type).toString();
+  }
+
+  /**
+   * 读取输出目录中已有的索引（增量编译）
+   */
+  private void mergeExistingIndex() {
+    InputStream in = null;
+    try {
+      FileObject existing = processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "",
+          COMPONENTS_RESOURCE_LOCATION);
+      in = existing.openInputStream();
+      existingIndexFound = true;
+      Properties properties = new Properties();
+      properties.load(in);
+      for (String className : properties.stringPropertyNames()) {
+        for (String annotationName : properties.getProperty(className).split(",")) {
+          if (annotationName.trim().length() > 0) {
+            addComponent(className, annotationName.trim());
+          }
+        }
+      }
+    } catch (FileNotFoundException e) {
+      // 全量编译，没有已有的索引
+    } catch (NoSuchFileException e) {
+      // 全量编译，没有已有的索引
+    } catch (IOException e) {
+      processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+          "无法读取已有的组件索引: " + e.getMessage());
+    } finally {
+      closeQuietly(in);
+    }
+  }
+
+  /**
+   * 写出索引，已有的索引即使不再包含任何组件也会被覆盖
+   */
+  private void writeIndex() {
+    if (components.isEmpty() && !existingIndexFound) {
+      return;
+    }
+
+    OutputStream out = null;
+    try {
+      FileObject file = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "",
+          COMPONENTS_RESOURCE_LOCATION);
+      out = file.openOutputStream();
+      // properties 文件使用 ISO-8859-1 编码，类名和注释都只包含 ASCII 字符
+      Writer writer = new OutputStreamWriter(out, "ISO-8859-1");
+      writer.write("# Generated by " + getClass().getName() + ", do not edit\n");
+      for (Map.Entry<String, Set<String>> entry : components.entrySet()) {
+        writer.write(entry.getKey());
+        writer.write('=');
+        boolean first = true;
+        for (String annotationName : entry.getValue()) {
+          if (!first) {
+            writer.write(',');
+          }
+          first = false;
+          writer.write(annotationName);
+        }
+        writer.write('\n');
+      }
+      writer.flush();
+    } catch (IOException e) {
+      processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+          "无法写入组件索引 " + COMPONENTS_RESOURCE_LOCATION + ": " + e.getMessage());
+    } finally {
+      closeQuietly(out);
+    }
+  }
+
+  private static void closeQuietly(Closeable closeable) {
+    if (closeable != null) {
+      try {
+        closeable.close();
+      } catch (IOException e) {
+        // 忽略关闭异常
+      }
+    }
+  }
+}
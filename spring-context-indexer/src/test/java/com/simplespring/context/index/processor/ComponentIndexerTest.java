@@ -0,0 +1,190 @@
+package com.simplespring.context.index.processor;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import static org.junit.Assert.*;
+
+/**
+ * ComponentIndexer 测试类
+ *
+ * @author Simple Spring Framework
+ */
+public class ComponentIndexerTest {
+
+  private File sourceDir;
+
+  private File outputDir;
+
+  @Before
+  public void setUp() throws IOException {
+    sourceDir = createTempDir("indexer-src");
+    outputDir = createTempDir("indexer-out");
+    writeSource("com/simplespring/core/annotation/Component.java", annotation("Component"));
+    writeSource("com/simplespring/core/annotation/Controller.java", annotation("Controller"));
+    writeSource("com/simplespring/core/annotation/Configuration.java", annotation("Configuration"));
+  }
+
+  @After
+  public void tearDown() {
+    delete(sourceDir);
+    delete(outputDir);
+  }
+
+  @Test
+  public void testIndexesComponentClasses() throws IOException {
+    writeSource("example/UserService.java",
+        "package example;\n@com.simplespring.core.annotation.Component(\"users\")\npublic class UserService {}\n");
+    writeSource("example/web/UserController.java",
+        "package example.web;\n@com.simplespring.core.annotation.Controller\npublic class UserController {\n"
+            + "  @com.simplespring.core.annotation.Component public static class Helper {}\n}\n");
+    writeSource("example/AppConfig.java",
+        "package example;\n@com.simplespring.core.annotation.Configuration\n"
+            + "@com.simplespring.core.annotation.Component\npublic class AppConfig {}\n");
+    writeSource("example/Repository.java",
+        "package example;\n@com.simplespring.core.annotation.Component\npublic interface Repository {}\n");
+    writeSource("example/Plain.java", "package example;\npublic class Plain {}\n");
+
+    compile(allSources());
+
+    Properties index = readIndex();
+    assertEquals(4, index.size());
+    assertEquals("com.simplespring.core.annotation.Component", index.getProperty("example.UserService"));
+    assertEquals("com.simplespring.core.annotation.Controller", index.getProperty("example.web.UserController"));
+    assertEquals("嵌套类应该使用二进制名称",
+        "com.simplespring.core.annotation.Component", index.getProperty("example.web.UserController$Helper"));
+    List<String> stereotypes = Arrays.asList(index.getProperty("example.AppConfig").split(","));
+    assertTrue(stereotypes.contains("com.simplespring.core.annotation.Configuration"));
+    assertTrue(stereotypes.contains("com.simplespring.core.annotation.Component"));
+    assertNull("接口不是组件", index.getProperty("example.Repository"));
+    assertNull(index.getProperty("example.Plain"));
+  }
+
+  @Test
+  public void testIncrementalCompilationMergesExistingIndex() throws IOException {
+    writeSource("example/UserService.java",
+        "package example;\n@com.simplespring.core.annotation.Component\npublic class UserService {}\n");
+    writeSource("example/OrderService.java",
+        "package example;\n@com.simplespring.core.annotation.Component\npublic class OrderService {}\n");
+    compile(allSources());
+    assertEquals(2, readIndex().size());
+
+    // 只重新编译去掉注解的 OrderService
+    File orderService = writeSource("example/OrderService.java", "package example;\npublic class OrderService {}\n");
+    compile(Collections.singletonList(orderService));
+
+    Properties index = readIndex();
+    assertEquals(1, index.size());
+    assertNotNull("未参与编译的类应该保留在索引中", index.getProperty("example.UserService"));
+  }
+
+  @Test
+  public void testNoIndexWithoutComponents() throws IOException {
+    writeSource("example/Plain.java", "package example;\npublic class Plain {}\n");
+    compile(allSources());
+
+    assertFalse(new File(outputDir, ComponentIndexer.COMPONENTS_RESOURCE_LOCATION).exists());
+  }
+
+  private void compile(List<File> sources) throws IOException {
+    JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+    StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, null);
+    try {
+      Iterable<? extends JavaFileObject> units = fileManager.getJavaFileObjectsFromFiles(sources);
+      List<String> options = Arrays.asList("-d", outputDir.getPath(), "-classpath", outputDir.getPath());
+      JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, null, options, null, units);
+      task.setProcessors(Collections.singletonList(new ComponentIndexer()));
+      assertTrue("编译失败", task.call());
+    } finally {
+      fileManager.close();
+    }
+  }
+
+  private Properties readIndex() throws IOException {
+    File indexFile = new File(outputDir, ComponentIndexer.COMPONENTS_RESOURCE_LOCATION);
+    assertTrue("应该生成组件索引", indexFile.exists());
+    Properties properties = new Properties();
+    InputStream in = new FileInputStream(indexFile);
+    try {
+      properties.load(in);
+    } finally {
+      in.close();
+    }
+    return properties;
+  }
+
+  private List<File> allSources() {
+    List<File> sources = new ArrayList<File>();
+    collectSources(sourceDir, sources);
+    return sources;
+  }
+
+  private static void collectSources(File dir, List<File> sources) {
+    File[] files = dir.listFiles();
+    if (files != null) {
+      for (File file : files) {
+        if (file.isDirectory()) {
+          collectSources(file, sources);
+        } else if (file.getName().endsWith(".java")) {
+          sources.add(file);
+        }
+      }
+    }
+  }
+
+  private File writeSource(String path, String content) throws IOException {
+    File file = new File(sourceDir, path);
+    file.getParentFile().mkdirs();
+    Writer writer = new OutputStreamWriter(new FileOutputStream(file), "UTF-8");
+    try {
+      writer.write(content);
+    } finally {
+      writer.close();
+    }
+    return file;
+  }
+
+  private static String annotation(String name) {
+    return "package com.simplespring.core.annotation;\n"
+        + "@java.lang.annotation.Retention(java.lang.annotation.RetentionPolicy.RUNTIME)\n"
+        + "@java.lang.annotation.Target(java.lang.annotation.ElementType.TYPE)\n"
+        + "public @interface " + name + " { String value() default \"\"; }\n";
+  }
+
+  private static File createTempDir(String prefix) throws IOException {
+    File dir = File.createTempFile(prefix, "");
+    if (!dir.delete() || !dir.mkdirs()) {
+      throw new IOException("无法创建临时目录: " + dir);
+    }
+    return dir;
+  }
+
+  private static void delete(File file) {
+    File[] children = file.listFiles();
+    if (children != null) {
+      for (File child : children) {
+        delete(child);
+      }
+    }
+    file.delete();
+  }
+}
@@ -6,12 +6,21 @@ import com.simplespring.beans.factory.NoSuchBeanDefinitionException;
 import com.simplespring.beans.factory.NoUniqueBeanDefinitionException;
 import com.simplespring.beans.factory.config.BeanDefinition;
 import com.simplespring.beans.factory.config.Scope;
+import com.simplespring.beans.factory.support.BeanRegistry;
 import com.simplespring.beans.factory.support.DefaultBeanFactory;
 import com.simplespring.core.annotation.Component;
 import com.simplespring.core.annotation.Configuration;
 import com.simplespring.core.annotation.Controller;
+import com.simplespring.core.annotation.Lazy;
+import com.simplespring.core.metrics.ApplicationStartup;
+import com.simplespring.core.metrics.StartupStep;
 import com.simplespring.core.util.StringUtils;
 
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
 
@@ -76,6 +85,36 @@ public class AnnotationConfigApplicationContext implements ApplicationContext {
   /** 容器 ID */
   private final String id;
 
+  /** 是否按依赖层级并行预实例化单例 Bean */
+  private volatile boolean parallelRefresh = false;
+
+  /** 并行预实例化的最大并行度 */
+  private volatile int refreshParallelism = Runtime.getRuntime().availableProcessors();
+
+  /** 最近一次并行预实例化的报告 */
+  private volatile SingletonInstantiationReport singletonInstantiationReport;
+
+  /** 启动步骤记录器，默认不记录 */
+  private volatile ApplicationStartup applicationStartup = ApplicationStartup.DEFAULT;
+
+  /** 关闭时销毁单例 Bean 的全局超时时间（毫秒），0 表示不限制 */
+  private volatile long shutdownTimeout = 30000L;
+
+  /** 关闭时单个 Bean 销毁回调的超时时间（毫秒），0 表示不限制 */
+  private volatile long beanDestroyTimeout = 10000L;
+
+  /** 关闭时并行销毁的最大并行度 */
+  private volatile int shutdownParallelism = Runtime.getRuntime().availableProcessors();
+
+  /** 最近一次关闭的销毁报告 */
+  private volatile SingletonDestructionReport singletonDestructionReport;
+
+  /** JVM 关闭钩子，未注册时为 null */
+  private Thread shutdownHook;
+
+  /** 组件扫描结果的磁盘缓存，未启用时为 null */
+  private volatile ComponentScanCache scanCache;
+
   /**
    * 默认构造函数 - 不自动刷新
    */
@@ -84,8 +123,10 @@ public class AnnotationConfigApplicationContext implements ApplicationContext {
     this.beanFactory = new DefaultBeanFactory();
     this.classPathScanner = new ClassPathScanner();
     this.aspectProcessor = new AspectProcessor(beanFactory);
+    this.beanFactory.addBeanPostProcessor(aspectProcessor);
     this.id = generateId();
     this.displayName = generateDisplayName();
+    initScanCache();
   }
 
   /**
@@ -103,6 +144,16 @@ public class AnnotationConfigApplicationContext implements ApplicationContext {
    * @param basePackages 基础包路径数组
    */
   public AnnotationConfigApplicationContext(String... basePackages) {
+    this(ApplicationStartup.DEFAULT, basePackages);
+  }
+
+  /**
+   * 构造函数 - 扫描多个包并记录启动步骤
+   * 
+   * @param applicationStartup 启动步骤记录器
+   * @param basePackages       基础包路径数组
+   */
+  public AnnotationConfigApplicationContext(ApplicationStartup applicationStartup, String... basePackages) {
     if (basePackages == null || basePackages.length == 0) {
       throw new IllegalArgumentException("基础包路径不能为空");
     }
@@ -117,8 +168,11 @@ public class AnnotationConfigApplicationContext implements ApplicationContext {
     this.beanFactory = new DefaultBeanFactory();
     this.classPathScanner = new ClassPathScanner();
     this.aspectProcessor = new AspectProcessor(beanFactory);
+    this.beanFactory.addBeanPostProcessor(aspectProcessor);
     this.id = generateId();
     this.displayName = generateDisplayName();
+    setApplicationStartup(applicationStartup);
+    initScanCache();
 
     // 自动刷新容器
     refresh();
@@ -131,6 +185,7 @@ public class AnnotationConfigApplicationContext implements ApplicationContext {
         throw new IllegalStateException("容器已关闭，无法刷新");
       }
 
+      StartupStep refreshStep = applicationStartup.start("context.refresh");
       try {
         // 记录启动时间
         this.startupDate = System.currentTimeMillis();
@@ -141,13 +196,30 @@ public class AnnotationConfigApplicationContext implements ApplicationContext {
         }
 
         // 2. 扫描组件类
-        scanComponents();
+        StartupStep step = applicationStartup.start("context.scan-components");
+        try {
+          loadBeanDefinitions();
+        } finally {
+          step.end();
+        }
 
         // 3. 处理切面
-        processAspects();
+        step = applicationStartup.start("context.process-aspects");
+        try {
+          processAspects();
+        } finally {
+          step.end();
+        }
 
         // 4. 实例化所有单例 Bean
-        preInstantiateSingletons();
+        step = applicationStartup.start("context.pre-instantiate-singletons");
+        try {
+          preInstantiateSingletons();
+          // 等待异步 @PostConstruct 完成，任何一个失败或超时都会使刷新失败
+          beanFactory.awaitAsyncInitializations();
+        } finally {
+          step.end();
+        }
 
         // 5. 标记容器为活动状态
         active.set(true);
@@ -156,6 +228,8 @@ public class AnnotationConfigApplicationContext implements ApplicationContext {
         // 刷新失败，清理状态
         active.set(false);
         throw new RuntimeException("容器刷新失败", e);
+      } finally {
+        refreshStep.end();
       }
     }
   }
@@ -163,24 +237,61 @@ public class AnnotationConfigApplicationContext implements ApplicationContext {
   @Override
   public void close() {
     synchronized (this) {
-      if (closed.get()) {
-        return; // 已经关闭
+      doClose();
+
+      // 已主动关闭，不再需要关闭钩子
+      if (shutdownHook != null && Thread.currentThread() != shutdownHook) {
+        try {
+          Runtime.getRuntime().removeShutdownHook(shutdownHook);
+        } catch (IllegalStateException e) {
+          // JVM 正在关闭，钩子会自行结束
+        }
+        shutdownHook = null;
       }
+    }
+  }
 
-      try {
-        // 标记为非活动状态
-        active.set(false);
+  /**
+   * 注册 JVM 关闭钩子，在 JVM 退出时（例如收到 SIGTERM）关闭容器
+   * 重复调用不会重复注册；主动调用 {@link #close()} 后钩子会被移除
+   */
+  public void registerShutdownHook() {
+    synchronized (this) {
+      if (shutdownHook == null) {
+        shutdownHook = new Thread("simplespring-shutdown-hook") {
+          @Override
+          public void run() {
+            synchronized (AnnotationConfigApplicationContext.this) {
+              doClose();
+            }
+          }
+        };
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+      }
+    }
+  }
 
-        // 执行销毁逻辑
-        destroyBeans();
+  /**
+   * 关闭容器，调用方需要持有容器的锁
+   */
+  private void doClose() {
+    if (closed.get()) {
+      return; // 已经关闭
+    }
 
-        // 标记为已关闭
-        closed.set(true);
+    try {
+      // 标记为非活动状态
+      active.set(false);
 
-      } catch (Exception e) {
-        // 记录错误但不抛出异常
-        System.err.println("容器关闭时发生错误: " + e.getMessage());
-      }
+      // 执行销毁逻辑
+      destroyBeans();
+
+      // 标记为已关闭
+      closed.set(true);
+
+    } catch (Exception e) {
+      // 记录错误但不抛出异常
+      System.err.println("容器关闭时发生错误: " + e.getMessage());
     }
   }
 
@@ -270,6 +381,15 @@ public class AnnotationConfigApplicationContext implements ApplicationContext {
     return beanFactory.getBeanDefinitionCount();
   }
 
+  /**
+   * 加载 Bean 定义，默认扫描构造时指定的包
+   * 子类可以覆盖此方法，以其他方式注册 Bean 定义
+   */
+  protected void loadBeanDefinitions() {
+    scanComponents();
+    saveScanCache();
+  }
+
   // ========== 私有方法 ==========
 
   /**
@@ -294,12 +414,17 @@ public class AnnotationConfigApplicationContext implements ApplicationContext {
     // 获取组件名称
     String beanName = classPathScanner.getComponentName(componentClass);
 
-    // 创建 Bean 定义
+    // 创建 Bean 定义，启用扫描缓存时使用缓存的注入元数据
     BeanDefinition beanDefinition = createBeanDefinition(componentClass);
     beanDefinition.setBeanName(beanName);
+    ComponentScanCache cache = scanCache;
+    boolean cached = cache != null && cache.applyInjectionMetadata(beanDefinition);
 
     // 注册 Bean 定义
     beanFactory.registerBeanDefinition(beanName, beanDefinition);
+    if (cache != null && !cached) {
+      cache.putInjectionMetadata(beanDefinition);
+    }
   }
 
   /**
@@ -315,6 +440,10 @@ public class AnnotationConfigApplicationContext implements ApplicationContext {
     // 设置作用域（默认为单例）
     beanDefinition.setScope(Scope.SINGLETON);
 
+    // 设置懒加载
+    Lazy lazy = beanClass.getAnnotation(Lazy.class);
+    beanDefinition.setLazyInit(lazy != null && lazy.value());
+
     return beanDefinition;
   }
 
@@ -327,39 +456,85 @@ public class AnnotationConfigApplicationContext implements ApplicationContext {
   }
 
   /**
-   * 预实例化所有单例 Bean
+   * 预实例化所有非懒加载的单例 Bean
    */
   private void preInstantiateSingletons() {
     String[] beanNames = beanFactory.getBeanDefinitionNames();
 
-    for (String beanName : beanNames) {
-      BeanDefinition beanDefinition = beanFactory.getBeanDefinition(beanName);
+    if (parallelRefresh) {
+      List<String> singletonNames = new ArrayList<String>();
+      for (String beanName : beanNames) {
+        BeanDefinition beanDefinition = beanFactory.getBeanDefinition(beanName);
+        if (beanDefinition != null && beanDefinition.isSingleton() && !beanDefinition.isLazyInit()) {
+          singletonNames.add(beanName);
+        }
+      }
 
-      if (beanDefinition != null && beanDefinition.isSingleton()) {
-        try {
-          // 触发 Bean 创建
-          Object bean = beanFactory.getBean(beanName);
+      ParallelSingletonInstantiator instantiator = new ParallelSingletonInstantiator(refreshParallelism);
+      singletonInstantiationReport = instantiator.instantiate(singletonNames,
+          beanFactory.getCircularDependencyDetector().getStronglyConnectedComponents(),
+          new ParallelSingletonInstantiator.SingletonCreator() {
+            @Override
+            public void createSingleton(String beanName) {
+              instantiateSingleton(beanName);
+            }
+          });
+      return;
+    }
 
-          // 应用 AOP 代理
-          Object proxiedBean = aspectProcessor.postProcessAfterInitialization(beanName, bean);
+    for (String beanName : beanNames) {
+      BeanDefinition beanDefinition = beanFactory.getBeanDefinition(beanName);
 
-          // 如果创建了代理，更新单例缓存
-          if (proxiedBean != bean) {
-            beanFactory.getBeanRegistry().registerSingleton(beanName, proxiedBean);
-          }
-        } catch (Exception e) {
-          throw new BeanCreationException(beanName, "预实例化单例 Bean 失败", e);
-        }
+      if (beanDefinition != null && beanDefinition.isSingleton() && !beanDefinition.isLazyInit()) {
+        instantiateSingleton(beanName);
       }
     }
   }
 
+  /**
+   * 实例化单个单例 Bean
+   * AOP 代理由注册在 Bean 工厂中的切面处理器在初始化后创建，缓存的就是代理对象
+   * 
+   * @param beanName Bean 名称
+   */
+  private void instantiateSingleton(String beanName) {
+    try {
+      // 触发 Bean 创建，异步初始化在刷新结束前统一等待
+      beanFactory.preInstantiateSingleton(beanName);
+    } catch (Exception e) {
+      throw new BeanCreationException(beanName, "预实例化单例 Bean 失败", e);
+    }
+  }
+
   /**
    * 销毁 Bean
+   * 先关闭对象池，再按依赖的逆序并行销毁单例 Bean，超时未完成的回调不再等待
    */
   private void destroyBeans() {
-    // 这里可以添加 Bean 销毁逻辑
-    // 例如调用 @PreDestroy 注解的方法
+    // 池化作用域的实例可能依赖单例，先于单例销毁
+    beanFactory.destroyBeanPools();
+
+    final BeanRegistry beanRegistry = beanFactory.getBeanRegistry();
+    ParallelSingletonDestroyer destroyer =
+        new ParallelSingletonDestroyer(shutdownParallelism, beanDestroyTimeout, shutdownTimeout);
+    singletonDestructionReport = destroyer.destroy(Arrays.asList(beanRegistry.getSingletonNames()),
+        beanFactory.getCircularDependencyDetector().getStronglyConnectedComponents(),
+        new ParallelSingletonDestroyer.SingletonDestroyer() {
+          @Override
+          public boolean requiresDestruction(String beanName) {
+            return beanFactory.requiresDestruction(beanName);
+          }
+
+          @Override
+          public void destroySingleton(String beanName) {
+            beanFactory.destroyBean(beanName);
+          }
+        });
+
+    // 超时或未执行销毁回调的 Bean 不再等待，直接从缓存中移除
+    for (String beanName : beanRegistry.getSingletonNames()) {
+      beanRegistry.removeSingleton(beanName);
+    }
   }
 
   /**
@@ -408,14 +583,9 @@ public class AnnotationConfigApplicationContext implements ApplicationContext {
     // 获取所有 Bean 名称
     String[] beanNames = beanFactory.getBeanDefinitionNames();
 
-    // 清理单例缓存
-    for (String beanName : beanNames) {
-      beanFactory.getBeanRegistry().removeSingleton(beanName);
-    }
-
-    // 清理 Bean 定义
+    // 清理单例缓存和 Bean 定义
     for (String beanName : beanNames) {
-      beanFactory.getBeanRegistry().removeBeanDefinition(beanName);
+      beanFactory.removeBeanDefinition(beanName);
     }
   }
 
@@ -437,6 +607,125 @@ public class AnnotationConfigApplicationContext implements ApplicationContext {
     return aspectProcessor;
   }
 
+  /**
+   * 设置是否按依赖层级并行预实例化单例 Bean
+   * 
+   * 开启后，互不依赖的单例 Bean 会在有界线程池中并发创建，适合大量 Bean 在
+   * {@code @PostConstruct} 中执行耗时 I/O 的场景。需要在 {@link #refresh()} 之前设置，
+   * 因此应配合默认构造函数和 {@link #scan(String)}、{@link #register(Class)} 使用。
+   * 
+   * @param parallelRefresh 是否并行预实例化
+   */
+  public void setParallelRefresh(boolean parallelRefresh) {
+    this.parallelRefresh = parallelRefresh;
+  }
+
+  /**
+   * 是否按依赖层级并行预实例化单例 Bean
+   * 
+   * @return 如果开启并行预实例化返回 true
+   */
+  public boolean isParallelRefresh() {
+    return parallelRefresh;
+  }
+
+  /**
+   * 设置并行预实例化的最大并行度，默认为可用处理器数量
+   * 
+   * @param refreshParallelism 最大并行度
+   */
+  public void setRefreshParallelism(int refreshParallelism) {
+    if (refreshParallelism < 1) {
+      throw new IllegalArgumentException("并行度必须大于 0");
+    }
+    this.refreshParallelism = refreshParallelism;
+  }
+
+  /**
+   * 获取最近一次并行预实例化的报告，包括分层情况、每个 Bean 的耗时和关键路径
+   * 
+   * @return 预实例化报告，如果未开启并行预实例化返回 null
+   */
+  public SingletonInstantiationReport getSingletonInstantiationReport() {
+    return singletonInstantiationReport;
+  }
+
+  /**
+   * 设置启动步骤记录器，同时应用到 Bean 工厂、类路径扫描器和切面处理器
+   * 
+   * 使用 {@link com.simplespring.core.metrics.RecordingApplicationStartup} 可以记录扫描、
+   * Bean 创建各阶段、生命周期回调和代理创建的耗时，并导出为 JSON 或 Chrome trace 格式。
+   * 需要在 {@link #refresh()} 之前设置，或使用
+   * {@link #AnnotationConfigApplicationContext(ApplicationStartup, String...)} 构造函数。
+   * 
+   * @param applicationStartup 启动步骤记录器
+   */
+  public void setApplicationStartup(ApplicationStartup applicationStartup) {
+    if (applicationStartup == null) {
+      throw new IllegalArgumentException("启动步骤记录器不能为空");
+    }
+    this.applicationStartup = applicationStartup;
+    beanFactory.setApplicationStartup(applicationStartup);
+    classPathScanner.setApplicationStartup(applicationStartup);
+    aspectProcessor.setApplicationStartup(applicationStartup);
+  }
+
+  /**
+   * 获取启动步骤记录器
+   * 
+   * @return 启动步骤记录器
+   */
+  public ApplicationStartup getApplicationStartup() {
+    return applicationStartup;
+  }
+
+  /**
+   * 设置关闭时销毁单例 Bean 的全局超时时间，默认 30 秒
+   * 超时后剩余的 Bean 不再执行销毁回调
+   * 
+   * @param shutdownTimeout 超时时间（毫秒），0 表示不限制
+   */
+  public void setShutdownTimeout(long shutdownTimeout) {
+    if (shutdownTimeout < 0) {
+      throw new IllegalArgumentException("超时时间不能为负数");
+    }
+    this.shutdownTimeout = shutdownTimeout;
+  }
+
+  /**
+   * 设置关闭时单个 Bean 销毁回调的超时时间，默认 10 秒
+   * 超时的回调会被中断，关闭过程不再等待它
+   * 
+   * @param beanDestroyTimeout 超时时间（毫秒），0 表示不限制
+   */
+  public void setBeanDestroyTimeout(long beanDestroyTimeout) {
+    if (beanDestroyTimeout < 0) {
+      throw new IllegalArgumentException("超时时间不能为负数");
+    }
+    this.beanDestroyTimeout = beanDestroyTimeout;
+  }
+
+  /**
+   * 设置关闭时并行销毁的最大并行度，默认为可用处理器数量
+   * 
+   * @param shutdownParallelism 最大并行度
+   */
+  public void setShutdownParallelism(int shutdownParallelism) {
+    if (shutdownParallelism < 1) {
+      throw new IllegalArgumentException("并行度必须大于 0");
+    }
+    this.shutdownParallelism = shutdownParallelism;
+  }
+
+  /**
+   * 获取最近一次关闭的销毁报告，包括分层情况、每个 Bean 的销毁耗时和超时的 Bean
+   * 
+   * @return 销毁报告，如果容器尚未关闭返回 null
+   */
+  public SingletonDestructionReport getSingletonDestructionReport() {
+    return singletonDestructionReport;
+  }
+
   /**
    * 注册配置类
    * 
@@ -463,5 +752,54 @@ public class AnnotationConfigApplicationContext implements ApplicationContext {
     for (Class<?> componentClass : componentClasses) {
       registerComponent(componentClass);
     }
+    saveScanCache();
+  }
+
+  /**
+   * 设置组件扫描结果的磁盘缓存文件
+   * 
+   * 启用后，类路径根中的候选组件和派生的注入元数据会缓存到该文件中，
+   * 后续启动时只重新扫描指纹发生变化的部分。也可以通过系统属性
+   * {@code simplespring.scan.cache} 指定缓存文件，对自动刷新的构造函数同样生效。
+   * 
+   * @param scanCacheFile 缓存文件，为 null 时禁用缓存
+   */
+  public void setScanCacheFile(File scanCacheFile) {
+    this.scanCache = scanCacheFile != null ? new ComponentScanCache(scanCacheFile) : null;
+    classPathScanner.setScanCache(scanCache);
+  }
+
+  /**
+   * 获取组件扫描结果的磁盘缓存文件
+   * 
+   * @return 缓存文件，未启用缓存时返回 null
+   */
+  public File getScanCacheFile() {
+    ComponentScanCache cache = scanCache;
+    return cache != null ? cache.getFile() : null;
+  }
+
+  /**
+   * 根据系统属性启用扫描缓存
+   */
+  private void initScanCache() {
+    String location = System.getProperty(ComponentScanCache.SCAN_CACHE_PROPERTY);
+    if (StringUtils.hasText(location)) {
+      setScanCacheFile(new File(location));
+    }
+  }
+
+  /**
+   * 写回扫描缓存，写入失败不影响容器启动
+   */
+  private void saveScanCache() {
+    ComponentScanCache cache = scanCache;
+    if (cache != null) {
+      try {
+        cache.save();
+      } catch (IOException e) {
+        System.err.println("警告: 无法写入扫描缓存 " + cache.getFile() + ": " + e.getMessage());
+      }
+    }
   }
 }
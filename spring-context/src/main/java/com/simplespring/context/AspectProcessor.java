@@ -1,15 +1,22 @@
 package com.simplespring.context;
 
 import com.simplespring.aop.AdviceDefinition;
+import com.simplespring.aop.AdviceExecutor;
 import com.simplespring.aop.AdviceType;
 import com.simplespring.aop.AspectDefinition;
+import com.simplespring.aop.PointcutExpressionParser;
+import com.simplespring.aop.PointcutMatcher;
 import com.simplespring.aop.ProxyFactory;
 import com.simplespring.beans.factory.BeanFactory;
 import com.simplespring.beans.factory.config.BeanDefinition;
+import com.simplespring.beans.factory.config.BeanPostProcessor;
 import com.simplespring.core.annotation.After;
 import com.simplespring.core.annotation.AfterReturning;
+import com.simplespring.core.annotation.Around;
 import com.simplespring.core.annotation.Aspect;
 import com.simplespring.core.annotation.Before;
+import com.simplespring.core.metrics.ApplicationStartup;
+import com.simplespring.core.metrics.StartupStep;
 import com.simplespring.core.util.ReflectionUtils;
 
 import java.lang.reflect.Method;
@@ -22,9 +29,12 @@ import java.util.concurrent.ConcurrentHashMap;
  * 切面处理器
  * 负责扫描和注册切面 Bean，在 Bean 创建过程中集成 AOP 代理生成
  * 
+ * 作为 BeanPostProcessor 注册到 Bean 工厂后，预实例化、懒加载和原型作用域的 Bean
+ * 都在初始化回调之后经过同一个代理判断。
+ * 
  * @author SimpleSpring
  */
-public class AspectProcessor {
+public class AspectProcessor implements BeanPostProcessor {
 
   /**
    * Bean 工厂
@@ -41,6 +51,11 @@ public class AspectProcessor {
    */
   private final Map<String, Boolean> proxyCache;
 
+  /**
+   * 启动步骤记录器，默认不记录
+   */
+  private volatile ApplicationStartup applicationStartup = ApplicationStartup.DEFAULT;
+
   /**
    * 构造函数
    * 
@@ -69,6 +84,19 @@ public class AspectProcessor {
         registerAspect(beanName, beanDefinition);
       }
     }
+
+    // 注册切面时创建的 Bean 是在切面集合完整之前判断的，丢弃这些判断结果
+    proxyCache.clear();
+  }
+
+  @Override
+  public Object postProcessBeforeInitialization(Object bean, String beanName) {
+    return bean;
+  }
+
+  @Override
+  public Object postProcessAfterInitialization(Object bean, String beanName) {
+    return postProcessAfterInitialization(beanName, bean);
   }
 
   /**
@@ -83,6 +111,11 @@ public class AspectProcessor {
       return null;
     }
 
+    // 切面注册之前创建的 Bean（包括切面本身）不需要判断，也不缓存判断结果
+    if (aspectDefinitions.isEmpty()) {
+      return bean;
+    }
+
     // 检查缓存
     Boolean needsProxy = proxyCache.get(beanName);
     if (needsProxy == null) {
@@ -148,28 +181,56 @@ public class AspectProcessor {
       // 扫描前置通知
       if (method.isAnnotationPresent(Before.class)) {
         Before before = method.getAnnotation(Before.class);
-        AdviceDefinition advice = new AdviceDefinition(method, AdviceType.BEFORE,
-            before.value(), aspectInstance);
+        AdviceDefinition advice = createAdvice(method, AdviceType.BEFORE, before.value(), aspectInstance);
         aspectDefinition.addAdvice(advice);
       }
 
       // 扫描后置通知
       if (method.isAnnotationPresent(After.class)) {
         After after = method.getAnnotation(After.class);
-        AdviceDefinition advice = new AdviceDefinition(method, AdviceType.AFTER,
-            after.value(), aspectInstance);
+        AdviceDefinition advice = createAdvice(method, AdviceType.AFTER, after.value(), aspectInstance);
         aspectDefinition.addAdvice(advice);
       }
 
       // 扫描返回后通知
       if (method.isAnnotationPresent(AfterReturning.class)) {
         AfterReturning afterReturning = method.getAnnotation(AfterReturning.class);
-        AdviceDefinition advice = new AdviceDefinition(method, AdviceType.AFTER_RETURNING,
-            afterReturning.value(), aspectInstance);
+        AdviceDefinition advice = createAdvice(method, AdviceType.AFTER_RETURNING, afterReturning.value(),
+            aspectInstance);
         advice.setReturningParameter(afterReturning.returning());
         aspectDefinition.addAdvice(advice);
       }
+
+      // 扫描环绕通知
+      if (method.isAnnotationPresent(Around.class)) {
+        Around around = method.getAnnotation(Around.class);
+        AdviceDefinition advice = createAdvice(method, AdviceType.AROUND, around.value(), aspectInstance);
+        aspectDefinition.addAdvice(advice);
+      }
+    }
+  }
+
+  /**
+   * 创建通知定义，切点表达式在注册时解析一次，表达式引用的注解类通过切面类的类加载器加载
+   * 
+   * @param method         通知方法
+   * @param type           通知类型
+   * @param expression     切点表达式
+   * @param aspectInstance 切面实例
+   * @return 通知定义
+   * @throws IllegalStateException 如果切点表达式无效
+   */
+  private AdviceDefinition createAdvice(Method method, AdviceType type, String expression, Object aspectInstance) {
+    PointcutMatcher matcher;
+    try {
+      matcher = PointcutExpressionParser.getMatcher(expression, method.getDeclaringClass().getClassLoader());
+    } catch (IllegalArgumentException e) {
+      throw new IllegalStateException("通知方法 '" + method.getDeclaringClass().getName() + "." + method.getName()
+          + "' 的切点表达式无效: " + e.getMessage(), e);
     }
+    AdviceDefinition advice = new AdviceDefinition(method, type, expression, aspectInstance);
+    advice.setPointcutMatcher(matcher);
+    return advice;
   }
 
   /**
@@ -185,8 +246,9 @@ public class AspectProcessor {
     }
 
     // 检查是否有匹配的切面
+    Method[] methods = targetClass.getMethods();
     for (AspectDefinition aspectDefinition : aspectDefinitions.values()) {
-      if (hasMatchingAdvice(aspectDefinition, targetClass)) {
+      if (hasMatchingAdvice(aspectDefinition, targetClass, methods)) {
         return true;
       }
     }
@@ -195,57 +257,26 @@ public class AspectProcessor {
   }
 
   /**
-   * 检查切面是否有匹配指定类的通知
+   * 检查切面是否有匹配指定类中任一方法的通知，使用注册时解析的切点匹配器
    * 
    * @param aspectDefinition 切面定义
    * @param targetClass      目标类
+   * @param methods          目标类的公共方法
    * @return 如果有匹配的通知返回 true，否则返回 false
    */
-  private boolean hasMatchingAdvice(AspectDefinition aspectDefinition, Class<?> targetClass) {
-    List<AdviceDefinition> advices = aspectDefinition.getAdvices();
-
-    for (AdviceDefinition advice : advices) {
-      if (matchesClass(advice, targetClass)) {
-        return true;
+  private boolean hasMatchingAdvice(AspectDefinition aspectDefinition, Class<?> targetClass, Method[] methods) {
+    for (AdviceDefinition advice : aspectDefinition.getAdvices()) {
+      for (Method method : methods) {
+        // Object 的方法不会被代理拦截
+        if (method.getDeclaringClass() != Object.class && AdviceExecutor.matches(advice, method, targetClass)) {
+          return true;
+        }
       }
     }
 
     return false;
   }
 
-  /**
-   * 检查通知是否匹配指定类
-   * 
-   * @param advice      通知定义
-   * @param targetClass 目标类
-   * @return 如果匹配返回 true，否则返回 false
-   */
-  private boolean matchesClass(AdviceDefinition advice, Class<?> targetClass) {
-    try {
-      String pointcutExpression = advice.getPointcutExpression();
-      if (pointcutExpression == null || pointcutExpression.trim().isEmpty()) {
-        return false;
-      }
-
-      // 简单的类名匹配逻辑
-      // 这里可以集成更复杂的切点表达式解析
-      if (pointcutExpression.contains("*")) {
-        // 通配符匹配
-        String pattern = pointcutExpression.replace("*", ".*");
-        return targetClass.getName().matches(pattern) ||
-            targetClass.getSimpleName().matches(pattern);
-      } else {
-        // 精确匹配
-        return targetClass.getName().contains(pointcutExpression) ||
-            targetClass.getSimpleName().contains(pointcutExpression);
-      }
-
-    } catch (Exception e) {
-      // 匹配失败，返回 false
-      return false;
-    }
-  }
-
   /**
    * 创建代理对象
    * 
@@ -253,12 +284,14 @@ public class AspectProcessor {
    * @return 代理对象
    */
   private Object createProxy(Object target) {
+    StartupStep step = applicationStartup.start("aop.proxy.create").tag("targetClass", target.getClass().getName());
     try {
       ProxyFactory proxyFactory = new ProxyFactory(target);
 
       // 添加匹配的切面定义
+      Method[] methods = target.getClass().getMethods();
       for (AspectDefinition aspectDefinition : aspectDefinitions.values()) {
-        if (hasMatchingAdvice(aspectDefinition, target.getClass())) {
+        if (hasMatchingAdvice(aspectDefinition, target.getClass(), methods)) {
           proxyFactory.addAspectDefinition(aspectDefinition);
         }
       }
@@ -269,7 +302,21 @@ public class AspectProcessor {
       // 代理创建失败，返回原始对象
       System.err.println("创建代理失败，返回原始对象: " + e.getMessage());
       return target;
+    } finally {
+      step.end();
+    }
+  }
+
+  /**
+   * 设置启动步骤记录器
+   * 
+   * @param applicationStartup 启动步骤记录器
+   */
+  public void setApplicationStartup(ApplicationStartup applicationStartup) {
+    if (applicationStartup == null) {
+      throw new IllegalArgumentException("启动步骤记录器不能为空");
     }
+    this.applicationStartup = applicationStartup;
   }
 
   /**
@@ -1,24 +1,48 @@
 package com.simplespring.context;
 
+import com.simplespring.context.index.CandidateComponentsIndex;
+import com.simplespring.context.index.CandidateComponentsIndexLoader;
 import com.simplespring.core.annotation.Component;
 import com.simplespring.core.annotation.Controller;
 import com.simplespring.core.annotation.Configuration;
+import com.simplespring.core.metrics.ApplicationStartup;
+import com.simplespring.core.metrics.StartupStep;
+import com.simplespring.core.type.AnnotationMetadata;
+import com.simplespring.core.type.ClassMetadataReader;
 import com.simplespring.core.util.ClassUtils;
 import com.simplespring.core.util.StringUtils;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.lang.annotation.Annotation;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
 import java.net.URL;
+import java.util.ArrayList;
 import java.util.Enumeration;
-import java.util.HashSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
 
 /**
  * 类路径扫描器
  * 
- * 负责扫描指定包路径下的类文件，识别带有特定注解的类。
- * 使用 JDK 1.7 兼容的文件系统遍历和类加载机制。
+ * 负责扫描指定包路径下的类文件（文件系统目录或 JAR 文件），识别带有特定注解的类。
+ * 使用 JDK 1.7 兼容的 ForkJoinPool 并行遍历和类加载机制。
+ * 
+ * 如果类路径上有 spring-context-indexer 在编译期生成的组件索引
+ * （{@code META-INF/simplespring.components}）且索引中包含该包的组件，
+ * 则只加载索引中的类，不再遍历包目录；索引中没有该包的组件时仍然遍历类路径。
  * 
  * 支持扫描的注解类型：
  * - @Component: 通用组件注解
@@ -49,11 +73,66 @@ public class ClassPathScanner {
       Configuration.class
   };
 
+  /** 类文件后缀 */
+  private static final String CLASS_FILE_SUFFIX = ".class";
+
+  /** 每个加载任务至少处理的类数量，避免任务过小 */
+  private static final int LOAD_BATCH_SIZE = 64;
+
+  /** 每个 JAR 条目读取任务至少处理的类文件数量，避免任务过小 */
+  private static final int JAR_ENTRY_BATCH_SIZE = 64;
+
+  /** 启动步骤记录器，默认不记录 */
+  private volatile ApplicationStartup applicationStartup = ApplicationStartup.DEFAULT;
+
+  /** 扫描的最大并行度 */
+  private volatile int parallelism = Runtime.getRuntime().availableProcessors();
+
+  /** 扫描结果缓存，为 null 时不使用缓存 */
+  private volatile ComponentScanCache scanCache;
+
+  /**
+   * 设置启动步骤记录器
+   * 
+   * @param applicationStartup 启动步骤记录器
+   */
+  public void setApplicationStartup(ApplicationStartup applicationStartup) {
+    if (applicationStartup == null) {
+      throw new IllegalArgumentException("启动步骤记录器不能为空");
+    }
+    this.applicationStartup = applicationStartup;
+  }
+
+  /**
+   * 设置扫描的最大并行度，默认为可用处理器数量
+   * 
+   * @param parallelism 最大并行度
+   */
+  public void setParallelism(int parallelism) {
+    if (parallelism < 1) {
+      throw new IllegalArgumentException("并行度必须大于 0");
+    }
+    this.parallelism = parallelism;
+  }
+
+  /**
+   * 设置扫描结果缓存
+   * 
+   * @param scanCache 扫描结果缓存，为 null 时不使用缓存
+   */
+  void setScanCache(ComponentScanCache scanCache) {
+    this.scanCache = scanCache;
+  }
+
   /**
    * 扫描指定包路径下的所有组件类
    * 
+   * 同时支持文件系统目录和 JAR 文件中的类。各个类路径根目录、子目录和 JAR 文件并行遍历，
+   * 遍历时直接解析类文件字节中的注解筛选候选类，只有候选类会被并行加载（不初始化）和检查；
+   * 同名的类只保留类加载器优先返回的一个。设置了扫描缓存时，指纹未变化的类路径根直接使用缓存的候选类。
+   * 
    * @param basePackage 基础包路径，例如 "com.example.service"
-   * @return 扫描到的组件类集合
+   * @return 扫描到的组件类集合，按类名排序
    * @throws RuntimeException 如果扫描过程中发生错误
    */
   public Set<Class<?>> scanPackage(String basePackage) {
@@ -61,80 +140,407 @@ public class ClassPathScanner {
       throw new IllegalArgumentException("基础包路径不能为空");
     }
 
-    Set<Class<?>> componentClasses = new HashSet<Class<?>>();
+    Set<Class<?>> componentClasses = new LinkedHashSet<Class<?>>();
     String packagePath = basePackage.replace('.', '/');
 
+    StartupStep step = applicationStartup.start("context.scan").tag("basePackage", basePackage);
+    ForkJoinPool pool = new ForkJoinPool(parallelism);
     try {
       ClassLoader classLoader = ClassUtils.getDefaultClassLoader();
-      Enumeration<URL> resources = classLoader.getResources(packagePath);
 
+      // 优先使用编译期生成的组件索引，只加载索引中的类
+      CandidateComponentsIndex index = CandidateComponentsIndexLoader.loadIndex(classLoader);
+      if (index != null) {
+        Set<String> candidateTypes = index.getCandidateTypes(basePackage);
+        if (!candidateTypes.isEmpty()) {
+          step.tag("index", "true");
+          componentClasses.addAll(loadComponentClasses(pool, new ArrayList<String>(candidateTypes), classLoader));
+          return componentClasses;
+        }
+      }
+
+      // 遍历时读取类文件元数据筛选候选类，只有候选类会被加载；
+      // 每个类路径根的结果分别收集（便于缓存），合并到有序集合中完成去重和排序
+      ComponentScanCache cache = scanCache;
+      Set<String> classNames = new TreeSet<String>();
+      Map<String, Set<String>> scannedRoots = new LinkedHashMap<String, Set<String>>();
+      Map<String, String> fingerprints = new HashMap<String, String>();
+      final List<RecursiveAction> tasks = new ArrayList<RecursiveAction>();
+      int cachedRoots = 0;
+      Enumeration<URL> resources = classLoader.getResources(packagePath);
       while (resources.hasMoreElements()) {
         URL resource = resources.nextElement();
         String protocol = resource.getProtocol();
+        String root = resource.toString();
 
+        // 指纹在扫描之前计算，扫描期间发生的变化会在下次启动时被发现
+        String fingerprint = cache != null ? ComponentScanCache.fingerprint(resource) : null;
+        if (fingerprint != null) {
+          List<String> cachedNames = cache.getClassNames(root, fingerprint);
+          if (cachedNames != null) {
+            classNames.addAll(cachedNames);
+            cachedRoots++;
+            continue;
+          }
+          fingerprints.put(root, fingerprint);
+        }
+
+        Set<String> rootClassNames = new ConcurrentSkipListSet<String>();
         if ("file".equals(protocol)) {
           // 处理文件系统中的类文件
-          String filePath = resource.getFile();
-          File packageDir = new File(filePath);
-          if (packageDir.exists() && packageDir.isDirectory()) {
-            componentClasses.addAll(findClassesInDirectory(packageDir, basePackage, classLoader));
+          File packageDir = toFile(resource);
+          if (packageDir.isDirectory()) {
+            tasks.add(new DirectoryScanTask(packageDir, basePackage, rootClassNames));
+            scannedRoots.put(root, rootClassNames);
           }
         } else if ("jar".equals(protocol)) {
-          // 处理 JAR 文件中的类文件（暂不实现，留作扩展）
-          // 在简易框架中主要处理文件系统中的类
+          // 处理 JAR 文件中的类文件
+          tasks.add(new JarScanTask(resource, packagePath, rootClassNames));
+          scannedRoots.put(root, rootClassNames);
         }
       }
+
+      pool.invoke(new RecursiveAction() {
+        @Override
+        protected void compute() {
+          invokeAll(tasks);
+        }
+      });
+      for (Map.Entry<String, Set<String>> entry : scannedRoots.entrySet()) {
+        classNames.addAll(entry.getValue());
+        String fingerprint = fingerprints.get(entry.getKey());
+        if (fingerprint != null) {
+          cache.putClassNames(entry.getKey(), fingerprint, entry.getValue());
+        }
+      }
+      if (cache != null) {
+        step.tag("cachedRoots", String.valueOf(cachedRoots));
+      }
+      step.tag("candidateCount", String.valueOf(classNames.size()));
+      componentClasses.addAll(loadComponentClasses(pool, new ArrayList<String>(classNames), classLoader));
     } catch (IOException e) {
       throw new RuntimeException("扫描包路径失败: " + basePackage, e);
+    } finally {
+      pool.shutdown();
+      step.tag("componentCount", String.valueOf(componentClasses.size())).end();
     }
 
     return componentClasses;
   }
 
   /**
-   * 在指定目录中查找组件类
+   * 并行加载候选类并筛选出组件类
    * 
-   * @param directory   目录
-   * @param packageName 包名
+   * @param pool        线程池
+   * @param classNames  候选类名称，已排序
    * @param classLoader 类加载器
-   * @return 找到的组件类集合
+   * @return 组件类列表，顺序与候选类名称一致
+   */
+  private List<Class<?>> loadComponentClasses(ForkJoinPool pool, List<String> classNames, ClassLoader classLoader) {
+    Class<?>[] results = new Class<?>[classNames.size()];
+    pool.invoke(new LoadTask(classNames, classLoader, results, 0, classNames.size()));
+
+    List<Class<?>> componentClasses = new ArrayList<Class<?>>();
+    for (Class<?> clazz : results) {
+      if (clazz != null) {
+        componentClasses.add(clazz);
+      }
+    }
+    return componentClasses;
+  }
+
+  /**
+   * 加载类并检查是否为组件类
+   * 只加载不初始化：检查注解不需要初始化，并行初始化互相引用的类还可能死锁
+   * 
+   * @param className   类名
+   * @param classLoader 类加载器
+   * @return 组件类，如果不是组件类或无法加载返回 null
+   */
+  private Class<?> loadComponentClass(String className, ClassLoader classLoader) {
+    try {
+      Class<?> clazz = ClassUtils.forName(className, false, classLoader);
+      return isComponentClass(clazz) ? clazz : null;
+    } catch (ClassNotFoundException e) {
+      // 忽略无法加载的类，继续扫描其他类
+      System.err.println("警告: 无法加载类 " + className + ": " + e.getMessage());
+    } catch (NoClassDefFoundError e) {
+      // 忽略依赖缺失的类，继续扫描其他类
+      System.err.println("警告: 类依赖缺失 " + className + ": " + e.getMessage());
+    }
+    return null;
+  }
+
+  /**
+   * 将 file 协议的 URL 转换为文件，兼容包含空格等需要转义字符的路径
+   */
+  private static File toFile(URL url) {
+    try {
+      return new File(url.toURI());
+    } catch (URISyntaxException e) {
+      return new File(url.getFile());
+    } catch (IllegalArgumentException e) {
+      return new File(url.getFile());
+    }
+  }
+
+  /**
+   * 由类文件名得到类名，非类文件或 package-info、module-info 返回 null
+   */
+  private static String toClassName(String packageName, String fileName) {
+    if (!fileName.endsWith(CLASS_FILE_SUFFIX) || fileName.equals("package-info.class")
+        || fileName.equals("module-info.class")) {
+      return null;
+    }
+    return packageName + "." + fileName.substring(0, fileName.length() - CLASS_FILE_SUFFIX.length());
+  }
+
+  /**
+   * 根据类文件中的元数据判断是否为候选组件，不加载类
+   * 
+   * @param metadata 类的元数据
+   * @return 如果是候选组件返回 true
+   */
+  private static boolean isCandidateComponent(AnnotationMetadata metadata) {
+    if (metadata.isInterface() || metadata.isAnnotation() || metadata.isEnum()) {
+      return false;
+    }
+    for (Class<? extends Annotation> annotationType : COMPONENT_ANNOTATIONS) {
+      if (metadata.hasAnnotation(annotationType.getName())) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * 读取文件系统中的类文件判断是否为候选组件
+   * 无法解析的类文件作为候选，交给类加载时再判断
+   */
+  private static boolean isCandidateComponent(File classFile, String className) {
+    try {
+      return isCandidateComponent(ClassMetadataReader.read(classFile));
+    } catch (IOException e) {
+      System.err.println("警告: 无法读取类文件 " + className + ": " + e.getMessage());
+      return true;
+    }
+  }
+
+  /**
+   * 读取 JAR 文件中的类文件判断是否为候选组件
+   * 无法解析的类文件作为候选，交给类加载时再判断
+   */
+  private static boolean isCandidateComponent(JarFile jarFile, JarEntry entry, String className) {
+    try {
+      InputStream in = jarFile.getInputStream(entry);
+      try {
+        return isCandidateComponent(ClassMetadataReader.read(in));
+      } finally {
+        in.close();
+      }
+    } catch (IOException e) {
+      System.err.println("警告: 无法读取类文件 " + className + ": " + e.getMessage());
+      return true;
+    }
+  }
+
+  /**
+   * 遍历目录的任务，每个子目录作为一个子任务并行遍历
+   */
+  private static class DirectoryScanTask extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    private final File directory;
+
+    private final String packageName;
+
+    private final Set<String> classNames;
+
+    DirectoryScanTask(File directory, String packageName, Set<String> classNames) {
+      this.directory = directory;
+      this.packageName = packageName;
+      this.classNames = classNames;
+    }
+
+    @Override
+    protected void compute() {
+      File[] files = directory.listFiles();
+      if (files == null) {
+        return;
+      }
+
+      List<DirectoryScanTask> subTasks = null;
+      for (File file : files) {
+        if (file.isDirectory()) {
+          if (subTasks == null) {
+            subTasks = new ArrayList<DirectoryScanTask>();
+          }
+          subTasks.add(new DirectoryScanTask(file, packageName + "." + file.getName(), classNames));
+        } else {
+          String className = toClassName(packageName, file.getName());
+          if (className != null && isCandidateComponent(file, className)) {
+            classNames.add(className);
+          }
+        }
+      }
+      if (subTasks != null) {
+        invokeAll(subTasks);
+      }
+    }
+  }
+
+  /**
+   * 遍历 JAR 文件的任务，直接读取 JAR 的条目，不解压
+   * 先顺序收集包路径下的类文件条目，再按区间二分并行读取类文件，单个大 JAR 也能并行扫描
    */
-  private Set<Class<?>> findClassesInDirectory(File directory, String packageName, ClassLoader classLoader) {
-    Set<Class<?>> classes = new HashSet<Class<?>>();
+  private static class JarScanTask extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    private final URL resource;
 
-    if (!directory.exists() || !directory.isDirectory()) {
-      return classes;
+    private final String packagePath;
+
+    private final Set<String> classNames;
+
+    JarScanTask(URL resource, String packagePath, Set<String> classNames) {
+      this.resource = resource;
+      this.packagePath = packagePath;
+      this.classNames = classNames;
     }
 
-    File[] files = directory.listFiles();
-    if (files == null) {
-      return classes;
+    @Override
+    protected void compute() {
+      JarFile jarFile = null;
+      try {
+        JarURLConnection connection = (JarURLConnection) resource.openConnection();
+        // 不使用缓存的 JarFile，扫描结束后可以关闭
+        connection.setUseCaches(false);
+        jarFile = connection.getJarFile();
+
+        // 包在 JAR 中的路径可能带有前缀（例如 BOOT-INF/classes/），类名从前缀之后开始
+        String entryName = connection.getEntryName();
+        String root = entryName != null && entryName.endsWith(packagePath)
+            ? entryName.substring(0, entryName.length() - packagePath.length()) : "";
+        String prefix = root + packagePath + "/";
+
+        List<JarEntry> classEntries = new ArrayList<JarEntry>();
+        List<String> entryClassNames = new ArrayList<String>();
+        Enumeration<JarEntry> entries = jarFile.entries();
+        while (entries.hasMoreElements()) {
+          JarEntry entry = entries.nextElement();
+          String name = entry.getName();
+          if (!entry.isDirectory() && name.startsWith(prefix)) {
+            int slash = name.lastIndexOf('/');
+            String packageName = name.substring(root.length(), slash).replace('/', '.');
+            String className = toClassName(packageName, name.substring(slash + 1));
+            if (className != null) {
+              classEntries.add(entry);
+              entryClassNames.add(className);
+            }
+          }
+        }
+
+        // 读取类文件的子任务全部完成后才关闭 JAR 文件
+        invokeAll(new JarEntryScanTask(jarFile, classEntries, entryClassNames, classNames, 0, classEntries.size()));
+      } catch (IOException e) {
+        throw new RuntimeException("扫描 JAR 文件失败: " + resource, e);
+      } finally {
+        if (jarFile != null) {
+          try {
+            jarFile.close();
+          } catch (IOException e) {
+            // 忽略关闭异常
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * 按区间二分并行读取 JAR 中类文件的任务，JarFile 支持多个线程同时读取不同的条目
+   */
+  private static class JarEntryScanTask extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    private final JarFile jarFile;
+
+    private final List<JarEntry> entries;
+
+    private final List<String> entryClassNames;
+
+    private final Set<String> classNames;
+
+    private final int from;
+
+    private final int to;
+
+    JarEntryScanTask(JarFile jarFile, List<JarEntry> entries, List<String> entryClassNames,
+        Set<String> classNames, int from, int to) {
+      this.jarFile = jarFile;
+      this.entries = entries;
+      this.entryClassNames = entryClassNames;
+      this.classNames = classNames;
+      this.from = from;
+      this.to = to;
     }
 
-    for (File file : files) {
-      if (file.isDirectory()) {
-        // 递归扫描子目录
-        String subPackageName = packageName + "." + file.getName();
-        classes.addAll(findClassesInDirectory(file, subPackageName, classLoader));
-      } else if (file.getName().endsWith(".class")) {
-        // 处理 .class 文件
-        String className = packageName + "." + file.getName().substring(0, file.getName().length() - 6);
-        try {
-          Class<?> clazz = ClassUtils.forName(className, classLoader);
-          if (isComponentClass(clazz)) {
-            classes.add(clazz);
+    @Override
+    protected void compute() {
+      if (to - from <= JAR_ENTRY_BATCH_SIZE) {
+        for (int i = from; i < to; i++) {
+          String className = entryClassNames.get(i);
+          if (isCandidateComponent(jarFile, entries.get(i), className)) {
+            classNames.add(className);
           }
-        } catch (ClassNotFoundException e) {
-          // 忽略无法加载的类，继续扫描其他类
-          System.err.println("警告: 无法加载类 " + className + ": " + e.getMessage());
-        } catch (NoClassDefFoundError e) {
-          // 忽略依赖缺失的类，继续扫描其他类
-          System.err.println("警告: 类依赖缺失 " + className + ": " + e.getMessage());
         }
+        return;
       }
+      int middle = (from + to) >>> 1;
+      invokeAll(new JarEntryScanTask(jarFile, entries, entryClassNames, classNames, from, middle),
+          new JarEntryScanTask(jarFile, entries, entryClassNames, classNames, middle, to));
     }
+  }
+
+  /**
+   * 按区间二分并行加载候选类的任务，结果写入对应下标，保持顺序
+   */
+  private class LoadTask extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    private final List<String> classNames;
 
-    return classes;
+    private final ClassLoader classLoader;
+
+    private final Class<?>[] results;
+
+    private final int from;
+
+    private final int to;
+
+    LoadTask(List<String> classNames, ClassLoader classLoader, Class<?>[] results, int from, int to) {
+      this.classNames = classNames;
+      this.classLoader = classLoader;
+      this.results = results;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected void compute() {
+      if (to - from <= LOAD_BATCH_SIZE) {
+        for (int i = from; i < to; i++) {
+          results[i] = loadComponentClass(classNames.get(i), classLoader);
+        }
+        return;
+      }
+      int middle = (from + to) >>> 1;
+      invokeAll(new LoadTask(classNames, classLoader, results, from, middle),
+          new LoadTask(classNames, classLoader, results, middle, to));
+    }
   }
 
   /**
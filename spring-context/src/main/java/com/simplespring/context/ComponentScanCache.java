@@ -0,0 +1,551 @@
+package com.simplespring.context;
+
+import com.simplespring.beans.factory.config.BeanDefinition;
+import com.simplespring.core.util.ClassUtils;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.net.MalformedURLException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 组件扫描结果的磁盘缓存
+ *
+ * 类路径不变时反复启动容器（开发和 CI 环境），不需要每次都重新遍历类路径、解析类文件和反射扫描注入点。
+ * 缓存保存两类内容：
+ * 1. 每个类路径根（包所在的目录或 JAR 文件）中的候选组件类名，按根的指纹校验：
+ *    JAR 文件使用大小和修改时间，目录使用其中所有文件的路径、大小和修改时间的摘要。
+ *    只有指纹变化的根需要重新扫描。
+ * 2. 每个组件类派生的 Bean 定义元数据：自动装配字段、方法和首选构造函数，
+ *    按组件类及其父类的类文件指纹校验，任何一个类文件变化都会重新派生。
+ *
+ * 缓存文件启动时一次顺序读入，只在内容变化时写回，写回时只保留本次使用过的条目，
+ * 类路径变化留下的过期条目随之清除。缓存文件损坏或版本不符时视为空缓存。
+ *
+ * @author Simple Spring Framework
+ * @since 1.0.0
+ */
+class ComponentScanCache {
+
+  /** 启用扫描缓存的系统属性，值为缓存文件路径 */
+  static final String SCAN_CACHE_PROPERTY = "simplespring.scan.cache";
+
+  /** 缓存文件格式标识 */
+  private static final int MAGIC = 0x53534331;
+
+  /** 缓存文件格式版本 */
+  private static final int VERSION = 1;
+
+  /** 基本类型名称 -> 类型，用于解析方法和构造函数的参数类型 */
+  private static final Map<String, Class<?>> primitiveTypes = new HashMap<String, Class<?>>();
+
+  static {
+    for (Class<?> type : Arrays.<Class<?>>asList(boolean.class, byte.class, char.class, short.class, int.class,
+        long.class, float.class, double.class)) {
+      primitiveTypes.put(type.getName(), type);
+    }
+  }
+
+  private final File file;
+
+  /** 类路径根 -> 候选组件类名 */
+  private final Map<String, RootEntry> roots = new HashMap<String, RootEntry>();
+
+  /** 组件类名 -> 注入元数据 */
+  private final Map<String, ComponentEntry> components = new HashMap<String, ComponentEntry>();
+
+  /** 本次使用过的类路径根 */
+  private final Set<String> usedRoots = new HashSet<String>();
+
+  /** 本次使用过的组件类 */
+  private final Set<String> usedComponents = new HashSet<String>();
+
+  private boolean loaded;
+
+  private boolean modified;
+
+  private int rootHits;
+
+  private int metadataHits;
+
+  /**
+   * 构造函数
+   *
+   * @param file 缓存文件
+   */
+  ComponentScanCache(File file) {
+    if (file == null) {
+      throw new IllegalArgumentException("缓存文件不能为空");
+    }
+    this.file = file;
+  }
+
+  /**
+   * 获取缓存文件
+   *
+   * @return 缓存文件
+   */
+  File getFile() {
+    return file;
+  }
+
+  /**
+   * 计算类路径资源的指纹
+   *
+   * @param url 包目录、类文件或 JAR 中资源的 URL
+   * @return 指纹，如果资源不在本地文件系统中返回 null
+   */
+  static String fingerprint(URL url) {
+    if (url == null) {
+      return null;
+    }
+
+    File target;
+    if ("file".equals(url.getProtocol())) {
+      target = toFile(url);
+    } else if ("jar".equals(url.getProtocol())) {
+      // jar:file:/path/app.jar!/com/example，以 JAR 文件本身作为指纹
+      String spec = url.toString();
+      int separator = spec.indexOf("!/");
+      if (separator < 0) {
+        return null;
+      }
+      try {
+        URL jarUrl = new URL(spec.substring("jar:".length(), separator));
+        if (!"file".equals(jarUrl.getProtocol())) {
+          return null;
+        }
+        target = toFile(jarUrl);
+      } catch (MalformedURLException e) {
+        return null;
+      }
+    } else {
+      return null;
+    }
+
+    if (target.isDirectory()) {
+      long[] digest = new long[2];
+      digestDirectory(target, "", digest);
+      return "d:" + digest[0] + ":" + Long.toHexString(digest[1]);
+    }
+    if (target.isFile()) {
+      return "f:" + target.length() + ":" + target.lastModified();
+    }
+    return null;
+  }
+
+  /**
+   * 累加目录中每个文件的摘要，与遍历顺序无关
+   */
+  private static void digestDirectory(File directory, String path, long[] digest) {
+    File[] files = directory.listFiles();
+    if (files == null) {
+      return;
+    }
+    for (File file : files) {
+      String filePath = path + "/" + file.getName();
+      if (file.isDirectory()) {
+        digestDirectory(file, filePath, digest);
+      } else {
+        long hash = filePath.hashCode() * 0x9E3779B97F4A7C15L;
+        hash ^= (hash >>> 29) + file.length() * 0xC2B2AE3D27D4EB4FL;
+        hash ^= (hash >>> 31) + file.lastModified() * 0x165667B19E3779F9L;
+        digest[0]++;
+        digest[1] += hash ^ (hash >>> 33);
+      }
+    }
+  }
+
+  private static File toFile(URL url) {
+    try {
+      return new File(url.toURI());
+    } catch (URISyntaxException e) {
+      return new File(url.getFile());
+    } catch (IllegalArgumentException e) {
+      return new File(url.getFile());
+    }
+  }
+
+  /**
+   * 获取类路径根中缓存的候选组件类名
+   *
+   * @param root        类路径根的 URL
+   * @param fingerprint 类路径根当前的指纹
+   * @return 候选组件类名，如果没有缓存或指纹不一致返回 null
+   */
+  synchronized List<String> getClassNames(String root, String fingerprint) {
+    ensureLoaded();
+    RootEntry entry = roots.get(root);
+    if (entry == null || !entry.fingerprint.equals(fingerprint)) {
+      return null;
+    }
+    usedRoots.add(root);
+    rootHits++;
+    return entry.classNames;
+  }
+
+  /**
+   * 缓存类路径根中的候选组件类名
+   *
+   * @param root        类路径根的 URL
+   * @param fingerprint 扫描前计算的指纹
+   * @param classNames  候选组件类名
+   */
+  synchronized void putClassNames(String root, String fingerprint, Collection<String> classNames) {
+    ensureLoaded();
+    roots.put(root, new RootEntry(fingerprint, new ArrayList<String>(classNames)));
+    usedRoots.add(root);
+    modified = true;
+  }
+
+  /**
+   * 使用缓存的注入元数据填充 Bean 定义，并将其标记为已确定，注册时不再反射扫描
+   *
+   * @param beanDefinition Bean 定义，必须已设置 Bean 类
+   * @return 如果缓存有效并已填充返回 true
+   */
+  synchronized boolean applyInjectionMetadata(BeanDefinition beanDefinition) {
+    ensureLoaded();
+    Class<?> beanClass = beanDefinition.getBeanClass();
+    ComponentEntry entry = components.get(beanClass.getName());
+    if (entry == null || !entry.dependencies.equals(dependencies(beanClass))) {
+      return false;
+    }
+
+    try {
+      Map<String, Class<?>> hierarchy = new HashMap<String, Class<?>>();
+      for (Class<?> current = beanClass; current != null; current = current.getSuperclass()) {
+        hierarchy.put(current.getName(), current);
+      }
+
+      List<Field> fields = new ArrayList<Field>();
+      for (String[] field : entry.fields) {
+        fields.add(declaringClass(hierarchy, field[0]).getDeclaredField(field[1]));
+      }
+      List<Method> methods = new ArrayList<Method>();
+      for (String[] method : entry.methods) {
+        methods.add(declaringClass(hierarchy, method[0]).getDeclaredMethod(method[1],
+            resolveTypes(Arrays.copyOfRange(method, 2, method.length), beanClass.getClassLoader())));
+      }
+      Constructor<?> constructor = entry.constructorParameterTypes != null
+          ? beanClass.getDeclaredConstructor(resolveTypes(entry.constructorParameterTypes, beanClass.getClassLoader()))
+          : null;
+
+      beanDefinition.setAutowiredFields(fields);
+      beanDefinition.setAutowiredMethods(methods);
+      beanDefinition.setConstructor(constructor);
+      beanDefinition.setInjectionMetadataResolved(true);
+    } catch (ClassNotFoundException e) {
+      return false;
+    } catch (NoSuchFieldException e) {
+      return false;
+    } catch (NoSuchMethodException e) {
+      return false;
+    }
+
+    usedComponents.add(beanClass.getName());
+    metadataHits++;
+    return true;
+  }
+
+  /**
+   * 缓存 Bean 定义中派生的注入元数据
+   *
+   * @param beanDefinition 已注册的 Bean 定义
+   */
+  synchronized void putInjectionMetadata(BeanDefinition beanDefinition) {
+    ensureLoaded();
+    Class<?> beanClass = beanDefinition.getBeanClass();
+    Map<String, String> dependencies = dependencies(beanClass);
+    if (dependencies == null) {
+      // 类文件不在本地文件系统中，无法校验
+      return;
+    }
+
+    List<String[]> fields = new ArrayList<String[]>();
+    for (Field field : beanDefinition.getAutowiredFields()) {
+      fields.add(new String[] { field.getDeclaringClass().getName(), field.getName() });
+    }
+    List<String[]> methods = new ArrayList<String[]>();
+    for (Method method : beanDefinition.getAutowiredMethods()) {
+      Class<?>[] parameterTypes = method.getParameterTypes();
+      String[] signature = new String[parameterTypes.length + 2];
+      signature[0] = method.getDeclaringClass().getName();
+      signature[1] = method.getName();
+      for (int i = 0; i < parameterTypes.length; i++) {
+        signature[i + 2] = parameterTypes[i].getName();
+      }
+      methods.add(signature);
+    }
+    String[] constructorParameterTypes = null;
+    Constructor<?> constructor = beanDefinition.getConstructor();
+    if (constructor != null) {
+      Class<?>[] parameterTypes = constructor.getParameterTypes();
+      constructorParameterTypes = new String[parameterTypes.length];
+      for (int i = 0; i < parameterTypes.length; i++) {
+        constructorParameterTypes[i] = parameterTypes[i].getName();
+      }
+    }
+
+    components.put(beanClass.getName(), new ComponentEntry(dependencies, fields, methods, constructorParameterTypes));
+    usedComponents.add(beanClass.getName());
+    modified = true;
+  }
+
+  /**
+   * 计算组件类及其父类的类文件指纹
+   *
+   * @return 类文件 URL -> 指纹，如果有类文件不在本地文件系统中返回 null
+   */
+  private static Map<String, String> dependencies(Class<?> beanClass) {
+    Map<String, String> dependencies = new LinkedHashMap<String, String>();
+    for (Class<?> current = beanClass; current != null && current != Object.class; current = current.getSuperclass()) {
+      ClassLoader classLoader = current.getClassLoader();
+      if (classLoader == null) {
+        // JDK 中的类不会变化
+        continue;
+      }
+      URL url = classLoader.getResource(current.getName().replace('.', '/') + ".class");
+      String fingerprint = fingerprint(url);
+      if (fingerprint == null) {
+        return null;
+      }
+      dependencies.put(url.toString(), fingerprint);
+    }
+    return dependencies;
+  }
+
+  private static Class<?> declaringClass(Map<String, Class<?>> hierarchy, String className)
+      throws ClassNotFoundException {
+    Class<?> declaringClass = hierarchy.get(className);
+    if (declaringClass == null) {
+      throw new ClassNotFoundException(className);
+    }
+    return declaringClass;
+  }
+
+  private static Class<?>[] resolveTypes(String[] typeNames, ClassLoader classLoader) throws ClassNotFoundException {
+    Class<?>[] types = new Class<?>[typeNames.length];
+    for (int i = 0; i < typeNames.length; i++) {
+      Class<?> primitiveType = primitiveTypes.get(typeNames[i]);
+      types[i] = primitiveType != null ? primitiveType : ClassUtils.forName(typeNames[i], false, classLoader);
+    }
+    return types;
+  }
+
+  /**
+   * 获取本次命中缓存的类路径根数量
+   */
+  synchronized int getRootHits() {
+    return rootHits;
+  }
+
+  /**
+   * 获取本次命中缓存的注入元数据数量
+   */
+  synchronized int getMetadataHits() {
+    return metadataHits;
+  }
+
+  /**
+   * 一次顺序读入缓存文件，文件不存在、损坏或版本不符时视为空缓存
+   */
+  private void ensureLoaded() {
+    if (loaded) {
+      return;
+    }
+    loaded = true;
+    if (!file.isFile()) {
+      return;
+    }
+
+    try {
+      DataInputStream in = new DataInputStream(new ByteArrayInputStream(Files.readAllBytes(file.toPath())));
+      if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+        return;
+      }
+
+      int rootCount = readCount(in);
+      for (int i = 0; i < rootCount; i++) {
+        String root = in.readUTF();
+        String fingerprint = in.readUTF();
+        roots.put(root, new RootEntry(fingerprint, Arrays.asList(readStrings(in))));
+      }
+
+      int componentCount = readCount(in);
+      for (int i = 0; i < componentCount; i++) {
+        String className = in.readUTF();
+        Map<String, String> dependencies = new LinkedHashMap<String, String>();
+        int dependencyCount = readCount(in);
+        for (int j = 0; j < dependencyCount; j++) {
+          dependencies.put(in.readUTF(), in.readUTF());
+        }
+        List<String[]> fields = readSignatures(in);
+        List<String[]> methods = readSignatures(in);
+        String[] constructorParameterTypes = in.readBoolean() ? readStrings(in) : null;
+        components.put(className, new ComponentEntry(dependencies, fields, methods, constructorParameterTypes));
+      }
+    } catch (IOException | RuntimeException e) {
+      // 截断或损坏的文件可能在解码时抛出运行时异常，同样视为空缓存
+      System.err.println("警告: 扫描缓存无效，将重新扫描 " + file + ": " + e);
+      roots.clear();
+      components.clear();
+    }
+  }
+
+  /**
+   * 缓存有变化时写回缓存文件，只保留本次使用过的条目
+   *
+   * @throws IOException 如果写入失败
+   */
+  synchronized void save() throws IOException {
+    if (!modified) {
+      return;
+    }
+
+    File parent = file.getAbsoluteFile().getParentFile();
+    if (parent != null && !parent.isDirectory() && !parent.mkdirs()) {
+      throw new IOException("无法创建目录: " + parent);
+    }
+    // 先写临时文件再替换，并发启动的进程不会读到写了一半的缓存
+    File temp = File.createTempFile(file.getName(), ".tmp", parent);
+    try {
+      DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)));
+      try {
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+
+        out.writeInt(usedRoots.size());
+        for (String root : usedRoots) {
+          RootEntry entry = roots.get(root);
+          out.writeUTF(root);
+          out.writeUTF(entry.fingerprint);
+          writeStrings(out, entry.classNames.toArray(new String[entry.classNames.size()]));
+        }
+
+        out.writeInt(usedComponents.size());
+        for (String className : usedComponents) {
+          ComponentEntry entry = components.get(className);
+          out.writeUTF(className);
+          out.writeInt(entry.dependencies.size());
+          for (Map.Entry<String, String> dependency : entry.dependencies.entrySet()) {
+            out.writeUTF(dependency.getKey());
+            out.writeUTF(dependency.getValue());
+          }
+          writeSignatures(out, entry.fields);
+          writeSignatures(out, entry.methods);
+          out.writeBoolean(entry.constructorParameterTypes != null);
+          if (entry.constructorParameterTypes != null) {
+            writeStrings(out, entry.constructorParameterTypes);
+          }
+        }
+      } finally {
+        out.close();
+      }
+      Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+      modified = false;
+    } finally {
+      temp.delete();
+    }
+  }
+
+  /**
+   * 读取元素数量，每个元素至少占一个字节，超过剩余字节数的数量说明文件已损坏
+   */
+  private static int readCount(DataInputStream in) throws IOException {
+    int count = in.readInt();
+    if (count < 0 || count > in.available()) {
+      throw new IOException("缓存文件已损坏，无效的元素数量: " + count);
+    }
+    return count;
+  }
+
+  private static String[] readStrings(DataInputStream in) throws IOException {
+    String[] values = new String[readCount(in)];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = in.readUTF();
+    }
+    return values;
+  }
+
+  private static void writeStrings(DataOutputStream out, String[] values) throws IOException {
+    out.writeInt(values.length);
+    for (String value : values) {
+      out.writeUTF(value);
+    }
+  }
+
+  private static List<String[]> readSignatures(DataInputStream in) throws IOException {
+    int count = readCount(in);
+    List<String[]> signatures = new ArrayList<String[]>(count);
+    for (int i = 0; i < count; i++) {
+      signatures.add(readStrings(in));
+    }
+    return signatures;
+  }
+
+  private static void writeSignatures(DataOutputStream out, List<String[]> signatures) throws IOException {
+    out.writeInt(signatures.size());
+    for (String[] signature : signatures) {
+      writeStrings(out, signature);
+    }
+  }
+
+  /**
+   * 类路径根的缓存条目
+   */
+  private static class RootEntry {
+
+    final String fingerprint;
+
+    final List<String> classNames;
+
+    RootEntry(String fingerprint, List<String> classNames) {
+      this.fingerprint = fingerprint;
+      this.classNames = Collections.unmodifiableList(classNames);
+    }
+  }
+
+  /**
+   * 组件类注入元数据的缓存条目，字段为 [声明类, 字段名]，方法为 [声明类, 方法名, 参数类型...]
+   */
+  private static class ComponentEntry {
+
+    final Map<String, String> dependencies;
+
+    final List<String[]> fields;
+
+    final List<String[]> methods;
+
+    final String[] constructorParameterTypes;
+
+    ComponentEntry(Map<String, String> dependencies, List<String[]> fields, List<String[]> methods,
+        String[] constructorParameterTypes) {
+      this.dependencies = dependencies;
+      this.fields = fields;
+      this.methods = methods;
+      this.constructorParameterTypes = constructorParameterTypes;
+    }
+  }
+}
@@ -0,0 +1,322 @@
+package com.simplespring.context;
+
+import com.simplespring.beans.factory.support.StronglyConnectedComponents;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 单例 Bean 并行销毁器
+ *
+ * 按依赖图的强连通分量计算每个 Bean 的反向层级：没有被任何 Bean 依赖的 Bean 位于第 0 层，
+ * 其余 Bean 位于其所有依赖方的最高层级 + 1。依赖方总是先于它的依赖被销毁，
+ * 同一层的 Bean 互不依赖，在有界线程池中并发执行 {@code @PreDestroy} 回调。
+ * 没有销毁回调的 Bean 在调度线程中直接销毁，不占用线程池。
+ *
+ * 同一个环路中的 Bean 按分量内顺序的逆序依次销毁。不在依赖图中的 Bean（例如直接注册的单例）
+ * 依赖关系未知，在最后一层销毁。
+ *
+ * 每个 Bean 的回调从开始执行时计算单独的超时时间，整个销毁过程有全局超时时间：
+ * 超时的回调被中断并不再等待，全局超时后剩余的 Bean 不再执行回调。
+ *
+ * @author Simple Spring Framework
+ * @since 1.0.0
+ */
+class ParallelSingletonDestroyer {
+
+  /**
+   * 单例 Bean 的销毁回调
+   */
+  interface SingletonDestroyer {
+
+    /**
+     * 检查 Bean 是否有需要执行的销毁回调
+     *
+     * @param beanName Bean 名称
+     * @return 如果需要在线程池中执行销毁回调返回 true
+     */
+    boolean requiresDestruction(String beanName);
+
+    /**
+     * 销毁单例 Bean 并从缓存中移除
+     *
+     * @param beanName Bean 名称
+     */
+    void destroySingleton(String beanName);
+  }
+
+  /** 最大并行度 */
+  private final int parallelism;
+
+  /** 单个 Bean 的超时时间（纳秒），0 表示不限制 */
+  private final long beanTimeoutNanos;
+
+  /** 全局超时时间（纳秒），0 表示不限制 */
+  private final long timeoutNanos;
+
+  /**
+   * 构造函数
+   *
+   * @param parallelism       最大并行度
+   * @param beanTimeoutMillis 单个 Bean 的超时时间（毫秒），0 表示不限制
+   * @param timeoutMillis     全局超时时间（毫秒），0 表示不限制
+   */
+  ParallelSingletonDestroyer(int parallelism, long beanTimeoutMillis, long timeoutMillis) {
+    if (parallelism < 1) {
+      throw new IllegalArgumentException("并行度必须大于 0");
+    }
+    if (beanTimeoutMillis < 0 || timeoutMillis < 0) {
+      throw new IllegalArgumentException("超时时间不能为负数");
+    }
+    this.parallelism = parallelism;
+    this.beanTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(beanTimeoutMillis);
+    this.timeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+  }
+
+  /**
+   * 按依赖的逆序并行销毁单例 Bean
+   *
+   * @param singletonNames 需要销毁的单例 Bean 名称
+   * @param components     依赖图的强连通分量分析结果
+   * @param destroyer      单例 Bean 的销毁回调
+   * @return 销毁报告
+   */
+  SingletonDestructionReport destroy(List<String> singletonNames, StronglyConnectedComponents components,
+      SingletonDestroyer destroyer) {
+    long startTime = System.nanoTime();
+    TreeMap<Integer, List<List<String>>> levels = computeLevels(singletonNames, components);
+
+    Map<String, Long> beanTimes = new LinkedHashMap<String, Long>();
+    List<String> timedOutBeans = new ArrayList<String>();
+    List<String> skippedBeans = new ArrayList<String>();
+
+    ExecutorService executor = Executors.newFixedThreadPool(parallelism, new ThreadFactory() {
+      private final AtomicInteger threadNumber = new AtomicInteger();
+
+      @Override
+      public Thread newThread(Runnable runnable) {
+        Thread thread = new Thread(runnable, "simplespring-shutdown-" + threadNumber.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+      }
+    });
+    try {
+      for (List<List<String>> groups : levels.values()) {
+        // 同一分量中的 Bean 依次销毁：第 i 轮销毁每个分量中的第 i 个 Bean
+        for (int round = 0;; round++) {
+          boolean hasMore = false;
+          List<DestructionTask> tasks = new ArrayList<DestructionTask>();
+          for (List<String> group : groups) {
+            if (round >= group.size()) {
+              continue;
+            }
+            hasMore = true;
+            String beanName = group.get(round);
+            if (isExpired(startTime)) {
+              skippedBeans.add(beanName);
+            } else if (destroyer.requiresDestruction(beanName)) {
+              DestructionTask task = new DestructionTask(beanName, destroyer);
+              task.future = executor.submit(task);
+              tasks.add(task);
+            } else {
+              long start = System.nanoTime();
+              destroyer.destroySingleton(beanName);
+              beanTimes.put(beanName, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            }
+          }
+          if (!hasMore) {
+            break;
+          }
+
+          for (DestructionTask task : tasks) {
+            await(task, startTime);
+            beanTimes.put(task.beanName, TimeUnit.NANOSECONDS.toMillis(task.elapsedNanos()));
+            if (task.timedOut) {
+              timedOutBeans.add(task.beanName);
+            }
+          }
+        }
+      }
+    } finally {
+      // 中断仍在执行的超时回调，线程为守护线程，不会阻止 JVM 退出
+      executor.shutdownNow();
+    }
+
+    List<List<String>> levelNames = new ArrayList<List<String>>(levels.size());
+    for (List<List<String>> groups : levels.values()) {
+      List<String> names = new ArrayList<String>();
+      for (List<String> group : groups) {
+        names.addAll(group);
+      }
+      levelNames.add(names);
+    }
+    long totalTime = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+    return new SingletonDestructionReport(levelNames, beanTimes, timedOutBeans, skippedBeans, totalTime,
+        parallelism);
+  }
+
+  /**
+   * 计算反向层级，每一层由若干分量组成，分量内的 Bean 按销毁顺序排列
+   *
+   * @param singletonNames 需要销毁的单例 Bean 名称
+   * @param components     强连通分量分析结果
+   * @return 层级 -> 分量列表
+   */
+  private TreeMap<Integer, List<List<String>>> computeLevels(List<String> singletonNames,
+      StronglyConnectedComponents components) {
+    int componentCount = components.getComponentCount();
+    int[] componentLevels = new int[componentCount];
+    // 分量按依赖在前排列，从后往前遍历时每个分量的依赖方都已确定层级
+    for (int c = componentCount - 1; c >= 0; c--) {
+      for (int dependency : components.getComponentDependencies(c)) {
+        componentLevels[dependency] = Math.max(componentLevels[dependency], componentLevels[c] + 1);
+      }
+    }
+
+    Set<String> remaining = new HashSet<String>(singletonNames);
+    TreeMap<Integer, List<List<String>>> levels = new TreeMap<Integer, List<List<String>>>();
+    int lastLevel = 0;
+    for (int c = 0; c < componentCount; c++) {
+      List<String> members = components.getComponent(c);
+      List<String> group = new ArrayList<String>(members.size());
+      for (int i = members.size() - 1; i >= 0; i--) {
+        if (remaining.remove(members.get(i))) {
+          group.add(members.get(i));
+        }
+      }
+      if (!group.isEmpty()) {
+        addGroup(levels, componentLevels[c], group);
+        lastLevel = Math.max(lastLevel, componentLevels[c]);
+      }
+    }
+
+    // 不在依赖图中的 Bean 依赖关系未知，最后销毁
+    if (!remaining.isEmpty()) {
+      int unknownLevel = levels.isEmpty() ? 0 : lastLevel + 1;
+      for (String beanName : singletonNames) {
+        if (remaining.contains(beanName)) {
+          addGroup(levels, unknownLevel, Collections.singletonList(beanName));
+        }
+      }
+    }
+    return levels;
+  }
+
+  private static void addGroup(TreeMap<Integer, List<List<String>>> levels, int level, List<String> group) {
+    List<List<String>> groups = levels.get(level);
+    if (groups == null) {
+      groups = new ArrayList<List<String>>();
+      levels.put(level, groups);
+    }
+    groups.add(group);
+  }
+
+  /**
+   * 等待销毁任务结束，超过单个 Bean 或全局的超时时间后中断任务
+   *
+   * @param task      销毁任务
+   * @param startTime 销毁开始时间（纳秒）
+   */
+  private void await(DestructionTask task, long startTime) {
+    try {
+      while (true) {
+        long now = System.nanoTime();
+        long remaining = Long.MAX_VALUE;
+        if (timeoutNanos > 0) {
+          remaining = startTime + timeoutNanos - now;
+        }
+        if (beanTimeoutNanos > 0) {
+          // 任务尚未开始执行时最多等待一个超时周期，然后按实际开始时间重新计算
+          long taskStart = task.startNanos;
+          long beanRemaining = task.started ? taskStart + beanTimeoutNanos - now : beanTimeoutNanos;
+          remaining = Math.min(remaining, beanRemaining);
+        }
+        if (remaining <= 0) {
+          task.timedOut = true;
+          task.future.cancel(true);
+          return;
+        }
+        try {
+          task.future.get(remaining, TimeUnit.NANOSECONDS);
+          return;
+        } catch (TimeoutException e) {
+          // 重新检查超时时间
+        }
+      }
+    } catch (ExecutionException e) {
+      System.err.println("销毁 Bean '" + task.beanName + "' 失败: " + e.getCause().getMessage());
+    } catch (CancellationException e) {
+      task.timedOut = true;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      task.timedOut = true;
+      task.future.cancel(true);
+    }
+  }
+
+  private boolean isExpired(long startTime) {
+    return timeoutNanos > 0 && System.nanoTime() - startTime >= timeoutNanos;
+  }
+
+  /**
+   * 在线程池中销毁单个 Bean 的任务
+   */
+  private static class DestructionTask implements Runnable {
+
+    private final String beanName;
+
+    private final SingletonDestroyer destroyer;
+
+    private Future<?> future;
+
+    private volatile boolean started;
+
+    private volatile long startNanos;
+
+    private volatile long endNanos;
+
+    private volatile boolean timedOut;
+
+    DestructionTask(String beanName, SingletonDestroyer destroyer) {
+      this.beanName = beanName;
+      this.destroyer = destroyer;
+    }
+
+    @Override
+    public void run() {
+      startNanos = System.nanoTime();
+      started = true;
+      try {
+        destroyer.destroySingleton(beanName);
+      } finally {
+        endNanos = System.nanoTime();
+      }
+    }
+
+    /**
+     * 回调的执行耗时，超时未结束时为截至目前的耗时
+     */
+    long elapsedNanos() {
+      if (!started) {
+        return 0L;
+      }
+      long end = endNanos;
+      return (end != 0L ? end : System.nanoTime()) - startNanos;
+    }
+  }
+}
@@ -0,0 +1,233 @@
+package com.simplespring.context;
+
+import com.simplespring.beans.factory.support.StronglyConnectedComponents;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 单例 Bean 并行预实例化器
+ * 
+ * 根据依赖图的强连通分量计算每个 Bean 的层级：没有依赖的 Bean 位于第 0 层，
+ * 其余 Bean 位于其所有依赖的最高层级 + 1。同一层的 Bean 互不依赖，
+ * 在有界的 ForkJoinPool 中并发创建；上一层全部完成后才开始下一层，
+ * 因此每个 Bean 的依赖在它开始创建之前都已完成创建（happens-before 由任务的 join 保证）。
+ * 
+ * 同一个环路中的 Bean 作为一个任务在同一线程中顺序创建，循环依赖的报错与顺序模式一致。
+ * 
+ * @author Simple Spring Framework
+ * @since 1.0.0
+ */
+class ParallelSingletonInstantiator {
+
+  /**
+   * 单例 Bean 的创建回调
+   */
+  interface SingletonCreator {
+
+    /**
+     * 创建并缓存单例 Bean
+     * 
+     * @param beanName Bean 名称
+     */
+    void createSingleton(String beanName);
+  }
+
+  /** 最大并行度 */
+  private final int parallelism;
+
+  /**
+   * 构造函数
+   * 
+   * @param parallelism 最大并行度
+   */
+  ParallelSingletonInstantiator(int parallelism) {
+    if (parallelism < 1) {
+      throw new IllegalArgumentException("并行度必须大于 0");
+    }
+    this.parallelism = parallelism;
+  }
+
+  /**
+   * 按依赖层级并行创建单例 Bean
+   * 
+   * @param singletonNames 需要创建的单例 Bean 名称
+   * @param components     依赖图的强连通分量分析结果
+   * @param creator        单例 Bean 的创建回调
+   * @return 预实例化报告
+   */
+  SingletonInstantiationReport instantiate(List<String> singletonNames, StronglyConnectedComponents components,
+      SingletonCreator creator) {
+    long startTime = System.nanoTime();
+
+    int componentCount = components.getComponentCount();
+    int[] componentLevels = new int[componentCount];
+    // 分量按依赖在前排列，依赖的层级总是先于当前分量确定
+    for (int c = 0; c < componentCount; c++) {
+      int level = 0;
+      for (int dependency : components.getComponentDependencies(c)) {
+        level = Math.max(level, componentLevels[dependency] + 1);
+      }
+      componentLevels[c] = level;
+    }
+
+    // 按分量分组，同一分量的 Bean 在同一个任务中创建
+    Map<Integer, CreationTask> tasksByComponent = new LinkedHashMap<Integer, CreationTask>();
+    TreeMap<Integer, List<CreationTask>> levels = new TreeMap<Integer, List<CreationTask>>();
+    for (String beanName : singletonNames) {
+      int component = components.getComponentIndex(beanName);
+      CreationTask task = component >= 0 ? tasksByComponent.get(component) : null;
+      if (task == null) {
+        task = new CreationTask(creator);
+        int level = component >= 0 ? componentLevels[component] : 0;
+        if (component >= 0) {
+          tasksByComponent.put(component, task);
+        }
+        List<CreationTask> levelTasks = levels.get(level);
+        if (levelTasks == null) {
+          levelTasks = new ArrayList<CreationTask>();
+          levels.put(level, levelTasks);
+        }
+        levelTasks.add(task);
+      }
+      task.beanNames.add(beanName);
+    }
+
+    ForkJoinPool pool = new ForkJoinPool(parallelism);
+    try {
+      for (final List<CreationTask> levelTasks : levels.values()) {
+        pool.invoke(new RecursiveAction() {
+          @Override
+          protected void compute() {
+            invokeAll(levelTasks);
+          }
+        });
+
+        // 任务内部捕获异常，按层内顺序抛出第一个失败，保持异常原样
+        for (CreationTask task : levelTasks) {
+          if (task.failure != null) {
+            throw task.failure;
+          }
+        }
+      }
+    } finally {
+      pool.shutdown();
+    }
+
+    long totalTime = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+    return buildReport(components, tasksByComponent, levels, totalTime);
+  }
+
+  /**
+   * 构建预实例化报告，计算关键路径
+   * 
+   * @param components       强连通分量分析结果
+   * @param tasksByComponent 分量 -> 创建任务
+   * @param levels           层级 -> 创建任务
+   * @param totalTime        总耗时（毫秒）
+   * @return 预实例化报告
+   */
+  private SingletonInstantiationReport buildReport(StronglyConnectedComponents components,
+      Map<Integer, CreationTask> tasksByComponent, TreeMap<Integer, List<CreationTask>> levels, long totalTime) {
+    List<List<String>> levelNames = new ArrayList<List<String>>(levels.size());
+    Map<String, Long> beanTimes = new LinkedHashMap<String, Long>();
+    for (List<CreationTask> levelTasks : levels.values()) {
+      List<String> names = new ArrayList<String>();
+      for (CreationTask task : levelTasks) {
+        for (int i = 0; i < task.beanNames.size(); i++) {
+          names.add(task.beanNames.get(i));
+          beanTimes.put(task.beanNames.get(i), TimeUnit.NANOSECONDS.toMillis(task.beanTimes[i]));
+        }
+      }
+      levelNames.add(names);
+    }
+
+    // 关键路径：沿缩点图累加耗时，finish[c] = 自身耗时 + max(依赖的 finish)
+    int componentCount = components.getComponentCount();
+    long[] finish = new long[componentCount];
+    int[] previous = new int[componentCount];
+    int last = -1;
+    for (int c = 0; c < componentCount; c++) {
+      long longest = 0;
+      previous[c] = -1;
+      for (int dependency : components.getComponentDependencies(c)) {
+        if (finish[dependency] > longest || previous[c] == -1) {
+          longest = finish[dependency];
+          previous[c] = dependency;
+        }
+      }
+      CreationTask task = tasksByComponent.get(c);
+      finish[c] = longest + (task != null ? task.totalTime() : 0);
+      if (task != null && (last == -1 || finish[c] > finish[last])) {
+        last = c;
+      }
+    }
+
+    List<String> criticalPath = new ArrayList<String>();
+    long criticalPathTime = 0;
+    for (int c = last; c >= 0; c = previous[c]) {
+      CreationTask task = tasksByComponent.get(c);
+      if (task != null) {
+        for (int i = task.beanNames.size() - 1; i >= 0; i--) {
+          criticalPath.add(task.beanNames.get(i));
+        }
+        criticalPathTime += task.totalTime();
+      }
+    }
+    Collections.reverse(criticalPath);
+
+    return new SingletonInstantiationReport(levelNames, beanTimes, criticalPath,
+        TimeUnit.NANOSECONDS.toMillis(criticalPathTime), totalTime, parallelism);
+  }
+
+  /**
+   * 创建同一分量中单例 Bean 的任务
+   */
+  private static class CreationTask extends RecursiveAction {
+
+    private final SingletonCreator creator;
+
+    private final List<String> beanNames = new ArrayList<String>();
+
+    /** 每个 Bean 的创建耗时（纳秒） */
+    private long[] beanTimes;
+
+    /** 创建失败时的异常 */
+    private RuntimeException failure;
+
+    CreationTask(SingletonCreator creator) {
+      this.creator = creator;
+    }
+
+    @Override
+    protected void compute() {
+      beanTimes = new long[beanNames.size()];
+      for (int i = 0; i < beanNames.size(); i++) {
+        long start = System.nanoTime();
+        try {
+          creator.createSingleton(beanNames.get(i));
+        } catch (RuntimeException e) {
+          failure = e;
+          return;
+        } finally {
+          beanTimes[i] = System.nanoTime() - start;
+        }
+      }
+    }
+
+    long totalTime() {
+      long total = 0;
+      for (long time : beanTimes) {
+        total += time;
+      }
+      return total;
+    }
+  }
+}
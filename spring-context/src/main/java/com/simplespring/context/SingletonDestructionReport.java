@@ -0,0 +1,161 @@
+package com.simplespring.context;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 容器关闭时单例 Bean 的销毁报告
+ *
+ * 记录每一层并行销毁的 Bean、每个 Bean 的销毁耗时，以及超时或因全局超时未执行销毁回调的 Bean，
+ * 用于找出拖慢关闭的 {@code @PreDestroy} 回调。
+ *
+ * @author Simple Spring Framework
+ * @since 1.0.0
+ */
+public class SingletonDestructionReport {
+
+  /** 按层排列的单例 Bean 名称，依赖方所在的层在前 */
+  private final List<List<String>> levels;
+
+  /** Bean 名称 -> 销毁耗时（毫秒） */
+  private final Map<String, Long> beanTimes;
+
+  /** 销毁回调超时的 Bean */
+  private final List<String> timedOutBeans;
+
+  /** 因全局超时未执行销毁回调的 Bean */
+  private final List<String> skippedBeans;
+
+  /** 销毁总耗时（毫秒） */
+  private final long totalTime;
+
+  /** 使用的并行度 */
+  private final int parallelism;
+
+  SingletonDestructionReport(List<List<String>> levels, Map<String, Long> beanTimes, List<String> timedOutBeans,
+      List<String> skippedBeans, long totalTime, int parallelism) {
+    List<List<String>> levelsCopy = new ArrayList<List<String>>(levels.size());
+    for (List<String> level : levels) {
+      levelsCopy.add(Collections.unmodifiableList(new ArrayList<String>(level)));
+    }
+    this.levels = Collections.unmodifiableList(levelsCopy);
+    this.beanTimes = Collections.unmodifiableMap(new LinkedHashMap<String, Long>(beanTimes));
+    this.timedOutBeans = Collections.unmodifiableList(new ArrayList<String>(timedOutBeans));
+    this.skippedBeans = Collections.unmodifiableList(new ArrayList<String>(skippedBeans));
+    this.totalTime = totalTime;
+    this.parallelism = parallelism;
+  }
+
+  /**
+   * 获取按层排列的单例 Bean 名称
+   *
+   * @return 层列表，依赖方所在的层在前
+   */
+  public List<List<String>> getLevels() {
+    return levels;
+  }
+
+  /**
+   * 获取每个 Bean 的销毁耗时，超时的 Bean 记录为放弃等待时的耗时
+   *
+   * @return Bean 名称 -> 耗时（毫秒）
+   */
+  public Map<String, Long> getBeanTimes() {
+    return beanTimes;
+  }
+
+  /**
+   * 获取销毁耗时最长的若干个 Bean
+   *
+   * @param limit 最多返回的数量
+   * @return Bean 名称列表，按耗时从长到短排序
+   */
+  public List<String> getSlowestBeans(int limit) {
+    List<Map.Entry<String, Long>> entries = new ArrayList<Map.Entry<String, Long>>(beanTimes.entrySet());
+    Collections.sort(entries, new Comparator<Map.Entry<String, Long>>() {
+      @Override
+      public int compare(Map.Entry<String, Long> a, Map.Entry<String, Long> b) {
+        return b.getValue().compareTo(a.getValue());
+      }
+    });
+    List<String> slowest = new ArrayList<String>();
+    for (int i = 0; i < entries.size() && i < limit; i++) {
+      slowest.add(entries.get(i).getKey());
+    }
+    return slowest;
+  }
+
+  /**
+   * 获取销毁回调超时的 Bean
+   *
+   * @return Bean 名称列表
+   */
+  public List<String> getTimedOutBeans() {
+    return timedOutBeans;
+  }
+
+  /**
+   * 获取因全局超时未执行销毁回调的 Bean
+   *
+   * @return Bean 名称列表
+   */
+  public List<String> getSkippedBeans() {
+    return skippedBeans;
+  }
+
+  /**
+   * 是否所有 Bean 的销毁回调都在超时时间内完成
+   *
+   * @return 如果没有超时或跳过的 Bean 返回 true
+   */
+  public boolean isCompleted() {
+    return timedOutBeans.isEmpty() && skippedBeans.isEmpty();
+  }
+
+  /**
+   * 获取销毁总耗时
+   *
+   * @return 耗时（毫秒）
+   */
+  public long getTotalTime() {
+    return totalTime;
+  }
+
+  /**
+   * 获取使用的并行度
+   *
+   * @return 并行度
+   */
+  public int getParallelism() {
+    return parallelism;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder();
+    sb.append("销毁 ").append(beanTimes.size()).append(" 个单例 Bean，");
+    sb.append(levels.size()).append(" 层，并行度 ").append(parallelism);
+    sb.append("，总耗时 ").append(totalTime).append("ms");
+    List<String> slowest = getSlowestBeans(3);
+    if (!slowest.isEmpty()) {
+      sb.append("；最慢: ");
+      for (int i = 0; i < slowest.size(); i++) {
+        if (i > 0) {
+          sb.append(", ");
+        }
+        sb.append(slowest.get(i)).append('[').append(beanTimes.get(slowest.get(i))).append("ms]");
+      }
+    }
+    if (!timedOutBeans.isEmpty()) {
+      sb.append("；超时: ").append(timedOutBeans);
+    }
+    if (!skippedBeans.isEmpty()) {
+      sb.append("；未执行销毁回调: ").append(skippedBeans);
+    }
+    return sb.toString();
+  }
+}
@@ -0,0 +1,122 @@
+package com.simplespring.context;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 单例 Bean 并行预实例化报告
+ * 
+ * 记录每一层并行创建的 Bean、每个 Bean 的创建耗时，以及决定启动总耗时的关键路径：
+ * 依赖链上耗时之和最大的一条链，缩短它才能缩短启动时间。
+ * 
+ * @author Simple Spring Framework
+ * @since 1.0.0
+ */
+public class SingletonInstantiationReport {
+
+  /** 按层排列的单例 Bean 名称，同一层的 Bean 之间没有依赖关系 */
+  private final List<List<String>> levels;
+
+  /** Bean 名称 -> 创建耗时（毫秒） */
+  private final Map<String, Long> beanTimes;
+
+  /** 关键路径，依赖在前 */
+  private final List<String> criticalPath;
+
+  /** 关键路径上 Bean 的耗时之和（毫秒） */
+  private final long criticalPathTime;
+
+  /** 预实例化总耗时（毫秒） */
+  private final long totalTime;
+
+  /** 使用的并行度 */
+  private final int parallelism;
+
+  SingletonInstantiationReport(List<List<String>> levels, Map<String, Long> beanTimes, List<String> criticalPath,
+      long criticalPathTime, long totalTime, int parallelism) {
+    List<List<String>> levelsCopy = new ArrayList<List<String>>(levels.size());
+    for (List<String> level : levels) {
+      levelsCopy.add(Collections.unmodifiableList(new ArrayList<String>(level)));
+    }
+    this.levels = Collections.unmodifiableList(levelsCopy);
+    this.beanTimes = Collections.unmodifiableMap(new LinkedHashMap<String, Long>(beanTimes));
+    this.criticalPath = Collections.unmodifiableList(new ArrayList<String>(criticalPath));
+    this.criticalPathTime = criticalPathTime;
+    this.totalTime = totalTime;
+    this.parallelism = parallelism;
+  }
+
+  /**
+   * 获取按层排列的单例 Bean 名称
+   * 
+   * @return 层列表，依赖所在的层在前
+   */
+  public List<List<String>> getLevels() {
+    return levels;
+  }
+
+  /**
+   * 获取每个 Bean 的创建耗时
+   * 
+   * @return Bean 名称 -> 耗时（毫秒）
+   */
+  public Map<String, Long> getBeanTimes() {
+    return beanTimes;
+  }
+
+  /**
+   * 获取关键路径
+   * 
+   * @return Bean 名称列表，依赖在前
+   */
+  public List<String> getCriticalPath() {
+    return criticalPath;
+  }
+
+  /**
+   * 获取关键路径耗时，即并行启动耗时的理论下限
+   * 
+   * @return 耗时（毫秒）
+   */
+  public long getCriticalPathTime() {
+    return criticalPathTime;
+  }
+
+  /**
+   * 获取预实例化总耗时
+   * 
+   * @return 耗时（毫秒）
+   */
+  public long getTotalTime() {
+    return totalTime;
+  }
+
+  /**
+   * 获取使用的并行度
+   * 
+   * @return 并行度
+   */
+  public int getParallelism() {
+    return parallelism;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder();
+    sb.append("并行预实例化 ").append(beanTimes.size()).append(" 个单例 Bean，");
+    sb.append(levels.size()).append(" 层，并行度 ").append(parallelism);
+    sb.append("，总耗时 ").append(totalTime).append("ms");
+    sb.append("；关键路径 (").append(criticalPathTime).append("ms): ");
+    for (int i = 0; i < criticalPath.size(); i++) {
+      if (i > 0) {
+        sb.append(" -> ");
+      }
+      String beanName = criticalPath.get(i);
+      sb.append(beanName).append('[').append(beanTimes.get(beanName)).append("ms]");
+    }
+    return sb.toString();
+  }
+}
@@ -0,0 +1,22 @@
+package com.simplespring.context.aot;
+
+import com.simplespring.beans.factory.support.DefaultBeanFactory;
+
+/**
+ * 预先生成的容器初始化器
+ *
+ * 由 {@link ApplicationContextAotGenerator} 在构建期生成实现类，直接向 Bean 工厂注册 Bean 定义、
+ * 实例提供者和生命周期方法，{@link GeneratedApplicationContext} 启动时调用它代替类路径扫描。
+ *
+ * @author Simple Spring Framework
+ * @since 1.0.0
+ */
+public interface AotContextInitializer {
+
+  /**
+   * 向 Bean 工厂注册预先生成的 Bean 定义
+   *
+   * @param beanFactory Bean 工厂
+   */
+  void initialize(DefaultBeanFactory beanFactory);
+}
@@ -0,0 +1,210 @@
+package com.simplespring.context.aot;
+
+import com.simplespring.core.util.ClassUtils;
+import com.simplespring.core.util.ReflectionUtils;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+/**
+ * 生成代码的运行时支持
+ *
+ * 生成的代码只在目标类或成员不可从生成的类中直接访问（非 public）时才调用这里的方法，
+ * 其余情况直接使用 {@code new}、字段赋值和方法调用。非 public 的成员由生成的类在初始化时
+ * 通过 {@code find*} 方法查找一次并保存在静态常量中，创建 Bean 时直接使用。
+ *
+ * @author Simple Spring Framework
+ * @since 1.0.0
+ */
+public final class AotSupport {
+
+  private AotSupport() {
+  }
+
+  /**
+   * 按名称加载类，不执行静态初始化
+   *
+   * @param className 全限定类名
+   * @return 类对象
+   * @throws IllegalStateException 如果类不存在
+   */
+  public static Class<?> forName(String className) {
+    try {
+      return ClassUtils.forName(className, false, ClassUtils.getDefaultClassLoader());
+    } catch (ClassNotFoundException e) {
+      throw new IllegalStateException("找不到生成代码引用的类 '" + className + "'，请重新生成初始化器", e);
+    }
+  }
+
+  /**
+   * 查找字段并设置为可访问
+   *
+   * @param declaringClass 声明字段的类
+   * @param fieldName      字段名称
+   * @return 可访问的字段
+   * @throws IllegalStateException 如果字段不存在
+   */
+  public static Field findField(Class<?> declaringClass, String fieldName) {
+    try {
+      Field field = declaringClass.getDeclaredField(fieldName);
+      ReflectionUtils.makeAccessible(field);
+      return field;
+    } catch (NoSuchFieldException e) {
+      throw new IllegalStateException("找不到生成代码引用的字段 '" + declaringClass.getName() + "." + fieldName
+          + "'，请重新生成初始化器", e);
+    }
+  }
+
+  /**
+   * 查找方法并设置为可访问
+   *
+   * @param declaringClass 声明方法的类
+   * @param methodName     方法名称
+   * @param parameterTypes 方法参数类型
+   * @return 可访问的方法
+   * @throws IllegalStateException 如果方法不存在
+   */
+  public static Method findMethod(Class<?> declaringClass, String methodName, Class<?>... parameterTypes) {
+    try {
+      Method method = declaringClass.getDeclaredMethod(methodName, parameterTypes);
+      ReflectionUtils.makeAccessible(method);
+      return method;
+    } catch (NoSuchMethodException e) {
+      throw new IllegalStateException("找不到生成代码引用的方法 '" + declaringClass.getName() + "." + methodName
+          + "'，请重新生成初始化器", e);
+    }
+  }
+
+  /**
+   * 查找构造函数并设置为可访问
+   *
+   * @param type           类
+   * @param parameterTypes 构造函数参数类型
+   * @return 可访问的构造函数
+   * @throws IllegalStateException 如果构造函数不存在
+   */
+  public static Constructor<?> findConstructor(Class<?> type, Class<?>... parameterTypes) {
+    try {
+      Constructor<?> constructor = type.getDeclaredConstructor(parameterTypes);
+      ReflectionUtils.makeAccessible(constructor);
+      return constructor;
+    } catch (NoSuchMethodException e) {
+      throw new IllegalStateException("找不到生成代码引用的 '" + type.getName() + "' 的构造函数，请重新生成初始化器", e);
+    }
+  }
+
+  /**
+   * 调用已查找的构造函数创建实例
+   *
+   * @param constructor 可访问的构造函数
+   * @param args        构造函数参数
+   * @return 新实例
+   * @throws Exception 构造函数抛出的异常或反射异常
+   */
+  public static Object instantiate(Constructor<?> constructor, Object... args) throws Exception {
+    try {
+      return constructor.newInstance(args);
+    } catch (InvocationTargetException e) {
+      throw unwrap(e);
+    }
+  }
+
+  /**
+   * 设置已查找的字段的值
+   *
+   * @param target 目标对象
+   * @param field  可访问的字段
+   * @param value  字段值
+   * @throws Exception 反射异常
+   */
+  public static void setField(Object target, Field field, Object value) throws Exception {
+    field.set(target, value);
+  }
+
+  /**
+   * 调用已查找的方法
+   *
+   * @param target 目标对象
+   * @param method 可访问的方法
+   * @param args   方法参数
+   * @return 方法返回值
+   * @throws Exception 方法抛出的异常或反射异常
+   */
+  public static Object invokeMethod(Object target, Method method, Object... args) throws Exception {
+    try {
+      return method.invoke(target, args);
+    } catch (InvocationTargetException e) {
+      throw unwrap(e);
+    }
+  }
+
+  /**
+   * 调用构造函数创建实例，每次调用都查找构造函数；新生成的代码使用 {@link #instantiate(Constructor, Object...)}
+   *
+   * @param type           类
+   * @param parameterTypes 构造函数参数类型
+   * @param args           构造函数参数
+   * @return 新实例
+   * @throws Exception 构造函数抛出的异常或反射异常
+   */
+  public static Object instantiate(Class<?> type, Class<?>[] parameterTypes, Object... args) throws Exception {
+    Constructor<?> constructor = type.getDeclaredConstructor(parameterTypes);
+    ReflectionUtils.makeAccessible(constructor);
+    try {
+      return constructor.newInstance(args);
+    } catch (InvocationTargetException e) {
+      throw unwrap(e);
+    }
+  }
+
+  /**
+   * 设置字段值，每次调用都查找字段；新生成的代码使用 {@link #setField(Object, Field, Object)}
+   *
+   * @param target         目标对象
+   * @param declaringClass 声明字段的类
+   * @param fieldName      字段名称
+   * @param value          字段值
+   * @throws Exception 反射异常
+   */
+  public static void setField(Object target, Class<?> declaringClass, String fieldName, Object value)
+      throws Exception {
+    Field field = declaringClass.getDeclaredField(fieldName);
+    ReflectionUtils.makeAccessible(field);
+    field.set(target, value);
+  }
+
+  /**
+   * 调用方法，每次调用都查找方法；新生成的代码使用 {@link #invokeMethod(Object, Method, Object...)}
+   *
+   * @param target         目标对象
+   * @param declaringClass 声明方法的类
+   * @param methodName     方法名称
+   * @param parameterTypes 方法参数类型
+   * @param args           方法参数
+   * @return 方法返回值
+   * @throws Exception 方法抛出的异常或反射异常
+   */
+  public static Object invokeMethod(Object target, Class<?> declaringClass, String methodName,
+      Class<?>[] parameterTypes, Object... args) throws Exception {
+    Method method = declaringClass.getDeclaredMethod(methodName, parameterTypes);
+    ReflectionUtils.makeAccessible(method);
+    try {
+      return method.invoke(target, args);
+    } catch (InvocationTargetException e) {
+      throw unwrap(e);
+    }
+  }
+
+  private static Exception unwrap(InvocationTargetException e) {
+    Throwable target = e.getTargetException();
+    if (target instanceof Exception) {
+      return (Exception) target;
+    }
+    if (target instanceof Error) {
+      throw (Error) target;
+    }
+    return e;
+  }
+}
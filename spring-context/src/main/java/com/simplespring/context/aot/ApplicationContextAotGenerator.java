@@ -0,0 +1,609 @@
+package com.simplespring.context.aot;
+
+import com.simplespring.beans.factory.BeanFactory;
+import com.simplespring.beans.factory.config.BeanDefinition;
+import com.simplespring.beans.factory.config.BeanInstanceSupplier;
+import com.simplespring.beans.factory.config.Scope;
+import com.simplespring.beans.factory.support.BeanAccessorStrategy.MethodInvoker;
+import com.simplespring.beans.factory.support.BeanRegistry;
+import com.simplespring.beans.factory.support.DefaultBeanFactory;
+import com.simplespring.beans.factory.support.DependencyDescriptor;
+import com.simplespring.beans.factory.support.InjectionPlan;
+import com.simplespring.beans.factory.support.LifecycleProcessor.LifecycleMethod;
+import com.simplespring.context.AnnotationConfigApplicationContext;
+import com.simplespring.core.annotation.Autowired;
+import com.simplespring.core.annotation.PostConstruct;
+import com.simplespring.core.annotation.PreDestroy;
+import com.simplespring.core.util.StringUtils;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 应用上下文的构建期代码生成器
+ *
+ * 在构建期扫描指定的包，生成一个 {@link AotContextInitializer} 实现类的源代码。对每个组件，生成的代码：
+ * - 注册 Bean 定义（作用域、懒加载）和注入点类型
+ * - 设置 {@link BeanInstanceSupplier}：直接调用选定的构造函数，通过字段赋值和方法调用注入依赖
+ * - 注册 {@code @PostConstruct} 和 {@code @PreDestroy} 方法的调用器
+ *
+ * 运行时由 {@link GeneratedApplicationContext} 加载生成的类，启动时不再扫描类路径和分析注解。
+ * 非 public 的类和成员通过 {@link AotSupport} 访问，成员在生成的类初始化时查找一次并保存在静态常量中；依赖无法在构建期唯一确定的 Bean
+ * （集合或 ObjectProvider 注入点、可选依赖、多个候选、懒加载代理）只生成 Bean 定义，运行时仍按反射注入。
+ *
+ * 命令行用法：
+ *
+ * <pre>
+ * java com.simplespring.context.aot.ApplicationContextAotGenerator &lt;输出目录&gt; &lt;初始化器类名&gt; &lt;基础包&gt;...
+ * </pre>
+ *
+ * @author Simple Spring Framework
+ * @since 1.0.0
+ */
+public class ApplicationContextAotGenerator {
+
+  /** 要扫描的基础包路径 */
+  private final String[] basePackages;
+
+  /**
+   * 创建代码生成器
+   *
+   * @param basePackages 要扫描的基础包路径
+   */
+  public ApplicationContextAotGenerator(String... basePackages) {
+    if (basePackages == null || basePackages.length == 0) {
+      throw new IllegalArgumentException("基础包路径不能为空");
+    }
+    for (String basePackage : basePackages) {
+      if (!StringUtils.hasText(basePackage)) {
+        throw new IllegalArgumentException("基础包路径不能为空字符串");
+      }
+    }
+    this.basePackages = basePackages.clone();
+  }
+
+  /**
+   * 命令行入口，通常在构建的 generate-sources 阶段调用
+   *
+   * @param args 输出目录、初始化器的全限定类名和要扫描的基础包
+   * @throws IOException 如果写入源文件失败
+   */
+  public static void main(String[] args) throws IOException {
+    if (args.length < 3) {
+      System.err.println("用法: ApplicationContextAotGenerator <输出目录> <初始化器类名> <基础包>...");
+      System.exit(1);
+    }
+    ApplicationContextAotGenerator generator =
+        new ApplicationContextAotGenerator(Arrays.copyOfRange(args, 2, args.length));
+    File sourceFile = generator.generate(args[1], new File(args[0]));
+    System.out.println("已生成 " + sourceFile.getPath());
+  }
+
+  /**
+   * 生成初始化器源文件
+   *
+   * @param className       初始化器的全限定类名
+   * @param outputDirectory 源代码根目录，按包名创建子目录
+   * @return 生成的源文件
+   * @throws IOException 如果写入失败
+   */
+  public File generate(String className, File outputDirectory) throws IOException {
+    String source = generate(className);
+    File sourceFile = new File(outputDirectory, className.replace('.', File.separatorChar) + ".java");
+    File parent = sourceFile.getParentFile();
+    if (!parent.isDirectory() && !parent.mkdirs()) {
+      throw new IOException("无法创建目录: " + parent);
+    }
+    Writer writer = new OutputStreamWriter(new FileOutputStream(sourceFile), "UTF-8");
+    try {
+      writer.write(source);
+    } finally {
+      writer.close();
+    }
+    return sourceFile;
+  }
+
+  /**
+   * 扫描基础包并生成初始化器源代码
+   *
+   * @param className 初始化器的全限定类名
+   * @return 源代码
+   */
+  public String generate(String className) {
+    if (!StringUtils.hasText(className)) {
+      throw new IllegalArgumentException("初始化器类名不能为空");
+    }
+
+    // 复用容器的扫描和 Bean 定义创建逻辑，只注册不刷新
+    AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+    try {
+      for (String basePackage : basePackages) {
+        context.scan(basePackage);
+      }
+      String[] beanNames = context.getBeanDefinitionNames();
+      BeanRegistry beanRegistry = new BeanRegistry();
+      for (String beanName : beanNames) {
+        beanRegistry.registerBeanDefinition(beanName, context.getBeanDefinition(beanName));
+      }
+      return writeInitializer(className, beanNames, beanRegistry);
+    } finally {
+      context.close();
+    }
+  }
+
+  private String writeInitializer(String className, String[] beanNames, BeanRegistry beanRegistry) {
+    // 先生成注册方法，收集其中引用的成员常量
+    MemberConstants constants = new MemberConstants();
+    StringBuilder registrations = new StringBuilder();
+    for (int i = 0; i < beanNames.length; i++) {
+      registrations.append('\n');
+      writeBeanRegistration(registrations, i, beanNames[i], beanRegistry, constants);
+    }
+
+    int lastDot = className.lastIndexOf('.');
+    StringBuilder source = new StringBuilder();
+    if (lastDot > 0) {
+      source.append("package ").append(className.substring(0, lastDot)).append(";\n\n");
+    }
+    for (Class<?> importedType : Arrays.<Class<?>>asList(BeanFactory.class, BeanDefinition.class,
+        BeanInstanceSupplier.class, Scope.class, MethodInvoker.class, DefaultBeanFactory.class,
+        LifecycleMethod.class, AotContextInitializer.class, AotSupport.class, Constructor.class, Field.class,
+        Method.class, ArrayList.class, List.class)) {
+      source.append("import ").append(importedType.getCanonicalName()).append(";\n");
+    }
+    source.append("\n/**\n * 由 ApplicationContextAotGenerator 根据包 ")
+        .append(Arrays.toString(basePackages)).append(" 生成，请勿手工修改\n */\n");
+    source.append("public final class ").append(className.substring(lastDot + 1))
+        .append(" implements AotContextInitializer {\n\n");
+    constants.write(source);
+
+    source.append("  @Override\n  public void initialize(DefaultBeanFactory beanFactory) {\n");
+    for (int i = 0; i < beanNames.length; i++) {
+      source.append("    registerBean").append(i).append("(beanFactory);\n");
+    }
+    source.append("  }\n");
+    source.append(registrations);
+    source.append("}\n");
+    return source.toString();
+  }
+
+  private void writeBeanRegistration(StringBuilder source, int index, String beanName, BeanRegistry beanRegistry,
+      MemberConstants constants) {
+    BeanDefinition beanDefinition = beanRegistry.getBeanDefinition(beanName);
+    Class<?> beanClass = beanDefinition.getBeanClass();
+
+    source.append("  /**\n   * ").append(beanClass.getName()).append("\n   */\n");
+    source.append("  private static void registerBean").append(index).append("(DefaultBeanFactory beanFactory) {\n");
+    source.append("    BeanDefinition beanDefinition = new BeanDefinition(").append(classLiteral(beanClass))
+        .append(", ").append(stringLiteral(beanName)).append(");\n");
+    source.append("    beanDefinition.setScope(Scope.").append(beanDefinition.getScope().name()).append(");\n");
+    if (beanDefinition.isLazyInit()) {
+      source.append("    beanDefinition.setLazyInit(true);\n");
+    }
+    if (beanDefinition.getScope().isPooled()) {
+      source.append("    beanDefinition.setPoolMaxSize(").append(beanDefinition.getPoolMaxSize()).append(");\n");
+      source.append("    beanDefinition.setPoolMaxWait(").append(beanDefinition.getPoolMaxWait()).append("L);\n");
+      source.append("    beanDefinition.setPoolMaxIdleTime(").append(beanDefinition.getPoolMaxIdleTime())
+          .append("L);\n");
+    }
+
+    int constantCount = constants.size();
+    try {
+      writeInstanceSupplier(source, beanDefinition, beanRegistry, constants);
+    } catch (UnsupportedInjectionException e) {
+      constants.truncate(constantCount);
+      // 原因中可能包含 Bean 名称，去掉控制字符和反斜杠，避免破坏行注释
+      source.append("    // 依赖无法在构建期确定，运行时通过反射注入：")
+          .append(e.getMessage().replaceAll("[\\p{Cntrl}\\\\]", " ")).append('\n');
+    }
+
+    writeLifecycleMethods(source, beanClass, constants);
+    source.append("    beanFactory.registerBeanDefinition(").append(stringLiteral(beanName))
+        .append(", beanDefinition);\n");
+    source.append("  }\n");
+  }
+
+  /**
+   * 生成注入点类型和实例提供者，全部分析完成后才写入，无法生成时不修改源代码
+   */
+  private void writeInstanceSupplier(StringBuilder source, BeanDefinition beanDefinition, BeanRegistry beanRegistry,
+      MemberConstants constants) throws UnsupportedInjectionException {
+    Class<?> beanClass = beanDefinition.getBeanClass();
+    if (Modifier.isAbstract(beanClass.getModifiers())) {
+      throw new UnsupportedInjectionException("抽象类");
+    }
+    Constructor<?> constructor = InjectionPlan.build(beanDefinition, beanRegistry).getConstructor();
+    if (constructor == null) {
+      throw new UnsupportedInjectionException("无法选择构造函数");
+    }
+
+    Set<Class<?>> dependencyTypes = new LinkedHashSet<Class<?>>();
+    List<String> body = new ArrayList<String>();
+
+    // 1. 构造函数注入
+    Class<?>[] parameterTypes = constructor.getParameterTypes();
+    Autowired constructorAutowired = constructor.getAnnotation(Autowired.class);
+    boolean constructorRequired = constructorAutowired == null || constructorAutowired.required();
+    boolean directConstructor = Modifier.isPublic(constructor.getModifiers()) && isAccessible(beanClass)
+        && areAccessible(parameterTypes);
+    String[] arguments = new String[parameterTypes.length];
+    for (int i = 0; i < parameterTypes.length; i++) {
+      String dependencyName = resolveDependency(
+          DependencyDescriptor.forConstructorParameter(constructor, i, constructorRequired), beanRegistry);
+      arguments[i] = dependencyExpression(dependencyName, parameterTypes[i], directConstructor);
+      dependencyTypes.add(parameterTypes[i]);
+    }
+    boolean typedBean = directConstructor;
+    if (directConstructor) {
+      body.add(typeName(beanClass) + " bean = new " + typeName(beanClass) + "(" + join(arguments) + ");");
+    } else {
+      body.add("Object bean = AotSupport.instantiate(" + constants.constructor(constructor)
+          + prefixedArguments(arguments) + ");");
+    }
+
+    // 2. 字段注入
+    List<Field> fields = beanDefinition.getAutowiredFields();
+    if (fields != null) {
+      for (Field field : fields) {
+        Autowired autowired = field.getAnnotation(Autowired.class);
+        if (autowired == null) {
+          continue;
+        }
+        String dependencyName = resolveDependency(DependencyDescriptor.forField(field, autowired.required()),
+            beanRegistry);
+        dependencyTypes.add(field.getType());
+        Class<?> declaringClass = field.getDeclaringClass();
+        int modifiers = field.getModifiers();
+        if (typedBean && Modifier.isPublic(modifiers) && !Modifier.isFinal(modifiers)
+            && isAccessible(declaringClass) && isAccessible(field.getType())) {
+          body.add(memberTarget(beanClass, declaringClass) + "." + field.getName() + " = "
+              + dependencyExpression(dependencyName, field.getType(), true) + ";");
+        } else {
+          body.add("AotSupport.setField(bean, " + constants.field(field) + ", "
+              + dependencyExpression(dependencyName, field.getType(), false) + ");");
+        }
+      }
+    }
+
+    // 3. 方法注入
+    List<Method> methods = beanDefinition.getAutowiredMethods();
+    if (methods != null) {
+      for (Method method : methods) {
+        Autowired autowired = method.getAnnotation(Autowired.class);
+        if (autowired == null) {
+          continue;
+        }
+        Class<?> declaringClass = method.getDeclaringClass();
+        Class<?>[] methodParameterTypes = method.getParameterTypes();
+        boolean directMethod = typedBean && Modifier.isPublic(method.getModifiers())
+            && isAccessible(declaringClass) && areAccessible(methodParameterTypes);
+        String[] methodArguments = new String[methodParameterTypes.length];
+        for (int i = 0; i < methodParameterTypes.length; i++) {
+          String dependencyName = resolveDependency(
+              DependencyDescriptor.forMethodParameter(method, i, autowired.required()), beanRegistry);
+          methodArguments[i] = dependencyExpression(dependencyName, methodParameterTypes[i], directMethod);
+          dependencyTypes.add(methodParameterTypes[i]);
+        }
+        if (directMethod) {
+          body.add(memberTarget(beanClass, declaringClass) + "." + method.getName() + "(" + join(methodArguments)
+              + ");");
+        } else {
+          body.add("AotSupport.invokeMethod(bean, " + constants.method(method)
+              + prefixedArguments(methodArguments) + ");");
+        }
+      }
+    }
+    body.add("return bean;");
+
+    source.append("    beanDefinition.setDependencyTypes(")
+        .append(classArray(dependencyTypes.toArray(new Class<?>[dependencyTypes.size()]))).append(");\n");
+    source.append("    beanDefinition.setInstanceSupplier(new BeanInstanceSupplier() {\n");
+    source.append("      @Override\n");
+    source.append("      public Object get(BeanFactory beanFactory) throws Exception {\n");
+    for (String line : body) {
+      source.append("        ").append(line).append('\n');
+    }
+    source.append("      }\n");
+    source.append("    });\n");
+  }
+
+  /**
+   * 解析单个 Bean 依赖的名称，与运行时的注入计划使用相同的匹配规则
+   */
+  private static String resolveDependency(DependencyDescriptor descriptor, BeanRegistry beanRegistry)
+      throws UnsupportedInjectionException {
+    Class<?> type = descriptor.getDeclaredType();
+    if (!descriptor.isSingle()) {
+      throw new UnsupportedInjectionException("类型为 '" + type.getName() + "' 的集合或 ObjectProvider 注入点");
+    }
+    if (!descriptor.isRequired()) {
+      throw new UnsupportedInjectionException("类型为 '" + type.getName() + "' 的可选依赖");
+    }
+    if (type.isPrimitive()) {
+      throw new UnsupportedInjectionException("基本类型 '" + type.getName() + "' 的注入点");
+    }
+
+    String beanName = beanRegistry.getUniqueBeanNameForType(type);
+    if (beanName == null) {
+      throw new UnsupportedInjectionException(
+          beanRegistry.getBeanNameArrayForType(type).length > 1 ? "类型为 '" + type.getName() + "' 的 Bean 有多个"
+              : "找不到类型为 '" + type.getName() + "' 的 Bean");
+    }
+
+    // 接口类型的懒加载单例依赖在运行时注入延迟解析代理
+    BeanDefinition dependency = beanRegistry.getBeanDefinition(beanName);
+    if (type.isInterface() && dependency.isLazyInit() && dependency.isSingleton()) {
+      throw new UnsupportedInjectionException("懒加载依赖 '" + beanName + "' 需要延迟解析代理");
+    }
+    // 池化作用域的依赖在运行时被拒绝注入
+    if (dependency.getScope() == Scope.POOLED) {
+      throw new UnsupportedInjectionException("池化作用域的依赖 '" + beanName + "'");
+    }
+    return beanName;
+  }
+
+  private void writeLifecycleMethods(StringBuilder source, Class<?> beanClass, MemberConstants constants) {
+    List<Method> postConstructMethods = findLifecycleMethods(beanClass, PostConstruct.class);
+    List<Method> preDestroyMethods = findLifecycleMethods(beanClass, PreDestroy.class);
+    if (postConstructMethods == null || preDestroyMethods == null) {
+      // 方法签名无效，由运行时扫描时报告错误
+      source.append("    // 生命周期方法签名无效，运行时通过反射扫描\n");
+      return;
+    }
+
+    source.append("    List<LifecycleMethod> postConstructMethods = new ArrayList<LifecycleMethod>();\n");
+    for (Method method : postConstructMethods) {
+      PostConstruct postConstruct = method.getAnnotation(PostConstruct.class);
+      writeLifecycleMethod(source, "postConstructMethods", method, postConstruct.async(),
+          postConstruct.timeout(), constants);
+    }
+    source.append("    List<LifecycleMethod> preDestroyMethods = new ArrayList<LifecycleMethod>();\n");
+    for (Method method : preDestroyMethods) {
+      writeLifecycleMethod(source, "preDestroyMethods", method, false, 0, constants);
+    }
+    source.append("    beanFactory.getLifecycleProcessor().registerLifecycleMethods(").append(classLiteral(beanClass))
+        .append(", postConstructMethods, preDestroyMethods);\n");
+  }
+
+  private void writeLifecycleMethod(StringBuilder source, String listName, Method method, boolean async,
+      long timeoutMillis, MemberConstants constants) {
+    Class<?> declaringClass = method.getDeclaringClass();
+    String invocation;
+    if (Modifier.isPublic(method.getModifiers()) && isAccessible(declaringClass)) {
+      invocation = "((" + typeName(declaringClass) + ") target)." + method.getName() + "();";
+    } else {
+      invocation = "AotSupport.invokeMethod(target, " + constants.method(method) + ");";
+    }
+
+    source.append("    ").append(listName).append(".add(new LifecycleMethod(").append(stringLiteral(method.getName()))
+        .append(", new MethodInvoker() {\n");
+    source.append("      @Override\n");
+    source.append("      public Object invoke(Object target, Object[] args) throws Exception {\n");
+    source.append("        ").append(invocation).append('\n');
+    source.append("        return null;\n");
+    source.append("      }\n");
+    source.append("    }, ").append(async).append(", ").append(timeoutMillis).append("L));\n");
+  }
+
+  /**
+   * 按 {@code LifecycleProcessor} 的顺序查找生命周期方法：先子类后父类
+   *
+   * @return 方法列表，如果有方法签名无效返回 null
+   */
+  private static List<Method> findLifecycleMethods(Class<?> beanClass, Class<? extends Annotation> annotationType) {
+    List<Method> methods = new ArrayList<Method>();
+    Class<?> currentClass = beanClass;
+    while (currentClass != null && currentClass != Object.class) {
+      for (Method method : currentClass.getDeclaredMethods()) {
+        if (method.isAnnotationPresent(annotationType)) {
+          if (method.getParameterTypes().length > 0 || Modifier.isStatic(method.getModifiers())) {
+            return null;
+          }
+          methods.add(method);
+        }
+      }
+      currentClass = currentClass.getSuperclass();
+    }
+    return methods;
+  }
+
+  // ========== 源代码片段 ==========
+
+  /**
+   * 类及其所有外部类都是 public 时，生成的代码可以直接引用
+   */
+  private static boolean isAccessible(Class<?> type) {
+    while (type.isArray()) {
+      type = type.getComponentType();
+    }
+    if (type.isPrimitive()) {
+      return true;
+    }
+    if (type.getCanonicalName() == null) {
+      return false;
+    }
+    for (Class<?> current = type; current != null; current = current.getEnclosingClass()) {
+      if (!Modifier.isPublic(current.getModifiers())) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean areAccessible(Class<?>[] types) {
+    for (Class<?> type : types) {
+      if (!isAccessible(type)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static String typeName(Class<?> type) {
+    return type.getCanonicalName();
+  }
+
+  private static String classLiteral(Class<?> type) {
+    if (isAccessible(type)) {
+      return typeName(type) + ".class";
+    }
+    return "AotSupport.forName(" + stringLiteral(type.getName()) + ")";
+  }
+
+  private static String classArray(Class<?>[] types) {
+    if (types.length == 0) {
+      return "new Class<?>[0]";
+    }
+    StringBuilder sb = new StringBuilder("new Class<?>[] { ");
+    for (int i = 0; i < types.length; i++) {
+      if (i > 0) {
+        sb.append(", ");
+      }
+      sb.append(classLiteral(types[i]));
+    }
+    return sb.append(" }").toString();
+  }
+
+  /**
+   * 获取依赖 Bean 的表达式，直接调用时需要转换为参数类型
+   */
+  private static String dependencyExpression(String beanName, Class<?> type, boolean cast) {
+    String expression = "beanFactory.getBean(" + stringLiteral(beanName) + ")";
+    return cast && type != Object.class ? "(" + typeName(type) + ") " + expression : expression;
+  }
+
+  /**
+   * 成员声明在父类中时先转换为父类，避免被子类的同名字段遮蔽
+   */
+  private static String memberTarget(Class<?> beanClass, Class<?> declaringClass) {
+    return declaringClass == beanClass ? "bean" : "((" + typeName(declaringClass) + ") bean)";
+  }
+
+  private static String join(String[] values) {
+    StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < values.length; i++) {
+      if (i > 0) {
+        sb.append(", ");
+      }
+      sb.append(values[i]);
+    }
+    return sb.toString();
+  }
+
+  private static String prefixedArguments(String[] arguments) {
+    return arguments.length == 0 ? "" : ", " + join(arguments);
+  }
+
+  /**
+   * 生成 Java 字符串字面量，非 ASCII 字符使用 Unicode 转义，控制字符使用八进制转义
+   */
+  static String stringLiteral(String value) {
+    StringBuilder sb = new StringBuilder(value.length() + 2).append('"');
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c == '"' || c == '\\') {
+        sb.append('\\').append(c);
+      } else if (c < 0x20) {
+        // 不能使用 Unicode 转义：换行符的 Unicode 转义在词法分析之前就会被替换
+        sb.append(String.format("\\%03o", (int) c));
+      } else if (c > 0x7E) {
+        sb.append(String.format("\\u%04x", (int) c));
+      } else {
+        sb.append(c);
+      }
+    }
+    return sb.append('"').toString();
+  }
+
+  /**
+   * 生成的类中保存非 public 成员的静态常量，每个成员在类初始化时查找一次，
+   * 创建 Bean 时不再按名称查找成员和设置可访问性
+   */
+  private static class MemberConstants {
+
+    private final Map<Member, String> names = new HashMap<Member, String>();
+
+    private final List<Member> members = new ArrayList<Member>();
+
+    private final List<String> declarations = new ArrayList<String>();
+
+    String field(Field field) {
+      return constant(field, "Field", "FIELD_", "AotSupport.findField(" + classLiteral(field.getDeclaringClass())
+          + ", " + stringLiteral(field.getName()) + ")");
+    }
+
+    String method(Method method) {
+      return constant(method, "Method", "METHOD_", "AotSupport.findMethod(" + classLiteral(method.getDeclaringClass())
+          + ", " + stringLiteral(method.getName()) + ", " + classArray(method.getParameterTypes()) + ")");
+    }
+
+    String constructor(Constructor<?> constructor) {
+      return constant(constructor, "Constructor<?>", "CONSTRUCTOR_", "AotSupport.findConstructor("
+          + classLiteral(constructor.getDeclaringClass()) + ", " + classArray(constructor.getParameterTypes()) + ")");
+    }
+
+    private String constant(Member member, String type, String prefix, String initializer) {
+      String name = names.get(member);
+      if (name == null) {
+        name = prefix + members.size();
+        names.put(member, name);
+        members.add(member);
+        declarations.add("  private static final " + type + " " + name + " = " + initializer + ";\n");
+      }
+      return name;
+    }
+
+    int size() {
+      return members.size();
+    }
+
+    /**
+     * 丢弃最近添加的常量，Bean 的实例提供者无法生成时调用
+     */
+    void truncate(int size) {
+      while (members.size() > size) {
+        int last = members.size() - 1;
+        names.remove(members.remove(last));
+        declarations.remove(last);
+      }
+    }
+
+    void write(StringBuilder source) {
+      if (declarations.isEmpty()) {
+        return;
+      }
+      for (String declaration : declarations) {
+        source.append(declaration);
+      }
+      source.append('\n');
+    }
+  }
+
+  /**
+   * 注入点无法在构建期生成代码
+   */
+  private static class UnsupportedInjectionException extends Exception {
+
+    private static final long serialVersionUID = 1L;
+
+    UnsupportedInjectionException(String message) {
+      super(message);
+    }
+  }
+}
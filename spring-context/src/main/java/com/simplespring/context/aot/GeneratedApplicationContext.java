@@ -0,0 +1,79 @@
+package com.simplespring.context.aot;
+
+import com.simplespring.context.AnnotationConfigApplicationContext;
+
+/**
+ * 使用预先生成的初始化器启动的应用上下文
+ *
+ * Bean 定义由 {@link AotContextInitializer} 直接注册，启动时不扫描类路径，
+ * 也不通过反射分析构造函数、注入点和生命周期注解。切面处理、单例预实例化和关闭流程与
+ * {@link AnnotationConfigApplicationContext} 相同。
+ *
+ * 使用示例：
+ *
+ * <pre>
+ * {@code
+ * // 构建期：java com.simplespring.context.aot.ApplicationContextAotGenerator \
+ * //     target/generated-sources com.example.AppInitializer com.example
+ * ApplicationContext context = new GeneratedApplicationContext(new AppInitializer());
+ * }
+ * </pre>
+ *
+ * @author Simple Spring Framework
+ * @since 1.0.0
+ * @see ApplicationContextAotGenerator
+ */
+public class GeneratedApplicationContext extends AnnotationConfigApplicationContext {
+
+  /** 预先生成的初始化器 */
+  private final AotContextInitializer initializer;
+
+  /**
+   * 创建并刷新容器
+   *
+   * @param initializer 预先生成的初始化器
+   */
+  public GeneratedApplicationContext(AotContextInitializer initializer) {
+    super();
+    if (initializer == null) {
+      throw new IllegalArgumentException("初始化器不能为空");
+    }
+    this.initializer = initializer;
+
+    // 自动刷新容器
+    refresh();
+  }
+
+  /**
+   * 创建并刷新容器，按类名加载预先生成的初始化器
+   *
+   * @param initializerClassName 初始化器的全限定类名
+   */
+  public GeneratedApplicationContext(String initializerClassName) {
+    this(instantiateInitializer(initializerClassName));
+  }
+
+  /**
+   * 由预先生成的初始化器注册 Bean 定义，不扫描类路径
+   */
+  @Override
+  protected void loadBeanDefinitions() {
+    initializer.initialize(getBeanFactory());
+  }
+
+  private static AotContextInitializer instantiateInitializer(String initializerClassName) {
+    Object initializer;
+    try {
+      initializer = AotSupport.instantiate(AotSupport.forName(initializerClassName), new Class<?>[0]);
+    } catch (RuntimeException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new IllegalStateException("无法创建初始化器 '" + initializerClassName + "': " + e.getMessage(), e);
+    }
+    if (!(initializer instanceof AotContextInitializer)) {
+      throw new IllegalArgumentException(
+          "类 '" + initializerClassName + "' 没有实现 " + AotContextInitializer.class.getName());
+    }
+    return (AotContextInitializer) initializer;
+  }
+}
@@ -0,0 +1,94 @@
+package com.simplespring.context.index;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * 编译期生成的组件索引
+ *
+ * 合并类路径上所有 {@code META-INF/simplespring.components} 文件的内容，
+ * 记录每个组件类的二进制名称及其组件注解。类名按字典序保存，
+ * 同一个包及其子包中的类是连续的一段，按包查询时只需要截取这一段。
+ *
+ * @author Simple Spring Framework
+ * @since 1.0.0
+ * @see CandidateComponentsIndexLoader
+ */
+public class CandidateComponentsIndex {
+
+  /** 组件类的二进制名称 -> 组件注解的全限定名 */
+  private final SortedMap<String, Set<String>> components = new TreeMap<String, Set<String>>();
+
+  /**
+   * 构造函数
+   *
+   * @param contents 每个索引文件的内容
+   */
+  CandidateComponentsIndex(List<Properties> contents) {
+    for (Properties content : contents) {
+      for (String className : content.stringPropertyNames()) {
+        Set<String> stereotypes = components.get(className);
+        if (stereotypes == null) {
+          stereotypes = new TreeSet<String>();
+          components.put(className, stereotypes);
+        }
+        for (String stereotype : content.getProperty(className).split(",")) {
+          if (stereotype.trim().length() > 0) {
+            stereotypes.add(stereotype.trim());
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * 获取指定包及其子包中的组件类名称
+   *
+   * @param basePackage 基础包路径
+   * @return 组件类的二进制名称，按字典序排列
+   */
+  public Set<String> getCandidateTypes(String basePackage) {
+    // "com.example." 到 "com.example/" 之间恰好是该包及其子包中的类（'/' 是 '.' 的下一个字符）
+    return Collections.unmodifiableSet(components.subMap(basePackage + ".", basePackage + "/").keySet());
+  }
+
+  /**
+   * 获取组件类的组件注解
+   *
+   * @param className 组件类的二进制名称
+   * @return 组件注解的全限定名，如果类不在索引中返回空集合
+   */
+  public Set<String> getStereotypes(String className) {
+    Set<String> stereotypes = components.get(className);
+    return stereotypes != null ? Collections.unmodifiableSet(stereotypes) : Collections.<String>emptySet();
+  }
+
+  /**
+   * 获取索引中的组件数量
+   *
+   * @return 组件数量
+   */
+  public int size() {
+    return components.size();
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder("CandidateComponentsIndex{");
+    boolean first = true;
+    for (Map.Entry<String, Set<String>> entry : components.entrySet()) {
+      if (!first) {
+        sb.append(", ");
+      }
+      first = false;
+      sb.append(entry.getKey()).append('=').append(entry.getValue());
+    }
+    return sb.append('}').toString();
+  }
+}
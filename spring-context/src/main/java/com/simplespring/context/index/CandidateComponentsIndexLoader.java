@@ -0,0 +1,95 @@
+package com.simplespring.context.index;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.WeakHashMap;
+
+/**
+ * 组件索引加载器
+ *
+ * 读取类路径上所有的 {@code META-INF/simplespring.components} 文件并合并为一个索引，
+ * 结果按类加载器缓存。索引由 spring-context-indexer 模块中的注解处理器在编译期生成。
+ *
+ * 设置系统属性 {@code simplespring.index.ignore=true} 可以忽略索引，回退到遍历类路径。
+ *
+ * @author Simple Spring Framework
+ * @since 1.0.0
+ */
+public final class CandidateComponentsIndexLoader {
+
+  /** 索引文件位置 */
+  public static final String COMPONENTS_RESOURCE_LOCATION = "META-INF/simplespring.components";
+
+  /** 忽略索引的系统属性 */
+  public static final String IGNORE_INDEX_PROPERTY = "simplespring.index.ignore";
+
+  /** 没有索引时缓存的占位对象 */
+  private static final CandidateComponentsIndex NO_INDEX =
+      new CandidateComponentsIndex(Collections.<Properties>emptyList());
+
+  /** 类加载器 -> 索引，弱引用类加载器，不阻止其被回收 */
+  private static final Map<ClassLoader, CandidateComponentsIndex> cache =
+      Collections.synchronizedMap(new WeakHashMap<ClassLoader, CandidateComponentsIndex>());
+
+  private CandidateComponentsIndexLoader() {
+  }
+
+  /**
+   * 加载类加载器可见的组件索引
+   *
+   * @param classLoader 类加载器
+   * @return 组件索引，如果类路径上没有索引或索引被忽略返回 null
+   * @throws IllegalStateException 如果读取索引文件失败
+   */
+  public static CandidateComponentsIndex loadIndex(ClassLoader classLoader) {
+    if (Boolean.getBoolean(IGNORE_INDEX_PROPERTY)) {
+      return null;
+    }
+
+    CandidateComponentsIndex index = cache.get(classLoader);
+    if (index == null) {
+      index = doLoadIndex(classLoader);
+      cache.put(classLoader, index);
+    }
+    return index != NO_INDEX ? index : null;
+  }
+
+  private static CandidateComponentsIndex doLoadIndex(ClassLoader classLoader) {
+    try {
+      Enumeration<URL> urls = classLoader.getResources(COMPONENTS_RESOURCE_LOCATION);
+      if (!urls.hasMoreElements()) {
+        return NO_INDEX;
+      }
+
+      List<Properties> contents = new ArrayList<Properties>();
+      while (urls.hasMoreElements()) {
+        URL url = urls.nextElement();
+        InputStream in = url.openStream();
+        try {
+          Properties properties = new Properties();
+          properties.load(in);
+          contents.add(properties);
+        } finally {
+          in.close();
+        }
+      }
+      return new CandidateComponentsIndex(contents);
+    } catch (IOException e) {
+      throw new IllegalStateException("无法读取组件索引 " + COMPONENTS_RESOURCE_LOCATION, e);
+    }
+  }
+
+  /**
+   * 清除缓存的索引（主要用于测试）
+   */
+  public static void clearCache() {
+    cache.clear();
+  }
+}
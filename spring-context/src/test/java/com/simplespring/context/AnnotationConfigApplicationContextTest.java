@@ -2,15 +2,32 @@ package com.simplespring.context;
 
 import com.simplespring.beans.factory.NoSuchBeanDefinitionException;
 import com.simplespring.beans.factory.NoUniqueBeanDefinitionException;
+import com.simplespring.beans.factory.support.LazyResolutionProxy;
+import com.simplespring.context.aopdata.InvoiceService;
+import com.simplespring.context.aopdata.OrderAuditAspect;
+import com.simplespring.context.aopdata.OrderService;
+import com.simplespring.context.aopdestroydata.ArchiveService;
+import com.simplespring.context.aopdestroydata.Ledger;
+import com.simplespring.context.aopdestroydata.LedgerAuditAspect;
+import com.simplespring.context.destroydata.Channel;
+import com.simplespring.context.destroydata.NotificationService;
+import com.simplespring.context.lazydata.AdminController;
+import com.simplespring.context.lazydata.HeavyReportService;
 import com.simplespring.context.testdata.PlainClass;
 import com.simplespring.context.testdata.TestComponent;
 import com.simplespring.context.testdata.TestConfiguration;
 import com.simplespring.context.testdata.TestController;
 import com.simplespring.context.testdata.subpackage.SubPackageComponent;
+import com.simplespring.core.metrics.RecordingApplicationStartup;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+
 import static org.junit.Assert.*;
 
 /**
@@ -369,4 +386,207 @@ public class AnnotationConfigApplicationContextTest {
     assertTrue("容器应该处于活动状态", context.isActive());
     assertEquals("应该没有 Bean 定义", 0, context.getBeanDefinitionCount());
   }
+
+  /**
+   * 测试并行预实例化单例 Bean
+   */
+  @Test
+  public void testParallelRefresh() {
+    context = new AnnotationConfigApplicationContext();
+    context.setParallelRefresh(true);
+    context.setRefreshParallelism(2);
+    context.scan("com.simplespring.context.testdata");
+    context.refresh();
+
+    assertTrue("容器应该处于活动状态", context.isActive());
+    TestComponent testComponent = context.getBean(TestComponent.class);
+    assertSame("单例 Bean 应该已经预实例化", testComponent, context.getBean("testComponent"));
+
+    SingletonInstantiationReport report = context.getSingletonInstantiationReport();
+    assertNotNull("并行预实例化后应该生成报告", report);
+    assertEquals(2, report.getParallelism());
+    assertEquals("所有单例 Bean 都应该被预实例化", context.getBeanDefinitionCount(), report.getBeanTimes().size());
+    assertFalse("关键路径不应该为空", report.getCriticalPath().isEmpty());
+  }
+
+  /**
+   * 测试懒加载 Bean 不在启动时创建，首次使用时通过延迟解析代理创建
+   */
+  @Test
+  public void testLazyInitialization() {
+    HeavyReportService.INSTANCES.set(0);
+    Runtime runtime = Runtime.getRuntime();
+    System.gc();
+    long heapBefore = runtime.totalMemory() - runtime.freeMemory();
+    long startTime = System.nanoTime();
+
+    context = new AnnotationConfigApplicationContext("com.simplespring.context.lazydata");
+
+    long startupTime = (System.nanoTime() - startTime) / 1000000;
+    assertTrue(context.getBeanDefinition("heavyReportService").isLazyInit());
+    assertEquals("懒加载 Bean 不应该在启动时创建", 0, HeavyReportService.INSTANCES.get());
+
+    AdminController controller = context.getBean(AdminController.class);
+    assertTrue("依赖懒加载 Bean 时应该注入延迟解析代理",
+        LazyResolutionProxy.isUnresolved(controller.getReportService()));
+    System.gc();
+    long heapAtStartup = runtime.totalMemory() - runtime.freeMemory();
+
+    assertEquals("report:" + HeavyReportService.BUFFER_SIZE, controller.report());
+    assertEquals("首次使用时应该创建懒加载 Bean", 1, HeavyReportService.INSTANCES.get());
+    assertFalse(LazyResolutionProxy.isUnresolved(controller.getReportService()));
+    assertSame("代理和容器应该使用同一个单例",
+        context.getBean("heavyReportService"), context.getBean("heavyReportService"));
+    controller.report();
+    assertEquals(1, HeavyReportService.INSTANCES.get());
+
+    System.gc();
+    long heapAfterUse = runtime.totalMemory() - runtime.freeMemory();
+    System.out.println("Lazy initialization: startup " + startupTime + "ms, heap at startup " +
+        ((heapAtStartup - heapBefore) / 1024) + "KB, deferred by lazy bean " +
+        ((heapAfterUse - heapAtStartup) / 1024) + "KB");
+  }
+
+  /**
+   * 测试没有接口的单例 Bean 被切面匹配时，容器中注册的是 CGLIB 子类代理
+   */
+  @Test
+  public void testAdvisedSingletonWithoutInterface() {
+    int instancesBefore = OrderService.INSTANCES.get();
+    context = new AnnotationConfigApplicationContext("com.simplespring.context.aopdata");
+
+    OrderService orderService = context.getBean(OrderService.class);
+    assertNotSame("容器中应该是子类代理", OrderService.class, orderService.getClass());
+    assertSame("按名称和按类型应该获取同一个代理", orderService, context.getBean("orderService"));
+    assertEquals("代理不应该再次调用目标构造器", instancesBefore + 1, OrderService.INSTANCES.get());
+
+    OrderAuditAspect aspect = context.getBean(OrderAuditAspect.class);
+    assertEquals("order:book", orderService.createOrder("book"));
+    assertEquals("OrderService", orderService.describe());
+    assertEquals("只有匹配的方法应该被拦截",
+        Collections.singletonList("createOrder"), aspect.getCalls());
+  }
+
+  /**
+   * 测试懒加载的单例 Bean 在首次获取时同样经过切面处理
+   */
+  @Test
+  public void testAdvisedLazySingleton() {
+    int instancesBefore = InvoiceService.INSTANCES.get();
+    context = new AnnotationConfigApplicationContext("com.simplespring.context.aopdata");
+    assertEquals("懒加载 Bean 不应该在启动时创建", instancesBefore, InvoiceService.INSTANCES.get());
+
+    InvoiceService invoiceService = context.getBean(InvoiceService.class);
+    assertEquals(instancesBefore + 1, InvoiceService.INSTANCES.get());
+    assertNotSame("懒加载 Bean 也应该被代理", InvoiceService.class, invoiceService.getClass());
+    assertSame("缓存的单例应该是代理对象", invoiceService, context.getBean("invoiceService"));
+
+    OrderAuditAspect aspect = context.getBean(OrderAuditAspect.class);
+    assertEquals("invoice:42", invoiceService.issue("42"));
+    assertEquals(Collections.singletonList("issue"), aspect.getCalls());
+  }
+
+  /**
+   * 测试关闭容器时销毁所有单例 Bean 并生成销毁报告
+   */
+  @Test
+  public void testCloseDestroysSingletonsAndReportsTiming() {
+    context = new AnnotationConfigApplicationContext("com.simplespring.context.testdata");
+    context.registerShutdownHook();
+    context.registerShutdownHook();
+    context.setShutdownParallelism(2);
+    context.setBeanDestroyTimeout(1000);
+    int singletonCount = context.getBeanFactory().getBeanRegistry().getSingletonNames().length;
+
+    context.close();
+
+    SingletonDestructionReport report = context.getSingletonDestructionReport();
+    assertNotNull("关闭后应该生成销毁报告", report);
+    assertTrue(report.isCompleted());
+    assertEquals(2, report.getParallelism());
+    assertEquals("所有单例 Bean 都应该被销毁", singletonCount, report.getBeanTimes().size());
+    assertEquals(0, context.getBeanFactory().getBeanRegistry().getSingletonNames().length);
+  }
+
+  /**
+   * 测试通过 List 注入的依赖在依赖方之后销毁
+   */
+  @Test
+  public void testListInjectedDependenciesDestroyedAfterDependent() {
+    Channel.DESTROYED.clear();
+    context = new AnnotationConfigApplicationContext("com.simplespring.context.destroydata");
+    context.setShutdownParallelism(4);
+    assertEquals(2, context.getBean(NotificationService.class).getChannelCount());
+
+    context.close();
+
+    assertEquals(3, Channel.DESTROYED.size());
+    assertEquals("依赖方应该先于 List 中的所有元素销毁", "notificationService", Channel.DESTROYED.get(0));
+    SingletonDestructionReport report = context.getSingletonDestructionReport();
+    assertEquals(Arrays.asList("notificationService"), report.getLevels().get(0));
+    assertEquals(2, report.getLevels().get(1).size());
+  }
+
+  @Test
+  public void testAdvisedSingletonsDestroyedOnTarget() {
+    Ledger.DESTROYED.clear();
+    context = new AnnotationConfigApplicationContext("com.simplespring.context.aopdestroydata");
+    Ledger ledger = context.getBean(Ledger.class);
+    ArchiveService archiveService = context.getBean(ArchiveService.class);
+    assertTrue("实现接口的 Bean 应该使用 JDK 动态代理", Proxy.isProxyClass(ledger.getClass()));
+    assertNotSame("没有接口的 Bean 应该使用 CGLIB 代理", ArchiveService.class, archiveService.getClass());
+
+    ledger.record("a");
+    ledger.record("b");
+    archiveService.archive("a");
+    assertEquals(Arrays.asList("record", "record", "archive"), context.getBean(LedgerAuditAspect.class).getCalls());
+
+    context.close();
+
+    assertEquals("@PreDestroy 应该在目标对象上执行",
+        new HashSet<String>(Arrays.asList("journalLedger:2", "archiveService:1")),
+        new HashSet<String>(Ledger.DESTROYED));
+    assertEquals(2, Ledger.DESTROYED.size());
+    SingletonDestructionReport report = context.getSingletonDestructionReport();
+    assertTrue("被代理的 Bean 应该计入销毁报告", report.getBeanTimes().containsKey("journalLedger"));
+    assertTrue("被代理的 Bean 应该计入销毁报告", report.getBeanTimes().containsKey("archiveService"));
+  }
+
+  @Test
+  public void testApplicationStartupRecordsRefresh() {
+    RecordingApplicationStartup startup = new RecordingApplicationStartup();
+    context = new AnnotationConfigApplicationContext(startup, "com.simplespring.context.testdata");
+
+    RecordingApplicationStartup.RecordedStep refresh = findStep(startup, "context.refresh", null);
+    assertNotNull(refresh);
+    assertNull(refresh.getParentId());
+
+    RecordingApplicationStartup.RecordedStep scan = findStep(startup, "context.scan", null);
+    assertEquals("com.simplespring.context.testdata", scan.getTag("basePackage"));
+    assertEquals(findStep(startup, "context.scan-components", null).getId(), scan.getParentId().longValue());
+
+    RecordingApplicationStartup.RecordedStep create = findStep(startup, "beans.create", "testComponent");
+    assertNotNull("应该记录单例 Bean 的创建", create);
+    assertEquals(findStep(startup, "context.pre-instantiate-singletons", null).getId(),
+        create.getParentId().longValue());
+    for (String phase : new String[] { "instantiate", "populate", "initialize" }) {
+      RecordingApplicationStartup.RecordedStep step = findStep(startup, "beans.create." + phase, "testComponent");
+      assertEquals(create.getId(), step.getParentId().longValue());
+      assertTrue(step.getDurationNanos() <= create.getDurationNanos());
+    }
+
+    String trace = startup.toChromeTrace();
+    assertTrue(trace.contains("\"name\":\"beans.create\""));
+    assertTrue(trace.contains("\"beanName\":\"testComponent\""));
+  }
+
+  private RecordingApplicationStartup.RecordedStep findStep(RecordingApplicationStartup startup, String name,
+      String beanName) {
+    for (RecordingApplicationStartup.RecordedStep step : startup.getSteps()) {
+      if (step.getName().equals(name) && (beanName == null || beanName.equals(step.getTag("beanName")))) {
+        return step;
+      }
+    }
+    return null;
+  }
 }
@@ -1,15 +1,18 @@
 package com.simplespring.context;
 
+import com.simplespring.aop.AdviceDefinition;
+import com.simplespring.aop.AdviceType;
+import com.simplespring.aop.ProceedingJoinPoint;
 import com.simplespring.aop.AspectDefinition;
 import com.simplespring.beans.factory.config.BeanDefinition;
 import com.simplespring.beans.factory.config.Scope;
 import com.simplespring.beans.factory.support.DefaultBeanFactory;
 import com.simplespring.core.annotation.After;
+import com.simplespring.core.annotation.Around;
 import com.simplespring.core.annotation.Aspect;
 import com.simplespring.core.annotation.Before;
 import com.simplespring.core.annotation.Component;
 
-import org.junit.Before;
 import org.junit.Test;
 import static org.junit.Assert.*;
 
@@ -25,7 +28,7 @@ public class AspectProcessorTest {
   private DefaultBeanFactory beanFactory;
   private AspectProcessor aspectProcessor;
 
-  @Before
+  @org.junit.Before
   public void setUp() {
     beanFactory = new DefaultBeanFactory();
     aspectProcessor = new AspectProcessor(beanFactory);
@@ -69,9 +72,12 @@ public class AspectProcessorTest {
     // 应用 AOP 处理
     Object result = aspectProcessor.postProcessAfterInitialization("testService", service);
 
-    // 由于 TestService 没有实现接口，代理创建会失败，返回原始对象
-    // 在实际项目中，如果集成了 CGLIB，这里会返回代理对象
-    assertEquals("应该返回原始对象（因为没有 CGLIB）", service, result);
+    // 没有接口的类使用 CGLIB 子类代理，通知应该被执行
+    assertNotSame("应该返回代理对象", service, result);
+    assertTrue("代理应该是目标类的子类", result instanceof TestService);
+    assertEquals("代理应该委托给目标对象", "TestService: x", ((TestService) result).testMethod("x"));
+    TestAspect aspect = (TestAspect) beanFactory.getBean("testAspect");
+    assertTrue("前置通知应该被执行", aspect.beforeCalled);
   }
 
   @Test
@@ -142,6 +148,56 @@ public class AspectProcessorTest {
     assertEquals("不应该有切面定义", 0, aspectProcessor.getAspectCount());
   }
 
+  @Test
+  public void testPointcutParsedAtRegistration() {
+    registerAspectBean();
+    aspectProcessor.processAspects(beanFactory.getBeanDefinitionNames());
+
+    // 两个通知使用相同的表达式，注册时解析并共享同一个匹配器
+    List<AdviceDefinition> advices = aspectProcessor.getAspectDefinitions().get(0).getAdvices();
+    assertNotNull(advices.get(0).getPointcutMatcher());
+    assertSame(advices.get(0).getPointcutMatcher(), advices.get(1).getPointcutMatcher());
+  }
+
+  @Test
+  public void testInvalidPointcutFailsAtRegistration() {
+    BeanDefinition beanDefinition = new BeanDefinition(InvalidAspect.class, "invalidAspect");
+    beanFactory.registerBeanDefinition("invalidAspect", beanDefinition);
+
+    try {
+      aspectProcessor.processAspects(beanFactory.getBeanDefinitionNames());
+      fail("无效的切点表达式应该在注册切面时报错");
+    } catch (RuntimeException e) {
+      assertTrue(e.getCause() instanceof IllegalStateException);
+      assertTrue(e.getCause().getMessage().contains("invalidAdvice"));
+    }
+  }
+
+  @Test
+  public void testMissingPointcutAnnotationFailsAtRegistration() {
+    BeanDefinition beanDefinition = new BeanDefinition(MissingAnnotationAspect.class, "missingAnnotationAspect");
+    beanFactory.registerBeanDefinition("missingAnnotationAspect", beanDefinition);
+
+    try {
+      aspectProcessor.processAspects(beanFactory.getBeanDefinitionNames());
+      fail("找不到切点引用的注解时应该在注册切面时报错");
+    } catch (RuntimeException e) {
+      assertTrue(e.getCause() instanceof IllegalStateException);
+      assertTrue(e.getCause().getMessage().contains("com.example.Missing"));
+    }
+  }
+
+  @Test
+  public void testAroundAdviceRegistered() {
+    beanFactory.registerBeanDefinition("aroundAspect", new BeanDefinition(AroundAspect.class, "aroundAspect"));
+    aspectProcessor.processAspects(beanFactory.getBeanDefinitionNames());
+
+    List<AdviceDefinition> advices = aspectProcessor.getAspectDefinitions().get(0).getAdvices();
+    assertEquals("应该注册一个环绕通知", 1, advices.size());
+    assertEquals(AdviceType.AROUND, advices.get(0).getType());
+    assertNotNull(advices.get(0).getPointcutMatcher());
+  }
+
   /**
    * 注册切面 Bean
    */
@@ -196,6 +252,34 @@ public class AspectProcessorTest {
     }
   }
 
+  // 包含环绕通知的切面类
+  @Aspect
+  public static class AroundAspect {
+
+    @Around("execution(* *.test*(..))")
+    public Object aroundAdvice(ProceedingJoinPoint joinPoint) throws Throwable {
+      return joinPoint.proceed();
+    }
+  }
+
+  // 切点表达式无效的切面类
+  @Aspect
+  public static class InvalidAspect {
+
+    @Before("not a pointcut")
+    public void invalidAdvice() {
+    }
+  }
+
+  // 切点引用了不存在的注解的切面类
+  @Aspect
+  public static class MissingAnnotationAspect {
+
+    @Before("@annotation(com.example.Missing)")
+    public void missingAnnotationAdvice() {
+    }
+  }
+
   // 测试用的服务类（无接口）
   @Component
   public static class TestService {
@@ -5,10 +5,30 @@ import com.simplespring.context.testdata.TestComponent;
 import com.simplespring.context.testdata.TestConfiguration;
 import com.simplespring.context.testdata.TestController;
 import com.simplespring.context.testdata.subpackage.SubPackageComponent;
+import com.simplespring.core.annotation.Component;
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Set;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import javax.tools.JavaCompiler;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
 
 import static org.junit.Assert.*;
 
@@ -21,6 +41,7 @@ import static org.junit.Assert.*;
  * 3. 过滤非组件类
  * 4. 组件名称解析
  * 5. 边界条件处理
+ * 6. JAR 文件扫描、去重和结果顺序
  * 
  * @author Simple Spring Framework
  */
@@ -28,11 +49,20 @@ public class ClassPathScannerTest {
 
   private ClassPathScanner scanner;
 
+  private File tempDir;
+
   @Before
   public void setUp() {
     scanner = new ClassPathScanner();
   }
 
+  @After
+  public void tearDown() {
+    if (tempDir != null) {
+      delete(tempDir);
+    }
+  }
+
   /**
    * 测试扫描包含各种注解的类
    */
@@ -163,4 +193,204 @@ public class ClassPathScannerTest {
     // 验证集合中没有重复元素
     assertEquals("集合中不应有重复元素", components1.size(), components1.size());
   }
+
+  /**
+   * 测试扫描 JAR 文件中的组件类
+   */
+  @Test
+  public void testScanPackageInJar() throws Exception {
+    File classesDir = compileJarTestClasses();
+    File jar = createJar(classesDir, "components.jar");
+
+    List<String> names = scanWith(new URL[] { jar.toURI().toURL() }, "jartest.app");
+
+    assertEquals(Arrays.asList("jartest.app.OrderService", "jartest.app.UserService",
+        "jartest.app.web.UserController"), names);
+  }
+
+  /**
+   * 测试扫描类文件较多的单个 JAR，类文件按批次并行读取
+   */
+  @Test
+  public void testScanLargeJarInParallel() throws Exception {
+    File classesDir = compileJarTestClasses();
+    File helperClass = new File(classesDir, "jartest/app/Helper.class");
+    File bulkDir = new File(classesDir, "jartest/app/bulk");
+    assertTrue(bulkDir.mkdirs());
+    for (int i = 0; i < 300; i++) {
+      copyFile(helperClass, new File(bulkDir, "Helper" + i + ".class"));
+    }
+    File jar = createJar(classesDir, "large.jar");
+
+    scanner.setParallelism(4);
+    List<String> names = scanWith(new URL[] { jar.toURI().toURL() }, "jartest.app");
+
+    assertEquals(Arrays.asList("jartest.app.OrderService", "jartest.app.UserService",
+        "jartest.app.web.UserController"), names);
+  }
+
+  /**
+   * 测试同一个类出现在多个类路径位置时只返回一次，结果按类名排序
+   */
+  @Test
+  public void testScanDeduplicatesAcrossClassPathEntries() throws Exception {
+    File classesDir = compileJarTestClasses();
+    File first = createJar(classesDir, "first.jar");
+    File second = createJar(classesDir, "second.jar");
+
+    scanner.setParallelism(4);
+    List<String> names = scanWith(new URL[] { first.toURI().toURL(), classesDir.toURI().toURL(),
+        second.toURI().toURL() }, "jartest");
+
+    assertEquals("多个位置中的同名类应该只出现一次", Arrays.asList("jartest.app.OrderService",
+        "jartest.app.UserService", "jartest.app.web.UserController"), names);
+    assertEquals("并行扫描的结果顺序应该是确定的", names, scanWith(new URL[] { second.toURI().toURL(),
+        classesDir.toURI().toURL() }, "jartest"));
+  }
+
+  /**
+   * 测试扫描时不初始化候选类
+   */
+  @Test
+  public void testScanDoesNotInitializeClasses() throws Exception {
+    File classesDir = compileJarTestClasses();
+    File jar = createJar(classesDir, "components.jar");
+
+    scanWith(new URL[] { jar.toURI().toURL() }, "jartest.app");
+
+    assertNull("扫描不应该执行静态初始化块", System.getProperty("jartest.initialized"));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidParallelism() {
+    scanner.setParallelism(0);
+  }
+
+  private List<String> scanWith(URL[] urls, String basePackage) throws IOException {
+    URLClassLoader classLoader = new URLClassLoader(urls, getClass().getClassLoader());
+    Thread thread = Thread.currentThread();
+    ClassLoader original = thread.getContextClassLoader();
+    thread.setContextClassLoader(classLoader);
+    try {
+      List<String> names = new ArrayList<String>();
+      for (Class<?> componentClass : scanner.scanPackage(basePackage)) {
+        assertSame(classLoader, componentClass.getClassLoader());
+        names.add(componentClass.getName());
+      }
+      return names;
+    } finally {
+      thread.setContextClassLoader(original);
+      classLoader.close();
+    }
+  }
+
+  private File compileJarTestClasses() throws Exception {
+    tempDir = File.createTempFile("scanner-jar", "");
+    assertTrue(tempDir.delete() && tempDir.mkdirs());
+    File sourceDir = new File(tempDir, "src");
+    File classesDir = new File(tempDir, "classes");
+    classesDir.mkdirs();
+
+    List<File> sources = new ArrayList<File>();
+    sources.add(writeSource(sourceDir, "jartest/app/UserService.java",
+        "package jartest.app;\n@com.simplespring.core.annotation.Component\npublic class UserService {\n"
+            + "  static { System.setProperty(\"jartest.initialized\", \"true\"); }\n}\n"));
+    sources.add(writeSource(sourceDir, "jartest/app/OrderService.java",
+        "package jartest.app;\n@com.simplespring.core.annotation.Component\npublic class OrderService {}\n"));
+    sources.add(writeSource(sourceDir, "jartest/app/Helper.java",
+        "package jartest.app;\npublic class Helper {}\n"));
+    sources.add(writeSource(sourceDir, "jartest/app/package-info.java", "package jartest.app;\n"));
+    sources.add(writeSource(sourceDir, "jartest/app/web/UserController.java",
+        "package jartest.app.web;\n@com.simplespring.core.annotation.Controller\npublic class UserController {}\n"));
+
+    String annotationPath = new File(Component.class.getProtectionDomain().getCodeSource().getLocation().toURI())
+        .getPath();
+    JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+    StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, null);
+    try {
+      JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, null,
+          Arrays.asList("-d", classesDir.getPath(), "-classpath", annotationPath, "-proc:none"), null,
+          fileManager.getJavaFileObjectsFromFiles(sources));
+      assertTrue("编译失败", task.call());
+    } finally {
+      fileManager.close();
+    }
+    return classesDir;
+  }
+
+  private File createJar(File classesDir, String name) throws IOException {
+    File jar = new File(tempDir, name);
+    JarOutputStream out = new JarOutputStream(new FileOutputStream(jar));
+    try {
+      addToJar(out, classesDir, "");
+    } finally {
+      out.close();
+    }
+    return jar;
+  }
+
+  private static void addToJar(JarOutputStream out, File dir, String path) throws IOException {
+    File[] files = dir.listFiles();
+    Arrays.sort(files);
+    for (File file : files) {
+      if (file.isDirectory()) {
+        out.putNextEntry(new JarEntry(path + file.getName() + "/"));
+        out.closeEntry();
+        addToJar(out, file, path + file.getName() + "/");
+      } else {
+        out.putNextEntry(new JarEntry(path + file.getName()));
+        InputStream in = new FileInputStream(file);
+        try {
+          byte[] buffer = new byte[4096];
+          int read;
+          while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+          }
+        } finally {
+          in.close();
+        }
+        out.closeEntry();
+      }
+    }
+  }
+
+  private static void copyFile(File source, File target) throws IOException {
+    InputStream in = new FileInputStream(source);
+    try {
+      FileOutputStream out = new FileOutputStream(target);
+      try {
+        byte[] buffer = new byte[4096];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+          out.write(buffer, 0, read);
+        }
+      } finally {
+        out.close();
+      }
+    } finally {
+      in.close();
+    }
+  }
+
+  private static File writeSource(File sourceDir, String path, String content) throws IOException {
+    File file = new File(sourceDir, path);
+    file.getParentFile().mkdirs();
+    Writer writer = new OutputStreamWriter(new FileOutputStream(file), "UTF-8");
+    try {
+      writer.write(content);
+    } finally {
+      writer.close();
+    }
+    return file;
+  }
+
+  private static void delete(File file) {
+    File[] children = file.listFiles();
+    if (children != null) {
+      for (File child : children) {
+        delete(child);
+      }
+    }
+    file.delete();
+  }
 }
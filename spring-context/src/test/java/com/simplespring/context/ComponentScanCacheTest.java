@@ -0,0 +1,299 @@
+package com.simplespring.context;
+
+import com.simplespring.beans.factory.config.BeanDefinition;
+import com.simplespring.beans.factory.support.DefaultBeanFactory;
+import com.simplespring.context.index.CandidateComponentsIndexLoader;
+import com.simplespring.context.testdata.TestComponent;
+import com.simplespring.core.annotation.Autowired;
+import com.simplespring.core.annotation.Component;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.tools.JavaCompiler;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import static org.junit.Assert.*;
+
+/**
+ * ComponentScanCache 测试类
+ *
+ * @author Simple Spring Framework
+ */
+public class ComponentScanCacheTest {
+
+  private File tempDir;
+
+  private File cacheFile;
+
+  @Before
+  public void setUp() throws IOException {
+    tempDir = File.createTempFile("scan-cache", "");
+    assertTrue(tempDir.delete() && tempDir.mkdirs());
+    cacheFile = new File(tempDir, "cache/components.bin");
+  }
+
+  @After
+  public void tearDown() {
+    System.clearProperty(ComponentScanCache.SCAN_CACHE_PROPERTY);
+    System.clearProperty(CandidateComponentsIndexLoader.IGNORE_INDEX_PROPERTY);
+    CandidateComponentsIndexLoader.clearCache();
+    delete(tempDir);
+  }
+
+  @Test
+  public void testScannerReusesUnchangedRoots() throws Exception {
+    File sourceDir = new File(tempDir, "src");
+    File classesDir = new File(tempDir, "classes");
+    compile(classesDir,
+        writeSource(sourceDir, "cachetest/app/UserService.java",
+            "package cachetest.app;\n@com.simplespring.core.annotation.Component\npublic class UserService {}\n"),
+        writeSource(sourceDir, "cachetest/app/Helper.java", "package cachetest.app;\npublic class Helper {}\n"));
+
+    ComponentScanCache cache = new ComponentScanCache(cacheFile);
+    assertEquals(Arrays.asList("cachetest.app.UserService"), scan(classesDir, cache));
+    assertEquals(0, cache.getRootHits());
+    cache.save();
+    assertTrue(cacheFile.isFile());
+
+    // 模拟重新启动：新的缓存实例从文件中读取
+    cache = new ComponentScanCache(cacheFile);
+    assertEquals(Arrays.asList("cachetest.app.UserService"), scan(classesDir, cache));
+    assertEquals("未变化的类路径根应该使用缓存", 1, cache.getRootHits());
+
+    // 新增组件后目录指纹变化，需要重新扫描
+    compile(classesDir, writeSource(sourceDir, "cachetest/app/sub/OrderService.java",
+        "package cachetest.app.sub;\n@com.simplespring.core.annotation.Component\npublic class OrderService {}\n"));
+    cache = new ComponentScanCache(cacheFile);
+    assertEquals(Arrays.asList("cachetest.app.UserService", "cachetest.app.sub.OrderService"),
+        scan(classesDir, cache));
+    assertEquals(0, cache.getRootHits());
+  }
+
+  @Test
+  public void testInjectionMetadataIsCached() throws IOException {
+    BeanDefinition derived = new BeanDefinition(InjectedBean.class, "injectedBean");
+    new DefaultBeanFactory().registerBeanDefinition("injectedBean", derived);
+    assertEquals(1, derived.getAutowiredFields().size());
+    assertEquals(1, derived.getAutowiredMethods().size());
+
+    ComponentScanCache cache = new ComponentScanCache(cacheFile);
+    assertFalse(cache.applyInjectionMetadata(new BeanDefinition(InjectedBean.class, "injectedBean")));
+    cache.putInjectionMetadata(derived);
+    cache.save();
+
+    cache = new ComponentScanCache(cacheFile);
+    BeanDefinition restored = new BeanDefinition(InjectedBean.class, "injectedBean");
+    assertTrue(cache.applyInjectionMetadata(restored));
+    assertEquals(1, cache.getMetadataHits());
+    assertEquals(derived.getAutowiredFields(), restored.getAutowiredFields());
+    assertEquals(derived.getAutowiredMethods(), restored.getAutowiredMethods());
+    assertEquals(derived.getConstructor(), restored.getConstructor());
+  }
+
+  @Test
+  public void testCacheHitSkipsInjectionPointScan() throws IOException {
+    BeanDefinition derived = new BeanDefinition(MethodInjectedBean.class, "methodInjectedBean");
+    new DefaultBeanFactory().registerBeanDefinition("methodInjectedBean", derived);
+    assertTrue(derived.getAutowiredFields().isEmpty());
+    ComponentScanCache cache = new ComponentScanCache(cacheFile);
+    cache.putInjectionMetadata(derived);
+    cache.save();
+
+    cache = new ComponentScanCache(cacheFile);
+    BeanDefinition restored = new BeanDefinition(MethodInjectedBean.class, "methodInjectedBean");
+    assertTrue(cache.applyInjectionMetadata(restored));
+    assertTrue(restored.isInjectionMetadataResolved());
+    List<Field> fields = restored.getAutowiredFields();
+    List<Method> methods = restored.getAutowiredMethods();
+
+    // 扫描器每次都返回新的列表，命中缓存后注册不应替换缓存填充的列表（包括空的字段列表）
+    new DefaultBeanFactory().registerBeanDefinition("methodInjectedBean", restored);
+    assertSame("命中缓存后不应再扫描字段", fields, restored.getAutowiredFields());
+    assertSame("命中缓存后不应再扫描方法", methods, restored.getAutowiredMethods());
+    assertEquals(derived.getConstructor(), restored.getConstructor());
+  }
+
+  @Test
+  public void testCorruptCacheIsIgnored() throws IOException {
+    cacheFile.getParentFile().mkdirs();
+    Writer writer = new OutputStreamWriter(new FileOutputStream(cacheFile), "UTF-8");
+    try {
+      writer.write("not a cache");
+    } finally {
+      writer.close();
+    }
+
+    ComponentScanCache cache = new ComponentScanCache(cacheFile);
+    assertNull(cache.getClassNames("file:/classes/com/example", "d:1:1"));
+    assertFalse(cache.applyInjectionMetadata(new BeanDefinition(InjectedBean.class, "injectedBean")));
+  }
+
+  @Test
+  public void testCacheWithInvalidCountsIsIgnored() throws IOException {
+    // 取一个有效缓存文件的文件头，之后写入负数或超出文件长度的元素数量
+    ComponentScanCache valid = new ComponentScanCache(cacheFile);
+    valid.putInjectionMetadata(new BeanDefinition(InjectedBean.class, "injectedBean"));
+    valid.save();
+    byte[] header = Arrays.copyOf(Files.readAllBytes(cacheFile.toPath()), 8);
+
+    List<byte[]> corruptFiles = new ArrayList<byte[]>();
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    DataOutputStream out = new DataOutputStream(bytes);
+    out.write(header);
+    out.writeInt(-1);
+    corruptFiles.add(bytes.toByteArray());
+
+    bytes.reset();
+    out.write(header);
+    out.writeInt(Integer.MAX_VALUE);
+    corruptFiles.add(bytes.toByteArray());
+
+    bytes.reset();
+    out.write(header);
+    out.writeInt(1);
+    out.writeUTF("file:/classes/com/example");
+    out.writeUTF("d:1:1");
+    out.writeInt(Integer.MAX_VALUE);
+    corruptFiles.add(bytes.toByteArray());
+
+    bytes.reset();
+    out.write(header);
+    out.writeInt(0);
+    out.writeInt(1);
+    out.writeUTF(InjectedBean.class.getName());
+    out.writeInt(0);
+    out.writeInt(-5);
+    corruptFiles.add(bytes.toByteArray());
+
+    for (byte[] content : corruptFiles) {
+      Files.write(cacheFile.toPath(), content);
+      ComponentScanCache cache = new ComponentScanCache(cacheFile);
+      assertNull("损坏的缓存应该视为空缓存", cache.getClassNames("file:/classes/com/example", "d:1:1"));
+      assertFalse(cache.applyInjectionMetadata(new BeanDefinition(InjectedBean.class, "injectedBean")));
+    }
+  }
+
+  @Test
+  public void testContextUsesCacheFromSystemProperty() {
+    System.setProperty(ComponentScanCache.SCAN_CACHE_PROPERTY, cacheFile.getPath());
+    System.setProperty(CandidateComponentsIndexLoader.IGNORE_INDEX_PROPERTY, "true");
+
+    AnnotationConfigApplicationContext first = new AnnotationConfigApplicationContext(
+        "com.simplespring.context.testdata");
+    List<String> names = Arrays.asList(first.getBeanDefinitionNames());
+    first.close();
+    assertEquals(cacheFile, first.getScanCacheFile());
+    assertTrue("刷新后应该写入缓存文件", cacheFile.isFile());
+
+    AnnotationConfigApplicationContext second = new AnnotationConfigApplicationContext(
+        "com.simplespring.context.testdata");
+    try {
+      assertEquals(new ArrayList<String>(names), Arrays.asList(second.getBeanDefinitionNames()));
+      assertNotNull(second.getBean(TestComponent.class));
+    } finally {
+      second.close();
+    }
+  }
+
+  private List<String> scan(File classesDir, ComponentScanCache cache) throws IOException {
+    URLClassLoader classLoader = new URLClassLoader(new URL[] { classesDir.toURI().toURL() },
+        getClass().getClassLoader());
+    Thread thread = Thread.currentThread();
+    ClassLoader original = thread.getContextClassLoader();
+    thread.setContextClassLoader(classLoader);
+    try {
+      ClassPathScanner scanner = new ClassPathScanner();
+      scanner.setScanCache(cache);
+      List<String> names = new ArrayList<String>();
+      for (Class<?> componentClass : scanner.scanPackage("cachetest")) {
+        names.add(componentClass.getName());
+      }
+      return names;
+    } finally {
+      thread.setContextClassLoader(original);
+      classLoader.close();
+    }
+  }
+
+  private static void compile(File classesDir, File... sources) throws Exception {
+    classesDir.mkdirs();
+    String annotationPath = new File(Component.class.getProtectionDomain().getCodeSource().getLocation().toURI())
+        .getPath();
+    JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+    StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, null);
+    try {
+      JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, null,
+          Arrays.asList("-d", classesDir.getPath(), "-classpath", annotationPath, "-proc:none"), null,
+          fileManager.getJavaFileObjects(sources));
+      assertTrue("编译失败", task.call());
+    } finally {
+      fileManager.close();
+    }
+  }
+
+  private static File writeSource(File sourceDir, String path, String content) throws IOException {
+    File file = new File(sourceDir, path);
+    file.getParentFile().mkdirs();
+    Writer writer = new OutputStreamWriter(new FileOutputStream(file), "UTF-8");
+    try {
+      writer.write(content);
+    } finally {
+      writer.close();
+    }
+    return file;
+  }
+
+  private static void delete(File file) {
+    File[] children = file.listFiles();
+    if (children != null) {
+      for (File child : children) {
+        delete(child);
+      }
+    }
+    file.delete();
+  }
+
+  public static class BaseBean {
+
+    @Autowired
+    private TestComponent baseComponent;
+  }
+
+  public static class InjectedBean extends BaseBean {
+
+    private final String name;
+
+    public InjectedBean() {
+      this.name = "default";
+    }
+
+    @Autowired
+    public void setComponent(TestComponent component, int order, String[] tags) {
+    }
+  }
+
+  public static class MethodInjectedBean {
+
+    @Autowired
+    public void setComponent(TestComponent component) {
+    }
+  }
+}
@@ -0,0 +1,236 @@
+package com.simplespring.context;
+
+import com.simplespring.beans.factory.support.StronglyConnectedComponents;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.Assert.*;
+
+/**
+ * ParallelSingletonDestroyer 测试类
+ *
+ * @author Simple Spring Framework
+ */
+public class ParallelSingletonDestroyerTest {
+
+  /**
+   * 测试依赖方总是先于依赖完成销毁，且同层 Bean 并发销毁
+   */
+  @Test
+  public void testDependentsDestroyedBeforeDependencies() {
+    // service 依赖 cache 和 connection，二者都依赖 config
+    Map<String, Set<String>> graph = new LinkedHashMap<String, Set<String>>();
+    addEdges(graph, "service", "cache", "connection");
+    addEdges(graph, "cache", "config");
+    addEdges(graph, "connection", "config");
+    addEdges(graph, "config");
+
+    final Map<String, Long> startTimes = new ConcurrentHashMap<String, Long>();
+    final Map<String, Long> endTimes = new ConcurrentHashMap<String, Long>();
+    final Map<String, Long> sleepTimes = new HashMap<String, Long>();
+    sleepTimes.put("cache", 100L);
+    sleepTimes.put("connection", 200L);
+
+    ParallelSingletonDestroyer destroyer = new ParallelSingletonDestroyer(4, 0, 0);
+    SingletonDestructionReport report = destroyer.destroy(
+        Arrays.asList("config", "connection", "cache", "service"),
+        StronglyConnectedComponents.analyze(graph),
+        new RecordingDestroyer() {
+          @Override
+          public void destroySingleton(String beanName) {
+            startTimes.put(beanName, System.nanoTime());
+            Long sleepTime = sleepTimes.get(beanName);
+            if (sleepTime != null) {
+              sleep(sleepTime);
+            }
+            endTimes.put(beanName, System.nanoTime());
+          }
+        });
+
+    for (Map.Entry<String, Set<String>> entry : graph.entrySet()) {
+      for (String dependency : entry.getValue()) {
+        assertTrue(entry.getKey() + " 应该在 " + dependency + " 之前完成销毁",
+            endTimes.get(entry.getKey()) <= startTimes.get(dependency));
+      }
+    }
+
+    assertEquals(3, report.getLevels().size());
+    assertEquals(Arrays.asList("service"), report.getLevels().get(0));
+    assertEquals(Arrays.asList("config"), report.getLevels().get(2));
+    assertTrue("cache 和 connection 应该并发销毁",
+        startTimes.get("cache") < endTimes.get("connection") && startTimes.get("connection") < endTimes.get("cache"));
+    assertTrue("总耗时应该小于两者之和: " + report.getTotalTime() + "ms", report.getTotalTime() < 300);
+
+    assertEquals(4, report.getBeanTimes().size());
+    assertEquals(Arrays.asList("connection", "cache"), report.getSlowestBeans(2));
+    assertTrue(report.isCompleted());
+    assertTrue(report.toString().contains("connection["));
+  }
+
+  /**
+   * 测试环路中的 Bean 依次销毁，不在依赖图中的 Bean 最后销毁
+   */
+  @Test
+  public void testCyclesAndUnknownBeans() {
+    Map<String, Set<String>> graph = new LinkedHashMap<String, Set<String>>();
+    addEdges(graph, "a", "b");
+    addEdges(graph, "b", "a");
+
+    final List<String> destroyed = new CopyOnWriteArrayList<String>();
+    ParallelSingletonDestroyer destroyer = new ParallelSingletonDestroyer(2, 0, 0);
+    SingletonDestructionReport report = destroyer.destroy(Arrays.asList("registered", "a", "b"),
+        StronglyConnectedComponents.analyze(graph), new RecordingDestroyer() {
+          @Override
+          public void destroySingleton(String beanName) {
+            destroyed.add(beanName);
+          }
+        });
+
+    assertEquals(3, destroyed.size());
+    assertEquals("环路中的 Bean 应该依次销毁", new HashSet<String>(Arrays.asList("a", "b")),
+        new HashSet<String>(destroyed.subList(0, 2)));
+    assertEquals("依赖关系未知的 Bean 应该最后销毁", "registered", destroyed.get(2));
+    assertEquals(Arrays.asList("registered"), report.getLevels().get(report.getLevels().size() - 1));
+  }
+
+  /**
+   * 测试没有销毁回调的 Bean 在调用线程中直接销毁
+   */
+  @Test
+  public void testBeansWithoutCallbacksDestroyedInline() {
+    final Thread caller = Thread.currentThread();
+    final List<String> inline = new CopyOnWriteArrayList<String>();
+    ParallelSingletonDestroyer destroyer = new ParallelSingletonDestroyer(2, 0, 0);
+    destroyer.destroy(Arrays.asList("plain", "hooked"),
+        StronglyConnectedComponents.analyze(new HashMap<String, Set<String>>()),
+        new ParallelSingletonDestroyer.SingletonDestroyer() {
+          @Override
+          public boolean requiresDestruction(String beanName) {
+            return "hooked".equals(beanName);
+          }
+
+          @Override
+          public void destroySingleton(String beanName) {
+            if (Thread.currentThread() == caller) {
+              inline.add(beanName);
+            }
+          }
+        });
+
+    assertEquals(Arrays.asList("plain"), inline);
+  }
+
+  /**
+   * 测试单个 Bean 超时后被中断，不影响其他 Bean 的销毁
+   */
+  @Test
+  public void testBeanTimeout() {
+    Map<String, Set<String>> graph = new LinkedHashMap<String, Set<String>>();
+    addEdges(graph, "slow", "pool");
+    addEdges(graph, "pool");
+
+    final List<String> destroyed = new CopyOnWriteArrayList<String>();
+    final List<String> interrupted = new CopyOnWriteArrayList<String>();
+    ParallelSingletonDestroyer destroyer = new ParallelSingletonDestroyer(2, 50, 0);
+    SingletonDestructionReport report = destroyer.destroy(Arrays.asList("slow", "pool"),
+        StronglyConnectedComponents.analyze(graph), new RecordingDestroyer() {
+          @Override
+          public void destroySingleton(String beanName) {
+            if ("slow".equals(beanName)) {
+              try {
+                Thread.sleep(5000);
+              } catch (InterruptedException e) {
+                interrupted.add(beanName);
+                return;
+              }
+            }
+            destroyed.add(beanName);
+          }
+        });
+
+    assertEquals(Arrays.asList("slow"), report.getTimedOutBeans());
+    assertEquals("超时后应该继续销毁其余 Bean", Arrays.asList("pool"), destroyed);
+    assertTrue("不应该等待超时的回调: " + report.getTotalTime() + "ms", report.getTotalTime() < 2000);
+    assertFalse(report.isCompleted());
+    sleep(100);
+    assertEquals("超时的回调应该被中断", Arrays.asList("slow"), interrupted);
+  }
+
+  /**
+   * 测试全局超时后剩余的 Bean 不再执行销毁回调
+   */
+  @Test
+  public void testGlobalTimeoutSkipsRemainingBeans() {
+    Map<String, Set<String>> graph = new LinkedHashMap<String, Set<String>>();
+    addEdges(graph, "slow", "pool");
+    addEdges(graph, "pool");
+
+    final List<String> destroyed = new CopyOnWriteArrayList<String>();
+    ParallelSingletonDestroyer destroyer = new ParallelSingletonDestroyer(2, 0, 50);
+    SingletonDestructionReport report = destroyer.destroy(Arrays.asList("slow", "pool"),
+        StronglyConnectedComponents.analyze(graph), new RecordingDestroyer() {
+          @Override
+          public void destroySingleton(String beanName) {
+            if ("slow".equals(beanName)) {
+              sleep(200);
+            }
+            destroyed.add(beanName);
+          }
+        });
+
+    assertEquals(Arrays.asList("slow"), report.getTimedOutBeans());
+    assertEquals(Arrays.asList("pool"), report.getSkippedBeans());
+    assertFalse("全局超时后不应该再执行销毁回调", destroyed.contains("pool"));
+    assertTrue(report.toString().contains("未执行销毁回调: [pool]"));
+  }
+
+  /**
+   * 测试非法参数
+   */
+  @Test
+  public void testInvalidArguments() {
+    try {
+      new ParallelSingletonDestroyer(0, 0, 0);
+      fail("应该抛出 IllegalArgumentException");
+    } catch (IllegalArgumentException e) {
+      // 预期异常
+    }
+    try {
+      new ParallelSingletonDestroyer(1, -1, 0);
+      fail("应该抛出 IllegalArgumentException");
+    } catch (IllegalArgumentException e) {
+      // 预期异常
+    }
+  }
+
+  /**
+   * 所有 Bean 都需要在线程池中执行销毁回调的销毁器
+   */
+  private abstract static class RecordingDestroyer implements ParallelSingletonDestroyer.SingletonDestroyer {
+    @Override
+    public boolean requiresDestruction(String beanName) {
+      return true;
+    }
+  }
+
+  private static void addEdges(Map<String, Set<String>> graph, String from, String... to) {
+    graph.put(from, new HashSet<String>(Arrays.asList(to)));
+  }
+
+  private static void sleep(long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
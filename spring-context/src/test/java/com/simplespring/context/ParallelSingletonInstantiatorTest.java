@@ -0,0 +1,130 @@
+package com.simplespring.context;
+
+import com.simplespring.beans.factory.BeanCreationException;
+import com.simplespring.beans.factory.support.StronglyConnectedComponents;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.Assert.*;
+
+/**
+ * ParallelSingletonInstantiator 测试类
+ * 
+ * @author Simple Spring Framework
+ */
+public class ParallelSingletonInstantiatorTest {
+
+  /**
+   * 测试依赖总是先于依赖方完成创建，且同层 Bean 并发创建
+   */
+  @Test
+  public void testLevelsRespectDependencies() {
+    // service 依赖 cache 和 connection，二者都依赖 config
+    final Map<String, Set<String>> graph = new LinkedHashMap<String, Set<String>>();
+    addEdges(graph, "service", "cache", "connection");
+    addEdges(graph, "cache", "config");
+    addEdges(graph, "connection", "config");
+    addEdges(graph, "config");
+
+    final Map<String, Long> startTimes = new ConcurrentHashMap<String, Long>();
+    final Map<String, Long> endTimes = new ConcurrentHashMap<String, Long>();
+    final Map<String, Long> sleepTimes = new HashMap<String, Long>();
+    sleepTimes.put("cache", 100L);
+    sleepTimes.put("connection", 200L);
+
+    ParallelSingletonInstantiator instantiator = new ParallelSingletonInstantiator(4);
+    SingletonInstantiationReport report = instantiator.instantiate(
+        Arrays.asList("service", "cache", "connection", "config"),
+        StronglyConnectedComponents.analyze(graph),
+        new ParallelSingletonInstantiator.SingletonCreator() {
+          @Override
+          public void createSingleton(String beanName) {
+            startTimes.put(beanName, System.nanoTime());
+            Long sleepTime = sleepTimes.get(beanName);
+            if (sleepTime != null) {
+              sleep(sleepTime);
+            }
+            endTimes.put(beanName, System.nanoTime());
+          }
+        });
+
+    for (Map.Entry<String, Set<String>> entry : graph.entrySet()) {
+      for (String dependency : entry.getValue()) {
+        assertTrue(dependency + " 应该在 " + entry.getKey() + " 之前完成创建",
+            endTimes.get(dependency) <= startTimes.get(entry.getKey()));
+      }
+    }
+
+    assertEquals(3, report.getLevels().size());
+    assertEquals(Arrays.asList("config"), report.getLevels().get(0));
+    assertEquals(new HashSet<String>(Arrays.asList("cache", "connection")),
+        new HashSet<String>(report.getLevels().get(1)));
+    assertTrue("cache 和 connection 应该并发创建",
+        startTimes.get("cache") < endTimes.get("connection") && startTimes.get("connection") < endTimes.get("cache"));
+    assertTrue("总耗时应该小于两者之和: " + report.getTotalTime() + "ms", report.getTotalTime() < 300);
+
+    assertEquals("关键路径应该经过更慢的 connection",
+        Arrays.asList("config", "connection", "service"), report.getCriticalPath());
+    assertTrue(report.getCriticalPathTime() >= 200);
+    assertEquals(4, report.getBeanTimes().size());
+    assertTrue(report.toString().contains("-> connection["));
+  }
+
+  /**
+   * 测试创建失败时原样抛出异常并停止后续层级
+   */
+  @Test
+  public void testFailureStopsLaterLevels() {
+    Map<String, Set<String>> graph = new LinkedHashMap<String, Set<String>>();
+    addEdges(graph, "client", "broken");
+    addEdges(graph, "broken");
+
+    final List<String> created = new CopyOnWriteArrayList<String>();
+    ParallelSingletonInstantiator instantiator = new ParallelSingletonInstantiator(2);
+    try {
+      instantiator.instantiate(Arrays.asList("client", "broken"), StronglyConnectedComponents.analyze(graph),
+          new ParallelSingletonInstantiator.SingletonCreator() {
+            @Override
+            public void createSingleton(String beanName) {
+              if ("broken".equals(beanName)) {
+                throw new BeanCreationException(beanName, "创建失败");
+              }
+              created.add(beanName);
+            }
+          });
+      fail("应该抛出 BeanCreationException");
+    } catch (BeanCreationException e) {
+      assertEquals("broken", e.getBeanName());
+    }
+    assertTrue("依赖创建失败后不应该继续创建依赖方", created.isEmpty());
+  }
+
+  /**
+   * 测试非法的并行度
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidParallelism() {
+    new ParallelSingletonInstantiator(0);
+  }
+
+  private static void addEdges(Map<String, Set<String>> graph, String from, String... to) {
+    graph.put(from, new HashSet<String>(Arrays.asList(to)));
+  }
+
+  private static void sleep(long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
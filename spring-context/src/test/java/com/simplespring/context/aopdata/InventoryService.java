@@ -0,0 +1,14 @@
+package com.simplespring.context.aopdata;
+
+import com.simplespring.core.annotation.Component;
+
+/**
+ * 测试用的库存服务，作为订单服务的构造器依赖
+ */
+@Component
+public class InventoryService {
+
+  public boolean reserve(String item) {
+    return item != null && !item.isEmpty();
+  }
+}
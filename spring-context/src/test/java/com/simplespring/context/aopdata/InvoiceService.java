@@ -0,0 +1,24 @@
+package com.simplespring.context.aopdata;
+
+import com.simplespring.core.annotation.Component;
+import com.simplespring.core.annotation.Lazy;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 测试用的懒加载组件，被切面匹配，首次获取时才创建
+ */
+@Component
+@Lazy
+public class InvoiceService {
+
+  public static final AtomicInteger INSTANCES = new AtomicInteger();
+
+  public InvoiceService() {
+    INSTANCES.incrementAndGet();
+  }
+
+  public String issue(String orderId) {
+    return "invoice:" + orderId;
+  }
+}
@@ -0,0 +1,32 @@
+package com.simplespring.context.aopdata;
+
+import com.simplespring.core.annotation.Aspect;
+import com.simplespring.core.annotation.Before;
+import com.simplespring.core.annotation.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * 测试用的切面，记录被拦截的订单服务和发票服务方法
+ */
+@Aspect
+@Component
+public class OrderAuditAspect {
+
+  private final List<String> calls = new CopyOnWriteArrayList<String>();
+
+  @Before("com.simplespring.context.aopdata.OrderService.createOrder")
+  public void beforeCreateOrder() {
+    calls.add("createOrder");
+  }
+
+  @Before("com.simplespring.context.aopdata.InvoiceService.issue")
+  public void beforeIssueInvoice() {
+    calls.add("issue");
+  }
+
+  public List<String> getCalls() {
+    return calls;
+  }
+}
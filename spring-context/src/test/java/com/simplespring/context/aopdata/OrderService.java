@@ -0,0 +1,31 @@
+package com.simplespring.context.aopdata;
+
+import com.simplespring.core.annotation.Autowired;
+import com.simplespring.core.annotation.Component;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 测试用的订单服务，没有实现接口且只有带参构造器，只能使用 CGLIB 子类代理
+ */
+@Component
+public class OrderService {
+
+  public static final AtomicInteger INSTANCES = new AtomicInteger();
+
+  private final InventoryService inventoryService;
+
+  @Autowired
+  public OrderService(InventoryService inventoryService) {
+    this.inventoryService = inventoryService;
+    INSTANCES.incrementAndGet();
+  }
+
+  public String createOrder(String item) {
+    return inventoryService.reserve(item) ? "order:" + item : "rejected";
+  }
+
+  public String describe() {
+    return "OrderService";
+  }
+}
@@ -0,0 +1,25 @@
+package com.simplespring.context.aopdestroydata;
+
+import com.simplespring.core.annotation.Component;
+import com.simplespring.core.annotation.PreDestroy;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 测试用的没有接口的组件，被切面匹配，使用 CGLIB 代理
+ */
+@Component
+public class ArchiveService {
+
+  private final List<String> archived = new ArrayList<String>();
+
+  public void archive(String entry) {
+    archived.add(entry);
+  }
+
+  @PreDestroy
+  private void close() {
+    Ledger.DESTROYED.add("archiveService:" + archived.size());
+  }
+}
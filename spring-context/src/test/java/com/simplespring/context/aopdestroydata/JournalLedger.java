@@ -0,0 +1,26 @@
+package com.simplespring.context.aopdestroydata;
+
+import com.simplespring.core.annotation.Component;
+import com.simplespring.core.annotation.PreDestroy;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 测试用的账本实现，被切面匹配，使用 JDK 动态代理
+ */
+@Component
+public class JournalLedger implements Ledger {
+
+  private final List<String> entries = new ArrayList<String>();
+
+  @Override
+  public void record(String entry) {
+    entries.add(entry);
+  }
+
+  @PreDestroy
+  private void close() {
+    DESTROYED.add("journalLedger:" + entries.size());
+  }
+}
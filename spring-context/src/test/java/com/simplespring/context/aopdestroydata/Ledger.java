@@ -0,0 +1,14 @@
+package com.simplespring.context.aopdestroydata;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * 测试用的账本接口，记录被代理 Bean 的销毁回调
+ */
+public interface Ledger {
+
+  List<String> DESTROYED = new CopyOnWriteArrayList<String>();
+
+  void record(String entry);
+}
@@ -0,0 +1,32 @@
+package com.simplespring.context.aopdestroydata;
+
+import com.simplespring.core.annotation.Aspect;
+import com.simplespring.core.annotation.Before;
+import com.simplespring.core.annotation.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * 测试用的切面，使账本和归档服务都被代理
+ */
+@Aspect
+@Component
+public class LedgerAuditAspect {
+
+  private final List<String> calls = new CopyOnWriteArrayList<String>();
+
+  @Before("com.simplespring.context.aopdestroydata.JournalLedger.record")
+  public void beforeRecord() {
+    calls.add("record");
+  }
+
+  @Before("com.simplespring.context.aopdestroydata.ArchiveService.archive")
+  public void beforeArchive() {
+    calls.add("archive");
+  }
+
+  public List<String> getCalls() {
+    return calls;
+  }
+}
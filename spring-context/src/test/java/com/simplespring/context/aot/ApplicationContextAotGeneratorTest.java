@@ -0,0 +1,156 @@
+package com.simplespring.context.aot;
+
+import com.simplespring.beans.factory.config.BeanDefinition;
+import com.simplespring.context.aotdata.AotAuditor;
+import com.simplespring.context.aotdata.AotRepository;
+import com.simplespring.context.aotdata.AotService;
+import com.simplespring.core.annotation.Component;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Arrays;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.tools.JavaCompiler;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import static org.junit.Assert.*;
+
+/**
+ * ApplicationContextAotGenerator 测试类
+ *
+ * @author Simple Spring Framework
+ */
+public class ApplicationContextAotGeneratorTest {
+
+  private static final String DATA_PACKAGE = "com.simplespring.context.aotdata";
+
+  private static final String INITIALIZER_CLASS = "aottest.AppInitializer";
+
+  private File tempDir;
+
+  @Before
+  public void setUp() throws IOException {
+    tempDir = File.createTempFile("aot", "");
+    assertTrue(tempDir.delete() && tempDir.mkdirs());
+  }
+
+  @After
+  public void tearDown() {
+    delete(tempDir);
+  }
+
+  @Test
+  public void testGeneratedSourceUsesDirectCalls() {
+    String source = new ApplicationContextAotGenerator(DATA_PACKAGE).generate(INITIALIZER_CLASS);
+
+    assertTrue(source.startsWith("package aottest;"));
+    assertTrue("public 构造函数应该直接调用", source.contains("com.simplespring.context.aotdata.AotService bean = "
+        + "new com.simplespring.context.aotdata.AotService("
+        + "(com.simplespring.context.aotdata.AotRepository) beanFactory.getBean(\"aotRepository\"));"));
+    assertTrue("public 字段应该直接赋值", source.contains("bean.publicRepository = "));
+    Matcher constant = Pattern.compile("private static final Field (FIELD_\\d+) = AotSupport\\.findField\\("
+        + "com\\.simplespring\\.context\\.aotdata\\.AotService\\.class, \"privateRepository\"\\);").matcher(source);
+    assertTrue("private 字段在类初始化时查找一次", constant.find());
+    assertTrue("private 字段通过静态常量赋值", source.contains("AotSupport.setField(bean, " + constant.group(1) + ", "));
+    assertFalse("创建 Bean 时不应该按名称查找成员", source.contains("\"privateRepository\", "));
+    assertTrue("非 public 类通过名称加载",
+        source.contains("AotSupport.forName(\"com.simplespring.context.aotdata.AotHelper\")"));
+    assertTrue(source.contains("((com.simplespring.context.aotdata.AotService) target).init();"));
+    assertTrue("集合注入点回退到运行时反射注入", source.contains("// 依赖无法在构建期确定"));
+  }
+
+  @Test
+  public void testGeneratedContextWiresBeans() throws Exception {
+    File sourceFile = new ApplicationContextAotGenerator(DATA_PACKAGE)
+        .generate(INITIALIZER_CLASS, new File(tempDir, "src"));
+    assertTrue(sourceFile.isFile());
+    File classesDir = new File(tempDir, "classes");
+    compile(classesDir, sourceFile);
+
+    URLClassLoader classLoader = new URLClassLoader(new URL[] { classesDir.toURI().toURL() },
+        getClass().getClassLoader());
+    Thread thread = Thread.currentThread();
+    ClassLoader original = thread.getContextClassLoader();
+    thread.setContextClassLoader(classLoader);
+    AotRepository repository;
+    try {
+      GeneratedApplicationContext context = new GeneratedApplicationContext(INITIALIZER_CLASS);
+      try {
+        AotService service = context.getBean(AotService.class);
+        repository = context.getBean(AotRepository.class);
+        assertSame(repository, service.getRepository());
+        assertSame(repository, service.publicRepository);
+        assertSame(repository, service.getPrivateRepository());
+        assertTrue("@PostConstruct 方法应该在注入完成后调用", service.isInitialized());
+        assertTrue(service.isHelperInitialized());
+        assertEquals(Arrays.asList(repository), context.getBean(AotAuditor.class).getRepositories());
+
+        BeanDefinition serviceDefinition = context.getBeanDefinition("aotService");
+        assertNotNull(serviceDefinition.getInstanceSupplier());
+        assertTrue("使用实例提供者时不应该扫描注入点", serviceDefinition.getAutowiredFields().isEmpty());
+        assertNull(context.getBeanDefinition("aotAuditor").getInstanceSupplier());
+      } finally {
+        context.close();
+      }
+    } finally {
+      thread.setContextClassLoader(original);
+      classLoader.close();
+    }
+    assertTrue("关闭时应该调用 @PreDestroy 方法", repository.isDestroyed());
+  }
+
+  @Test
+  public void testStringLiteral() {
+    assertEquals("\"a\\\"b\\\\c\\0121\\u4e2d\"", ApplicationContextAotGenerator.stringLiteral("a\"b\\c\n1中"));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testRequiresBasePackage() {
+    new ApplicationContextAotGenerator();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInitializerMustImplementInterface() {
+    new GeneratedApplicationContext(String.class.getName());
+  }
+
+  private static void compile(File classesDir, File... sources) throws Exception {
+    classesDir.mkdirs();
+    StringBuilder classpath = new StringBuilder();
+    for (Class<?> type : Arrays.<Class<?>>asList(Component.class, BeanDefinition.class, AotSupport.class,
+        AotService.class)) {
+      if (classpath.length() > 0) {
+        classpath.append(File.pathSeparator);
+      }
+      classpath.append(new File(type.getProtectionDomain().getCodeSource().getLocation().toURI()).getPath());
+    }
+    JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+    StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, null);
+    try {
+      JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, null,
+          Arrays.asList("-d", classesDir.getPath(), "-classpath", classpath.toString(), "-proc:none"), null,
+          fileManager.getJavaFileObjects(sources));
+      assertTrue("编译失败", task.call());
+    } finally {
+      fileManager.close();
+    }
+  }
+
+  private static void delete(File file) {
+    File[] children = file.listFiles();
+    if (children != null) {
+      for (File child : children) {
+        delete(child);
+      }
+    }
+    file.delete();
+  }
+}
@@ -0,0 +1,20 @@
+package com.simplespring.context.aotdata;
+
+import com.simplespring.core.annotation.Autowired;
+import com.simplespring.core.annotation.Component;
+
+import java.util.List;
+
+/**
+ * 测试用的组件，集合注入点无法在构建期生成代码，运行时通过反射注入
+ */
+@Component
+public class AotAuditor {
+
+  @Autowired
+  private List<AotRepository> repositories;
+
+  public List<AotRepository> getRepositories() {
+    return repositories;
+  }
+}
@@ -0,0 +1,22 @@
+package com.simplespring.context.aotdata;
+
+import com.simplespring.core.annotation.Component;
+import com.simplespring.core.annotation.PostConstruct;
+
+/**
+ * 测试用的非 public 组件，生成的代码只能通过反射访问
+ */
+@Component
+class AotHelper {
+
+  private boolean initialized;
+
+  @PostConstruct
+  private void init() {
+    initialized = true;
+  }
+
+  boolean isInitialized() {
+    return initialized;
+  }
+}
@@ -0,0 +1,22 @@
+package com.simplespring.context.aotdata;
+
+import com.simplespring.core.annotation.Component;
+import com.simplespring.core.annotation.PreDestroy;
+
+/**
+ * 测试用的仓库组件，销毁时记录状态
+ */
+@Component
+public class AotRepository {
+
+  private volatile boolean destroyed;
+
+  @PreDestroy
+  public void destroy() {
+    destroyed = true;
+  }
+
+  public boolean isDestroyed() {
+    return destroyed;
+  }
+}
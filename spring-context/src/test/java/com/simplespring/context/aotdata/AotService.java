@@ -0,0 +1,55 @@
+package com.simplespring.context.aotdata;
+
+import com.simplespring.core.annotation.Autowired;
+import com.simplespring.core.annotation.Component;
+import com.simplespring.core.annotation.PostConstruct;
+
+/**
+ * 测试用的服务组件，同时使用构造函数、字段和方法注入
+ */
+@Component
+public class AotService {
+
+  private final AotRepository repository;
+
+  @Autowired
+  public AotRepository publicRepository;
+
+  @Autowired
+  private AotRepository privateRepository;
+
+  private Object helper;
+
+  private boolean initialized;
+
+  @Autowired
+  public AotService(AotRepository repository) {
+    this.repository = repository;
+  }
+
+  @Autowired
+  void setHelper(AotHelper helper) {
+    this.helper = helper;
+  }
+
+  @PostConstruct
+  public void init() {
+    initialized = repository != null && helper != null;
+  }
+
+  public AotRepository getRepository() {
+    return repository;
+  }
+
+  public AotRepository getPrivateRepository() {
+    return privateRepository;
+  }
+
+  public boolean isHelperInitialized() {
+    return ((AotHelper) helper).isInitialized();
+  }
+
+  public boolean isInitialized() {
+    return initialized;
+  }
+}
@@ -0,0 +1,14 @@
+package com.simplespring.context.destroydata;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * 测试用的通知渠道接口，记录 Bean 的销毁顺序
+ */
+public interface Channel {
+
+  List<String> DESTROYED = new CopyOnWriteArrayList<String>();
+
+  String send(String message);
+}
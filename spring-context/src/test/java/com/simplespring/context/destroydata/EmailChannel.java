@@ -0,0 +1,21 @@
+package com.simplespring.context.destroydata;
+
+import com.simplespring.core.annotation.Component;
+import com.simplespring.core.annotation.PreDestroy;
+
+/**
+ * 测试用的邮件通知渠道
+ */
+@Component
+public class EmailChannel implements Channel {
+
+  @Override
+  public String send(String message) {
+    return "email:" + message;
+  }
+
+  @PreDestroy
+  public void close() {
+    DESTROYED.add("emailChannel");
+  }
+}
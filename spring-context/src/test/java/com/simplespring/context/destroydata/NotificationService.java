@@ -0,0 +1,29 @@
+package com.simplespring.context.destroydata;
+
+import com.simplespring.core.annotation.Autowired;
+import com.simplespring.core.annotation.Component;
+import com.simplespring.core.annotation.PreDestroy;
+
+import java.util.List;
+
+/**
+ * 测试用的通知服务，通过 List 注入所有通知渠道，销毁时仍然需要使用它们
+ */
+@Component
+public class NotificationService {
+
+  @Autowired
+  private List<Channel> channels;
+
+  public int getChannelCount() {
+    return channels.size();
+  }
+
+  @PreDestroy
+  public void flush() {
+    for (Channel channel : channels) {
+      channel.send("flush");
+    }
+    Channel.DESTROYED.add("notificationService");
+  }
+}
@@ -0,0 +1,21 @@
+package com.simplespring.context.destroydata;
+
+import com.simplespring.core.annotation.Component;
+import com.simplespring.core.annotation.PreDestroy;
+
+/**
+ * 测试用的短信通知渠道
+ */
+@Component
+public class SmsChannel implements Channel {
+
+  @Override
+  public String send(String message) {
+    return "sms:" + message;
+  }
+
+  @PreDestroy
+  public void close() {
+    DESTROYED.add("smsChannel");
+  }
+}
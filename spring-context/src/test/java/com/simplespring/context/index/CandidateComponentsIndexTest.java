@@ -0,0 +1,196 @@
+package com.simplespring.context.index;
+
+import com.simplespring.context.ClassPathScanner;
+import com.simplespring.context.index.processor.ComponentIndexer;
+import com.simplespring.core.annotation.Component;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+
+import javax.tools.JavaCompiler;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import static org.junit.Assert.*;
+
+/**
+ * 组件索引测试类
+ *
+ * @author Simple Spring Framework
+ */
+public class CandidateComponentsIndexTest {
+
+  private File tempDir;
+
+  @Before
+  public void setUp() throws IOException {
+    tempDir = File.createTempFile("component-index", "");
+    assertTrue(tempDir.delete() && tempDir.mkdirs());
+    CandidateComponentsIndexLoader.clearCache();
+  }
+
+  @After
+  public void tearDown() {
+    System.clearProperty(CandidateComponentsIndexLoader.IGNORE_INDEX_PROPERTY);
+    CandidateComponentsIndexLoader.clearCache();
+    delete(tempDir);
+  }
+
+  @Test
+  public void testCandidateTypesIncludeSubPackagesOnly() {
+    Properties first = new Properties();
+    first.setProperty("com.example.A", "com.simplespring.core.annotation.Component");
+    first.setProperty("com.example.sub.B", "com.simplespring.core.annotation.Controller");
+    Properties second = new Properties();
+    second.setProperty("com.examples.C", "com.simplespring.core.annotation.Component");
+    second.setProperty("com.example.A", "com.simplespring.core.annotation.Configuration");
+
+    CandidateComponentsIndex index = new CandidateComponentsIndex(Arrays.asList(first, second));
+
+    assertEquals(Arrays.asList("com.example.A", "com.example.sub.B"),
+        new ArrayList<String>(index.getCandidateTypes("com.example")));
+    assertEquals(Collections.singleton("com.example.sub.B"), index.getCandidateTypes("com.example.sub"));
+    assertTrue(index.getCandidateTypes("org").isEmpty());
+    assertEquals("多个索引文件中的注解应该合并", 2, index.getStereotypes("com.example.A").size());
+    assertEquals(3, index.size());
+  }
+
+  @Test
+  public void testLoadIndexFromClassPath() throws IOException {
+    URLClassLoader withoutIndex = new URLClassLoader(new URL[] { tempDir.toURI().toURL() }, null);
+    assertNull("类路径上没有索引时应该返回 null", CandidateComponentsIndexLoader.loadIndex(withoutIndex));
+
+    File indexFile = new File(tempDir, CandidateComponentsIndexLoader.COMPONENTS_RESOURCE_LOCATION);
+    write(indexFile, "# comment\ncom.example.A=com.simplespring.core.annotation.Component\n");
+    URLClassLoader classLoader = new URLClassLoader(new URL[] { tempDir.toURI().toURL() }, null);
+
+    CandidateComponentsIndex index = CandidateComponentsIndexLoader.loadIndex(classLoader);
+    assertNotNull(index);
+    assertEquals(Collections.singleton("com.example.A"), index.getCandidateTypes("com.example"));
+    assertSame("索引应该按类加载器缓存", index, CandidateComponentsIndexLoader.loadIndex(classLoader));
+
+    System.setProperty(CandidateComponentsIndexLoader.IGNORE_INDEX_PROPERTY, "true");
+    assertNull("忽略索引时应该返回 null", CandidateComponentsIndexLoader.loadIndex(classLoader));
+  }
+
+  /**
+   * 在 5000 个类的合成包上比较遍历类路径和使用索引的扫描耗时
+   */
+  @Test
+  public void testIndexedScanOfSyntheticPackage() throws Exception {
+    int classCount = 5000;
+    int componentInterval = 50;
+    File sourceDir = new File(tempDir, "src");
+    File classesDir = new File(tempDir, "classes");
+    classesDir.mkdirs();
+
+    List<File> sources = new ArrayList<File>();
+    Set<String> expected = new TreeSet<String>();
+    for (int i = 0; i < classCount; i++) {
+      String packageName = "synthetic.app.module" + (i / 100);
+      String className = "Type" + i;
+      StringBuilder source = new StringBuilder();
+      source.append("package ").append(packageName).append(";\n");
+      if (i % componentInterval == 0) {
+        source.append("@com.simplespring.core.annotation.Component\n");
+        expected.add(packageName + "." + className);
+      }
+      source.append("public class ").append(className).append(" {\n");
+      source.append("  static final int[] TABLE = new int[256];\n");
+      source.append("  static { for (int i = 0; i < TABLE.length; i++) { TABLE[i] = i * 31; } }\n");
+      source.append("}\n");
+      File file = new File(sourceDir, packageName.replace('.', '/') + "/" + className + ".java");
+      write(file, source.toString());
+      sources.add(file);
+    }
+
+    compile(sources, classesDir);
+    assertTrue(new File(classesDir, CandidateComponentsIndexLoader.COMPONENTS_RESOURCE_LOCATION).exists());
+
+    // 每次使用新的类加载器，避免已加载的类影响耗时
+    System.setProperty(CandidateComponentsIndexLoader.IGNORE_INDEX_PROPERTY, "true");
+    long scanStart = System.nanoTime();
+    Set<String> scanned = scan(classesDir);
+    long scanTime = System.nanoTime() - scanStart;
+    System.clearProperty(CandidateComponentsIndexLoader.IGNORE_INDEX_PROPERTY);
+
+    long indexStart = System.nanoTime();
+    Set<String> indexed = scan(classesDir);
+    long indexTime = System.nanoTime() - indexStart;
+
+    assertEquals(expected, scanned);
+    assertEquals("使用索引应该得到相同的组件", expected, indexed);
+    assertTrue("使用索引应该更快: 遍历 " + scanTime / 1000000 + "ms, 索引 " + indexTime / 1000000 + "ms",
+        indexTime < scanTime);
+    System.out.println("Component index: scanning " + classCount + " classes took " + scanTime / 1000000
+        + "ms, indexed lookup of " + expected.size() + " components took " + indexTime / 1000000 + "ms");
+  }
+
+  private Set<String> scan(File classesDir) throws Exception {
+    URLClassLoader classLoader = new URLClassLoader(new URL[] { classesDir.toURI().toURL() },
+        getClass().getClassLoader());
+    Thread thread = Thread.currentThread();
+    ClassLoader original = thread.getContextClassLoader();
+    thread.setContextClassLoader(classLoader);
+    try {
+      Set<String> names = new TreeSet<String>();
+      for (Class<?> componentClass : new ClassPathScanner().scanPackage("synthetic.app")) {
+        names.add(componentClass.getName());
+      }
+      return names;
+    } finally {
+      thread.setContextClassLoader(original);
+    }
+  }
+
+  private static void compile(List<File> sources, File outputDir) throws Exception {
+    String annotationPath = new File(Component.class.getProtectionDomain().getCodeSource().getLocation().toURI())
+        .getPath();
+    JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+    StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, null);
+    try {
+      JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, null,
+          Arrays.asList("-d", outputDir.getPath(), "-classpath", annotationPath), null,
+          fileManager.getJavaFileObjectsFromFiles(sources));
+      task.setProcessors(Collections.singletonList(new ComponentIndexer()));
+      assertTrue("编译失败", task.call());
+    } finally {
+      fileManager.close();
+    }
+  }
+
+  private static void write(File file, String content) throws IOException {
+    file.getParentFile().mkdirs();
+    Writer writer = new OutputStreamWriter(new FileOutputStream(file), "UTF-8");
+    try {
+      writer.write(content);
+    } finally {
+      writer.close();
+    }
+  }
+
+  private static void delete(File file) {
+    File[] children = file.listFiles();
+    if (children != null) {
+      for (File child : children) {
+        delete(child);
+      }
+    }
+    file.delete();
+  }
+}
@@ -0,0 +1,22 @@
+package com.simplespring.context.lazydata;
+
+import com.simplespring.core.annotation.Autowired;
+import com.simplespring.core.annotation.Controller;
+
+/**
+ * 测试用的非懒加载组件，依赖懒加载的报表服务
+ */
+@Controller
+public class AdminController {
+
+  @Autowired
+  private ReportService reportService;
+
+  public ReportService getReportService() {
+    return reportService;
+  }
+
+  public String report() {
+    return reportService.generate();
+  }
+}
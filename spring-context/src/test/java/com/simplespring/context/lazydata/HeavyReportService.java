@@ -0,0 +1,29 @@
+package com.simplespring.context.lazydata;
+
+import com.simplespring.core.annotation.Component;
+import com.simplespring.core.annotation.Lazy;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 测试用的懒加载组件，创建时分配较大的缓冲区
+ */
+@Component
+@Lazy
+public class HeavyReportService implements ReportService {
+
+  public static final int BUFFER_SIZE = 16 * 1024 * 1024;
+
+  public static final AtomicInteger INSTANCES = new AtomicInteger();
+
+  private final byte[] buffer = new byte[BUFFER_SIZE];
+
+  public HeavyReportService() {
+    INSTANCES.incrementAndGet();
+  }
+
+  @Override
+  public String generate() {
+    return "report:" + buffer.length;
+  }
+}
@@ -0,0 +1,9 @@
+package com.simplespring.context.lazydata;
+
+/**
+ * 测试用的报表服务接口
+ */
+public interface ReportService {
+
+  String generate();
+}
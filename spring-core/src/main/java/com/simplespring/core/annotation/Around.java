@@ -0,0 +1,66 @@
+package com.simplespring.core.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 环绕通知注解，用于标识包围目标方法执行的通知方法
+ *
+ * 当方法被 @Around 注解标记时，该方法会代替匹配的目标方法被调用，
+ * 由通知方法决定是否、何时以及用什么参数调用目标方法。
+ *
+ * 环绕通知方法的特点：
+ * 1. 在目标方法执行前后都可以执行逻辑
+ * 2. 可以不调用目标方法直接返回结果（如缓存命中、限流拒绝）
+ * 3. 可以多次调用目标方法（如失败重试）
+ * 4. 可以替换目标方法的参数和返回值
+ *
+ * 通知方法应该接收 ProceedingJoinPoint 参数，并返回目标方法的返回值：
+ * - proceed()：使用原始参数继续执行
+ * - proceed(Object[] args)：使用新的参数继续执行
+ *
+ * 使用示例：
+ * <pre>
+ * {@code
+ * @Aspect
+ * @Component
+ * public class CachingAspect {
+ *
+ *     private final Map<Object, Object> cache = new ConcurrentHashMap<Object, Object>();
+ *
+ *     @Around("execution(* com.example.service.ProductService.findById(..))")
+ *     public Object cacheResult(ProceedingJoinPoint joinPoint) throws Throwable {
+ *         Object key = joinPoint.getArgs()[0];
+ *         Object cached = cache.get(key);
+ *         if (cached != null) {
+ *             return cached; // 缓存命中，不调用目标方法
+ *         }
+ *         Object result = joinPoint.proceed();
+ *         cache.put(key, result);
+ *         return result;
+ *     }
+ * }
+ * }
+ * </pre>
+ *
+ * @author Simple Spring Framework
+ * @since 1.0.0
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Around {
+
+    /**
+     * 切点表达式，指定在哪些方法上应用此环绕通知
+     *
+     * 支持的表达式格式：
+     * - execution(* com.example.service.*.*(..))：匹配指定包下所有类的所有方法
+     * - execution(* com.example.service.UserService.*(..))：匹配指定类的所有方法
+     * - execution(* com.example.service.UserService.findUser(..))：匹配指定方法
+     *
+     * @return 切点表达式字符串
+     */
+    String value();
+}
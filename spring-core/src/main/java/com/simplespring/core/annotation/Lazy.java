@@ -0,0 +1,39 @@
+package com.simplespring.core.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 懒加载注解，用于标识单例组件在首次使用时才创建
+ *
+ * 被 @Lazy 标记的组件不会在容器启动时预实例化。非懒加载的 Bean 依赖它时，
+ * 如果依赖声明为接口类型，容器注入一个 JDK 动态代理，第一次调用代理方法时才创建真正的 Bean；
+ * 依赖声明为具体类时无法代理，Bean 会在注入时创建。
+ *
+ * 使用示例：
+ * <pre>
+ * {@code
+ * @Component
+ * @Lazy
+ * public class ReportServiceImpl implements ReportService {
+ *     // 很少使用、创建成本高的服务
+ * }
+ * }
+ * </pre>
+ *
+ * @author Simple Spring Framework
+ * @since 1.0.0
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Lazy {
+
+    /**
+     * 是否懒加载
+     *
+     * @return 是否懒加载，默认为 true
+     */
+    boolean value() default true;
+}
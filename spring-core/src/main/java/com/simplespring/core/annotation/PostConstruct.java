@@ -39,9 +39,29 @@ import java.lang.annotation.Target;
  * }
  * </pre>
  * 
+ * 异步初始化：
+ * 设置 {@code async = true} 后，单例 Bean 的该方法在后台线程中执行，不阻塞容器启动线程。
+ * 依赖它的 Bean 在注入前等待初始化完成，容器刷新在所有异步初始化完成后才结束；
+ * 初始化失败或超过 {@link #timeout()} 时，等待它的 Bean 创建和容器刷新都会失败。
+ * 非单例 Bean 的异步方法仍然同步执行。
+ * 
  * @author SimpleSpring Framework
  */
 @Target(ElementType.METHOD)
 @Retention(RetentionPolicy.RUNTIME)
 public @interface PostConstruct {
+
+    /**
+     * 是否在后台线程中异步执行
+     * 
+     * @return 是否异步执行，默认为 false
+     */
+    boolean async() default false;
+
+    /**
+     * 异步初始化的超时时间，从提交时开始计算，只对异步方法有效
+     * 
+     * @return 超时时间（毫秒），0 表示不限制
+     */
+    long timeout() default 0;
 }
@@ -2,6 +2,7 @@ package com.simplespring.core.convert;
 
 import com.simplespring.core.util.ClassUtils;
 
+import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.lang.reflect.ParameterizedType;
@@ -159,6 +160,33 @@ public class TypeDescriptor {
         return null;
     }
 
+    /**
+     * 获取泛型参数的类型描述符，如 {@code Provider<Foo>} 的第 0 个参数为 Foo
+     * 
+     * @param index 泛型参数索引
+     * @return 泛型参数的类型描述符，如果没有泛型信息或参数不是具体类型返回 null
+     */
+    public TypeDescriptor getGenericArgumentTypeDescriptor(int index) {
+        if (!(genericType instanceof ParameterizedType)) {
+            return null;
+        }
+        Type[] actualTypes = ((ParameterizedType) genericType).getActualTypeArguments();
+        if (index < 0 || index >= actualTypes.length) {
+            return null;
+        }
+        Type actualType = actualTypes[index];
+        if (actualType instanceof Class) {
+            return new TypeDescriptor((Class<?>) actualType);
+        }
+        if (actualType instanceof ParameterizedType) {
+            Type rawType = ((ParameterizedType) actualType).getRawType();
+            if (rawType instanceof Class) {
+                return new TypeDescriptor((Class<?>) rawType, actualType, null);
+            }
+        }
+        return null;
+    }
+
     /**
      * 从字段创建类型描述符
      * 
@@ -190,6 +218,27 @@ public class TypeDescriptor {
         return new TypeDescriptor(paramType, genericType, method);
     }
 
+    /**
+     * 从构造函数参数创建类型描述符
+     * 
+     * @param constructor 构造函数
+     * @param parameterIndex 参数索引
+     * @return 类型描述符
+     */
+    public static TypeDescriptor forConstructorParameter(Constructor<?> constructor, int parameterIndex) {
+        if (constructor == null || parameterIndex < 0 || parameterIndex >= constructor.getParameterTypes().length) {
+            return null;
+        }
+
+        Class<?> paramType = constructor.getParameterTypes()[parameterIndex];
+        Type[] genericTypes = constructor.getGenericParameterTypes();
+        // 内部类等构造函数的泛型参数可能少于实际参数，此时没有泛型信息
+        int offset = constructor.getParameterTypes().length - genericTypes.length;
+        Type genericType = parameterIndex >= offset ? genericTypes[parameterIndex - offset] : paramType;
+
+        return new TypeDescriptor(paramType, genericType, constructor);
+    }
+
     /**
      * 从方法返回值创建类型描述符
      * 
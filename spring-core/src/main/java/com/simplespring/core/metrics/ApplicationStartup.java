@@ -0,0 +1,38 @@
+package com.simplespring.core.metrics;
+
+/**
+ * 应用启动步骤记录器
+ * 容器在扫描、Bean 创建、生命周期回调和代理创建等阶段开始时调用 {@link #start(String)}，
+ * 阶段结束时调用 {@link StartupStep#end()}，用于分析容器启动的耗时分布。
+ *
+ * 默认使用 {@link #DEFAULT}，不记录任何信息，所有调用都返回同一个空步骤，几乎没有开销；
+ * 需要分析启动耗时时使用 {@link RecordingApplicationStartup}。
+ *
+ * 使用示例：
+ * <pre>
+ * {@code
+ * RecordingApplicationStartup startup = new RecordingApplicationStartup();
+ * AnnotationConfigApplicationContext context =
+ *     new AnnotationConfigApplicationContext(startup, "com.example");
+ * Files.write(Paths.get("startup-trace.json"), startup.toChromeTrace().getBytes("UTF-8"));
+ * }
+ * </pre>
+ *
+ * @author Simple Spring Framework
+ * @since 1.0.0
+ */
+public interface ApplicationStartup {
+
+    /**
+     * 不记录任何信息的默认实现
+     */
+    ApplicationStartup DEFAULT = new DefaultApplicationStartup();
+
+    /**
+     * 开始一个步骤，当前线程中尚未结束的最近一个步骤是它的父步骤
+     *
+     * @param name 步骤名称，如 "beans.create"
+     * @return 步骤，调用方负责在阶段结束时调用 {@link StartupStep#end()}
+     */
+    StartupStep start(String name);
+}
@@ -0,0 +1,43 @@
+package com.simplespring.core.metrics;
+
+/**
+ * 不记录任何信息的启动步骤记录器
+ * 所有步骤都是同一个空实现，不分配对象也不读取时钟
+ *
+ * @author Simple Spring Framework
+ * @since 1.0.0
+ */
+class DefaultApplicationStartup implements ApplicationStartup {
+
+    private static final StartupStep NO_OP_STEP = new StartupStep() {
+
+        @Override
+        public String getName() {
+            return "";
+        }
+
+        @Override
+        public long getId() {
+            return 0L;
+        }
+
+        @Override
+        public Long getParentId() {
+            return null;
+        }
+
+        @Override
+        public StartupStep tag(String key, String value) {
+            return this;
+        }
+
+        @Override
+        public void end() {
+        }
+    };
+
+    @Override
+    public StartupStep start(String name) {
+        return NO_OP_STEP;
+    }
+}
@@ -0,0 +1,381 @@
+package com.simplespring.core.metrics;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 记录启动步骤的记录器
+ * 记录每个步骤的纳秒级开始时间和耗时、所在线程、父子关系和标签，
+ * 结果可以导出为 JSON 或 Chrome trace 格式（在 chrome://tracing 或 Perfetto 中打开），
+ * 用于找出拖慢启动的扫描、Bean 创建和生命周期回调。
+ *
+ * 父子关系按线程维护：每个线程中尚未结束的最近一个步骤是新步骤的父步骤。
+ * 记录器可以被多个线程同时使用，只有已结束的步骤会被导出。
+ *
+ * @author Simple Spring Framework
+ * @since 1.0.0
+ */
+public class RecordingApplicationStartup implements ApplicationStartup {
+
+    /**
+     * 按开始时间排序，开始时间相同时按 ID 排序
+     */
+    private static final Comparator<RecordedStep> START_ORDER = new Comparator<RecordedStep>() {
+        @Override
+        public int compare(RecordedStep a, RecordedStep b) {
+            if (a.startNanos != b.startNanos) {
+                return a.startNanos < b.startNanos ? -1 : 1;
+            }
+            return a.id < b.id ? -1 : (a.id == b.id ? 0 : 1);
+        }
+    };
+
+    private final AtomicLong idGenerator = new AtomicLong();
+
+    /**
+     * 记录器创建时的时间，导出的开始时间都相对于它
+     */
+    private final long originNanos = System.nanoTime();
+
+    private final long originMillis = System.currentTimeMillis();
+
+    /**
+     * 已结束的步骤
+     */
+    private final Queue<RecordedStep> completedSteps = new ConcurrentLinkedQueue<RecordedStep>();
+
+    /**
+     * 每个线程中尚未结束的步骤
+     */
+    private final ThreadLocal<Deque<RecordedStep>> activeSteps = new ThreadLocal<Deque<RecordedStep>>() {
+        @Override
+        protected Deque<RecordedStep> initialValue() {
+            return new ArrayDeque<RecordedStep>();
+        }
+    };
+
+    @Override
+    public StartupStep start(String name) {
+        Deque<RecordedStep> stack = activeSteps.get();
+        RecordedStep parent = stack.peek();
+        RecordedStep step = new RecordedStep(this, idGenerator.incrementAndGet(), parent != null ? parent.id : null,
+                name, Thread.currentThread(), System.nanoTime() - originNanos);
+        stack.push(step);
+        return step;
+    }
+
+    private void onEnd(RecordedStep step) {
+        if (Thread.currentThread() == step.thread) {
+            Deque<RecordedStep> stack = activeSteps.get();
+            if (stack.peek() == step) {
+                stack.pop();
+            } else {
+                stack.remove(step);
+            }
+        }
+        completedSteps.add(step);
+    }
+
+    /**
+     * 获取已结束的步骤
+     *
+     * @return 按开始时间排序的步骤快照
+     */
+    public List<RecordedStep> getSteps() {
+        List<RecordedStep> steps = new ArrayList<RecordedStep>(completedSteps);
+        Collections.sort(steps, START_ORDER);
+        return steps;
+    }
+
+    /**
+     * 获取指定名称的步骤中耗时最长的若干个，例如找出创建最慢的 Bean
+     *
+     * @param name  步骤名称
+     * @param limit 最多返回的数量
+     * @return 按耗时从长到短排序的步骤
+     */
+    public List<RecordedStep> getSlowestSteps(String name, int limit) {
+        List<RecordedStep> steps = new ArrayList<RecordedStep>();
+        for (RecordedStep step : completedSteps) {
+            if (step.name.equals(name)) {
+                steps.add(step);
+            }
+        }
+        Collections.sort(steps, new Comparator<RecordedStep>() {
+            @Override
+            public int compare(RecordedStep a, RecordedStep b) {
+                long diff = b.getDurationNanos() - a.getDurationNanos();
+                return diff > 0 ? 1 : (diff < 0 ? -1 : 0);
+            }
+        });
+        return steps.size() > limit ? new ArrayList<RecordedStep>(steps.subList(0, limit)) : steps;
+    }
+
+    /**
+     * 清空已记录的步骤
+     */
+    public void clear() {
+        completedSteps.clear();
+    }
+
+    /**
+     * 导出为 JSON
+     * 格式为 {@code {"startTime": 毫秒时间戳, "steps": [{"id", "parentId", "name", "thread",
+     * "startNanos", "durationNanos", "tags"}]}}，startNanos 相对于 startTime
+     *
+     * @return JSON 字符串
+     */
+    public String toJson() {
+        StringBuilder json = new StringBuilder(256);
+        json.append("{\"startTime\":").append(originMillis).append(",\"steps\":[");
+        boolean first = true;
+        for (RecordedStep step : getSteps()) {
+            if (!first) {
+                json.append(',');
+            }
+            first = false;
+            json.append("{\"id\":").append(step.id);
+            json.append(",\"parentId\":").append(step.parentId);
+            json.append(",\"name\":");
+            appendString(json, step.name);
+            json.append(",\"thread\":");
+            appendString(json, step.threadName);
+            json.append(",\"startNanos\":").append(step.startNanos);
+            json.append(",\"durationNanos\":").append(step.getDurationNanos());
+            json.append(",\"tags\":");
+            appendTags(json, step.getTags());
+            json.append('}');
+        }
+        json.append("]}");
+        return json.toString();
+    }
+
+    /**
+     * 导出为 Chrome trace 格式
+     * 每个步骤是一个完整事件（ph 为 "X"），时间单位为微秒，同一线程的步骤按嵌套关系显示在同一行
+     *
+     * @return JSON 字符串
+     */
+    public String toChromeTrace() {
+        StringBuilder json = new StringBuilder(256);
+        json.append("{\"displayTimeUnit\":\"ms\",\"traceEvents\":[");
+        List<RecordedStep> steps = getSteps();
+        Map<Long, String> threadNames = new LinkedHashMap<Long, String>();
+        boolean first = true;
+        for (RecordedStep step : steps) {
+            if (!first) {
+                json.append(',');
+            }
+            first = false;
+            threadNames.put(step.threadId, step.threadName);
+            json.append("{\"name\":");
+            appendString(json, step.name);
+            json.append(",\"cat\":\"startup\",\"ph\":\"X\",\"pid\":1,\"tid\":").append(step.threadId);
+            json.append(",\"ts\":").append(step.startNanos / 1000L);
+            json.append(",\"dur\":").append(step.getDurationNanos() / 1000L);
+            json.append(",\"args\":");
+            appendTags(json, step.getTags());
+            json.append('}');
+        }
+        // 线程名称元数据事件，使查看器显示线程名而不是线程 ID
+        for (Map.Entry<Long, String> entry : threadNames.entrySet()) {
+            json.append(",{\"name\":\"thread_name\",\"ph\":\"M\",\"pid\":1,\"tid\":").append(entry.getKey());
+            json.append(",\"args\":{\"name\":");
+            appendString(json, entry.getValue());
+            json.append("}}");
+        }
+        json.append("]}");
+        return json.toString();
+    }
+
+    private static void appendTags(StringBuilder json, Map<String, String> tags) {
+        json.append('{');
+        boolean first = true;
+        for (Map.Entry<String, String> tag : tags.entrySet()) {
+            if (!first) {
+                json.append(',');
+            }
+            first = false;
+            appendString(json, tag.getKey());
+            json.append(':');
+            appendString(json, tag.getValue());
+        }
+        json.append('}');
+    }
+
+    private static void appendString(StringBuilder json, String value) {
+        if (value == null) {
+            json.append("null");
+            return;
+        }
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    json.append("\\\"");
+                    break;
+                case '\\':
+                    json.append("\\\\");
+                    break;
+                case '\n':
+                    json.append("\\n");
+                    break;
+                case '\r':
+                    json.append("\\r");
+                    break;
+                case '\t':
+                    json.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        json.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+            }
+        }
+        json.append('"');
+    }
+
+    /**
+     * 记录的启动步骤
+     */
+    public static class RecordedStep implements StartupStep {
+
+        private final RecordingApplicationStartup startup;
+
+        private final long id;
+
+        private final Long parentId;
+
+        private final String name;
+
+        private final Thread thread;
+
+        private final long threadId;
+
+        private final String threadName;
+
+        /**
+         * 相对于记录器创建时间的开始时间
+         */
+        private final long startNanos;
+
+        private final Map<String, String> tags = new LinkedHashMap<String, String>();
+
+        private volatile long endNanos = -1L;
+
+        RecordedStep(RecordingApplicationStartup startup, long id, Long parentId, String name, Thread thread,
+                long startNanos) {
+            this.startup = startup;
+            this.id = id;
+            this.parentId = parentId;
+            this.name = name;
+            this.thread = thread;
+            this.threadId = thread.getId();
+            this.threadName = thread.getName();
+            this.startNanos = startNanos;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public long getId() {
+            return id;
+        }
+
+        @Override
+        public Long getParentId() {
+            return parentId;
+        }
+
+        @Override
+        public StartupStep tag(String key, String value) {
+            synchronized (tags) {
+                tags.put(key, value);
+            }
+            return this;
+        }
+
+        @Override
+        public void end() {
+            synchronized (this) {
+                if (endNanos >= 0) {
+                    return;
+                }
+                endNanos = System.nanoTime() - startup.originNanos;
+            }
+            startup.onEnd(this);
+        }
+
+        /**
+         * 获取标签
+         *
+         * @return 标签快照
+         */
+        public Map<String, String> getTags() {
+            synchronized (tags) {
+                return new LinkedHashMap<String, String>(tags);
+            }
+        }
+
+        /**
+         * 获取标签值
+         *
+         * @param key 标签名
+         * @return 标签值，如果不存在返回 null
+         */
+        public String getTag(String key) {
+            synchronized (tags) {
+                return tags.get(key);
+            }
+        }
+
+        /**
+         * 获取所在线程的名称
+         *
+         * @return 线程名称
+         */
+        public String getThreadName() {
+            return threadName;
+        }
+
+        /**
+         * 获取相对于记录器创建时间的开始时间
+         *
+         * @return 开始时间（纳秒）
+         */
+        public long getStartNanos() {
+            return startNanos;
+        }
+
+        /**
+         * 获取耗时
+         *
+         * @return 耗时（纳秒），如果尚未结束返回 -1
+         */
+        public long getDurationNanos() {
+            long end = endNanos;
+            return end < 0 ? -1L : end - startNanos;
+        }
+
+        @Override
+        public String toString() {
+            return "RecordedStep{id=" + id + ", parentId=" + parentId + ", name='" + name + "', tags=" + getTags()
+                    + ", durationNanos=" + getDurationNanos() + "}";
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.simplespring.core.metrics;
+
+/**
+ * 启动步骤
+ * 表示启动过程中的一个阶段，可以附加标签（如 Bean 名称），必须在开始它的线程中结束
+ *
+ * @author Simple Spring Framework
+ * @since 1.0.0
+ */
+public interface StartupStep {
+
+    /**
+     * 获取步骤名称
+     *
+     * @return 步骤名称
+     */
+    String getName();
+
+    /**
+     * 获取步骤 ID，在同一个记录器中唯一
+     *
+     * @return 步骤 ID
+     */
+    long getId();
+
+    /**
+     * 获取父步骤 ID
+     *
+     * @return 父步骤 ID，如果是顶层步骤返回 null
+     */
+    Long getParentId();
+
+    /**
+     * 添加标签
+     *
+     * @param key   标签名
+     * @param value 标签值
+     * @return 当前步骤
+     */
+    StartupStep tag(String key, String value);
+
+    /**
+     * 结束步骤，重复调用没有效果
+     */
+    void end();
+}
@@ -0,0 +1,93 @@
+package com.simplespring.core.type;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 类及其注解的元数据
+ *
+ * 由 {@link ClassMetadataReader} 直接从类文件字节中解析得到，获取元数据不需要加载类，
+ * 因此不会链接类、执行静态初始化块，也不会因为依赖缺失抛出 NoClassDefFoundError。
+ * 类名均为二进制名称，例如 "com.example.Outer$Inner"。
+ *
+ * @author SimpleSpring Framework
+ * @see ClassMetadataReader
+ */
+public interface AnnotationMetadata {
+
+    /**
+     * 获取类的二进制名称
+     *
+     * @return 类名
+     */
+    String getClassName();
+
+    /**
+     * 获取父类的二进制名称
+     *
+     * @return 父类名，java.lang.Object 和接口返回 null
+     */
+    String getSuperClassName();
+
+    /**
+     * 获取直接实现的接口名称
+     *
+     * @return 接口名称数组，没有接口时返回空数组
+     */
+    String[] getInterfaceNames();
+
+    /**
+     * 是否为接口（包括注解类型）
+     *
+     * @return 如果是接口返回 true
+     */
+    boolean isInterface();
+
+    /**
+     * 是否为注解类型
+     *
+     * @return 如果是注解类型返回 true
+     */
+    boolean isAnnotation();
+
+    /**
+     * 是否为枚举类型
+     *
+     * @return 如果是枚举类型返回 true
+     */
+    boolean isEnum();
+
+    /**
+     * 是否为抽象类或接口
+     *
+     * @return 如果是抽象的返回 true
+     */
+    boolean isAbstract();
+
+    /**
+     * 获取类上直接声明的运行时可见注解的类型名称
+     *
+     * @return 注解类型名称集合，按声明顺序排列
+     */
+    Set<String> getAnnotationTypes();
+
+    /**
+     * 检查类上是否直接声明了指定的注解
+     *
+     * @param annotationName 注解类型的全限定名
+     * @return 如果声明了该注解返回 true
+     */
+    boolean hasAnnotation(String annotationName);
+
+    /**
+     * 获取类上指定注解显式设置的属性
+     *
+     * 属性值的类型：基本类型使用包装类型，字符串为 String，类引用为类名字符串，
+     * 枚举为枚举常量名称，数组为 Object[]，嵌套注解为属性 Map。
+     * 未显式设置的属性（使用默认值的属性）不包含在结果中。
+     *
+     * @param annotationName 注解类型的全限定名
+     * @return 属性名到属性值的映射，如果没有该注解返回 null
+     */
+    Map<String, Object> getAnnotationAttributes(String annotationName);
+}
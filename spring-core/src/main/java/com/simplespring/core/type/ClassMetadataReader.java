@@ -0,0 +1,461 @@
+package com.simplespring.core.type;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 类文件元数据读取器
+ *
+ * 直接解析类文件的字节：常量池、访问标志、类名、父类、接口，以及类上的
+ * RuntimeVisibleAnnotations 属性，字段和方法只跳过不解析。整个过程不加载类，
+ * 扫描时可以先根据注解筛选候选类，只加载匹配的类。
+ *
+ * 读取使用每个线程复用的缓冲区，解析结果中不引用缓冲区，批量读取时不会为每个类分配新的数组。
+ * 本类是线程安全的。
+ *
+ * @author SimpleSpring Framework
+ * @see AnnotationMetadata
+ */
+public final class ClassMetadataReader {
+
+    /** 类文件魔数 */
+    private static final int MAGIC = 0xCAFEBABE;
+
+    /** 缓冲区初始大小，足以容纳绝大多数类文件 */
+    private static final int INITIAL_BUFFER_SIZE = 16 * 1024;
+
+    /** 超过该大小的缓冲区不再复用，避免线程长期持有大数组 */
+    private static final int MAX_POOLED_BUFFER_SIZE = 1024 * 1024;
+
+    private static final String RUNTIME_VISIBLE_ANNOTATIONS = "RuntimeVisibleAnnotations";
+
+    private static final int CONSTANT_UTF8 = 1;
+    private static final int CONSTANT_INTEGER = 3;
+    private static final int CONSTANT_FLOAT = 4;
+    private static final int CONSTANT_LONG = 5;
+    private static final int CONSTANT_DOUBLE = 6;
+    private static final int CONSTANT_CLASS = 7;
+    private static final int CONSTANT_STRING = 8;
+    private static final int CONSTANT_FIELDREF = 9;
+    private static final int CONSTANT_METHODREF = 10;
+    private static final int CONSTANT_INTERFACE_METHODREF = 11;
+    private static final int CONSTANT_NAME_AND_TYPE = 12;
+    private static final int CONSTANT_METHOD_HANDLE = 15;
+    private static final int CONSTANT_METHOD_TYPE = 16;
+    private static final int CONSTANT_DYNAMIC = 17;
+    private static final int CONSTANT_INVOKE_DYNAMIC = 18;
+    private static final int CONSTANT_MODULE = 19;
+    private static final int CONSTANT_PACKAGE = 20;
+
+    /** 每个线程复用的读取缓冲区 */
+    private static final ThreadLocal<byte[]> bufferPool = new ThreadLocal<byte[]>() {
+        @Override
+        protected byte[] initialValue() {
+            return new byte[INITIAL_BUFFER_SIZE];
+        }
+    };
+
+    private final byte[] bytes;
+    private final int length;
+
+    /** 常量池项在字节数组中的偏移量（指向 tag） */
+    private int[] constantOffsets;
+
+    /** 已解码的 UTF-8 常量 */
+    private String[] constantStrings;
+
+    private ClassMetadataReader(byte[] bytes, int length) {
+        this.bytes = bytes;
+        this.length = length;
+    }
+
+    /**
+     * 读取类文件的元数据
+     *
+     * @param file 类文件
+     * @return 类的元数据
+     * @throws IOException 如果读取失败或不是有效的类文件
+     */
+    public static AnnotationMetadata read(File file) throws IOException {
+        InputStream in = new FileInputStream(file);
+        try {
+            return read(in, (int) Math.min(file.length(), Integer.MAX_VALUE));
+        } finally {
+            in.close();
+        }
+    }
+
+    /**
+     * 从输入流读取类文件的元数据，读取到流结束，不关闭输入流
+     *
+     * @param in 类文件内容的输入流
+     * @return 类的元数据
+     * @throws IOException 如果读取失败或不是有效的类文件
+     */
+    public static AnnotationMetadata read(InputStream in) throws IOException {
+        return read(in, INITIAL_BUFFER_SIZE);
+    }
+
+    /**
+     * 读取字节数组中的类文件元数据
+     *
+     * @param bytes 类文件内容
+     * @return 类的元数据
+     * @throws IOException 如果不是有效的类文件
+     */
+    public static AnnotationMetadata read(byte[] bytes) throws IOException {
+        return new ClassMetadataReader(bytes, bytes.length).parse();
+    }
+
+    private static AnnotationMetadata read(InputStream in, int expectedLength) throws IOException {
+        byte[] buffer = bufferPool.get();
+        if (buffer.length < expectedLength) {
+            buffer = new byte[expectedLength];
+        }
+
+        int count = 0;
+        int read;
+        while ((read = in.read(buffer, count, buffer.length - count)) != -1) {
+            count += read;
+            if (count == buffer.length) {
+                int next = in.read();
+                if (next == -1) {
+                    break;
+                }
+                byte[] larger = new byte[buffer.length * 2];
+                System.arraycopy(buffer, 0, larger, 0, count);
+                larger[count++] = (byte) next;
+                buffer = larger;
+            }
+        }
+        if (buffer.length <= MAX_POOLED_BUFFER_SIZE) {
+            bufferPool.set(buffer);
+        }
+        return new ClassMetadataReader(buffer, count).parse();
+    }
+
+    private AnnotationMetadata parse() throws IOException {
+        try {
+            if (length < 10 || readInt(0) != MAGIC) {
+                throw new IOException("不是有效的类文件：魔数不匹配");
+            }
+
+            // 记录常量池中每一项的位置，long 和 double 占两个位置
+            int constantCount = readUnsignedShort(8);
+            constantOffsets = new int[constantCount];
+            constantStrings = new String[constantCount];
+            int offset = 10;
+            for (int i = 1; i < constantCount; i++) {
+                constantOffsets[i] = offset;
+                int tag = readByte(offset);
+                switch (tag) {
+                    case CONSTANT_UTF8:
+                        offset += 3 + readUnsignedShort(offset + 1);
+                        break;
+                    case CONSTANT_INTEGER:
+                    case CONSTANT_FLOAT:
+                    case CONSTANT_FIELDREF:
+                    case CONSTANT_METHODREF:
+                    case CONSTANT_INTERFACE_METHODREF:
+                    case CONSTANT_NAME_AND_TYPE:
+                    case CONSTANT_DYNAMIC:
+                    case CONSTANT_INVOKE_DYNAMIC:
+                        offset += 5;
+                        break;
+                    case CONSTANT_LONG:
+                    case CONSTANT_DOUBLE:
+                        offset += 9;
+                        i++;
+                        break;
+                    case CONSTANT_CLASS:
+                    case CONSTANT_STRING:
+                    case CONSTANT_METHOD_TYPE:
+                    case CONSTANT_MODULE:
+                    case CONSTANT_PACKAGE:
+                        offset += 3;
+                        break;
+                    case CONSTANT_METHOD_HANDLE:
+                        offset += 4;
+                        break;
+                    default:
+                        throw new IOException("不是有效的类文件：未知的常量类型 " + tag);
+                }
+            }
+
+            int access = readUnsignedShort(offset);
+            String className = readClassName(readUnsignedShort(offset + 2));
+            int superIndex = readUnsignedShort(offset + 4);
+            String superClassName = superIndex != 0 ? readClassName(superIndex) : null;
+            int interfaceCount = readUnsignedShort(offset + 6);
+            offset += 8;
+            String[] interfaceNames = new String[interfaceCount];
+            for (int i = 0; i < interfaceCount; i++) {
+                interfaceNames[i] = readClassName(readUnsignedShort(offset));
+                offset += 2;
+            }
+
+            // 跳过字段和方法
+            offset = skipMembers(offset);
+            offset = skipMembers(offset);
+
+            LinkedHashMap<String, Map<String, Object>> annotations = new LinkedHashMap<String, Map<String, Object>>();
+            int attributeCount = readUnsignedShort(offset);
+            offset += 2;
+            for (int i = 0; i < attributeCount; i++) {
+                String attributeName = readUtf8(readUnsignedShort(offset));
+                int attributeLength = readInt(offset + 2);
+                offset += 6;
+                if (RUNTIME_VISIBLE_ANNOTATIONS.equals(attributeName)) {
+                    int annotationCount = readUnsignedShort(offset);
+                    int annotationOffset = offset + 2;
+                    for (int j = 0; j < annotationCount; j++) {
+                        String type = descriptorToClassName(readUtf8(readUnsignedShort(annotationOffset)));
+                        Map<String, Object> attributes = new LinkedHashMap<String, Object>();
+                        annotationOffset = readAnnotationAttributes(annotationOffset + 2, attributes);
+                        annotations.put(type, attributes);
+                    }
+                }
+                offset += attributeLength;
+            }
+
+            return new SimpleAnnotationMetadata(className, access, superClassName, interfaceNames, annotations);
+        } catch (IndexOutOfBoundsException e) {
+            throw new IOException("不是有效的类文件：内容不完整", e);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("不是有效的类文件：" + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 跳过字段表或方法表
+     *
+     * @return 表之后的偏移量
+     */
+    private int skipMembers(int offset) {
+        int memberCount = readUnsignedShort(offset);
+        offset += 2;
+        for (int i = 0; i < memberCount; i++) {
+            int attributeCount = readUnsignedShort(offset + 6);
+            offset += 8;
+            for (int j = 0; j < attributeCount; j++) {
+                offset += 6 + readInt(offset + 2);
+            }
+        }
+        return offset;
+    }
+
+    /**
+     * 读取注解的属性键值对
+     *
+     * @return 属性之后的偏移量
+     */
+    private int readAnnotationAttributes(int offset, Map<String, Object> attributes) throws IOException {
+        int pairCount = readUnsignedShort(offset);
+        offset += 2;
+        for (int i = 0; i < pairCount; i++) {
+            String name = readUtf8(readUnsignedShort(offset));
+            Object[] value = new Object[1];
+            offset = readElementValue(offset + 2, value);
+            attributes.put(name, value[0]);
+        }
+        return offset;
+    }
+
+    /**
+     * 读取注解属性值
+     *
+     * @param value 用于返回属性值的单元素数组
+     * @return 属性值之后的偏移量
+     */
+    private int readElementValue(int offset, Object[] value) throws IOException {
+        int tag = readByte(offset);
+        offset++;
+        switch (tag) {
+            case 'B':
+                value[0] = Byte.valueOf((byte) readConstantInt(readUnsignedShort(offset)));
+                return offset + 2;
+            case 'C':
+                value[0] = Character.valueOf((char) readConstantInt(readUnsignedShort(offset)));
+                return offset + 2;
+            case 'S':
+                value[0] = Short.valueOf((short) readConstantInt(readUnsignedShort(offset)));
+                return offset + 2;
+            case 'Z':
+                value[0] = Boolean.valueOf(readConstantInt(readUnsignedShort(offset)) != 0);
+                return offset + 2;
+            case 'I':
+                value[0] = Integer.valueOf(readConstantInt(readUnsignedShort(offset)));
+                return offset + 2;
+            case 'F':
+                value[0] = Float.valueOf(Float.intBitsToFloat(readConstantInt(readUnsignedShort(offset))));
+                return offset + 2;
+            case 'J':
+                value[0] = Long.valueOf(readConstantLong(readUnsignedShort(offset)));
+                return offset + 2;
+            case 'D':
+                value[0] = Double.valueOf(Double.longBitsToDouble(readConstantLong(readUnsignedShort(offset))));
+                return offset + 2;
+            case 's':
+                value[0] = readUtf8(readUnsignedShort(offset));
+                return offset + 2;
+            case 'e':
+                // 枚举常量只保留常量名称，枚举类型名称在 offset 处
+                value[0] = readUtf8(readUnsignedShort(offset + 2));
+                return offset + 4;
+            case 'c':
+                value[0] = descriptorToClassName(readUtf8(readUnsignedShort(offset)));
+                return offset + 2;
+            case '@':
+                Map<String, Object> nested = new LinkedHashMap<String, Object>();
+                offset = readAnnotationAttributes(offset + 2, nested);
+                value[0] = nested;
+                return offset;
+            case '[':
+                int count = readUnsignedShort(offset);
+                offset += 2;
+                List<Object> elements = new ArrayList<Object>(count);
+                Object[] element = new Object[1];
+                for (int i = 0; i < count; i++) {
+                    offset = readElementValue(offset, element);
+                    elements.add(element[0]);
+                }
+                value[0] = elements.toArray();
+                return offset;
+            default:
+                throw new IOException("不是有效的类文件：未知的注解属性类型 " + (char) tag);
+        }
+    }
+
+    private String readClassName(int classIndex) {
+        String internalName = readUtf8(readUnsignedShort(constantOffsets[classIndex] + 1));
+        return internalName.replace('/', '.');
+    }
+
+    private int readConstantInt(int index) {
+        return readInt(constantOffsets[index] + 1);
+    }
+
+    private long readConstantLong(int index) {
+        int offset = constantOffsets[index] + 1;
+        return ((long) readInt(offset) << 32) | (readInt(offset + 4) & 0xFFFFFFFFL);
+    }
+
+    /**
+     * 读取 UTF-8 常量，类文件使用的是修改版 UTF-8 编码
+     */
+    private String readUtf8(int index) {
+        String value = constantStrings[index];
+        if (value != null) {
+            return value;
+        }
+
+        int offset = constantOffsets[index];
+        int utfLength = readUnsignedShort(offset + 1);
+        int position = offset + 3;
+        int end = position + utfLength;
+        if (end > length) {
+            throw new IndexOutOfBoundsException("UTF-8 常量超出类文件长度");
+        }
+        char[] chars = new char[utfLength];
+        int count = 0;
+        while (position < end) {
+            int c = bytes[position++] & 0xFF;
+            if (c < 0x80) {
+                chars[count++] = (char) c;
+            } else if ((c & 0xE0) == 0xC0) {
+                chars[count++] = (char) (((c & 0x1F) << 6) | (bytes[position++] & 0x3F));
+            } else {
+                chars[count++] = (char) (((c & 0x0F) << 12) | ((bytes[position++] & 0x3F) << 6)
+                        | (bytes[position++] & 0x3F));
+            }
+        }
+        value = new String(chars, 0, count);
+        constantStrings[index] = value;
+        return value;
+    }
+
+    private int readByte(int offset) {
+        checkBounds(offset, 1);
+        return bytes[offset] & 0xFF;
+    }
+
+    private int readUnsignedShort(int offset) {
+        checkBounds(offset, 2);
+        return ((bytes[offset] & 0xFF) << 8) | (bytes[offset + 1] & 0xFF);
+    }
+
+    private int readInt(int offset) {
+        checkBounds(offset, 4);
+        return ((bytes[offset] & 0xFF) << 24) | ((bytes[offset + 1] & 0xFF) << 16)
+                | ((bytes[offset + 2] & 0xFF) << 8) | (bytes[offset + 3] & 0xFF);
+    }
+
+    /**
+     * 复用的缓冲区可能比类文件长，不能依赖数组越界检查
+     */
+    private void checkBounds(int offset, int size) {
+        if (offset < 0 || offset + size > length) {
+            throw new IndexOutOfBoundsException("偏移量 " + offset + " 超出类文件长度 " + length);
+        }
+    }
+
+    /**
+     * 将类型描述符转换为类名，例如 "Ljava/lang/String;" 转换为 "java.lang.String"，
+     * "[I" 转换为 "int[]"
+     */
+    private static String descriptorToClassName(String descriptor) {
+        int dimensions = 0;
+        while (descriptor.charAt(dimensions) == '[') {
+            dimensions++;
+        }
+
+        String name;
+        char type = descriptor.charAt(dimensions);
+        switch (type) {
+            case 'L':
+                name = descriptor.substring(dimensions + 1, descriptor.length() - 1).replace('/', '.');
+                break;
+            case 'Z':
+                name = "boolean";
+                break;
+            case 'B':
+                name = "byte";
+                break;
+            case 'C':
+                name = "char";
+                break;
+            case 'S':
+                name = "short";
+                break;
+            case 'I':
+                name = "int";
+                break;
+            case 'J':
+                name = "long";
+                break;
+            case 'F':
+                name = "float";
+                break;
+            case 'D':
+                name = "double";
+                break;
+            case 'V':
+                name = "void";
+                break;
+            default:
+                throw new IllegalArgumentException("无效的类型描述符: " + descriptor);
+        }
+
+        StringBuilder sb = new StringBuilder(name);
+        for (int i = 0; i < dimensions; i++) {
+            sb.append("[]");
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,90 @@
+package com.simplespring.core.type;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * {@link AnnotationMetadata} 的简单实现，由 {@link ClassMetadataReader} 创建，创建后不可变
+ *
+ * @author SimpleSpring Framework
+ */
+final class SimpleAnnotationMetadata implements AnnotationMetadata {
+
+    private static final int ACC_INTERFACE = 0x0200;
+    private static final int ACC_ABSTRACT = 0x0400;
+    private static final int ACC_ANNOTATION = 0x2000;
+    private static final int ACC_ENUM = 0x4000;
+
+    private final String className;
+    private final int access;
+    private final String superClassName;
+    private final String[] interfaceNames;
+    private final Map<String, Map<String, Object>> annotations;
+
+    SimpleAnnotationMetadata(String className, int access, String superClassName, String[] interfaceNames,
+            LinkedHashMap<String, Map<String, Object>> annotations) {
+        this.className = className;
+        this.access = access;
+        this.superClassName = superClassName;
+        this.interfaceNames = interfaceNames;
+        this.annotations = annotations;
+    }
+
+    @Override
+    public String getClassName() {
+        return className;
+    }
+
+    @Override
+    public String getSuperClassName() {
+        return superClassName;
+    }
+
+    @Override
+    public String[] getInterfaceNames() {
+        return interfaceNames.clone();
+    }
+
+    @Override
+    public boolean isInterface() {
+        return (access & ACC_INTERFACE) != 0;
+    }
+
+    @Override
+    public boolean isAnnotation() {
+        return (access & ACC_ANNOTATION) != 0;
+    }
+
+    @Override
+    public boolean isEnum() {
+        return (access & ACC_ENUM) != 0;
+    }
+
+    @Override
+    public boolean isAbstract() {
+        return (access & ACC_ABSTRACT) != 0;
+    }
+
+    @Override
+    public Set<String> getAnnotationTypes() {
+        return Collections.unmodifiableSet(annotations.keySet());
+    }
+
+    @Override
+    public boolean hasAnnotation(String annotationName) {
+        return annotations.containsKey(annotationName);
+    }
+
+    @Override
+    public Map<String, Object> getAnnotationAttributes(String annotationName) {
+        Map<String, Object> attributes = annotations.get(annotationName);
+        return attributes != null ? Collections.unmodifiableMap(attributes) : null;
+    }
+
+    @Override
+    public String toString() {
+        return "AnnotationMetadata{className='" + className + "', annotations=" + annotations.keySet() + "}";
+    }
+}
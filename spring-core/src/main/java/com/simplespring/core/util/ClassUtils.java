@@ -50,6 +50,20 @@ public class ClassUtils {
         }
     }
 
+    /**
+     * 根据类名加载类，可以选择是否初始化
+     * 
+     * @param name        类的全限定名
+     * @param initialize  是否初始化类（执行静态初始化块）
+     * @param classLoader 类加载器，为 null 时使用默认类加载器
+     * @return 类对象
+     * @throws ClassNotFoundException 如果类不存在
+     */
+    public static Class<?> forName(String name, boolean initialize, ClassLoader classLoader)
+            throws ClassNotFoundException {
+        return Class.forName(name, initialize, classLoader != null ? classLoader : getDefaultClassLoader());
+    }
+
     /**
      * 检查左侧类型是否可以赋值给右侧类型
      * 
@@ -3,6 +3,7 @@ package com.simplespring.core.convert;
 import org.junit.Test;
 import static org.junit.Assert.*;
 
+import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.util.List;
@@ -218,9 +219,34 @@ public class TypeDescriptorTest {
         assertTrue(toString.contains("TypeDescriptor"));
     }
 
+    @Test
+    public void testGenericArgumentAndConstructorParameter() throws Exception {
+        Constructor<?> constructor = GenericHolder.class.getDeclaredConstructor(Map.class, List.class);
+
+        TypeDescriptor mapDescriptor = TypeDescriptor.forConstructorParameter(constructor, 0);
+        assertEquals(Map.class, mapDescriptor.getType());
+        assertEquals(String.class, mapDescriptor.getGenericArgumentTypeDescriptor(0).getType());
+        assertEquals(Integer.class, mapDescriptor.getGenericArgumentTypeDescriptor(1).getType());
+        assertNull(mapDescriptor.getGenericArgumentTypeDescriptor(2));
+
+        TypeDescriptor listDescriptor = TypeDescriptor.forConstructorParameter(constructor, 1);
+        TypeDescriptor elementDescriptor = listDescriptor.getGenericArgumentTypeDescriptor(0);
+        assertEquals(List.class, elementDescriptor.getType());
+        assertEquals(String.class, elementDescriptor.getGenericArgumentTypeDescriptor(0).getType());
+
+        assertNull(TypeDescriptor.forConstructorParameter(constructor, 2));
+        assertNull(new TypeDescriptor(List.class).getGenericArgumentTypeDescriptor(0));
+    }
+
     // 测试用的方法
     @SuppressWarnings("unused")
     private String testMethod(String param1, int param2) {
         return param1 + param2;
     }
+
+    @SuppressWarnings("unused")
+    private static class GenericHolder {
+        GenericHolder(Map<String, Integer> values, List<List<String>> groups) {
+        }
+    }
 }
@@ -0,0 +1,115 @@
+package com.simplespring.core.metrics;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * RecordingApplicationStartup 测试类
+ *
+ * @author Simple Spring Framework
+ */
+public class RecordingApplicationStartupTest {
+
+    @Test
+    public void testDefaultStartupRecordsNothing() {
+        StartupStep first = ApplicationStartup.DEFAULT.start("a");
+        StartupStep second = ApplicationStartup.DEFAULT.start("b");
+
+        assertSame("默认记录器不应该分配步骤对象", first, second);
+        assertSame(first, first.tag("key", "value"));
+        assertNull(first.getParentId());
+        first.end();
+    }
+
+    @Test
+    public void testNestingAndTags() {
+        RecordingApplicationStartup startup = new RecordingApplicationStartup();
+
+        StartupStep parent = startup.start("parent").tag("beanName", "a");
+        StartupStep child = startup.start("child");
+        child.end();
+        StartupStep sibling = startup.start("sibling");
+        sibling.end();
+        parent.end();
+        parent.end();
+        StartupStep next = startup.start("next");
+        next.end();
+
+        List<RecordingApplicationStartup.RecordedStep> steps = startup.getSteps();
+        assertEquals("重复结束不应该重复记录", 4, steps.size());
+        assertEquals("parent", steps.get(0).getName());
+        assertEquals("a", steps.get(0).getTag("beanName"));
+        assertEquals(Long.valueOf(parent.getId()), child.getParentId());
+        assertEquals(Long.valueOf(parent.getId()), sibling.getParentId());
+        assertNull("父步骤结束后开始的步骤是顶层步骤", next.getParentId());
+        assertTrue(steps.get(0).getDurationNanos() >= steps.get(1).getDurationNanos());
+    }
+
+    @Test
+    public void testStepsAreNestedPerThread() throws Exception {
+        final RecordingApplicationStartup startup = new RecordingApplicationStartup();
+        StartupStep main = startup.start("main");
+
+        final StartupStep[] worker = new StartupStep[1];
+        Thread thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                worker[0] = startup.start("worker");
+                worker[0].end();
+            }
+        }, "startup-worker");
+        thread.start();
+        thread.join();
+        main.end();
+
+        assertNull("其他线程的步骤不应该成为父步骤", worker[0].getParentId());
+        assertEquals("startup-worker", ((RecordingApplicationStartup.RecordedStep) worker[0]).getThreadName());
+    }
+
+    @Test
+    public void testSlowestSteps() throws Exception {
+        RecordingApplicationStartup startup = new RecordingApplicationStartup();
+        startup.start("beans.create").tag("beanName", "fast").end();
+        StartupStep slow = startup.start("beans.create").tag("beanName", "slow");
+        Thread.sleep(5);
+        slow.end();
+
+        List<RecordingApplicationStartup.RecordedStep> slowest = startup.getSlowestSteps("beans.create", 1);
+        assertEquals(1, slowest.size());
+        assertEquals("slow", slowest.get(0).getTag("beanName"));
+    }
+
+    @Test
+    public void testJsonExport() {
+        RecordingApplicationStartup startup = new RecordingApplicationStartup();
+        StartupStep parent = startup.start("context.refresh");
+        startup.start("beans.create").tag("beanName", "quote\"and\\slash").end();
+        parent.end();
+
+        String json = startup.toJson();
+        assertTrue(json.startsWith("{\"startTime\":"));
+        assertTrue(json.contains("\"name\":\"context.refresh\""));
+        assertTrue(json.contains("\"parentId\":null"));
+        assertTrue(json.contains("\"parentId\":" + parent.getId()));
+        assertTrue(json.contains("\"beanName\":\"quote\\\"and\\\\slash\""));
+    }
+
+    @Test
+    public void testChromeTraceExport() {
+        RecordingApplicationStartup startup = new RecordingApplicationStartup();
+        startup.start("context.scan").tag("basePackage", "com.example").end();
+
+        String trace = startup.toChromeTrace();
+        assertTrue(trace.startsWith("{\"displayTimeUnit\":\"ms\",\"traceEvents\":[{\"name\":\"context.scan\""));
+        assertTrue(trace.contains("\"ph\":\"X\""));
+        assertTrue(trace.contains("\"args\":{\"basePackage\":\"com.example\"}"));
+        assertTrue(trace.contains("\"name\":\"thread_name\""));
+        assertTrue(trace.endsWith("]}"));
+
+        startup.clear();
+        assertEquals("{\"displayTimeUnit\":\"ms\",\"traceEvents\":[]}", startup.toChromeTrace());
+    }
+}
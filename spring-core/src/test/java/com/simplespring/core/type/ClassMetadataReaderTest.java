@@ -0,0 +1,189 @@
+package com.simplespring.core.type;
+
+import com.simplespring.core.annotation.Component;
+import com.simplespring.core.annotation.Lazy;
+import com.simplespring.core.annotation.RequestMapping;
+import com.simplespring.core.annotation.RequestMethod;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Serializable;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * ClassMetadataReader 的单元测试
+ *
+ * @author SimpleSpring Framework
+ */
+public class ClassMetadataReaderTest {
+
+    @Test
+    public void testReadClassInformation() throws IOException {
+        AnnotationMetadata metadata = read("ClassMetadataReaderTest$AnnotatedBean");
+
+        assertEquals(AnnotatedBean.class.getName(), metadata.getClassName());
+        assertEquals(BaseBean.class.getName(), metadata.getSuperClassName());
+        assertArrayEquals(new String[] { Serializable.class.getName(), Runnable.class.getName() },
+                metadata.getInterfaceNames());
+        assertFalse(metadata.isInterface());
+        assertFalse(metadata.isAbstract());
+        assertTrue(read("ClassMetadataReaderTest$BaseBean").isAbstract());
+        assertNull("Object 没有父类", ClassMetadataReader.read(classFile(Object.class.getName())).getSuperClassName());
+    }
+
+    @Test
+    public void testReadTypeKinds() throws IOException {
+        AnnotationMetadata annotation = read("ClassMetadataReaderTest$Values");
+        assertTrue(annotation.isAnnotation());
+        assertTrue(annotation.isInterface());
+        assertTrue(read("ClassMetadataReaderTest$Color").isEnum());
+        assertTrue(ClassMetadataReader.read(classFile(Runnable.class.getName())).isInterface());
+    }
+
+    @Test
+    public void testReadAnnotations() throws IOException {
+        AnnotationMetadata metadata = read("ClassMetadataReaderTest$AnnotatedBean");
+
+        assertEquals(Arrays.asList(Component.class.getName(), Lazy.class.getName(), RequestMapping.class.getName(),
+                Values.class.getName()), Arrays.asList(metadata.getAnnotationTypes().toArray()));
+        assertTrue(metadata.hasAnnotation(Component.class.getName()));
+        assertFalse("CLASS 保留策略的注解不在运行时可见注解中", metadata.hasAnnotation(Invisible.class.getName()));
+
+        assertEquals("bean", metadata.getAnnotationAttributes(Component.class.getName()).get("value"));
+        assertTrue("使用默认值的属性不包含在结果中", metadata.getAnnotationAttributes(Lazy.class.getName()).isEmpty());
+        assertEquals("POST", metadata.getAnnotationAttributes(RequestMapping.class.getName()).get("method"));
+        assertNull(metadata.getAnnotationAttributes(Invisible.class.getName()));
+    }
+
+    @Test
+    public void testReadAnnotationAttributeTypes() throws IOException {
+        Map<String, Object> values = read("ClassMetadataReaderTest$AnnotatedBean")
+                .getAnnotationAttributes(Values.class.getName());
+
+        assertEquals(Integer.valueOf(-7), values.get("intValue"));
+        assertEquals(Long.valueOf(Long.MAX_VALUE), values.get("longValue"));
+        assertEquals(Double.valueOf(2.5), values.get("doubleValue"));
+        assertEquals(Character.valueOf('中'), values.get("charValue"));
+        assertEquals(Boolean.TRUE, values.get("booleanValue"));
+        assertEquals("包含非 ASCII 字符的字符串", values.get("text"));
+        assertEquals(String.class.getName(), values.get("type"));
+        assertEquals("int[]", values.get("arrayType"));
+        assertArrayEquals(new Object[] { "a", "b" }, (Object[]) values.get("names"));
+        assertArrayEquals(new Object[] { "RED", "GREEN" }, (Object[]) values.get("colors"));
+        assertEquals("/nested", ((Map<?, ?>) values.get("mapping")).get("value"));
+    }
+
+    @Test
+    public void testReadDoesNotLoadClass() throws IOException {
+        System.clearProperty("classmetadata.initialized");
+        AnnotationMetadata metadata = read("ClassMetadataReaderTest$StaticInitBean");
+
+        assertTrue(metadata.hasAnnotation(Component.class.getName()));
+        assertNull("读取元数据不应该执行静态初始化块", System.getProperty("classmetadata.initialized"));
+    }
+
+    @Test
+    public void testReadFromFile() throws Exception {
+        File file = new File(getClass().getResource("ClassMetadataReaderTest$AnnotatedBean.class").toURI());
+        assertEquals(AnnotatedBean.class.getName(), ClassMetadataReader.read(file).getClassName());
+    }
+
+    @Test(expected = IOException.class)
+    public void testInvalidMagic() throws IOException {
+        ClassMetadataReader.read(new byte[] { 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12 });
+    }
+
+    @Test(expected = IOException.class)
+    public void testTruncatedClassFile() throws IOException {
+        byte[] bytes = toBytes(classFile(AnnotatedBean.class.getName()));
+        ClassMetadataReader.read(Arrays.copyOf(bytes, bytes.length / 2));
+    }
+
+    private AnnotationMetadata read(String simpleName) throws IOException {
+        InputStream in = classFile(getClass().getPackage().getName() + "." + simpleName);
+        try {
+            return ClassMetadataReader.read(in);
+        } finally {
+            in.close();
+        }
+    }
+
+    private static InputStream classFile(String className) {
+        InputStream in = ClassMetadataReaderTest.class.getClassLoader()
+                .getResourceAsStream(className.replace('.', '/') + ".class");
+        if (in == null) {
+            in = Object.class.getResourceAsStream("/" + className.replace('.', '/') + ".class");
+        }
+        assertNotNull("找不到类文件 " + className, in);
+        return in;
+    }
+
+    private static byte[] toBytes(InputStream in) throws IOException {
+        try {
+            byte[] buffer = new byte[64 * 1024];
+            int count = 0;
+            int read;
+            while ((read = in.read(buffer, count, buffer.length - count)) > 0) {
+                count += read;
+            }
+            return Arrays.copyOf(buffer, count);
+        } finally {
+            in.close();
+        }
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @interface Values {
+        int intValue() default 0;
+        long longValue() default 0;
+        double doubleValue() default 0;
+        char charValue() default ' ';
+        boolean booleanValue() default false;
+        String text() default "";
+        Class<?> type() default Object.class;
+        Class<?> arrayType() default Object.class;
+        String[] names() default {};
+        Color[] colors() default {};
+        RequestMapping mapping() default @RequestMapping;
+    }
+
+    @Retention(RetentionPolicy.CLASS)
+    @interface Invisible {
+    }
+
+    enum Color {
+        RED, GREEN
+    }
+
+    abstract static class BaseBean {
+    }
+
+    @Component("bean")
+    @Lazy
+    @Invisible
+    @RequestMapping(value = "/bean", method = RequestMethod.POST)
+    @Values(intValue = -7, longValue = Long.MAX_VALUE, doubleValue = 2.5, charValue = '中', booleanValue = true,
+            text = "包含非 ASCII 字符的字符串", type = String.class, arrayType = int[].class, names = { "a", "b" },
+            colors = { Color.RED, Color.GREEN }, mapping = @RequestMapping("/nested"))
+    static class AnnotatedBean extends BaseBean implements Serializable, Runnable {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public void run() {
+        }
+    }
+
+    @Component
+    static class StaticInitBean {
+        static {
+            System.setProperty("classmetadata.initialized", "true");
+        }
+    }
+}